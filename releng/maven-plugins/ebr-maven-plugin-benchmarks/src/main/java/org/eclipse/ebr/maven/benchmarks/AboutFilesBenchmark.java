@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.ebr.maven.benchmarks;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ebr.maven.AboutFilesUtil;
+import org.eclipse.ebr.maven.HttpClientUtil;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.model.Model;
+import org.apache.maven.plugin.logging.Log;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks generating <code>about.html</code> for synthetic effective models.
+ * <p>
+ * The license of all models is mapped to a local license file so no license
+ * is downloaded while measuring.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AboutFilesBenchmark {
+
+	@Param({ "1", "10", "50" })
+	public int models;
+
+	private File outputDirectory;
+	private SortedMap<Artifact, Model> effectiveModels;
+	private AboutFilesUtil aboutFilesUtil;
+
+	@Benchmark
+	public File generateAboutHtmlFile() throws Exception {
+		aboutFilesUtil.generateAboutHtmlFile(effectiveModels, outputDirectory);
+		return outputDirectory;
+	}
+
+	@Setup
+	public void setup() throws Exception {
+		outputDirectory = BenchmarkSupport.createTempDirectory("ebr-about-files-benchmark");
+		FileUtils.writeStringToFile(new File(outputDirectory, "about_files/" + BenchmarkSupport.LICENSE_FILE), "license text", UTF_8);
+		effectiveModels = BenchmarkSupport.createEffectiveModels(models);
+
+		// force overriding the file written by the previous invocation
+		// (nothing is downloaded, thus the license cache remains empty)
+		final Log log = BenchmarkSupport.getSilentLog();
+		aboutFilesUtil = new AboutFilesUtil(log, null, true, false, new HttpClientUtil(log, null), new File(outputDirectory, "license-cache"));
+		aboutFilesUtil.setLicenseFile(BenchmarkSupport.LICENSE_NAME, BenchmarkSupport.LICENSE_FILE);
+	}
+
+	@TearDown
+	public void tearDown() {
+		BenchmarkSupport.deleteDirectory(outputDirectory);
+	}
+}
@@ -0,0 +1,182 @@
+/**
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.ebr.maven.benchmarks;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Developer;
+import org.apache.maven.model.IssueManagement;
+import org.apache.maven.model.License;
+import org.apache.maven.model.MailingList;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Organization;
+import org.apache.maven.model.Scm;
+import org.apache.maven.monitor.logging.DefaultLog;
+import org.apache.maven.plugin.logging.Log;
+
+import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.logging.console.ConsoleLogger;
+
+/**
+ * Synthetic inputs shared by the benchmarks.
+ * <p>
+ * All generated data is deterministic so results of different runs can be
+ * compared.
+ * </p>
+ */
+final class BenchmarkSupport {
+
+	/** license used by synthetic models, resolved to a local license file to avoid downloads */
+	static final String LICENSE_NAME = "Apache License, 2.0";
+	static final String LICENSE_FILE = "LICENSE-2.0.txt";
+
+	private static final long SEED = 42L;
+
+	static Artifact createArtifact(final int index) {
+		return new DefaultArtifact("org.example.group" + (index % 7), "artifact-" + index, VersionRange.createFromVersion("1." + index + ".0"), Artifact.SCOPE_COMPILE, "jar", null, new DefaultArtifactHandler("jar"));
+	}
+
+	static List<Dependency> createDependencies(final int count) {
+		final List<Dependency> dependencies = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			final Dependency dependency = new Dependency();
+			dependency.setGroupId("org.example.group" + (i % 7));
+			dependency.setArtifactId("artifact-" + i);
+			dependency.setVersion("1." + i + ".0");
+			dependencies.add(dependency);
+		}
+		return dependencies;
+	}
+
+	/**
+	 * Creates jars resembling dependencies with the specified number of class
+	 * entries each.
+	 * <p>
+	 * Entry content is partially random so it compresses roughly like class
+	 * files do.
+	 * </p>
+	 */
+	static List<File> createDependencyJars(final File directory, final int count, final int entries, final int entrySize) throws IOException {
+		final Random random = new Random(SEED);
+		final List<File> jars = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			final File jar = new File(directory, "dependency-" + i + ".jar");
+			try (JarOutputStream out = new JarOutputStream(new BufferedOutputStream(new FileOutputStream(jar)))) {
+				for (int j = 0; j < entries; j++) {
+					out.putNextEntry(new JarEntry(format("org/example/dependency%d/package%d/Class%d.class", i, j % 20, j)));
+					out.write(createEntryContent(random, entrySize));
+					out.closeEntry();
+				}
+			}
+			jars.add(jar);
+		}
+		return jars;
+	}
+
+	static SortedMap<Artifact, Model> createEffectiveModels(final int count) {
+		final SortedMap<Artifact, Model> models = new TreeMap<>();
+		for (int i = 0; i < count; i++) {
+			final Artifact artifact = createArtifact(i);
+			final Model model = new Model();
+			model.setGroupId(artifact.getGroupId());
+			model.setArtifactId(artifact.getArtifactId());
+			model.setVersion(artifact.getVersion());
+			model.setName("Example Artifact " + i);
+			model.setUrl("https://example.org/artifact-" + i);
+
+			final Organization organization = new Organization();
+			organization.setName("Example Organization " + (i % 3));
+			organization.setUrl("https://example.org/");
+			model.setOrganization(organization);
+
+			final Developer developer = new Developer();
+			developer.setName("Developer " + i);
+			developer.setEmail("developer" + i + "@example.org");
+			model.addDeveloper(developer);
+
+			final License license = new License();
+			license.setName(LICENSE_NAME);
+			license.setUrl("http://www.apache.org/licenses/LICENSE-2.0.txt");
+			model.addLicense(license);
+
+			final Scm scm = new Scm();
+			scm.setUrl("https://example.org/scm/artifact-" + i);
+			model.setScm(scm);
+
+			final IssueManagement issueManagement = new IssueManagement();
+			issueManagement.setUrl("https://example.org/issues/artifact-" + i);
+			model.setIssueManagement(issueManagement);
+
+			final MailingList mailingList = new MailingList();
+			mailingList.setName("Users");
+			mailingList.setArchive("https://example.org/lists/users");
+			model.addMailingList(mailingList);
+
+			models.put(artifact, model);
+		}
+		return models;
+	}
+
+	private static byte[] createEntryContent(final Random random, final int size) {
+		final byte[] content = new byte[size];
+		final byte[] text = "java/lang/Object<init>()V".getBytes(UTF_8);
+		for (int i = 0; i < size; i++) {
+			// every fourth byte is random, the rest repeats a constant pool like pattern
+			content[i] = (i % 4) == 0 ? (byte) random.nextInt(256) : text[i % text.length];
+		}
+		return content;
+	}
+
+	static File createTempDirectory(final String prefix) throws IOException {
+		return Files.createTempDirectory(prefix).toFile();
+	}
+
+	static void deleteDirectory(final File directory) {
+		FileUtils.deleteQuietly(directory);
+	}
+
+	/**
+	 * Returns a log discarding all messages so logging does not dominate the
+	 * measurements.
+	 */
+	static Log getSilentLog() {
+		return new DefaultLog(getSilentLogger());
+	}
+
+	/**
+	 * Returns a Plexus logger discarding all messages (eg., for archivers).
+	 */
+	static Logger getSilentLogger() {
+		return new ConsoleLogger(Logger.LEVEL_DISABLED, "benchmark");
+	}
+
+	private BenchmarkSupport() {
+		// empty
+	}
+}
@@ -0,0 +1,47 @@
+/**
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.ebr.maven.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ebr.maven.shared.BundleUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks expanding bundle versions with a build qualifier.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BundleUtilBenchmark {
+
+	@Param({ "1.2.3", "10.20.30.qualifier" })
+	public String bundleVersion;
+
+	@Param({ "v20260101-1200" })
+	public String qualifier;
+
+	@Benchmark
+	public String getExpandedVersion() {
+		return BundleUtil.getExpandedVersion(bundleVersion, qualifier);
+	}
+}
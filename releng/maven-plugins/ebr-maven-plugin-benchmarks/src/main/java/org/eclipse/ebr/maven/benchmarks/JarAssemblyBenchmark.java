@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.ebr.maven.benchmarks;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.eclipse.ebr.maven.DependencyMergeUtil;
+import org.eclipse.ebr.maven.ParallelJarArchiver;
+
+import org.apache.commons.io.FileUtils;
+
+import org.codehaus.plexus.archiver.jar.JarArchiver;
+import org.codehaus.plexus.archiver.util.DefaultFileSet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks assembling a bundle jar from synthetic dependency sets.
+ * <p>
+ * Next to a small project output directory, dependencies are either merged
+ * from their archives (as done with <code>mergeDependenciesInProcess</code>)
+ * or from previously unpacked directories (the default). The bundle jar is
+ * written using the Plexus jar archiver or the parallel jar writer
+ * (<code>parallelJarWriter</code>).
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+public class JarAssemblyBenchmark {
+
+	/** bytes per synthetic class entry */
+	private static final int ENTRY_SIZE = 2048;
+
+	@Param({ "1", "10" })
+	public int dependencies;
+
+	@Param({ "100", "1000" })
+	public int entries;
+
+	@Param({ "archives", "directories" })
+	public String input;
+
+	@Param({ "plexus", "parallel" })
+	public String archiver;
+
+	private File workDirectory;
+	private File projectDirectory;
+	private List<File> dependencyFiles;
+	private File bundleJar;
+
+	@Benchmark
+	public File assembleJar() throws Exception {
+		final JarArchiver jarArchiver = "parallel".equals(archiver) ? new ParallelJarArchiver() : new JarArchiver();
+		jarArchiver.enableLogging(BenchmarkSupport.getSilentLogger());
+		FileUtils.deleteQuietly(bundleJar);
+		jarArchiver.setDestFile(bundleJar);
+		jarArchiver.addFileSet(DefaultFileSet.fileSet(projectDirectory));
+		new DependencyMergeUtil(BenchmarkSupport.getSilentLog(), null, null, null).addDependencies(jarArchiver, dependencyFiles);
+		jarArchiver.createArchive();
+		return bundleJar;
+	}
+
+	@Setup
+	public void setup() throws Exception {
+		workDirectory = BenchmarkSupport.createTempDirectory("ebr-jar-assembly-benchmark");
+		projectDirectory = new File(workDirectory, "project");
+		FileUtils.writeStringToFile(new File(projectDirectory, "about.html"), "<html></html>", UTF_8);
+
+		final File archivesDirectory = new File(workDirectory, "archives");
+		archivesDirectory.mkdirs();
+		final List<File> archives = BenchmarkSupport.createDependencyJars(archivesDirectory, dependencies, entries, ENTRY_SIZE);
+		if ("directories".equals(input)) {
+			dependencyFiles = new ArrayList<>(archives.size());
+			for (final File archive : archives) {
+				final File directory = new File(workDirectory, "directories/" + archive.getName());
+				unzip(archive, directory);
+				dependencyFiles.add(directory);
+			}
+		} else {
+			dependencyFiles = archives;
+		}
+		bundleJar = new File(workDirectory, "bundle.jar");
+	}
+
+	@TearDown
+	public void tearDown() {
+		BenchmarkSupport.deleteDirectory(workDirectory);
+	}
+
+	private void unzip(final File archive, final File directory) throws IOException {
+		try (ZipFile zipFile = new ZipFile(archive)) {
+			for (final Enumeration<? extends ZipEntry> e = zipFile.entries(); e.hasMoreElements();) {
+				final ZipEntry entry = e.nextElement();
+				if (entry.isDirectory()) {
+					continue;
+				}
+				try (InputStream is = zipFile.getInputStream(entry)) {
+					FileUtils.copyInputStreamToFile(is, new File(directory, entry.getName()));
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,63 @@
+/**
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.ebr.maven.benchmarks;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ebr.maven.eclipseip.KnownLicense;
+import org.eclipse.ebr.maven.eclipseip.KnownLicenses;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks matching POM licenses against the known licenses.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class KnownLicensesBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class LicenseName {
+
+		/** exact alternate name, similar name, name matching nothing */
+		@Param({ "Apache License, Version 2.0", "MIT License", "Some Unknown License" })
+		public String name;
+	}
+
+	@State(Scope.Benchmark)
+	public static class LicenseUrl {
+
+		/** first known url, last known url, url matching nothing */
+		@Param({ "http://www.apache.org/licenses/LICENSE-2.0.txt", "http://www2.cs.tum.edu/projekte/cup/licence.php", "https://example.org/licenses/unknown" })
+		public String url;
+	}
+
+	@Benchmark
+	public KnownLicense findByUrl(final LicenseUrl state) {
+		return KnownLicenses.getInstance().findByUrl(state.url);
+	}
+
+	@Benchmark
+	public Set<KnownLicense> findSimilarLicensesByName(final LicenseName state) {
+		return KnownLicenses.getInstance().findSimilarLicensesByName(state.name);
+	}
+}
@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.ebr.maven.benchmarks;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ebr.maven.OsgiBndUtil;
+
+import org.apache.maven.model.Dependency;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks generating <code>osgi.bnd</code> for a recipe with a varying
+ * number of dependencies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class OsgiBndBenchmark {
+
+	@Param({ "1", "10", "100" })
+	public int dependencies;
+
+	private File outputDirectory;
+	private List<Dependency> compileTimeDependencies;
+	private OsgiBndUtil osgiBndUtil;
+
+	@Benchmark
+	public File generateOsgiBndFile() throws Exception {
+		osgiBndUtil.generateOsgiBndFile(outputDirectory, compileTimeDependencies);
+		return outputDirectory;
+	}
+
+	@Setup
+	public void setup() throws Exception {
+		outputDirectory = BenchmarkSupport.createTempDirectory("ebr-osgi-bnd-benchmark");
+		compileTimeDependencies = BenchmarkSupport.createDependencies(dependencies);
+		// force overriding the file written by the previous invocation
+		osgiBndUtil = new OsgiBndUtil(BenchmarkSupport.getSilentLog(), null, true);
+	}
+
+	@TearDown
+	public void tearDown() {
+		BenchmarkSupport.deleteDirectory(outputDirectory);
+	}
+}
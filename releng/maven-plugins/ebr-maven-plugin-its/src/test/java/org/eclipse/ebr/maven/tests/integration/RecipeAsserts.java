@@ -4,6 +4,7 @@ import static io.takari.maven.testing.TestResources.assertFilesPresent;
 import static java.lang.String.format;
 import static java.nio.file.Files.readAllLines;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -15,6 +16,7 @@ import java.io.InputStream;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.Manifest;
 
@@ -37,6 +39,42 @@ public class RecipeAsserts {
 		}
 	}
 
+	public static void assertExportedPackages(final File baseDir, final String manifestFile, final String[] exportedPackages, final String... notExportedPackages) throws IOException {
+		assertNotNull(exportedPackages);
+		assertNotNull(notExportedPackages);
+		final List<String> actualPackages = readExportedPackages(baseDir, manifestFile);
+		for (final String exportedPackage : exportedPackages) {
+			assertTrue(format("Package '%s' expected in Export-Package. Got: %s", exportedPackage, actualPackages), actualPackages.contains(exportedPackage));
+		}
+		for (final String notExportedPackage : notExportedPackages) {
+			assertFalse(format("Package '%s' not expected in Export-Package. Got: %s", notExportedPackage, actualPackages), actualPackages.contains(notExportedPackage));
+		}
+	}
+
+	public static void assertFilesNotPresentInJar(final File baseDir, final String jarFile, final String... entries) throws IOException {
+		assertNotNull(entries);
+		assertNotNull(baseDir);
+		assertNotNull(jarFile);
+		assertFilesPresent(baseDir, jarFile);
+		try (JarFile recipeJar = new JarFile(baseDir.toPath().resolve(jarFile).toFile())) {
+			for (final String entry : entries) {
+				assertNull(format("'%s' not expected in recipe bundle jar '%s'", entry, jarFile), recipeJar.getEntry(entry));
+			}
+		}
+	}
+
+	public static void assertJarEntrySize(final File baseDir, final String jarFile, final String entry, final long expectedSize) throws IOException {
+		assertNotNull(entry);
+		assertNotNull(baseDir);
+		assertNotNull(jarFile);
+		assertFilesPresent(baseDir, jarFile);
+		try (JarFile recipeJar = new JarFile(baseDir.toPath().resolve(jarFile).toFile())) {
+			final JarEntry jarEntry = recipeJar.getJarEntry(entry);
+			assertNotNull(format("'%s' expected in recipe bundle jar '%s'", entry, jarFile), jarEntry);
+			assertEquals(format("Size of '%s' in recipe bundle jar '%s' mismatch!", entry, jarFile), expectedSize, jarEntry.getSize());
+		}
+	}
+
 	public static void assertManifestHeaderValue(final File baseDir, final String manifestFile, final String manifestHeader, final String expectedValue) throws IOException {
 		assertNotNull(manifestFile);
 		assertNotNull(baseDir);
@@ -98,6 +136,33 @@ public class RecipeAsserts {
 		}
 	}
 
+	private static List<String> readExportedPackages(final File baseDir, final String manifestFile) throws IOException {
+		assertNotNull(manifestFile);
+		assertNotNull(baseDir);
+		assertFilesPresent(baseDir, manifestFile);
+		try (InputStream is = new BufferedInputStream(Files.newInputStream(baseDir.toPath().resolve(manifestFile)))) {
+			final String exportPackage = new Manifest(is).getMainAttributes().getValue("Export-Package");
+			assertNotNull(format("Manifest header 'Export-Package' expected in '%s'", manifestFile), exportPackage);
+
+			// collect the package names of all clauses (commas within quoted attributes do not separate clauses)
+			final List<String> packages = new ArrayList<String>();
+			boolean quoted = false;
+			int clauseStart = 0;
+			for (int i = 0; i <= exportPackage.length(); i++) {
+				final char c = i < exportPackage.length() ? exportPackage.charAt(i) : ',';
+				if (c == '"') {
+					quoted = !quoted;
+				} else if ((c == ',') && !quoted) {
+					final String clause = exportPackage.substring(clauseStart, i);
+					final int attributesStart = clause.indexOf(';');
+					packages.add((attributesStart < 0 ? clause : clause.substring(0, attributesStart)).trim());
+					clauseStart = i + 1;
+				}
+			}
+			return packages;
+		}
+	}
+
 	private RecipeAsserts() {
 		// only static
 	}
@@ -0,0 +1,73 @@
+package org.eclipse.ebr.maven.tests.integration;
+
+import static org.eclipse.ebr.maven.tests.integration.RecipeAsserts.assertFilesPresentInJar;
+import static org.eclipse.ebr.maven.tests.integration.RecipeAsserts.assertNoErrorsInMavenLog;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.jar.Attributes;
+import java.util.jar.Manifest;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import io.takari.maven.testing.TestResources;
+import io.takari.maven.testing.executor.MavenExecutionResult;
+import io.takari.maven.testing.executor.MavenRuntime;
+import io.takari.maven.testing.executor.MavenRuntime.MavenRuntimeBuilder;
+import io.takari.maven.testing.executor.MavenVersions;
+import io.takari.maven.testing.executor.junit.MavenJUnitTestRunner;
+
+@RunWith(MavenJUnitTestRunner.class)
+@MavenVersions({ "3.6.0" })
+public class RecipeWithBndClasspathCacheTest {
+
+	@Rule
+	public final TestResources resources = new TestResources();
+
+	public final MavenRuntime verifier;
+
+	public RecipeWithBndClasspathCacheTest(final MavenRuntimeBuilder builder) throws Exception {
+		verifier = builder.withCliOptions("-X").build();
+	}
+
+	private File getProjectDir(final String project) throws IOException {
+		final File projectDir = resources.getBasedir("it-tests/" + project);
+		assertTrue("Project directory '" + projectDir + "' not found!", projectDir.isDirectory());
+		return projectDir;
+	}
+
+	private Attributes readManifest(final File baseDir) throws IOException {
+		try (InputStream in = new FileInputStream(new File(baseDir, "target/MANIFEST.MF"))) {
+			return new Manifest(in).getMainAttributes();
+		}
+	}
+
+	@Test
+	public void test() throws Exception {
+		final File baseDir = getProjectDir("recipe-with-bnd-classpath-cache");
+
+		// first build must summarize all classpath jars
+		MavenExecutionResult result = verifier.forProject(baseDir).execute("package");
+		assertNoErrorsInMavenLog(baseDir, result);
+		result.assertLogText("Summarizing classpath jar");
+		assertTrue("Cache directory not used!", new File(baseDir, "bnd-classpath-cache").isDirectory());
+		final Attributes manifest = readManifest(baseDir);
+
+		// second (clean) build must use the summaries and produce the same manifest
+		result = verifier.forProject(baseDir).execute("clean", "package");
+		assertNoErrorsInMavenLog(baseDir, result);
+		result.assertLogText("Using cached classpath summary");
+		result.assertNoLogText("Summarizing classpath jar");
+		final Attributes cachedManifest = readManifest(baseDir);
+		assertEquals(manifest.getValue("Export-Package"), cachedManifest.getValue("Export-Package"));
+		assertEquals(manifest.getValue("Import-Package"), cachedManifest.getValue("Import-Package"));
+
+		assertFilesPresentInJar(baseDir, "target/recipe-with-bnd-classpath-cache-it-1.0.0-SNAPSHOT.jar", "org/junit/Test.class");
+	}
+}
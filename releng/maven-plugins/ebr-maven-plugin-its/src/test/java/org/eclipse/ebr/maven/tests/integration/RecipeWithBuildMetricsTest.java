@@ -0,0 +1,85 @@
+package org.eclipse.ebr.maven.tests.integration;
+
+import static io.takari.maven.testing.TestResources.assertFilesPresent;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.eclipse.ebr.maven.tests.integration.RecipeAsserts.assertNoErrorsInMavenLog;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import io.takari.maven.testing.TestResources;
+import io.takari.maven.testing.executor.MavenExecutionResult;
+import io.takari.maven.testing.executor.MavenRuntime;
+import io.takari.maven.testing.executor.MavenRuntime.MavenRuntimeBuilder;
+import io.takari.maven.testing.executor.MavenVersions;
+import io.takari.maven.testing.executor.junit.MavenJUnitTestRunner;
+
+@RunWith(MavenJUnitTestRunner.class)
+@MavenVersions({ "3.6.0" })
+public class RecipeWithBuildMetricsTest {
+
+	@Rule
+	public final TestResources resources = new TestResources();
+
+	public final MavenRuntime verifier;
+
+	public RecipeWithBuildMetricsTest(final MavenRuntimeBuilder builder) throws Exception {
+		verifier = builder.withCliOptions("-X").build();
+	}
+
+	private static final Pattern WALL_TIME = Pattern.compile("\"wallTimeMillis\": (\\d+)");
+
+	private File getProjectDir(final String project) throws IOException {
+		final File projectDir = resources.getBasedir("it-tests/" + project);
+		assertTrue("Project directory '" + projectDir + "' not found!", projectDir.isDirectory());
+		return projectDir;
+	}
+
+	private long sumWallTimes(final String json) {
+		long sum = 0;
+		final Matcher matcher = WALL_TIME.matcher(json);
+		while (matcher.find()) {
+			sum += Long.parseLong(matcher.group(1));
+		}
+		return sum;
+	}
+
+	@Test
+	public void test() throws Exception {
+		final File baseDir = getProjectDir("recipe-with-build-metrics");
+
+		final MavenExecutionResult result = verifier.forProject(baseDir).execute("package");
+		assertNoErrorsInMavenLog(baseDir, result);
+		result.assertLogText("Build metrics written to");
+
+		// check metrics of the project
+		assertFilesPresent(baseDir, "target/ebr-metrics.json", "target/ebr-metrics-summary.json");
+		final String metrics = new String(Files.readAllBytes(new File(baseDir, "target/ebr-metrics.json").toPath()), UTF_8);
+		for (final String stage : new String[] { "gather", "merge", "manifest", "jar", "sources", "source-bundle", "p2-repository-mirror" }) {
+			assertTrue("Stage '" + stage + "' missing in metrics: " + metrics, metrics.contains("\"" + stage + "\": {"));
+		}
+		assertTrue("Wall time missing in metrics: " + metrics, metrics.contains("\"wallTimeMillis\""));
+		assertTrue("Entries missing in metrics: " + metrics, metrics.contains("\"entries\""));
+
+		// check summary
+		final String summary = new String(Files.readAllBytes(new File(baseDir, "target/ebr-metrics-summary.json").toPath()), UTF_8);
+		assertTrue("Project missing in summary: " + summary, summary.contains("\"org.eclipse.ebr.it:recipe-with-build-metrics-it:1.0.0-SNAPSHOT\""));
+
+		// the total is the sum of all stages (none of them contains another one)
+		assertFalse("Stage containing other stages in metrics: " + metrics, metrics.contains("\"p2-repository\": {"));
+		final Matcher total = WALL_TIME.matcher(summary);
+		assertTrue("Total missing in summary: " + summary, total.find());
+		final String stages = summary.substring(summary.indexOf("\"stages\": {"), summary.indexOf("\"projects\": {"));
+		assertEquals("Total is not the sum of all stages: " + summary, Long.parseLong(total.group(1)), sumWallTimes(stages));
+	}
+}
@@ -0,0 +1,71 @@
+package org.eclipse.ebr.maven.tests.integration;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.eclipse.ebr.maven.tests.integration.RecipeAsserts.assertNoErrorsInMavenLog;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import io.takari.maven.testing.TestResources;
+import io.takari.maven.testing.executor.MavenExecutionResult;
+import io.takari.maven.testing.executor.MavenRuntime;
+import io.takari.maven.testing.executor.MavenRuntime.MavenRuntimeBuilder;
+import io.takari.maven.testing.executor.MavenVersions;
+import io.takari.maven.testing.executor.junit.MavenJUnitTestRunner;
+
+@RunWith(MavenJUnitTestRunner.class)
+@MavenVersions({ "3.6.3" })
+public class RecipeWithConcurrentModelBuildingTest {
+
+	@Rule
+	public final TestResources resources = new TestResources();
+
+	public final MavenRuntime verifier;
+
+	public RecipeWithConcurrentModelBuildingTest(final MavenRuntimeBuilder builder) throws Exception {
+		verifier = builder.withCliOptions("-X").build();
+	}
+
+	private File getProjectDir(final String project) throws IOException {
+		final File projectDir = resources.getBasedir("it-tests/" + project);
+		assertTrue("Project directory '" + projectDir + "' not found!", projectDir.isDirectory());
+		return projectDir;
+	}
+
+	@Test
+	public void test() throws Exception {
+		final File baseDir = getProjectDir("recipe-with-concurrent-model-building");
+
+		final MavenExecutionResult result = verifier.forProject(baseDir).execute("package");
+		assertNoErrorsInMavenLog(baseDir, result);
+		result.assertLogText("Building 3 effective models using 4 threads.");
+
+		// third party content is listed in artifact order (not in declaration or completion order)
+		final String aboutHtml = new String(Files.readAllBytes(new File(baseDir, "recipe/src/main/resources/about.html").toPath()), UTF_8);
+		final int libA = aboutHtml.indexOf("<h4>Library A</h4>");
+		final int libB = aboutHtml.indexOf("<h4>Library B</h4>");
+		final int libC = aboutHtml.indexOf("<h4>Library C</h4>");
+		assertTrue("Library A not listed in about.html!", libA >= 0);
+		assertTrue("Libraries not listed in artifact order in about.html!", (libA < libB) && (libB < libC));
+	}
+
+	@Test
+	public void testWithMissingPoms() throws Exception {
+		final File baseDir = getProjectDir("recipe-with-concurrent-model-building");
+
+		final MavenExecutionResult result = verifier.forProject(baseDir).withCliOption("-Pmissing-poms").execute("package");
+		result.assertLogText("Building 5 effective models using 4 threads.");
+
+		// the first failing artifact in artifact order is reported
+		result.assertLogText("Unable to resolve POM for artifact org.eclipse.ebr.it:missing-pom-lib-a:1.0.0.");
+		result.assertNoLogText("Unable to resolve POM for artifact org.eclipse.ebr.it:missing-pom-lib-b:1.0.0.");
+		assertFalse("about.html must not be generated!", new File(baseDir, "recipe/src/main/resources/about.html").exists());
+	}
+}
@@ -0,0 +1,74 @@
+package org.eclipse.ebr.maven.tests.integration;
+
+import static java.nio.file.Files.readAllLines;
+import static org.eclipse.ebr.maven.tests.integration.RecipeAsserts.assertNoErrorsInMavenLog;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import io.takari.maven.testing.TestResources;
+import io.takari.maven.testing.executor.MavenExecutionResult;
+import io.takari.maven.testing.executor.MavenRuntime;
+import io.takari.maven.testing.executor.MavenRuntime.MavenRuntimeBuilder;
+import io.takari.maven.testing.executor.MavenVersions;
+import io.takari.maven.testing.executor.junit.MavenJUnitTestRunner;
+
+@RunWith(MavenJUnitTestRunner.class)
+@MavenVersions({ "3.6.0" })
+public class RecipeWithEclipseIpInfoUnpackCacheTest {
+
+	@Rule
+	public final TestResources resources = new TestResources();
+
+	public final MavenRuntime verifier;
+
+	public RecipeWithEclipseIpInfoUnpackCacheTest(final MavenRuntimeBuilder builder) throws Exception {
+		verifier = builder.withCliOptions("-X").build();
+	}
+
+	private long countLogLines(final File baseDir, final String text) throws IOException {
+		return readAllLines(new File(baseDir, "log.txt").toPath()).stream().filter(l -> l.contains(text)).count();
+	}
+
+	private File getProjectDir(final String project) throws IOException {
+		final File projectDir = resources.getBasedir("it-tests/" + project);
+		assertTrue("Project directory '" + projectDir + "' not found!", projectDir.isDirectory());
+		return projectDir;
+	}
+
+	@Test
+	public void test() throws Exception {
+		final File baseDir = getProjectDir("recipe-with-eclipse-ip-info-unpack-cache");
+
+		final MavenExecutionResult result = verifier.forProject(baseDir).execute("package");
+		assertNoErrorsInMavenLog(baseDir, result);
+		assertTrue("Unpack cache not populated!", new File(baseDir, "target/unpack-cache").isDirectory());
+
+		// dependencies and sources for the bundle, sources for Eclipse IP
+		assertEquals("Archives must be extracted concurrently!", 3, countLogLines(baseDir, "Extracting 2 artifacts using 2 threads."));
+
+		// sources for Eclipse IP are copied from the cache (never linked into it)
+		for (final String sourcesDirectory : new String[] { "junit-4.11-sources-filtered", "hamcrest-core-1.3-sources-filtered" }) {
+			final List<Path> sourceFiles;
+			try (Stream<Path> files = Files.walk(new File(baseDir, "target/sources-for-eclipse-ipzilla/" + sourcesDirectory).toPath())) {
+				sourceFiles = files.filter(Files::isRegularFile).collect(Collectors.toList());
+			}
+			assertFalse("Sources for Eclipse IP not unpacked into '" + sourcesDirectory + "'!", sourceFiles.isEmpty());
+			for (final Path sourceFile : sourceFiles) {
+				assertEquals("Source file '" + sourceFile + "' must not be linked into the unpack cache!", 1, Files.getAttribute(sourceFile, "unix:nlink"));
+			}
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package org.eclipse.ebr.maven.tests.integration;
+
+import static io.takari.maven.testing.TestResources.assertFilesPresent;
+import static org.eclipse.ebr.maven.tests.integration.RecipeAsserts.assertNoErrorsInMavenLog;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import io.takari.maven.testing.TestResources;
+import io.takari.maven.testing.executor.MavenExecutionResult;
+import io.takari.maven.testing.executor.MavenRuntime;
+import io.takari.maven.testing.executor.MavenRuntime.MavenRuntimeBuilder;
+import io.takari.maven.testing.executor.MavenVersions;
+import io.takari.maven.testing.executor.junit.MavenJUnitTestRunner;
+
+@RunWith(MavenJUnitTestRunner.class)
+@MavenVersions({ "3.6.0" })
+public class RecipeWithInProcessP2MetadataTest {
+
+	private static final String QUALIFIER = "-DforceContextQualifier=v20261018";
+
+	@Rule
+	public final TestResources resources = new TestResources();
+
+	public final MavenRuntime verifier;
+
+	public RecipeWithInProcessP2MetadataTest(final MavenRuntimeBuilder builder) throws Exception {
+		verifier = builder.withCliOptions("-X").build();
+	}
+
+	/**
+	 * Returns a canonical form of an element which is independent of the
+	 * order of attributes and child elements (jar sizes are ignored because
+	 * jars are written by both builds).
+	 */
+	private String canonicalize(final Element element) {
+		final Map<String, String> attributes = new TreeMap<>();
+		final NamedNodeMap attributeNodes = element.getAttributes();
+		for (int i = 0; i < attributeNodes.getLength(); i++) {
+			attributes.put(attributeNodes.item(i).getNodeName(), attributeNodes.item(i).getNodeValue());
+		}
+		if ("property".equals(element.getTagName()) && attributes.get("name").endsWith(".size")) {
+			attributes.remove("value");
+		}
+
+		final List<String> children = new ArrayList<>();
+		final StringBuilder text = new StringBuilder();
+		final NodeList childNodes = element.getChildNodes();
+		for (int i = 0; i < childNodes.getLength(); i++) {
+			final Node child = childNodes.item(i);
+			if (child instanceof Element) {
+				children.add(canonicalize((Element) child));
+			} else {
+				text.append(child.getTextContent().trim());
+			}
+		}
+		Collections.sort(children);
+		return element.getTagName() + attributes + text + children;
+	}
+
+	private File getProjectDir(final String project) throws IOException {
+		final File projectDir = resources.getBasedir("it-tests/" + project);
+		assertTrue("Project directory '" + projectDir + "' not found!", projectDir.isDirectory());
+		return projectDir;
+	}
+
+	private Element readXml(final File file) throws Exception {
+		return DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(file).getDocumentElement();
+	}
+
+	@Test
+	public void test() throws Exception {
+		final File baseDir = getProjectDir("recipe-with-in-process-p2-metadata");
+		final File contentXml = new File(baseDir, "target/p2content.xml");
+		final File artifactsXml = new File(baseDir, "target/p2artifacts.xml");
+
+		// metadata published by Tycho
+		MavenExecutionResult result = verifier.forProject(baseDir).withCliOption(QUALIFIER).execute("package");
+		assertNoErrorsInMavenLog(baseDir, result);
+		final String tychoContent = canonicalize(readXml(contentXml));
+		final String tychoArtifacts = canonicalize(readXml(artifactsXml));
+		Files.delete(contentXml.toPath());
+		Files.delete(artifactsXml.toPath());
+
+		// metadata generated in process
+		result = verifier.forProject(baseDir).withCliOption(QUALIFIER).withCliOption("-DinProcessP2Metadata=true").execute("package");
+		assertNoErrorsInMavenLog(baseDir, result);
+		result.assertNoLogText("Generating p2 metadata with Tycho");
+		assertFilesPresent(baseDir, "target/p2content.xml", "target/p2artifacts.xml", "target/local-artifacts.properties");
+		assertEquals(tychoContent, canonicalize(readXml(contentXml)));
+		assertEquals(tychoArtifacts, canonicalize(readXml(artifactsXml)));
+
+		// check sizes
+		final NodeList properties = readXml(artifactsXml).getElementsByTagName("property");
+		for (int i = 0; i < properties.getLength(); i++) {
+			final Element property = (Element) properties.item(i);
+			if ("artifact.size".equals(property.getAttribute("name"))) {
+				final Element artifact = (Element) property.getParentNode().getParentNode();
+				final String jarName = artifact.getAttribute("id").endsWith(".source") ? "recipe-with-in-process-p2-metadata-it-1.0.0-SNAPSHOT-sources.jar" : "recipe-with-in-process-p2-metadata-it-1.0.0-SNAPSHOT.jar";
+				assertEquals(String.valueOf(new File(baseDir, "target/" + jarName).length()), property.getAttribute("value"));
+			}
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package org.eclipse.ebr.maven.tests.integration;
+
+import static io.takari.maven.testing.TestResources.assertFilesNotPresent;
+import static org.eclipse.ebr.maven.tests.integration.RecipeAsserts.assertFilesPresentInJar;
+import static org.eclipse.ebr.maven.tests.integration.RecipeAsserts.assertNoErrorsInMavenLog;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import io.takari.maven.testing.TestResources;
+import io.takari.maven.testing.executor.MavenExecutionResult;
+import io.takari.maven.testing.executor.MavenRuntime;
+import io.takari.maven.testing.executor.MavenRuntime.MavenRuntimeBuilder;
+import io.takari.maven.testing.executor.MavenVersions;
+import io.takari.maven.testing.executor.junit.MavenJUnitTestRunner;
+
+@RunWith(MavenJUnitTestRunner.class)
+@MavenVersions({ "3.6.0" })
+public class RecipeWithIncrementalBuildTest {
+
+	@Rule
+	public final TestResources resources = new TestResources();
+
+	public final MavenRuntime verifier;
+
+	public RecipeWithIncrementalBuildTest(final MavenRuntimeBuilder builder) throws Exception {
+		verifier = builder.withCliOptions("-X").build();
+	}
+
+	private File getProjectDir(final String project) throws IOException {
+		final File projectDir = resources.getBasedir("it-tests/" + project);
+		assertTrue("Project directory '" + projectDir + "' not found!", projectDir.isDirectory());
+		return projectDir;
+	}
+
+	@Test
+	public void test() throws Exception {
+		final File baseDir = getProjectDir("recipe-with-incremental-build");
+
+		// first build must build everything
+		MavenExecutionResult result = verifier.forProject(baseDir).execute("package");
+		assertNoErrorsInMavenLog(baseDir, result);
+		result.assertNoLogText("Bundle is up to date");
+
+		// second build must reuse everything
+		result = verifier.forProject(baseDir).execute("package");
+		assertNoErrorsInMavenLog(baseDir, result);
+		result.assertLogText("Bundle is up to date");
+		result.assertLogText("Source bundle is up to date");
+		assertFilesPresentInJar(baseDir, "target/recipe-with-incremental-build-it-1.0.0-SNAPSHOT.jar", "org/junit/Test.class");
+
+		// third build must pick up a changed resource
+		final File resource = new File(baseDir, "src/main/resources/incremental.txt");
+		resource.getParentFile().mkdirs();
+		Files.write(resource.toPath(), "changed".getBytes(StandardCharsets.UTF_8));
+		result = verifier.forProject(baseDir).execute("package");
+		assertNoErrorsInMavenLog(baseDir, result);
+		result.assertNoLogText("Bundle is up to date");
+		assertFilesPresentInJar(baseDir, "target/recipe-with-incremental-build-it-1.0.0-SNAPSHOT.jar", "org/junit/Test.class", "incremental.txt");
+
+		// fourth build must pick up a changed jar writer configuration
+		result = verifier.forProject(baseDir).withCliOption("-DparallelJarWriter=true").withCliOption("-DjarCompressionLevel=0").execute("package");
+		assertNoErrorsInMavenLog(baseDir, result);
+		result.assertNoLogText("Bundle is up to date");
+		result = verifier.forProject(baseDir).withCliOption("-DparallelJarWriter=true").withCliOption("-DjarCompressionLevel=0").execute("package");
+		assertNoErrorsInMavenLog(baseDir, result);
+		result.assertLogText("Bundle is up to date");
+	}
+
+	@Test
+	public void testWithoutSources() throws Exception {
+		final File baseDir = getProjectDir("recipe-with-incremental-build-without-sources");
+		final File bundle = new File(baseDir, "target/recipe-with-incremental-build-without-sources-it-1.0.0-SNAPSHOT.jar");
+
+		// first build must build and sign the bundle only
+		MavenExecutionResult result = verifier.forProject(baseDir).execute("package");
+		assertNoErrorsInMavenLog(baseDir, result);
+		result.assertLogText("Signing bundle and source bundle");
+		assertFilesPresentInJar(baseDir, "target/recipe-with-incremental-build-without-sources-it-1.0.0-SNAPSHOT.jar", "META-INF/EBR.SF");
+		assertFilesNotPresent(baseDir, "target/recipe-with-incremental-build-without-sources-it-1.0.0-SNAPSHOT-sources.jar");
+		final long lastModified = bundle.lastModified();
+
+		// second build must neither rebuild nor sign the bundle again
+		result = verifier.forProject(baseDir).execute("package");
+		assertNoErrorsInMavenLog(baseDir, result);
+		result.assertLogText("Bundle is up to date");
+		result.assertLogText("Source bundle is up to date (no sources available)");
+		result.assertNoLogText("Signing bundle and source bundle");
+		assertEquals("Bundle must not be modified!", lastModified, bundle.lastModified());
+	}
+}
@@ -0,0 +1,93 @@
+package org.eclipse.ebr.maven.tests.integration;
+
+import static io.takari.maven.testing.TestResources.assertFilesPresent;
+import static org.eclipse.ebr.maven.tests.integration.RecipeAsserts.assertNoErrorsInMavenLog;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import io.takari.maven.testing.TestResources;
+import io.takari.maven.testing.executor.MavenExecutionResult;
+import io.takari.maven.testing.executor.MavenRuntime;
+import io.takari.maven.testing.executor.MavenRuntime.MavenRuntimeBuilder;
+import io.takari.maven.testing.executor.MavenVersions;
+import io.takari.maven.testing.executor.junit.MavenJUnitTestRunner;
+
+@RunWith(MavenJUnitTestRunner.class)
+@MavenVersions({ "3.6.0" })
+public class RecipeWithJarDigestsTest {
+
+	@Rule
+	public final TestResources resources = new TestResources();
+
+	public final MavenRuntime verifier;
+
+	public RecipeWithJarDigestsTest(final MavenRuntimeBuilder builder) throws Exception {
+		verifier = builder.withCliOptions("-X").build();
+	}
+
+	private void assertChecksums(final File baseDir) throws Exception {
+		final NodeList artifacts = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new File(baseDir, "target/p2artifacts.xml")).getDocumentElement().getElementsByTagName("artifact");
+		assertEquals(2, artifacts.getLength());
+		for (int i = 0; i < artifacts.getLength(); i++) {
+			final Element artifact = (Element) artifacts.item(i);
+			final Map<String, String> properties = new HashMap<>();
+			final NodeList propertyNodes = artifact.getElementsByTagName("property");
+			for (int j = 0; j < propertyNodes.getLength(); j++) {
+				final Element property = (Element) propertyNodes.item(j);
+				properties.put(property.getAttribute("name"), property.getAttribute("value"));
+			}
+
+			final String jarName = properties.containsKey("maven-classifier") ? "recipe-with-jar-digests-it-1.0.0-SNAPSHOT-sources.jar" : "recipe-with-jar-digests-it-1.0.0-SNAPSHOT.jar";
+			final byte[] jar = Files.readAllBytes(new File(baseDir, "target/" + jarName).toPath());
+			assertEquals(digest("MD5", jar), properties.get("download.md5"));
+			assertEquals(digest("MD5", jar), properties.get("download.checksum.md5"));
+			assertEquals(digest("SHA-256", jar), properties.get("download.checksum.sha-256"));
+		}
+	}
+
+	private String digest(final String algorithm, final byte[] content) throws Exception {
+		final StringBuilder hex = new StringBuilder();
+		for (final byte b : MessageDigest.getInstance(algorithm).digest(content)) {
+			hex.append(String.format("%02x", b & 0xFF));
+		}
+		return hex.toString();
+	}
+
+	private File getProjectDir(final String project) throws IOException {
+		final File projectDir = resources.getBasedir("it-tests/" + project);
+		assertTrue("Project directory '" + projectDir + "' not found!", projectDir.isDirectory());
+		return projectDir;
+	}
+
+	@Test
+	public void test() throws Exception {
+		final File baseDir = getProjectDir("recipe-with-jar-digests");
+
+		MavenExecutionResult result = verifier.forProject(baseDir).withCliOption("-Dincremental=true").execute("package");
+		assertNoErrorsInMavenLog(baseDir, result);
+		assertFilesPresent(baseDir, "target/ebr-jar-digests.properties");
+		assertChecksums(baseDir);
+
+		// unchanged jars keep their digests
+		result = verifier.forProject(baseDir).withCliOption("-Dincremental=true").execute("package");
+		assertNoErrorsInMavenLog(baseDir, result);
+		result.assertLogText("Bundle is up to date");
+		assertChecksums(baseDir);
+	}
+}
@@ -0,0 +1,150 @@
+package org.eclipse.ebr.maven.tests.integration;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.eclipse.ebr.maven.tests.integration.RecipeAsserts.assertNoErrorsInMavenLog;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.takari.maven.testing.TestResources;
+import io.takari.maven.testing.executor.MavenExecutionResult;
+import io.takari.maven.testing.executor.MavenRuntime;
+import io.takari.maven.testing.executor.MavenRuntime.MavenRuntimeBuilder;
+import io.takari.maven.testing.executor.MavenVersions;
+import io.takari.maven.testing.executor.junit.MavenJUnitTestRunner;
+
+@RunWith(MavenJUnitTestRunner.class)
+@MavenVersions({ "3.6.3" })
+public class RecipeWithLicenseCacheTest {
+
+	private static final String ETAG = "\"license-a-1\"";
+	private static final String NEW_ETAG = "\"license-a-2\"";
+	private static final String LAST_MODIFIED = "Sat, 17 Oct 2026 00:00:00 GMT";
+
+	@Rule
+	public final TestResources resources = new TestResources();
+
+	public final MavenRuntime verifier;
+
+	/** stand-in for the servers hosting the licenses */
+	private HttpServer licenseServer;
+
+	private final AtomicInteger downloads = new AtomicInteger();
+	private final AtomicInteger notModified = new AtomicInteger();
+
+	/** the current ETag of license A (older ones still match the unchanged content) */
+	private final AtomicReference<String> etag = new AtomicReference<>(ETAG);
+	private final List<String> etagConditions = new CopyOnWriteArrayList<>();
+
+	public RecipeWithLicenseCacheTest(final MavenRuntimeBuilder builder) throws Exception {
+		verifier = builder.withCliOptions("-X").build();
+	}
+
+	private void assertLicenseFiles(final File recipeDir) throws IOException {
+		assertEquals("License A", new String(Files.readAllBytes(new File(recipeDir, "src/main/resources/about_files/EBR_IT_LICENSE_A.txt").toPath()), UTF_8));
+		assertEquals("<html><body>License B</body></html>", new String(Files.readAllBytes(new File(recipeDir, "src/main/resources/about_files/EBR_IT_LICENSE_B.html").toPath()), UTF_8));
+		final String aboutHtml = new String(Files.readAllBytes(new File(recipeDir, "src/main/resources/about.html").toPath()), UTF_8);
+		assertTrue("License A not referenced in about.html!", aboutHtml.contains("about_files/EBR_IT_LICENSE_A.txt"));
+		assertTrue("License B not referenced in about.html!", aboutHtml.contains("about_files/EBR_IT_LICENSE_B.html"));
+	}
+
+	private File getProjectDir(final String project) throws IOException {
+		final File projectDir = resources.getBasedir("it-tests/" + project);
+		assertTrue("Project directory '" + projectDir + "' not found!", projectDir.isDirectory());
+		return projectDir;
+	}
+
+	private void send(final HttpExchange exchange, final String contentType, final String header, final String value, final String content) throws IOException {
+		exchange.getResponseHeaders().set(header, value);
+		final String condition = exchange.getRequestHeaders().getFirst("ETag".equals(header) ? "If-None-Match" : "If-Modified-Since");
+		if ("ETag".equals(header) && (condition != null)) {
+			etagConditions.add(condition);
+		}
+		if (value.equals(condition) || ("ETag".equals(header) && ETAG.equals(condition))) {
+			notModified.incrementAndGet();
+			exchange.sendResponseHeaders(304, -1);
+			exchange.close();
+			return;
+		}
+
+		downloads.incrementAndGet();
+		final byte[] body = content.getBytes(UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", contentType);
+		exchange.sendResponseHeaders(200, body.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(body);
+		}
+	}
+
+	@Before
+	public void startLicenseServer() throws IOException {
+		licenseServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		licenseServer.createContext("/licenses/a", exchange -> send(exchange, "text/plain; charset=UTF-8", "ETag", etag.get(), "License A"));
+		licenseServer.createContext("/licenses/b", exchange -> send(exchange, "text/html", "Last-Modified", LAST_MODIFIED, "<html><body>License B</body></html>"));
+		licenseServer.start();
+	}
+
+	@After
+	public void stopLicenseServer() {
+		if (licenseServer != null) {
+			licenseServer.stop(0);
+		}
+	}
+
+	@Test
+	public void test() throws Exception {
+		final File baseDir = getProjectDir("recipe-with-license-cache");
+		final File recipeDir = new File(baseDir, "recipe");
+		final String licenseServerPort = "-Debr.it.licenseServerPort=" + licenseServer.getAddress().getPort();
+
+		MavenExecutionResult result = verifier.forProject(baseDir).withCliOption(licenseServerPort).execute("package");
+		assertNoErrorsInMavenLog(baseDir, result);
+		assertEquals(2, downloads.get());
+		assertLicenseFiles(recipeDir);
+
+		// refreshing unchanged licenses only revalidates the cache
+		result = verifier.forProject(baseDir).withCliOption(licenseServerPort).withCliOption("-DforceDownload=true").execute("package");
+		assertNoErrorsInMavenLog(baseDir, result);
+		assertEquals(2, downloads.get());
+		assertEquals(2, notModified.get());
+		assertLicenseFiles(recipeDir);
+
+		// a new ETag sent with a not modified response is used for the next revalidation
+		etag.set(NEW_ETAG);
+		result = verifier.forProject(baseDir).withCliOption(licenseServerPort).withCliOption("-DforceDownload=true").execute("package");
+		assertNoErrorsInMavenLog(baseDir, result);
+		assertEquals(ETAG, etagConditions.get(etagConditions.size() - 1));
+		result = verifier.forProject(baseDir).withCliOption(licenseServerPort).withCliOption("-DforceDownload=true").execute("package");
+		assertNoErrorsInMavenLog(baseDir, result);
+		assertEquals(NEW_ETAG, etagConditions.get(etagConditions.size() - 1));
+		assertEquals(2, downloads.get());
+		assertEquals(6, notModified.get());
+		assertLicenseFiles(recipeDir);
+
+		// cached licenses are used when the server is not available
+		licenseServer.stop(0);
+		licenseServer = null;
+		result = verifier.forProject(baseDir).withCliOption(licenseServerPort).withCliOption("-DforceDownload=true").execute("package");
+		assertNoErrorsInMavenLog(baseDir, result);
+		result.assertLogText("Unable to revalidate cached license");
+		assertLicenseFiles(recipeDir);
+	}
+}
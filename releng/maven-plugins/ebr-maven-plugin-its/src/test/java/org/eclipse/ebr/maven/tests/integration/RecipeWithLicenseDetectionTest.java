@@ -0,0 +1,55 @@
+package org.eclipse.ebr.maven.tests.integration;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.eclipse.ebr.maven.tests.integration.RecipeAsserts.assertNoErrorsInMavenLog;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import io.takari.maven.testing.TestResources;
+import io.takari.maven.testing.executor.MavenExecutionResult;
+import io.takari.maven.testing.executor.MavenRuntime;
+import io.takari.maven.testing.executor.MavenRuntime.MavenRuntimeBuilder;
+import io.takari.maven.testing.executor.MavenVersions;
+import io.takari.maven.testing.executor.junit.MavenJUnitTestRunner;
+
+@RunWith(MavenJUnitTestRunner.class)
+@MavenVersions({ "3.6.3" })
+public class RecipeWithLicenseDetectionTest {
+
+	@Rule
+	public final TestResources resources = new TestResources();
+
+	public final MavenRuntime verifier;
+
+	public RecipeWithLicenseDetectionTest(final MavenRuntimeBuilder builder) throws Exception {
+		verifier = builder.withCliOptions("-X").build();
+	}
+
+	private File getProjectDir(final String project) throws IOException {
+		final File projectDir = resources.getBasedir("it-tests/" + project);
+		assertTrue("Project directory '" + projectDir + "' not found!", projectDir.isDirectory());
+		return projectDir;
+	}
+
+	@Test
+	public void test() throws Exception {
+		final File baseDir = getProjectDir("recipe-with-license-detection");
+		final File recipeDir = new File(baseDir, "recipe");
+
+		final MavenExecutionResult result = verifier.forProject(baseDir).execute("package");
+		assertNoErrorsInMavenLog(baseDir, result);
+		result.assertLogText("Detected license 'MIT license' from 'META-INF/LICENSE' in artifact org.eclipse.ebr.it:unlicensed-lib:1.0.0-SNAPSHOT.");
+
+		final String aboutHtml = new String(Files.readAllBytes(new File(recipeDir, "src/main/resources/about.html").toPath()), UTF_8);
+		assertTrue("Detected license not referenced in about.html!", aboutHtml.contains("under the terms and conditions of the MIT license (<a href=\"about_files/MIT.txt\""));
+		assertFalse("Unexpected missing license information in about.html!", aboutHtml.contains("is distributed without licensing information"));
+	}
+}
@@ -0,0 +1,111 @@
+package org.eclipse.ebr.maven.tests.integration;
+
+import static org.eclipse.ebr.maven.tests.integration.RecipeAsserts.assertFilesPresentInJar;
+import static org.eclipse.ebr.maven.tests.integration.RecipeAsserts.assertNoErrorsInMavenLog;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.cert.X509Certificate;
+import java.util.Collections;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import io.takari.maven.testing.TestResources;
+import io.takari.maven.testing.executor.MavenExecutionResult;
+import io.takari.maven.testing.executor.MavenRuntime;
+import io.takari.maven.testing.executor.MavenRuntime.MavenRuntimeBuilder;
+import io.takari.maven.testing.executor.MavenVersions;
+import io.takari.maven.testing.executor.junit.MavenJUnitTestRunner;
+
+@RunWith(MavenJUnitTestRunner.class)
+@MavenVersions({ "3.6.0" })
+public class RecipeWithLocalSigningTest {
+
+	@Rule
+	public final TestResources resources = new TestResources();
+
+	public final MavenRuntime verifier;
+
+	public RecipeWithLocalSigningTest(final MavenRuntimeBuilder builder) throws Exception {
+		verifier = builder.withCliOptions("-X").build();
+	}
+
+	private void assertSigned(final File jar) throws IOException {
+		final byte[] buffer = new byte[8192];
+		int signedEntries = 0;
+		try (JarFile jarFile = new JarFile(jar, true)) {
+			for (final JarEntry entry : Collections.list(jarFile.entries())) {
+				// reading the entry verifies its digest
+				try (InputStream in = jarFile.getInputStream(entry)) {
+					while (in.read(buffer) != -1) {
+						// consume
+					}
+				}
+				if (entry.isDirectory() || entry.getName().startsWith("META-INF/")) {
+					continue;
+				}
+				assertNotNull("Entry '" + entry.getName() + "' of '" + jar.getName() + "' is not signed!", entry.getCodeSigners());
+				assertEquals("CN=EBR Integration Test,O=Eclipse Foundation", ((X509Certificate) entry.getCodeSigners()[0].getSignerCertPath().getCertificates().get(0)).getSubjectX500Principal().getName());
+				signedEntries++;
+			}
+		}
+		assertTrue("No signed entries found in '" + jar.getName() + "'!", signedEntries > 0);
+	}
+
+	private String digest(final File file) throws Exception {
+		final StringBuilder hex = new StringBuilder();
+		for (final byte b : MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(file.toPath()))) {
+			hex.append(String.format("%02x", b & 0xFF));
+		}
+		return hex.toString();
+	}
+
+	private File getProjectDir(final String project) throws IOException {
+		final File projectDir = resources.getBasedir("it-tests/" + project);
+		assertTrue("Project directory '" + projectDir + "' not found!", projectDir.isDirectory());
+		return projectDir;
+	}
+
+	@Test
+	public void test() throws Exception {
+		final File baseDir = getProjectDir("recipe-with-local-signing");
+
+		final MavenExecutionResult result = verifier.forProject(baseDir).execute("package");
+		assertNoErrorsInMavenLog(baseDir, result);
+
+		final File bundleJar = new File(baseDir, "target/recipe-with-local-signing-it-1.0.0-SNAPSHOT.jar");
+		final File sourceBundleJar = new File(baseDir, "target/recipe-with-local-signing-it-1.0.0-SNAPSHOT-sources.jar");
+		assertFilesPresentInJar(baseDir, "target/recipe-with-local-signing-it-1.0.0-SNAPSHOT.jar", "META-INF/EBR.SF", "META-INF/EBR.RSA");
+		assertFilesPresentInJar(baseDir, "target/recipe-with-local-signing-it-1.0.0-SNAPSHOT-sources.jar", "META-INF/EBR.SF", "META-INF/EBR.RSA");
+		assertSigned(bundleJar);
+		assertSigned(sourceBundleJar);
+
+		// checksums of the signed jars are published
+		final NodeList properties = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new File(baseDir, "target/p2artifacts.xml")).getDocumentElement().getElementsByTagName("property");
+		int checksums = 0;
+		for (int i = 0; i < properties.getLength(); i++) {
+			final Element property = (Element) properties.item(i);
+			if ("download.checksum.sha-256".equals(property.getAttribute("name"))) {
+				final Element artifact = (Element) property.getParentNode().getParentNode();
+				assertEquals(digest(artifact.getAttribute("id").endsWith(".source") ? sourceBundleJar : bundleJar), property.getAttribute("value"));
+				checksums++;
+			}
+		}
+		assertEquals(2, checksums);
+	}
+}
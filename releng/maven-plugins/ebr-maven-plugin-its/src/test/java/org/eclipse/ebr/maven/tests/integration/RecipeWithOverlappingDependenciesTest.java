@@ -0,0 +1,92 @@
+package org.eclipse.ebr.maven.tests.integration;
+
+import static io.takari.maven.testing.TestResources.assertFilesPresent;
+import static org.eclipse.ebr.maven.tests.integration.RecipeAsserts.assertFilesPresentInJar;
+import static org.eclipse.ebr.maven.tests.integration.RecipeAsserts.assertJarEntrySize;
+import static org.eclipse.ebr.maven.tests.integration.RecipeAsserts.assertNoErrorsInMavenLog;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import io.takari.maven.testing.TestResources;
+import io.takari.maven.testing.executor.MavenExecutionResult;
+import io.takari.maven.testing.executor.MavenRuntime;
+import io.takari.maven.testing.executor.MavenRuntime.MavenRuntimeBuilder;
+import io.takari.maven.testing.executor.MavenVersions;
+import io.takari.maven.testing.executor.junit.MavenJUnitTestRunner;
+
+@RunWith(MavenJUnitTestRunner.class)
+@MavenVersions({ "3.6.0" })
+public class RecipeWithOverlappingDependenciesTest {
+
+	private static final String BUNDLE_JAR = "target/recipe-with-overlapping-dependencies-it-1.0.0-SNAPSHOT.jar";
+
+	/** size of org/hamcrest/CoreMatchers.class in hamcrest-core 1.3 (it's 4099 bytes in junit 4.10) */
+	private static final long HAMCREST_CORE_MATCHERS_SIZE = 11752;
+
+	@Rule
+	public final TestResources resources = new TestResources();
+
+	public final MavenRuntime verifier;
+
+	public RecipeWithOverlappingDependenciesTest(final MavenRuntimeBuilder builder) throws Exception {
+		verifier = builder.withCliOptions("-X").build();
+	}
+
+	private File getProjectDir(final String project) throws IOException {
+		final File projectDir = resources.getBasedir("it-tests/" + project);
+		assertTrue("Project directory '" + projectDir + "' not found!", projectDir.isDirectory());
+		return projectDir;
+	}
+
+	private Map<String, Long> readJarContent(final File baseDir) throws IOException {
+		final Map<String, Long> content = new TreeMap<>();
+		try (JarFile jarFile = new JarFile(new File(baseDir, BUNDLE_JAR))) {
+			for (final Enumeration<JarEntry> entries = jarFile.entries(); entries.hasMoreElements();) {
+				final JarEntry entry = entries.nextElement();
+				// the manifest contains a timestamp
+				if (!entry.isDirectory() && !entry.getName().startsWith("META-INF/")) {
+					content.put(entry.getName(), entry.getCrc());
+				}
+			}
+		}
+		return content;
+	}
+
+	@Test
+	public void test() throws Exception {
+		final File baseDir = getProjectDir("recipe-with-overlapping-dependencies");
+
+		// dependencies are extracted concurrently but materialized in dependency order
+		MavenExecutionResult result = verifier.forProject(baseDir).execute("package");
+		assertNoErrorsInMavenLog(baseDir, result);
+		result.assertLogText("Extracting 2 artifacts using 4 threads.");
+		assertFilesPresent(baseDir, "target/dependency-bin/org/junit/Test.class", "target/dependency-bin/org/hamcrest/CoreMatchers.class");
+		assertEquals("Content of later dependency must win!", HAMCREST_CORE_MATCHERS_SIZE, new File(baseDir, "target/dependency-bin/org/hamcrest/CoreMatchers.class").length());
+		assertFilesPresentInJar(baseDir, BUNDLE_JAR, "org/junit/Test.class", "org/hamcrest/CoreMatchers.class");
+		assertJarEntrySize(baseDir, BUNDLE_JAR, "org/hamcrest/CoreMatchers.class", HAMCREST_CORE_MATCHERS_SIZE);
+		final Map<String, Long> content = readJarContent(baseDir);
+
+		// a clean build must produce the same content
+		result = verifier.forProject(baseDir).execute("clean", "package");
+		assertNoErrorsInMavenLog(baseDir, result);
+		assertEquals("Bundle content must be deterministic!", content, readJarContent(baseDir));
+
+		// merging in process must resolve overlapping content the same way
+		result = verifier.forProject(baseDir).withCliOption("-DmergeDependenciesInProcess=true").execute("clean", "package");
+		assertNoErrorsInMavenLog(baseDir, result);
+		assertJarEntrySize(baseDir, BUNDLE_JAR, "org/hamcrest/CoreMatchers.class", HAMCREST_CORE_MATCHERS_SIZE);
+		assertEquals("Bundle content must not depend on the merge strategy!", content, readJarContent(baseDir));
+	}
+}
@@ -0,0 +1,101 @@
+package org.eclipse.ebr.maven.tests.integration;
+
+import static io.takari.maven.testing.TestResources.assertFilesNotPresent;
+import static io.takari.maven.testing.TestResources.assertFilesPresent;
+import static org.eclipse.ebr.maven.tests.integration.RecipeAsserts.assertFilesNotPresentInJar;
+import static org.eclipse.ebr.maven.tests.integration.RecipeAsserts.assertFilesPresentInJar;
+import static org.eclipse.ebr.maven.tests.integration.RecipeAsserts.assertNoErrorsInMavenLog;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.jar.JarInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import io.takari.maven.testing.TestResources;
+import io.takari.maven.testing.executor.MavenExecutionResult;
+import io.takari.maven.testing.executor.MavenRuntime;
+import io.takari.maven.testing.executor.MavenRuntime.MavenRuntimeBuilder;
+import io.takari.maven.testing.executor.MavenVersions;
+import io.takari.maven.testing.executor.junit.MavenJUnitTestRunner;
+
+@RunWith(MavenJUnitTestRunner.class)
+@MavenVersions({ "3.6.0" })
+public class RecipeWithParallelJarWriterTest {
+
+	@Rule
+	public final TestResources resources = new TestResources();
+
+	public final MavenRuntime verifier;
+
+	public RecipeWithParallelJarWriterTest(final MavenRuntimeBuilder builder) throws Exception {
+		verifier = builder.withCliOptions("-X").build();
+	}
+
+	/** the timestamps of the entries not taken from a file (directories and the manifest) */
+	private Map<String, Long> getGeneratedEntryTimes(final File jar) throws IOException {
+		final Map<String, Long> times = new LinkedHashMap<>();
+		try (ZipFile zipFile = new ZipFile(jar)) {
+			for (final ZipEntry entry : Collections.list(zipFile.entries())) {
+				if (entry.isDirectory() || "META-INF/MANIFEST.MF".equals(entry.getName())) {
+					times.put(entry.getName(), entry.getTime());
+				}
+			}
+		}
+		return times;
+	}
+
+	private File getProjectDir(final String project) throws IOException {
+		final File projectDir = resources.getBasedir("it-tests/" + project);
+		assertTrue("Project directory '" + projectDir + "' not found!", projectDir.isDirectory());
+		return projectDir;
+	}
+
+	@Test
+	public void test() throws Exception {
+		final File baseDir = getProjectDir("recipe-with-parallel-jar-writer");
+
+		final long started = System.currentTimeMillis();
+		MavenExecutionResult result = verifier.forProject(baseDir).execute("package");
+		assertNoErrorsInMavenLog(baseDir, result);
+
+		// check unpacked dependencies
+		assertFilesPresent(baseDir, "target/dependency-bin/org/junit/Test.class", "target/dependency-src/org/junit/Test.java");
+		assertFilesNotPresent(baseDir, "target/dependency-bin/junit/extensions/TestSetup.class");
+
+		// check jars
+		assertFilesPresentInJar(baseDir, "target/recipe-with-parallel-jar-writer-it-1.0.0-SNAPSHOT.jar", "org/junit/Test.class", "junit/framework/TestCase.class");
+		assertFilesNotPresentInJar(baseDir, "target/recipe-with-parallel-jar-writer-it-1.0.0-SNAPSHOT.jar", "junit/extensions/TestSetup.class");
+		assertFilesPresentInJar(baseDir, "target/recipe-with-parallel-jar-writer-it-1.0.0-SNAPSHOT-sources.jar", "org/junit/Test.java");
+
+		// check compression
+		final File bundleJar = new File(baseDir, "target/recipe-with-parallel-jar-writer-it-1.0.0-SNAPSHOT.jar");
+		try (JarInputStream jarStream = new JarInputStream(new FileInputStream(bundleJar))) {
+			assertNotNull("Manifest must be the first entry!", jarStream.getManifest());
+		}
+		try (ZipFile zipFile = new ZipFile(bundleJar)) {
+			assertEquals("Already compressed content must be stored!", ZipEntry.STORED, zipFile.getEntry("icon.png").getMethod());
+			assertEquals("Classes must be compressed!", ZipEntry.DEFLATED, zipFile.getEntry("org/junit/Test.class").getMethod());
+			assertTrue("Generated entries must have a fixed timestamp!", zipFile.getEntry("META-INF/").getTime() < started);
+		}
+
+		// generated entries must not depend on the time of the build
+		final Map<String, Long> generatedEntryTimes = getGeneratedEntryTimes(bundleJar);
+		assertTrue("Directories missing!", generatedEntryTimes.containsKey("org/junit/"));
+		Thread.sleep(2500);
+		result = verifier.forProject(baseDir).execute("package");
+		assertNoErrorsInMavenLog(baseDir, result);
+		assertEquals(generatedEntryTimes, getGeneratedEntryTimes(bundleJar));
+	}
+}
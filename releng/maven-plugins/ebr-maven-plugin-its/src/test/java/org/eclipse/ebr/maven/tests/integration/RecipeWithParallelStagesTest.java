@@ -0,0 +1,60 @@
+package org.eclipse.ebr.maven.tests.integration;
+
+import static io.takari.maven.testing.TestResources.assertFilesNotPresent;
+import static io.takari.maven.testing.TestResources.assertFilesPresent;
+import static org.eclipse.ebr.maven.tests.integration.RecipeAsserts.assertFilesNotPresentInJar;
+import static org.eclipse.ebr.maven.tests.integration.RecipeAsserts.assertFilesPresentInJar;
+import static org.eclipse.ebr.maven.tests.integration.RecipeAsserts.assertNoErrorsInMavenLog;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import io.takari.maven.testing.TestResources;
+import io.takari.maven.testing.executor.MavenExecutionResult;
+import io.takari.maven.testing.executor.MavenRuntime;
+import io.takari.maven.testing.executor.MavenRuntime.MavenRuntimeBuilder;
+import io.takari.maven.testing.executor.MavenVersions;
+import io.takari.maven.testing.executor.junit.MavenJUnitTestRunner;
+
+@RunWith(MavenJUnitTestRunner.class)
+@MavenVersions({ "3.6.0" })
+public class RecipeWithParallelStagesTest {
+
+	@Rule
+	public final TestResources resources = new TestResources();
+
+	public final MavenRuntime verifier;
+
+	public RecipeWithParallelStagesTest(final MavenRuntimeBuilder builder) throws Exception {
+		verifier = builder.withCliOptions("-X").build();
+	}
+
+	private File getProjectDir(final String project) throws IOException {
+		final File projectDir = resources.getBasedir("it-tests/" + project);
+		assertTrue("Project directory '" + projectDir + "' not found!", projectDir.isDirectory());
+		return projectDir;
+	}
+
+	@Test
+	public void test() throws Exception {
+		final File baseDir = getProjectDir("recipe-with-parallel-stages");
+
+		final MavenExecutionResult result = verifier.forProject(baseDir).execute("package");
+		assertNoErrorsInMavenLog(baseDir, result);
+		result.assertLogText("Stage 'source-bundle' finished in");
+
+		// check unpacked dependencies
+		assertFilesPresent(baseDir, "target/dependency-bin/org/junit/Test.class", "target/dependency-src/org/junit/Test.java");
+		assertFilesNotPresent(baseDir, "target/dependency-bin/junit/extensions/TestSetup.class");
+
+		// check jars
+		assertFilesPresentInJar(baseDir, "target/recipe-with-parallel-stages-it-1.0.0-SNAPSHOT.jar", "org/junit/Test.class", "junit/framework/TestCase.class");
+		assertFilesNotPresentInJar(baseDir, "target/recipe-with-parallel-stages-it-1.0.0-SNAPSHOT.jar", "junit/extensions/TestSetup.class");
+		assertFilesPresentInJar(baseDir, "target/recipe-with-parallel-stages-it-1.0.0-SNAPSHOT-sources.jar", "org/junit/Test.java");
+	}
+}
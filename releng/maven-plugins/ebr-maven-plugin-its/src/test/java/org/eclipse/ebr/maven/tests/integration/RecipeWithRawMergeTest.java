@@ -0,0 +1,74 @@
+package org.eclipse.ebr.maven.tests.integration;
+
+import static io.takari.maven.testing.TestResources.assertFilesNotPresent;
+import static org.eclipse.ebr.maven.tests.integration.RecipeAsserts.assertExportedPackages;
+import static org.eclipse.ebr.maven.tests.integration.RecipeAsserts.assertFilesNotPresentInJar;
+import static org.eclipse.ebr.maven.tests.integration.RecipeAsserts.assertFilesPresentInJar;
+import static org.eclipse.ebr.maven.tests.integration.RecipeAsserts.assertManifestHeaderValue;
+import static org.eclipse.ebr.maven.tests.integration.RecipeAsserts.assertNoErrorsInMavenLog;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import io.takari.maven.testing.TestResources;
+import io.takari.maven.testing.executor.MavenExecutionResult;
+import io.takari.maven.testing.executor.MavenRuntime;
+import io.takari.maven.testing.executor.MavenRuntime.MavenRuntimeBuilder;
+import io.takari.maven.testing.executor.MavenVersions;
+import io.takari.maven.testing.executor.junit.MavenJUnitTestRunner;
+
+@RunWith(MavenJUnitTestRunner.class)
+@MavenVersions({ "3.6.0" })
+public class RecipeWithRawMergeTest {
+
+	@Rule
+	public final TestResources resources = new TestResources();
+
+	public final MavenRuntime verifier;
+
+	public RecipeWithRawMergeTest(final MavenRuntimeBuilder builder) throws Exception {
+		verifier = builder.withCliOptions("-X").build();
+	}
+
+	private File getProjectDir(final String project) throws IOException {
+		final File projectDir = resources.getBasedir("it-tests/" + project);
+		assertTrue("Project directory '" + projectDir + "' not found!", projectDir.isDirectory());
+		return projectDir;
+	}
+
+	@Test
+	public void test() throws Exception {
+		final File baseDir = getProjectDir("recipe-with-raw-merge");
+
+		final MavenExecutionResult result = verifier.forProject(baseDir).execute("package");
+
+		// check for no errors in log
+		assertNoErrorsInMavenLog(baseDir, result);
+
+		// nothing must be unpacked
+		assertFilesNotPresent(baseDir, "target/dependency-bin", "target/classes/org/junit/Test.class");
+
+		// check manifest
+		assertManifestHeaderValue(baseDir, "target/MANIFEST.MF", "Bundle-ClassPath", null);
+		assertManifestHeaderValue(baseDir, "target/MANIFEST.MF", "Bundle-SymbolicName", "recipe-with-raw-merge-it");
+		assertExportedPackages(baseDir, "target/MANIFEST.MF", new String[] { "org.junit", "junit.framework" }, "junit.extensions");
+
+		// check jar
+		assertFilesPresentInJar(baseDir, "target/recipe-with-raw-merge-it-1.0.0-SNAPSHOT.jar", "org/junit/Test.class", "junit/framework/TestCase.class");
+		assertFilesNotPresentInJar(baseDir, "target/recipe-with-raw-merge-it-1.0.0-SNAPSHOT.jar", "junit/extensions/TestSetup.class");
+
+		// generated content is not compressed (level 0) but dependency entries are copied as is
+		try (ZipFile zipFile = new ZipFile(new File(baseDir, "target/recipe-with-raw-merge-it-1.0.0-SNAPSHOT.jar"))) {
+			assertEquals("Manifest must not be compressed!", ZipEntry.STORED, zipFile.getEntry("META-INF/MANIFEST.MF").getMethod());
+			assertEquals("Dependency entries must be copied as is!", ZipEntry.DEFLATED, zipFile.getEntry("org/junit/Test.class").getMethod());
+		}
+	}
+}
@@ -0,0 +1,182 @@
+package org.eclipse.ebr.maven.tests.integration;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static org.eclipse.ebr.maven.tests.integration.RecipeAsserts.assertFilesPresentInJar;
+import static org.eclipse.ebr.maven.tests.integration.RecipeAsserts.assertNoErrorsInMavenLog;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.takari.maven.testing.TestResources;
+import io.takari.maven.testing.executor.MavenExecutionResult;
+import io.takari.maven.testing.executor.MavenRuntime;
+import io.takari.maven.testing.executor.MavenRuntime.MavenRuntimeBuilder;
+import io.takari.maven.testing.executor.MavenVersions;
+import io.takari.maven.testing.executor.junit.MavenJUnitTestRunner;
+
+@RunWith(MavenJUnitTestRunner.class)
+@MavenVersions({ "3.6.0" })
+public class RecipeWithRemoteSigningTest {
+
+	private static final String SIGNATURE_ENTRY = "META-INF/STANDIN.SF";
+
+	@Rule
+	public final TestResources resources = new TestResources();
+
+	public final MavenRuntime verifier;
+
+	/** stand-in for the signing service */
+	private HttpServer signingServer;
+
+	private final AtomicInteger signingRequests = new AtomicInteger();
+
+	public RecipeWithRemoteSigningTest(final MavenRuntimeBuilder builder) throws Exception {
+		verifier = builder.withCliOptions("-X").build();
+	}
+
+	private void assertChecksums(final File baseDir) throws Exception {
+		final NodeList properties = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new File(baseDir, "target/p2artifacts.xml")).getDocumentElement().getElementsByTagName("property");
+		int checksums = 0;
+		for (int i = 0; i < properties.getLength(); i++) {
+			final Element property = (Element) properties.item(i);
+			if ("download.checksum.sha-256".equals(property.getAttribute("name"))) {
+				final Element artifact = (Element) property.getParentNode().getParentNode();
+				final String jarName = artifact.getAttribute("id").endsWith(".source") ? "recipe-with-remote-signing-it-1.0.0-SNAPSHOT-sources.jar" : "recipe-with-remote-signing-it-1.0.0-SNAPSHOT.jar";
+				assertEquals(digest(new File(baseDir, "target/" + jarName)), property.getAttribute("value"));
+				checksums++;
+			}
+		}
+		assertEquals(2, checksums);
+	}
+
+	private void assertSigned(final File baseDir) throws IOException {
+		assertFilesPresentInJar(baseDir, "target/recipe-with-remote-signing-it-1.0.0-SNAPSHOT.jar", SIGNATURE_ENTRY);
+		assertFilesPresentInJar(baseDir, "target/recipe-with-remote-signing-it-1.0.0-SNAPSHOT-sources.jar", SIGNATURE_ENTRY);
+	}
+
+	private String digest(final File file) throws Exception {
+		final StringBuilder hex = new StringBuilder();
+		for (final byte b : MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(file.toPath()))) {
+			hex.append(String.format("%02x", b & 0xFF));
+		}
+		return hex.toString();
+	}
+
+	private File getProjectDir(final String project) throws IOException {
+		final File projectDir = resources.getBasedir("it-tests/" + project);
+		assertTrue("Project directory '" + projectDir + "' not found!", projectDir.isDirectory());
+		return projectDir;
+	}
+
+	private byte[] readFilePart(final HttpExchange exchange) throws IOException {
+		final String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+		final String boundary = "--" + contentType.substring(contentType.indexOf("boundary=") + "boundary=".length());
+		final ByteArrayOutputStream body = new ByteArrayOutputStream();
+		try (InputStream in = exchange.getRequestBody()) {
+			final byte[] buffer = new byte[8192];
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				body.write(buffer, 0, read);
+			}
+		}
+
+		// ISO-8859-1 maps every byte to exactly one char
+		final String content = new String(body.toByteArray(), ISO_8859_1);
+		assertTrue("Missing file part!", content.startsWith(boundary + "\r\nContent-Disposition: form-data; name=\"file\""));
+		final int start = content.indexOf("\r\n\r\n") + 4;
+		final int end = content.lastIndexOf("\r\n" + boundary + "--");
+		return content.substring(start, end).getBytes(ISO_8859_1);
+	}
+
+	private void sign(final HttpExchange exchange) throws IOException {
+		// the first request fails in order to exercise retries
+		if (signingRequests.getAndIncrement() == 0) {
+			exchange.sendResponseHeaders(503, -1);
+			exchange.close();
+			return;
+		}
+
+		final ByteArrayOutputStream signedJar = new ByteArrayOutputStream();
+		try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(readFilePart(exchange))); ZipOutputStream out = new ZipOutputStream(signedJar)) {
+			final byte[] buffer = new byte[8192];
+			ZipEntry entry;
+			while ((entry = in.getNextEntry()) != null) {
+				out.putNextEntry(new ZipEntry(entry.getName()));
+				int read;
+				while ((read = in.read(buffer)) != -1) {
+					out.write(buffer, 0, read);
+				}
+				out.closeEntry();
+			}
+			out.putNextEntry(new ZipEntry(SIGNATURE_ENTRY));
+			out.write("Signature-Version: 1.0\r\n".getBytes(ISO_8859_1));
+			out.closeEntry();
+		}
+
+		exchange.getResponseHeaders().set("Content-Type", "application/java-archive");
+		exchange.sendResponseHeaders(200, signedJar.size());
+		try (OutputStream out = exchange.getResponseBody()) {
+			signedJar.writeTo(out);
+		}
+	}
+
+	@Before
+	public void startSigningServer() throws IOException {
+		signingServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		signingServer.createContext("/jarsigner/sign", this::sign);
+		signingServer.start();
+	}
+
+	@After
+	public void stopSigningServer() {
+		signingServer.stop(0);
+	}
+
+	@Test
+	public void test() throws Exception {
+		final File baseDir = getProjectDir("recipe-with-remote-signing");
+		final String signerUrl = "-Dcbi.jarsigner.signerUrl=http://localhost:" + signingServer.getAddress().getPort() + "/jarsigner/sign";
+
+		MavenExecutionResult result = verifier.forProject(baseDir).withCliOption(signerUrl).withCliOption("-DforceContextQualifier=v20261018").execute("package");
+		assertNoErrorsInMavenLog(baseDir, result);
+		result.assertLogText("Retrying");
+		assertEquals("one failed and two successful signing requests expected", 3, signingRequests.get());
+		assertSigned(baseDir);
+		assertChecksums(baseDir);
+
+		// rebuilding unchanged bundles uses the cached signed jars
+		result = verifier.forProject(baseDir).withCliOption(signerUrl).withCliOption("-DforceContextQualifier=v20261018").execute("package");
+		assertNoErrorsInMavenLog(baseDir, result);
+		result.assertLogText("Using cached signed jar");
+		assertEquals("no further signing requests expected", 3, signingRequests.get());
+		assertSigned(baseDir);
+		assertChecksums(baseDir);
+	}
+}
@@ -0,0 +1,67 @@
+package org.eclipse.ebr.maven.tests.integration;
+
+import static org.eclipse.ebr.maven.tests.integration.RecipeAsserts.assertManifestHeaderValue;
+import static org.eclipse.ebr.maven.tests.integration.RecipeAsserts.assertNoErrorsInMavenLog;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.jar.Attributes;
+import java.util.jar.Manifest;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import io.takari.maven.testing.TestResources;
+import io.takari.maven.testing.executor.MavenExecutionResult;
+import io.takari.maven.testing.executor.MavenRuntime;
+import io.takari.maven.testing.executor.MavenRuntime.MavenRuntimeBuilder;
+import io.takari.maven.testing.executor.MavenVersions;
+import io.takari.maven.testing.executor.junit.MavenJUnitTestRunner;
+
+@RunWith(MavenJUnitTestRunner.class)
+@MavenVersions({ "3.6.0" })
+public class RecipeWithRepeatedBuildTest {
+
+	@Rule
+	public final TestResources resources = new TestResources();
+
+	public final MavenRuntime verifier;
+
+	public RecipeWithRepeatedBuildTest(final MavenRuntimeBuilder builder) throws Exception {
+		verifier = builder.withCliOptions("-X").build();
+	}
+
+	private File getProjectDir(final String project) throws IOException {
+		final File projectDir = resources.getBasedir("it-tests/" + project);
+		assertTrue("Project directory '" + projectDir + "' not found!", projectDir.isDirectory());
+		return projectDir;
+	}
+
+	private Attributes readManifest(final File baseDir) throws IOException {
+		try (InputStream in = new FileInputStream(new File(baseDir, "target/MANIFEST.MF"))) {
+			return new Manifest(in).getMainAttributes();
+		}
+	}
+
+	@Test
+	public void test() throws Exception {
+		final File baseDir = getProjectDir("recipe-with-repeated-build");
+
+		MavenExecutionResult result = verifier.forProject(baseDir).execute("package");
+		assertNoErrorsInMavenLog(baseDir, result);
+		assertManifestHeaderValue(baseDir, "target/MANIFEST.MF", "Bundle-SymbolicName", "recipe-with-repeated-build-it");
+		final Attributes manifest = readManifest(baseDir);
+
+		// second build must not merge the manifest generated by the first build
+		result = verifier.forProject(baseDir).execute("package");
+		assertNoErrorsInMavenLog(baseDir, result);
+		final Attributes repeatedManifest = readManifest(baseDir);
+		assertEquals(manifest.getValue("Export-Package"), repeatedManifest.getValue("Export-Package"));
+		assertEquals(manifest.getValue("Import-Package"), repeatedManifest.getValue("Import-Package"));
+	}
+}
@@ -0,0 +1,81 @@
+package org.eclipse.ebr.maven.tests.integration;
+
+import static org.eclipse.ebr.maven.tests.integration.RecipeAsserts.assertNoErrorsInMavenLog;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import io.takari.maven.testing.TestResources;
+import io.takari.maven.testing.executor.MavenExecutionResult;
+import io.takari.maven.testing.executor.MavenRuntime;
+import io.takari.maven.testing.executor.MavenRuntime.MavenRuntimeBuilder;
+import io.takari.maven.testing.executor.MavenVersions;
+import io.takari.maven.testing.executor.junit.MavenJUnitTestRunner;
+
+@RunWith(MavenJUnitTestRunner.class)
+@MavenVersions({ "3.6.3" })
+public class RecipesWithAggregateP2RepositoryTest {
+
+	@Rule
+	public final TestResources resources = new TestResources();
+
+	public final MavenRuntime verifier;
+
+	public RecipesWithAggregateP2RepositoryTest(final MavenRuntimeBuilder builder) throws Exception {
+		verifier = builder.withCliOptions("-X").build();
+	}
+
+	private Set<String> getBundleNames(final File repository) {
+		final Set<String> bundleNames = new TreeSet<>();
+		final String[] files = new File(repository, "plugins").list();
+		if (files != null) {
+			for (final String file : files) {
+				// strip version and extension
+				bundleNames.add(file.substring(0, file.indexOf('_')));
+			}
+		}
+		return bundleNames;
+	}
+
+	private File getProjectDir(final String project) throws IOException {
+		final File projectDir = resources.getBasedir("it-tests/" + project);
+		assertTrue("Project directory '" + projectDir + "' not found!", projectDir.isDirectory());
+		return projectDir;
+	}
+
+	@Test
+	public void test() throws Exception {
+		final File baseDir = getProjectDir("recipes-with-aggregate-p2-repository");
+
+		final MavenExecutionResult result = verifier.forProject(baseDir).execute("package");
+		assertNoErrorsInMavenLog(baseDir, result);
+		result.assertLogText("Contributed recipe to aggregate p2 repository (1 of 2)");
+		result.assertLogText("Assembling 2 recipes into aggregate p2 repository");
+
+		// bundles and source bundles of both recipes
+		final File repository = new File(baseDir, "target/repository");
+		assertTrue("Aggregate p2 repository not assembled!", new File(repository, "p2.index").isFile());
+		assertEquals(new TreeSet<>(Arrays.asList("recipe-a", "recipe-a.source", "recipe-b", "recipe-b.source")), getBundleNames(repository));
+	}
+
+	@Test
+	public void testIncomplete() throws Exception {
+		final File baseDir = getProjectDir("recipes-with-aggregate-p2-repository");
+
+		final MavenExecutionResult result = verifier.forProject(baseDir).withCliOption("-Drecipe-b.aggregateP2Repository=false").execute("package");
+		// reported as build failure when the session ends
+		result.assertLogText("MavenExecutionException");
+		result.assertLogText("Aggregate p2 repository not assembled because 1 of 2 recipes did not contribute to it: org.eclipse.ebr.it:recipe-b");
+		assertFalse("Aggregate p2 repository must not be assembled!", new File(baseDir, "target/repository").exists());
+	}
+}
@@ -0,0 +1,58 @@
+package org.eclipse.ebr.maven.tests.integration;
+
+import static java.nio.file.Files.readAllLines;
+import static org.eclipse.ebr.maven.tests.integration.RecipeAsserts.assertNoErrorsInMavenLog;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import io.takari.maven.testing.TestResources;
+import io.takari.maven.testing.executor.MavenExecutionResult;
+import io.takari.maven.testing.executor.MavenRuntime;
+import io.takari.maven.testing.executor.MavenRuntime.MavenRuntimeBuilder;
+import io.takari.maven.testing.executor.MavenVersions;
+import io.takari.maven.testing.executor.junit.MavenJUnitTestRunner;
+
+@RunWith(MavenJUnitTestRunner.class)
+@MavenVersions({ "3.6.3" })
+public class RecipesWithMojoExecutionCacheTest {
+
+	@Rule
+	public final TestResources resources = new TestResources();
+
+	public final MavenRuntime verifier;
+
+	public RecipesWithMojoExecutionCacheTest(final MavenRuntimeBuilder builder) throws Exception {
+		verifier = builder.withCliOptions("-X").build();
+	}
+
+	private long countLogLines(final File baseDir, final String text) throws IOException {
+		return readAllLines(new File(baseDir, "log.txt").toPath()).stream().filter(l -> l.contains(text)).count();
+	}
+
+	private File getProjectDir(final String project) throws IOException {
+		final File projectDir = resources.getBasedir("it-tests/" + project);
+		assertTrue("Project directory '" + projectDir + "' not found!", projectDir.isDirectory());
+		return projectDir;
+	}
+
+	@Test
+	public void test() throws Exception {
+		final File baseDir = getProjectDir("recipes-with-mojo-execution-cache");
+
+		final MavenExecutionResult result = verifier.forProject(baseDir).execute("package");
+		assertNoErrorsInMavenLog(baseDir, result);
+
+		// dependencies and sources of a recipe are unpacked with the same descriptor
+		// (recipe-b declares plug-in dependencies and recipe-c build extensions, so they must not use the descriptor loaded for recipe-a)
+		assertEquals("Mojo descriptor must be loaded once per recipe!", 3, countLogLines(baseDir, "Loading mojo descriptor for org.apache.maven.plugins:maven-dependency-plugin:3.1.1:unpack"));
+		assertEquals("Mojo descriptor must be reused within each recipe!", 3, countLogLines(baseDir, "Using cached mojo descriptor for org.apache.maven.plugins:maven-dependency-plugin:3.1.1:unpack"));
+		result.assertLogText("Using cached mojo descriptor for org.apache.maven.plugins:maven-dependency-plugin:3.1.1:unpack +org.apache.commons:commons-lang3:3.12.0:jar");
+	}
+}
@@ -0,0 +1,52 @@
+package org.eclipse.ebr.maven.tests.integration;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import io.takari.maven.testing.TestResources;
+import io.takari.maven.testing.executor.MavenExecutionResult;
+import io.takari.maven.testing.executor.MavenRuntime;
+import io.takari.maven.testing.executor.MavenRuntime.MavenRuntimeBuilder;
+import io.takari.maven.testing.executor.MavenVersions;
+import io.takari.maven.testing.executor.junit.MavenJUnitTestRunner;
+
+@RunWith(MavenJUnitTestRunner.class)
+@MavenVersions({ "3.6.3" })
+public class RecipesWithSharedParentTest {
+
+	@Rule
+	public final TestResources resources = new TestResources();
+
+	public final MavenRuntime verifier;
+
+	public RecipesWithSharedParentTest(final MavenRuntimeBuilder builder) throws Exception {
+		// keep building the second recipe when the first one fails
+		verifier = builder.withCliOptions("-X", "-fae").build();
+	}
+
+	private File getProjectDir(final String project) throws IOException {
+		final File projectDir = resources.getBasedir("it-tests/" + project);
+		assertTrue("Project directory '" + projectDir + "' not found!", projectDir.isDirectory());
+		return projectDir;
+	}
+
+	@Test
+	public void test() throws Exception {
+		final File baseDir = getProjectDir("recipes-with-shared-parent");
+
+		final MavenExecutionResult result = verifier.forProject(baseDir).execute("package");
+		result.assertLogText("Building effective model for pom");
+		assertTrue("Effective model of lib-a not built!", new File(baseDir, "recipe-a/src/main/resources/about.html").isFile());
+		assertTrue("Effective model of lib-b not built!", new File(baseDir, "recipe-b/src/main/resources/about.html").isFile());
+
+		// the parent is parsed for lib-a in recipe-a and taken from the cache for lib-b in recipe-b
+		result.assertLogText("Model cache hits: 0, misses: 1.");
+		result.assertLogText("Model cache hits: 1, misses: 1.");
+	}
+}
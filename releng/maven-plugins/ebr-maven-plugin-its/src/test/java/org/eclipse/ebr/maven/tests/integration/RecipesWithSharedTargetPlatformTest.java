@@ -0,0 +1,88 @@
+package org.eclipse.ebr.maven.tests.integration;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.readAllLines;
+import static org.eclipse.ebr.maven.tests.integration.RecipeAsserts.assertNoErrorsInMavenLog;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import io.takari.maven.testing.TestResources;
+import io.takari.maven.testing.executor.MavenExecutionResult;
+import io.takari.maven.testing.executor.MavenRuntime;
+import io.takari.maven.testing.executor.MavenRuntime.MavenRuntimeBuilder;
+import io.takari.maven.testing.executor.MavenVersions;
+import io.takari.maven.testing.executor.junit.MavenJUnitTestRunner;
+
+@RunWith(MavenJUnitTestRunner.class)
+@MavenVersions({ "3.6.3" })
+public class RecipesWithSharedTargetPlatformTest {
+
+	@Rule
+	public final TestResources resources = new TestResources();
+
+	public final MavenRuntime verifier;
+
+	public RecipesWithSharedTargetPlatformTest(final MavenRuntimeBuilder builder) throws Exception {
+		verifier = builder.withCliOptions("-X").build();
+	}
+
+	private void assertRepositoryContent(final File recipeDir, final String recipe, final String otherRecipe) throws IOException {
+		final File repository = new File(recipeDir, "target/repository");
+		assertEquals("Unexpected bundles in p2 repository of " + recipe, new TreeSet<>(Arrays.asList(recipe, recipe + ".source")), getBundleNames(repository));
+
+		// the shared target platform must not leak content of other recipes
+		final String content = new String(Files.readAllBytes(new File(repository, "content.xml").toPath()), UTF_8);
+		assertTrue("Bundle missing in p2 metadata of " + recipe, content.contains("id='" + recipe + "'"));
+		assertTrue("Source bundle missing in p2 metadata of " + recipe, content.contains("id='" + recipe + ".source'"));
+		assertFalse("Content of " + otherRecipe + " in p2 metadata of " + recipe, content.contains("id='" + otherRecipe));
+	}
+
+	private long countLogLines(final File baseDir, final String text) throws IOException {
+		return readAllLines(new File(baseDir, "log.txt").toPath()).stream().filter(l -> l.contains(text)).count();
+	}
+
+	private Set<String> getBundleNames(final File repository) {
+		final Set<String> bundleNames = new TreeSet<>();
+		final String[] files = new File(repository, "plugins").list();
+		if (files != null) {
+			for (final String file : files) {
+				// strip version and extension
+				bundleNames.add(file.substring(0, file.indexOf('_')));
+			}
+		}
+		return bundleNames;
+	}
+
+	private File getProjectDir(final String project) throws IOException {
+		final File projectDir = resources.getBasedir("it-tests/" + project);
+		assertTrue("Project directory '" + projectDir + "' not found!", projectDir.isDirectory());
+		return projectDir;
+	}
+
+	@Test
+	public void test() throws Exception {
+		final File baseDir = getProjectDir("recipes-with-shared-target-platform");
+
+		final MavenExecutionResult result = verifier.forProject(baseDir).execute("package");
+		assertNoErrorsInMavenLog(baseDir, result);
+
+		// computed for recipe-a, reused for recipe-b
+		assertEquals("Target platform must be computed once!", 1, countLogLines(baseDir, "final target platform: "));
+		assertEquals("Target platform must be reused!", 1, countLogLines(baseDir, "Reusing target platform for "));
+
+		assertRepositoryContent(new File(baseDir, "recipe-a"), "recipe-a", "recipe-b");
+		assertRepositoryContent(new File(baseDir, "recipe-b"), "recipe-b", "recipe-a");
+	}
+}
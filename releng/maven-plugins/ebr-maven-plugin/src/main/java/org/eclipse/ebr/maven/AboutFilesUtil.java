@@ -16,34 +16,40 @@ import static org.apache.commons.text.StringEscapeUtils.escapeHtml4;
 import static org.eclipse.ebr.maven.TemplateHelper.getTemplate;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.text.DateFormat;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.SortedMap;
-
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.eclipse.ebr.maven.LicenseCacheUtil.CachedLicense;
 import org.eclipse.ebr.maven.eclipseip.KnownLicense;
+import org.eclipse.ebr.maven.eclipseip.KnownLicenses;
+import org.eclipse.ebr.maven.eclipseip.LicenseTextMatcher;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.text.TextStringBuilder;
-import org.apache.http.HttpEntity;
-import org.apache.http.client.methods.CloseableHttpResponse;
-import org.apache.http.client.methods.HttpGet;
-import org.apache.http.entity.ContentType;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.model.License;
@@ -60,11 +66,27 @@ public class AboutFilesUtil extends LicenseProcessingUtility {
 	private static final String REQUIRES_FORCE_DOWNLOAD_MESSAGE = "Please set the forceDownload property to true in order to download it again (eg. '-DforceDownload=true' via command line).";
 	private static final String ABOUT_HTML = "about.html";
 
+	/** license files in dependency jars */
+	private static final Pattern LICENSE_ENTRY = Pattern.compile("(META-INF/)?LICEN[CS]E[^/]*", Pattern.CASE_INSENSITIVE);
+
+	/** license files larger than this are not license texts of a single license */
+	private static final long MAX_LICENSE_TEXT_SIZE = 256 * 1024;
+
 	private final boolean forceDownload;
+	private final HttpClientUtil httpClientUtil;
+	private final LicenseCacheUtil licenseCacheUtil;
+
+	/** licenses detected in dependency jars by artifact (value maybe <code>null</code>) */
+	private final Map<Artifact, KnownLicense> detectedLicenses = new HashMap<>();
 
-	public AboutFilesUtil(final Log log, final MavenSession mavenSession, final boolean force, final boolean forceDownload) {
+	/** pending license downloads by license file name */
+	private final Map<String, Future<String>> licenseDownloads = new LinkedHashMap<>();
+
+	public AboutFilesUtil(final Log log, final MavenSession mavenSession, final boolean force, final boolean forceDownload, final HttpClientUtil httpClientUtil, final File licenseCacheDirectory) {
 		super(log, mavenSession, force);
 		this.forceDownload = forceDownload;
+		this.httpClientUtil = httpClientUtil;
+		licenseCacheUtil = new LicenseCacheUtil(log, mavenSession, httpClientUtil, licenseCacheDirectory);
 	}
 
 	private void appendAndDownloadLicenseInfo(final TextStringBuilder text, final File downloadDir, final Artifact artifact, final List<License> licenses) throws MojoExecutionException {
@@ -93,8 +115,7 @@ public class AboutFilesUtil extends LicenseProcessingUtility {
 					text.append("<a href=\"").append(licenseUrl.toExternalForm()).append("\" target=\"_blank\">");
 					wroteUrl = true;
 					try {
-						getLog().info(format("Downloading license '%s' (%s).", license.getName(), licenseUrl.toExternalForm()));
-						licenseFileName = downloadLicenseFile(downloadDir, license, licenseUrl);
+						licenseFileName = getDownloadedLicenseFile(downloadDir, license, licenseUrl);
 						getLog().info(format("  -> %s.", licenseFileName));
 					} catch (final IOException e) {
 						licenseFileName = null;
@@ -107,6 +128,9 @@ public class AboutFilesUtil extends LicenseProcessingUtility {
 					getLog().warn(format("Invalid license url '%s' in artifact pom '%s'.", url, artifact.getFile()));
 				}
 			}
+			if (licenseFileName != null) {
+				identifyLicenseFile(downloadDir, license, licenseFileName);
+			}
 			text.append(escapeHtml4(license.getName()));
 			if (wroteUrl) {
 				text.append("</a>");
@@ -164,8 +188,43 @@ public class AboutFilesUtil extends LicenseProcessingUtility {
 		}
 	}
 
+	/**
+	 * Detects the license of a dependency from the license files found in
+	 * its jar (eg., <code>LICENSE</code> or <code>META-INF/LICENSE.txt</code>).
+	 *
+	 * @return the detected license (maybe <code>null</code>)
+	 */
+	private KnownLicense detectLicense(final Artifact artifact) {
+		if (detectedLicenses.containsKey(artifact))
+			return detectedLicenses.get(artifact);
+
+		KnownLicense detectedLicense = null;
+		final File file = artifact.getFile();
+		if ((file != null) && file.isFile()) {
+			try (ZipFile zipFile = new ZipFile(file)) {
+				for (final Enumeration<? extends ZipEntry> entries = zipFile.entries(); entries.hasMoreElements() && (detectedLicense == null);) {
+					final ZipEntry entry = entries.nextElement();
+					if (entry.isDirectory() || (entry.getSize() > MAX_LICENSE_TEXT_SIZE) || !LICENSE_ENTRY.matcher(entry.getName()).matches()) {
+						continue;
+					}
+					final String text = IOUtils.toString(zipFile.getInputStream(entry), StandardCharsets.UTF_8);
+					detectedLicense = LicenseTextMatcher.getInstance().findByText(text);
+					if (detectedLicense != null) {
+						getLog().info(format("Detected license '%s' from '%s' in artifact %s:%s:%s.", detectedLicense.getName(), entry.getName(), artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion()));
+					}
+				}
+			} catch (final IOException e) {
+				getLog().debug(e);
+				getLog().warn(format("Unable to read license files of artifact '%s'. %s", file, e.getMessage()));
+			}
+		}
+		detectedLicenses.put(artifact, detectedLicense);
+		return detectedLicense;
+	}
+
 	private String downloadLicenseFile(final File licenseOutputDir, final License license, final URL licenseUrl) throws IOException {
-		String licenseFileName = "about_files/" + sanitizeFileName(license.getName()).toUpperCase();
+		getLog().info(format("Downloading license '%s' (%s).", license.getName(), licenseUrl.toExternalForm()));
+		String licenseFileName = getLicenseFileName(license);
 		final String existingLicense = findExistingLicenseFile(licenseOutputDir, licenseFileName);
 		if (existingLicense != null) {
 			if (!forceDownload) {
@@ -175,35 +234,20 @@ public class AboutFilesUtil extends LicenseProcessingUtility {
 				getLog().warn(format("Re-using existing license file at '%s'. Maven is offline.", existingLicense));
 				return existingLicense;
 			}
-		} else if (getMavenSession().isOffline())
-			throw new IOException("Maven is offline.");
-		try (CloseableHttpClient client = HttpClients.createDefault()) {
-			final HttpGet get = new HttpGet(licenseUrl.toExternalForm());
-			get.setHeader("Accept", "text/plain,text/html");
-			try (final CloseableHttpResponse response = client.execute(get)) {
-				if (response.getStatusLine().getStatusCode() != 200)
-					throw new IOException(format("Download failed: %s", response.getStatusLine().toString()));
-				final HttpEntity entity = response.getEntity();
-				if (entity == null)
-					throw new IOException("Download faild. Empty respose.");
-
-				try (final InputStream is = entity.getContent()) {
-					final ContentType contentType = ContentType.getOrDefault(entity);
-					if (StringUtils.equalsIgnoreCase(contentType.getMimeType(), "text/plain")) {
-						licenseFileName = licenseFileName + ".txt";
-					} else if (StringUtils.equalsIgnoreCase(contentType.getMimeType(), "text/html")) {
-						licenseFileName = licenseFileName + ".html";
-					} else {
-						getLog().warn(format("Unexpected content type (%s) returned by remote server. Falling back to text/plain.", contentType));
-						licenseFileName = licenseFileName + ".txt";
-					}
+		}
 
-					try (FileOutputStream os = FileUtils.openOutputStream(new File(licenseOutputDir, licenseFileName))) {
-						IOUtils.copy(is, os);
-					}
-				}
-			}
+		// served from the license cache (revalidated unless offline)
+		final CachedLicense cachedLicense = licenseCacheUtil.getLicense(licenseUrl);
+		final String mimeType = cachedLicense.getMimeType();
+		if (StringUtils.equalsIgnoreCase(mimeType, "text/plain")) {
+			licenseFileName = licenseFileName + ".txt";
+		} else if (StringUtils.equalsIgnoreCase(mimeType, "text/html")) {
+			licenseFileName = licenseFileName + ".html";
+		} else {
+			getLog().warn(format("Unexpected content type (%s) returned by remote server. Falling back to text/plain.", mimeType));
+			licenseFileName = licenseFileName + ".txt";
 		}
+		FileUtils.copyFile(cachedLicense.getFile(), new File(licenseOutputDir, licenseFileName));
 		return licenseFileName;
 	}
 
@@ -223,15 +267,24 @@ public class AboutFilesUtil extends LicenseProcessingUtility {
 		}
 
 		String aboutHtmlText = readAboutHtmlTemplate();
-		aboutHtmlText = StringUtils.replaceEach(aboutHtmlText,
-				new String[] { // @formatter:off
-				"@DATE@",
-				"@THIRD_PARTY_INFO@"
-			}, new String[] {
-				DateFormat.getDateInstance(DateFormat.LONG, Locale.US).format(new Date()),
-				getThirdPartyInfo(dependencies, outputDirectory) }
-		);
-		// @formatter:on
+		final ExecutorService downloadExecutor = prefetchLicenseFiles(dependencies, outputDirectory);
+		try {
+			aboutHtmlText = StringUtils.replaceEach(aboutHtmlText,
+					new String[] { // @formatter:off
+					"@DATE@",
+					"@THIRD_PARTY_INFO@"
+				}, new String[] {
+					DateFormat.getDateInstance(DateFormat.LONG, Locale.US).format(new Date()),
+					getThirdPartyInfo(dependencies, outputDirectory) }
+			);
+			// @formatter:on
+		} finally {
+			if (downloadExecutor != null) {
+				downloadExecutor.shutdownNow();
+			}
+			licenseDownloads.clear();
+			detectedLicenses.clear();
+		}
 
 		try {
 			FileUtils.writeStringToFile(aboutHtmlFile, aboutHtmlText, StandardCharsets.UTF_8);
@@ -280,6 +333,27 @@ public class AboutFilesUtil extends LicenseProcessingUtility {
 		return developedByInfo.toString();
 	}
 
+	private String getDownloadedLicenseFile(final File downloadDir, final License license, final URL licenseUrl) throws IOException {
+		final Future<String> download = licenseDownloads.get(getLicenseFileName(license));
+		if (download == null)
+			return downloadLicenseFile(downloadDir, license, licenseUrl);
+
+		try {
+			return download.get();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while downloading license.", e);
+		} catch (final ExecutionException e) {
+			if (e.getCause() instanceof IOException)
+				throw (IOException) e.getCause();
+			throw new IOException(e.getCause().getMessage(), e.getCause());
+		}
+	}
+
+	private String getLicenseFileName(final License license) {
+		return "about_files/" + sanitizeFileName(license.getName()).toUpperCase();
+	}
+
 	private String getLicenseInfo(final Artifact resolvedPomArtifact, final Model artifactPom, final File resourcesDir) throws MojoExecutionException {
 		final TextStringBuilder licenseInfo = new TextStringBuilder();
 		final KnownLicense knownLicense = getLicense(resolvedPomArtifact);
@@ -297,6 +371,13 @@ public class AboutFilesUtil extends LicenseProcessingUtility {
 			}
 		}
 
+		if ((knownLicense == null) && licenses.isEmpty()) {
+			final KnownLicense detectedLicense = detectLicense(resolvedPomArtifact);
+			if (detectedLicense != null) {
+				licenses = Arrays.asList(detectedLicense.toMavenLicense());
+			}
+		}
+
 		if ((knownLicense != null) && isDualOrMoreLicensed(licenses)) {
 			getLog().debug("Detected dual license ... electing to use package under: " + knownLicense);
 			licenseInfo.append("Though this package is dually licensed, the Eclipse Foundation elects to use the package under the ");
@@ -422,6 +503,80 @@ public class AboutFilesUtil extends LicenseProcessingUtility {
 		return thirdPartyInfoText.toString();
 	}
 
+	/**
+	 * Identifies the text of a license file of a license which is not known by
+	 * name or URL, so that a license mapping can be configured.
+	 */
+	private void identifyLicenseFile(final File licenseOutputDir, final License license, final String licenseFileName) {
+		if ((license.getName() == null) || (KnownLicenses.getInstance().getByName(license.getName()) != null) || ((license.getUrl() != null) && (KnownLicenses.getInstance().findByUrl(license.getUrl()) != null)))
+			return;
+
+		final File licenseFile = new File(licenseOutputDir, licenseFileName);
+		try {
+			final KnownLicense identifiedLicense = LicenseTextMatcher.getInstance().findByText(FileUtils.readFileToString(licenseFile, StandardCharsets.UTF_8));
+			if (identifiedLicense != null) {
+				getLog().info(format("The text of license '%s' (%s) matches known license '%s'. Please consider adding a license mapping.", license.getName(), licenseFileName, identifiedLicense.getName()));
+			} else {
+				getLog().debug(format("The text of license '%s' (%s) does not match a known license.", license.getName(), licenseFileName));
+			}
+		} catch (final IOException e) {
+			getLog().debug(e);
+		}
+	}
+
+	/**
+	 * Starts downloading the license files of all dependencies concurrently.
+	 * <p>
+	 * The licenses are collected the same way they are rendered, i.e. a known
+	 * license overrules the pom licenses, licenses are detected from the
+	 * dependency jar if the pom has none and licenses with a local license
+	 * file are not downloaded. Each license file is downloaded only once.
+	 * </p>
+	 *
+	 * @return the executor running the downloads (maybe <code>null</code> if
+	 *         there is nothing to download concurrently)
+	 */
+	private ExecutorService prefetchLicenseFiles(final SortedMap<Artifact, Model> dependencies, final File downloadDir) {
+		final Map<String, License> licensesToDownload = new LinkedHashMap<>();
+		final Map<String, URL> licenseUrls = new LinkedHashMap<>();
+		for (final Entry<Artifact, Model> entry : dependencies.entrySet()) {
+			final KnownLicense knownLicense = getLicense(entry.getKey());
+			List<License> licenses = knownLicense != null ? Arrays.asList(knownLicense.toMavenLicense()) : entry.getValue().getLicenses();
+			if (licenses.isEmpty()) {
+				final KnownLicense detectedLicense = detectLicense(entry.getKey());
+				if (detectedLicense != null) {
+					licenses = Arrays.asList(detectedLicense.toMavenLicense());
+				}
+			}
+			for (final License license : licenses) {
+				if ((license.getName() == null) || (getLicenseFile(license.getName()) != null) || !isPotentialWebUrl(license.getUrl())) {
+					continue;
+				}
+				final String licenseFileName = getLicenseFileName(license);
+				if (licenseUrls.containsKey(licenseFileName)) {
+					continue;
+				}
+				try {
+					licenseUrls.put(licenseFileName, toUrl(license.getUrl()));
+					licensesToDownload.put(licenseFileName, license);
+				} catch (final MalformedURLException e) {
+					// reported when rendering the license information
+					getLog().debug(e);
+				}
+			}
+		}
+		if (licenseUrls.size() < 2)
+			return null;
+
+		getLog().debug(format("Downloading %d license files concurrently.", licenseUrls.size()));
+		final ExecutorService downloadExecutor = Executors.newFixedThreadPool(Math.min(licenseUrls.size(), httpClientUtil.getMaxConnections()));
+		for (final Entry<String, URL> licenseUrl : licenseUrls.entrySet()) {
+			final License license = licensesToDownload.get(licenseUrl.getKey());
+			licenseDownloads.put(licenseUrl.getKey(), downloadExecutor.submit(() -> downloadLicenseFile(downloadDir, license, licenseUrl.getValue())));
+		}
+		return downloadExecutor;
+	}
+
 	private String readAboutHtmlTemplate() throws MojoExecutionException {
 		try {
 			return IOUtils.toString(getTemplate("recipe-about.html"), StandardCharsets.UTF_8);
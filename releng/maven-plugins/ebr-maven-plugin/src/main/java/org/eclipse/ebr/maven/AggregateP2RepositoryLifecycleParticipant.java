@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.ebr.maven;
+
+import static java.lang.String.format;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.maven.AbstractMavenLifecycleParticipant;
+import org.apache.maven.MavenExecutionException;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.project.MavenProject;
+
+import org.codehaus.plexus.logging.LogEnabled;
+import org.codehaus.plexus.logging.Logger;
+
+/**
+ * Verifies that the aggregate p2 repository was assembled when the session
+ * ends.
+ * <p>
+ * The <code>assemble-aggregate-p2-repository</code> goal of the
+ * <code>ebr-tycho-extras-plugin</code> assembles the repository when the last
+ * recipe of the reactor contributed to it. Recipes which failed or which did
+ * not enable the goal (see the <code>aggregateP2Repository</code> parameter
+ * of the <code>bundle</code> goal) never contribute. The build fails in this
+ * case unless it already failed for other reasons, which is only reported as a
+ * warning.
+ * </p>
+ */
+public class AggregateP2RepositoryLifecycleParticipant extends AbstractMavenLifecycleParticipant implements LogEnabled {
+
+	/** session data key of the assemble-aggregate-p2-repository goal for the ids of contributing recipes */
+	private static final String SESSION_CONTRIBUTIONS = "org.eclipse.ebr.tycho.extras/aggregateP2RepositoryContributions";
+
+	private static final String PACKAGING_RECIPE = "eclipse-bundle-recipe";
+
+	private Logger logger;
+
+	@Override
+	public void afterSessionEnd(final MavenSession session) throws MavenExecutionException {
+		final Object contributions = session.getRepositorySession().getData().get(SESSION_CONTRIBUTIONS);
+		if (!(contributions instanceof Set))
+			return;
+
+		int recipes = 0;
+		final List<String> missingRecipes = new ArrayList<>();
+		for (final MavenProject project : session.getProjects()) {
+			if (PACKAGING_RECIPE.equals(project.getPackaging())) {
+				recipes++;
+				final String key = project.getGroupId() + ":" + project.getArtifactId();
+				if (!((Set<?>) contributions).contains(key)) {
+					missingRecipes.add(key);
+				}
+			}
+		}
+		if (missingRecipes.isEmpty())
+			return;
+
+		final String message = format("Aggregate p2 repository not assembled because %d of %d recipes did not contribute to it: %s", missingRecipes.size(), recipes, String.join(", ", missingRecipes));
+		if (session.getResult().hasExceptions()) {
+			logger.warn(message);
+			return;
+		}
+
+		final MavenProject topLevelProject = session.getTopLevelProject();
+		throw new MavenExecutionException(format("%s. Please enable the aggregateP2Repository parameter of the bundle goal for all recipes of the reactor.", message), topLevelProject != null ? topLevelProject.getFile() : null);
+	}
+
+	@Override
+	public void enableLogging(final Logger logger) {
+		this.logger = logger;
+	}
+}
@@ -0,0 +1,296 @@
+/**
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.ebr.maven;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+import org.eclipse.ebr.maven.shared.BaseUtility;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.logging.Log;
+
+import com.google.common.hash.Hashing;
+
+import aQute.bnd.osgi.EmbeddedResource;
+import aQute.bnd.osgi.Jar;
+import aQute.bnd.osgi.Resource;
+import aQute.lib.zip.ZipUtil;
+
+/**
+ * A utility for caching the parts of classpath jars bnd looks at when
+ * calculating a bundle manifest.
+ * <p>
+ * For every classpath jar bnd reads the manifest (for exported packages and
+ * capabilities), the list of package directories and the package metadata
+ * (<code>package-info.class</code> and <code>packageinfo</code>) of jars
+ * without a manifest. This utility stores exactly that information in a small
+ * summary jar per classpath jar, which is shared by all builds using the same
+ * local repository. The cache key is computed from the path, the size and the
+ * last modification time of the classpath jar, so that a jar is not read
+ * unless it's new or has been modified. Classes are only read from the
+ * original jar on demand (eg., for checking provider types of implemented
+ * interfaces).
+ * </p>
+ */
+public class BndClasspathCacheUtil extends BaseUtility {
+
+	/**
+	 * A jar backed by a summary jar, which reads any other content from the
+	 * original jar on demand.
+	 */
+	private static final class SummaryJar extends Jar {
+
+		private final Jar summary;
+		private final File original;
+		private Jar content;
+
+		SummaryJar(final Jar summary, final File original) {
+			super(summary.getName());
+			this.summary = summary;
+			this.original = original;
+			setSource(original);
+		}
+
+		@Override
+		public void close() {
+			summary.close();
+			if (content != null) {
+				content.close();
+			}
+			super.close();
+		}
+
+		@Override
+		public boolean exists(final String path) {
+			return getResource(path) != null;
+		}
+
+		private synchronized Jar getContent() {
+			if (content == null) {
+				try {
+					content = new Jar(getName(), original);
+				} catch (final IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+			return content;
+		}
+
+		@Override
+		public Map<String, Map<String, Resource>> getDirectories() {
+			return summary.getDirectories();
+		}
+
+		@Override
+		public Map<String, Resource> getDirectory(final String path) {
+			return getContent().getDirectory(path);
+		}
+
+		@Override
+		public List<String> getPackages() {
+			return summary.getPackages();
+		}
+
+		@Override
+		public Resource getResource(final String path) {
+			final String cleanPath = ZipUtil.cleanPath(path);
+			final int separator = cleanPath.lastIndexOf('/');
+			if (!summary.hasDirectory(separator < 0 ? "" : cleanPath.substring(0, separator)))
+				return null; // not in this jar, avoid opening the original
+
+			if (!isPlaceholder(cleanPath)) {
+				final Resource resource = summary.getResource(cleanPath);
+				if (resource != null)
+					return resource;
+			}
+			return getContent().getResource(cleanPath);
+		}
+
+		@Override
+		public Stream<String> getResourceNames(final Predicate<String> matches) {
+			return getContent().getResourceNames(matches);
+		}
+
+		@Override
+		public Map<String, Resource> getResources() {
+			return getContent().getResources();
+		}
+
+		@Override
+		public Stream<Resource> getResources(final Predicate<String> matches) {
+			return getContent().getResources(matches);
+		}
+
+		@Override
+		public boolean hasDirectory(final String path) {
+			return summary.hasDirectory(path);
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return summary.isEmpty();
+		}
+	}
+
+	/** version of the cache layout (must be incremented when changing the content of summary jars) */
+	private static final String CACHE_LAYOUT_VERSION = "1";
+
+	/** name of the empty entry keeping a directory without package metadata in a summary jar */
+	private static final String PLACEHOLDER = ".ebr-summary";
+
+	public static File getDefaultCacheDirectory(final MavenSession mavenSession) {
+		return new File(mavenSession.getLocalRepository().getBasedir(), ".cache/ebr-bnd-classpath");
+	}
+
+	private static boolean isPackageMetadata(final String path) {
+		// @formatter:off
+		return path.equals(JarFile.MANIFEST_NAME)
+				|| path.equals("module-info.class")
+				|| path.endsWith("/package-info.class") || path.equals("package-info.class")
+				|| path.endsWith("/packageinfo") || path.equals("packageinfo");
+		// @formatter:on
+	}
+
+	private static boolean isPlaceholder(final String path) {
+		return path.equals(PLACEHOLDER) || path.endsWith("/" + PLACEHOLDER);
+	}
+
+	private final File cacheDirectory;
+
+	/** original jars by summary jar */
+	private final Map<File, File> originals = new ConcurrentHashMap<>();
+
+	public BndClasspathCacheUtil(final Log log, final MavenSession mavenSession, final File cacheDirectory) {
+		super(log, mavenSession);
+		this.cacheDirectory = cacheDirectory != null ? cacheDirectory : getDefaultCacheDirectory(mavenSession);
+	}
+
+	private String computeCacheKey(final File jarFile) throws IOException {
+		// reading every classpath jar for a checksum would cost about as much as analyzing it
+		// @formatter:off
+		return Hashing.sha256().newHasher()
+				.putString(CACHE_LAYOUT_VERSION, UTF_8).putChar('\n')
+				.putString(jarFile.getCanonicalPath(), UTF_8).putChar('\n')
+				.putLong(jarFile.length())
+				.putLong(jarFile.lastModified())
+				.hash().toString();
+		// @formatter:on
+	}
+
+	/**
+	 * Returns the summary jar for the specified classpath jar, creating it in
+	 * the cache if necessary.
+	 * <p>
+	 * Summary jars are written into a temporary file first and moved into
+	 * place afterwards. Thus, concurrent builds sharing the cache never see a
+	 * partially written summary.
+	 * </p>
+	 * <p>
+	 * This method never fails. The original jar is returned if it is not a
+	 * regular file or if the summary jar could not be created.
+	 * </p>
+	 *
+	 * @param jarFile
+	 *            the classpath jar
+	 * @return the summary jar (or the original jar)
+	 */
+	public File getSummary(final File jarFile) {
+		if ((jarFile == null) || !jarFile.isFile())
+			return jarFile;
+
+		try {
+			final String key = computeCacheKey(jarFile);
+			final Path summary = cacheDirectory.toPath().resolve(key.substring(0, 2)).resolve(key + ".jar");
+			if (Files.isRegularFile(summary)) {
+				getLog().debug(format("Using cached classpath summary '%s' for '%s'.", summary, jarFile));
+			} else {
+				writeSummary(jarFile, summary);
+			}
+			originals.put(summary.toFile(), jarFile);
+			return summary.toFile();
+		} catch (final Exception e) {
+			getLog().debug(e);
+			getLog().warn(format("Unable to summarize classpath jar '%s'. The jar will be analyzed without cache. %s", jarFile, e.getMessage()));
+			return jarFile;
+		}
+	}
+
+	/**
+	 * Replaces all summary jars in the specified bnd classpath with jars
+	 * reading any content besides package metadata from the original jar on
+	 * demand.
+	 *
+	 * @param classpath
+	 *            the (modifiable) bnd classpath
+	 */
+	public void resolveSummaries(final List<Jar> classpath) {
+		for (int i = 0; i < classpath.size(); i++) {
+			final Jar jar = classpath.get(i);
+			final File original = jar.getSource() != null ? originals.get(jar.getSource()) : null;
+			if (original != null) {
+				classpath.set(i, new SummaryJar(jar, original));
+			}
+		}
+	}
+
+	private void writeSummary(final File jarFile, final Path summary) throws Exception {
+		getLog().debug(format("Summarizing classpath jar '%s' into cache.", jarFile));
+		final Path tempSummary = summary.resolveSibling(summary.getFileName() + ".tmp-" + UUID.randomUUID());
+		try (Jar jar = new Jar(jarFile); Jar summaryJar = new Jar(jar.getName())) {
+			for (final Entry<String, Map<String, Resource>> directory : jar.getDirectories().entrySet()) {
+				if ((directory.getValue() == null) || directory.getValue().isEmpty()) {
+					continue;
+				}
+				boolean empty = true;
+				for (final Entry<String, Resource> entry : directory.getValue().entrySet()) {
+					if (isPackageMetadata(entry.getKey())) {
+						summaryJar.putResource(entry.getKey(), new EmbeddedResource(entry.getValue().buffer(), entry.getValue().lastModified()));
+						empty = false;
+					}
+				}
+				if (empty) {
+					summaryJar.putResource(directory.getKey().isEmpty() ? PLACEHOLDER : directory.getKey() + "/" + PLACEHOLDER, new EmbeddedResource(new byte[0], 0L));
+				}
+			}
+
+			Files.createDirectories(summary.getParent());
+			summaryJar.setDoNotTouchManifest();
+			summaryJar.write(tempSummary.toFile());
+			try {
+				Files.move(tempSummary, summary, StandardCopyOption.ATOMIC_MOVE);
+			} catch (final AtomicMoveNotSupportedException e) {
+				Files.move(tempSummary, summary);
+			}
+		} catch (final FileAlreadyExistsException e) {
+			// written concurrently by another build
+			getLog().debug(format("Classpath summary '%s' has been added to the cache concurrently.", summary));
+		} finally {
+			FileUtils.deleteQuietly(tempSummary.toFile());
+		}
+	}
+}
@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.ebr.maven;
+
+import static java.lang.String.format;
+import static org.eclipse.ebr.maven.shared.BuildMetricsUtil.METRIC_BYTES_READ;
+import static org.eclipse.ebr.maven.shared.BuildMetricsUtil.METRIC_BYTES_WRITTEN;
+import static org.eclipse.ebr.maven.shared.BuildMetricsUtil.METRIC_CPU_TIME;
+import static org.eclipse.ebr.maven.shared.BuildMetricsUtil.METRIC_ENTRIES;
+import static org.eclipse.ebr.maven.shared.BuildMetricsUtil.METRIC_WALL_TIME;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.eclipse.ebr.maven.shared.BuildMetricsUtil;
+
+import org.apache.maven.AbstractMavenLifecycleParticipant;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.project.MavenProject;
+
+import org.codehaus.plexus.logging.LogEnabled;
+import org.codehaus.plexus.logging.Logger;
+
+/**
+ * Aggregates the build metrics recorded for all projects into
+ * <code>ebr-metrics-summary.json</code> within the build directory of the top
+ * level project when the session ends.
+ * <p>
+ * Nothing will be written unless metrics were recorded (see the
+ * <code>buildMetrics</code> parameter of the <code>bundle</code> goal).
+ * </p>
+ */
+public class BuildMetricsLifecycleParticipant extends AbstractMavenLifecycleParticipant implements LogEnabled {
+
+	private Logger logger;
+
+	@Override
+	public void afterSessionEnd(final MavenSession session) {
+		final MavenProject topLevelProject = session.getTopLevelProject();
+		if (topLevelProject == null)
+			return;
+
+		final File summaryFile = new File(topLevelProject.getBuild().getDirectory(), "ebr-metrics-summary.json");
+		try {
+			final Map<String, Map<String, Long>> stages = BuildMetricsUtil.writeSummary(session, summaryFile);
+			if (stages.isEmpty())
+				return;
+
+			logger.info(format("Build metrics written to '%s'", summaryFile));
+			for (final Entry<String, Map<String, Long>> stage : stages.entrySet()) {
+				final Map<String, Long> metrics = stage.getValue();
+				// @formatter:off
+				logger.info(format("  %-22s %8d ms wall, %8d ms cpu, %12d bytes read, %12d bytes written, %8d entries",
+						stage.getKey(),
+						metrics.getOrDefault(METRIC_WALL_TIME, 0L),
+						metrics.getOrDefault(METRIC_CPU_TIME, 0L),
+						metrics.getOrDefault(METRIC_BYTES_READ, 0L),
+						metrics.getOrDefault(METRIC_BYTES_WRITTEN, 0L),
+						metrics.getOrDefault(METRIC_ENTRIES, 0L)));
+				// @formatter:on
+			}
+		} catch (final IOException e) {
+			logger.debug(e.getMessage(), e);
+			logger.warn(format("Unable to write build metrics summary. %s", e.getMessage()));
+		}
+	}
+
+	@Override
+	public void enableLogging(final Logger logger) {
+		this.logger = logger;
+	}
+}
@@ -0,0 +1,191 @@
+/**
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.ebr.maven;
+
+import static java.lang.String.format;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ebr.maven.shared.BaseUtility;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * A utility for executing build stages according to their dependencies.
+ * <p>
+ * Stages are executed in the order they were added unless concurrent
+ * execution is requested. In that case every stage is started as soon as all
+ * the stages it depends on completed. Dependencies on stages which were not
+ * added (eg., because they are up to date) are considered satisfied.
+ * </p>
+ */
+public class BuildStageUtil extends BaseUtility {
+
+	/**
+	 * A build stage.
+	 */
+	@FunctionalInterface
+	public static interface Stage {
+		void execute() throws MojoExecutionException;
+	}
+
+	private static final class StageNode {
+		private final String name;
+		private final Stage stage;
+		private final List<String> dependencies;
+		private long duration;
+
+		StageNode(final String name, final Stage stage, final List<String> dependencies) {
+			this.name = name;
+			this.stage = stage;
+			this.dependencies = dependencies;
+		}
+	}
+
+	private final Map<String, StageNode> stages = new LinkedHashMap<>();
+
+	public BuildStageUtil(final Log log, final MavenSession mavenSession) {
+		super(log, mavenSession);
+	}
+
+	/**
+	 * Adds a stage.
+	 *
+	 * @param name
+	 *            the stage name
+	 * @param stage
+	 *            the stage
+	 * @param dependencies
+	 *            the names of the stages which must complete before the stage
+	 *            can be started
+	 */
+	public void addStage(final String name, final Stage stage, final String... dependencies) {
+		if (stages.containsKey(name))
+			throw new IllegalArgumentException(format("Duplicate stage '%s'", name));
+		stages.put(name, new StageNode(name, stage, Arrays.asList(dependencies)));
+	}
+
+	/**
+	 * Executes all stages.
+	 *
+	 * @param concurrent
+	 *            <code>true</code> if independent stages should be executed
+	 *            concurrently, <code>false</code> otherwise
+	 * @throws MojoExecutionException
+	 *             if any stage failed (remaining stages will not be started)
+	 */
+	public void execute(final boolean concurrent) throws MojoExecutionException {
+		final long start = System.nanoTime();
+		if (concurrent && (stages.size() > 1)) {
+			executeConcurrently();
+		} else {
+			for (final StageNode node : stages.values()) {
+				execute(node);
+			}
+		}
+		logTimings(concurrent, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+	}
+
+	private String execute(final StageNode node) throws MojoExecutionException {
+		getLog().debug(format("Executing stage '%s'...", node.name));
+		final long start = System.nanoTime();
+		node.stage.execute();
+		node.duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		getLog().debug(format("Stage '%s' finished in %d ms.", node.name, node.duration));
+		return node.name;
+	}
+
+	private void executeConcurrently() throws MojoExecutionException {
+		final Set<String> pending = new HashSet<>(stages.keySet());
+		final Set<String> completed = new HashSet<>();
+		final ExecutorService executor = Executors.newFixedThreadPool(stages.size());
+		try {
+			final CompletionService<String> completionService = new ExecutorCompletionService<>(executor);
+			Throwable failure = null;
+			int running = 0;
+			while (true) {
+				// start all stages which are ready unless something failed
+				if (failure == null) {
+					for (final StageNode node : stages.values()) {
+						if (pending.contains(node.name) && isReady(node, completed)) {
+							pending.remove(node.name);
+							completionService.submit(() -> execute(node));
+							running++;
+						}
+					}
+				}
+				if (running == 0) {
+					break;
+				}
+
+				// wait for the next stage to complete
+				try {
+					completed.add(completionService.take().get());
+				} catch (final ExecutionException e) {
+					if (failure == null) {
+						failure = e.getCause();
+					} else {
+						getLog().debug(e.getCause());
+					}
+				}
+				running--;
+			}
+
+			if (failure instanceof MojoExecutionException)
+				throw (MojoExecutionException) failure;
+			else if (failure != null)
+				throw new MojoExecutionException(format("Build stage failed. %s", failure.getMessage()), failure);
+			else if (!pending.isEmpty())
+				throw new MojoExecutionException(format("Unable to execute build stages %s because of cyclic dependencies.", pending));
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new MojoExecutionException("Interrupted while executing build stages.", e);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private boolean isReady(final StageNode node, final Set<String> completed) {
+		for (final String dependency : node.dependencies) {
+			if (stages.containsKey(dependency) && !completed.contains(dependency))
+				return false;
+		}
+		return true;
+	}
+
+	private void logTimings(final boolean concurrent, final long elapsed) {
+		final List<String> timings = new ArrayList<>(stages.size());
+		long total = 0;
+		for (final Entry<String, StageNode> entry : stages.entrySet()) {
+			timings.add(format("%s %d ms", entry.getKey(), entry.getValue().duration));
+			total += entry.getValue().duration;
+		}
+		final String message = format("Executed %d build stages in %d ms (%d ms in total): %s", stages.size(), elapsed, total, String.join(", ", timings));
+		if (concurrent) {
+			getLog().info(message);
+		} else {
+			getLog().debug(message);
+		}
+	}
+}
@@ -29,8 +29,6 @@ import static org.osgi.framework.Constants.BUNDLE_VERSION;
 import static org.twdata.maven.mojoexecutor.MojoExecutor.artifactId;
 import static org.twdata.maven.mojoexecutor.MojoExecutor.configuration;
 import static org.twdata.maven.mojoexecutor.MojoExecutor.element;
-import static org.twdata.maven.mojoexecutor.MojoExecutor.executeMojo;
-import static org.twdata.maven.mojoexecutor.MojoExecutor.executionEnvironment;
 import static org.twdata.maven.mojoexecutor.MojoExecutor.goal;
 import static org.twdata.maven.mojoexecutor.MojoExecutor.groupId;
 import static org.twdata.maven.mojoexecutor.MojoExecutor.name;
@@ -38,6 +36,7 @@ import static org.twdata.maven.mojoexecutor.MojoExecutor.plugin;
 import static org.twdata.maven.mojoexecutor.MojoExecutor.version;
 
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -46,17 +45,26 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.jar.Attributes;
 import java.util.jar.Attributes.Name;
 import java.util.jar.Manifest;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.eclipse.ebr.maven.IncrementalBuildUtil.Fingerprint;
+import org.eclipse.ebr.maven.shared.BuildMetricsUtil;
+import org.eclipse.ebr.maven.shared.BuildMetricsUtil.Measurement;
 import org.eclipse.ebr.maven.shared.BundleUtil;
 
 import org.apache.commons.io.FileUtils;
@@ -66,9 +74,10 @@ import org.apache.felix.bundleplugin.ManifestPlugin;
 import org.apache.maven.archiver.MavenArchiveConfiguration;
 import org.apache.maven.archiver.MavenArchiver;
 import org.apache.maven.artifact.Artifact;
-import org.apache.maven.model.Plugin;
+import org.apache.maven.artifact.repository.ArtifactRepository;
 import org.apache.maven.plugin.BuildPluginManager;
 import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
 import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
@@ -76,6 +85,7 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.MavenProjectHelper;
+import org.apache.maven.repository.RepositorySystem;
 import org.apache.maven.rtinfo.RuntimeInformation;
 
 import org.codehaus.plexus.archiver.FileSet;
@@ -86,6 +96,13 @@ import org.codehaus.plexus.util.IOUtil;
 
 import org.twdata.maven.mojoexecutor.MojoExecutor.Element;
 
+import aQute.bnd.header.Attrs;
+import aQute.bnd.osgi.Analyzer;
+import aQute.bnd.osgi.Builder;
+import aQute.bnd.osgi.Descriptors.PackageRef;
+import aQute.bnd.osgi.Packages;
+import aQute.bnd.osgi.Processor;
+
 /**
  * A Maven plug-on for downloading dependencies and re-packaging them as a
  * single OSGi bundle.
@@ -95,6 +112,20 @@ public class BundleMojo extends ManifestPlugin {
 
 	private static final String CLASSIFIER_SOURCES = "sources";
 
+	private static final String LOCAL_PACKAGES = "{local-packages}";
+
+	private static final String STAGE_BUNDLE = "bundle";
+	private static final String STAGE_SOURCES = "sources";
+	private static final String STAGE_SOURCE_BUNDLE = "source-bundle";
+	private static final String STAGE_SIGN = "sign";
+	private static final String STAGE_P2_METADATA = "p2-metadata";
+	private static final String STAGE_P2_REPOSITORY = "p2-repository";
+
+	private static final String METRICS_GATHER = "gather";
+	private static final String METRICS_MERGE = "merge";
+	private static final String METRICS_MANIFEST = "manifest";
+	private static final String METRICS_JAR = "jar";
+
 	static boolean isRecipeProject(final MavenProject project) {
 		return "eclipse-bundle-recipe".equals(project.getPackaging());
 	}
@@ -144,6 +175,198 @@ public class BundleMojo extends ManifestPlugin {
 	@Parameter(property = "unpackDependencies", defaultValue = "true")
 	protected boolean unpackDependencies;
 
+	/**
+	 * Indicates if unpacked dependencies should be merged directly into the
+	 * bundle jar.
+	 * <p>
+	 * If set to <code>true</code>, dependencies will not be extracted into the
+	 * dependencies directory and copied into the project output directory.
+	 * Instead, their entries will be read directly from the dependency
+	 * archives (applying <code>includes</code> and <code>excludes</code>) for
+	 * generating the manifest and writing the bundle jar. Project classes and
+	 * resources always take precedence over dependency entries.
+	 * </p>
+	 * <p>
+	 * This is only supported when <code>unpackDependencies</code> is set to
+	 * <code>true</code>.
+	 * </p>
+	 */
+	@Parameter(property = "mergeDependenciesInProcess", defaultValue = "false")
+	protected boolean mergeDependenciesInProcess;
+
+	/**
+	 * Indicates if dependencies should be unpacked through a shared cache.
+	 * <p>
+	 * If set to <code>true</code>, each dependency (as well as its sources)
+	 * will be extracted only once for a given set of <code>includes</code> and
+	 * <code>excludes</code> into a cache shared by all builds using the same
+	 * local repository. The cached content will then be hard linked (or
+	 * copied) into the dependencies directories instead of unpacking it again
+	 * using the <code>maven-dependency-plugin</code>.
+	 * </p>
+	 */
+	@Parameter(property = "unpackCache", defaultValue = "false")
+	protected boolean unpackCache;
+
+	/**
+	 * The directory for caching unpacked dependencies. Defaults to
+	 * <code>.cache/ebr-unpack</code> within the local repository.
+	 */
+	@Parameter(property = "unpackCacheDirectory")
+	protected File unpackCacheDirectory;
+
+	/**
+	 * The number of threads to use for unpacking dependencies and sources.
+	 * <p>
+	 * If set to a value greater than one, all dependencies will be extracted
+	 * concurrently into separate staging directories (or the unpack cache if
+	 * enabled) and merged afterwards in dependency order. This produces the
+	 * same result as unpacking them sequentially. A value of zero or less will
+	 * use the number of available processors.
+	 * </p>
+	 */
+	@Parameter(property = "unpackThreads", defaultValue = "1")
+	protected int unpackThreads;
+
+	/**
+	 * Indicates if build stages should be skipped when their inputs did not
+	 * change since the previous build.
+	 * <p>
+	 * If set to <code>true</code>, a fingerprint of all inputs (effective
+	 * model, dependencies, configuration, <code>osgi.bnd</code>, project
+	 * resources and sources, plug-in version and build qualifier) will be
+	 * recorded within the build directory. A subsequent build will reuse
+	 * existing bundle jars and p2 repository if the fingerprint still matches.
+	 * The p2 metadata will always be published in order to populate the
+	 * reactor.
+	 * </p>
+	 * <p>
+	 * Note that a build qualifier changing with every build (eg., the default
+	 * timestamp based qualifier) will always trigger a full build.
+	 * </p>
+	 */
+	@Parameter(property = "incremental", defaultValue = "false")
+	protected boolean incremental;
+
+	/**
+	 * Indicates if independent build stages should be executed concurrently.
+	 * <p>
+	 * If set to <code>true</code>, sources will be gathered while the bundle
+	 * is being built. The source bundle jar is created as soon as the bundle
+	 * manifest is available. A breakdown of the time spent in each stage will
+	 * be logged.
+	 * </p>
+	 */
+	@Parameter(property = "parallelStages", defaultValue = "false")
+	protected boolean parallelStages;
+
+	/**
+	 * Indicates if bundle and source bundle jars should be written by
+	 * compressing entries in parallel.
+	 * <p>
+	 * If set to <code>true</code>, all jar entries will be compressed
+	 * concurrently using <code>jarCompressionLevel</code>. Entries matching
+	 * <code>storedFileExtensions</code> will be stored without compressing
+	 * them again. Entries are always written in a deterministic order and
+	 * generated entries (eg., the manifest) get a fixed timestamp.
+	 * </p>
+	 * <p>
+	 * In combination with <code>mergeDependenciesInProcess</code>, entries of
+	 * dependency archives will be copied into the bundle jar as is (without
+	 * inflating and deflating them again).
+	 * </p>
+	 */
+	@Parameter(property = "parallelJarWriter", defaultValue = "false")
+	protected boolean parallelJarWriter;
+
+	/**
+	 * The deflate level (<code>0</code> to <code>9</code>, <code>-1</code>
+	 * for the default level) to use when <code>parallelJarWriter</code> is
+	 * enabled.
+	 */
+	@Parameter(property = "jarCompressionLevel", defaultValue = "-1")
+	protected int jarCompressionLevel;
+
+	/**
+	 * A comma separated list of file extensions of already compressed content
+	 * which should be stored uncompressed when <code>parallelJarWriter</code>
+	 * is enabled.
+	 */
+	@Parameter(property = "storedFileExtensions", defaultValue = "jar,zip,gz,tgz,bz2,xz,7z,png,gif,jpg,jpeg")
+	protected String storedFileExtensions;
+
+	/**
+	 * Indicates if bnd should analyze classpath jars through a shared cache.
+	 * <p>
+	 * If set to <code>true</code>, the manifest, package directories and
+	 * package metadata of every jar on the bnd classpath will be summarized
+	 * only once for a given jar content into a cache shared by all builds
+	 * using the same local repository. bnd will analyze these summaries
+	 * instead of opening the full jars again. Classes of classpath jars are
+	 * only read when bnd actually needs them.
+	 * </p>
+	 */
+	@Parameter(property = "bndClasspathCache", defaultValue = "false")
+	protected boolean bndClasspathCache;
+
+	/**
+	 * The directory for caching classpath jar summaries. Defaults to
+	 * <code>.cache/ebr-bnd-classpath</code> within the local repository.
+	 */
+	@Parameter(property = "bndClasspathCacheDirectory")
+	protected File bndClasspathCacheDirectory;
+
+	/**
+	 * Indicates if build metrics should be recorded.
+	 * <p>
+	 * If set to <code>true</code>, wall time, CPU time, bytes read and written
+	 * as well as the number of jar entries will be recorded for every build
+	 * stage and written to <code>ebr-metrics.json</code> within the build
+	 * directory. A summary of all projects will be written to
+	 * <code>ebr-metrics-summary.json</code> within the build directory of the
+	 * top level project at the end of the build.
+	 * </p>
+	 */
+	@Parameter(property = "buildMetrics", defaultValue = "false")
+	protected boolean buildMetrics;
+
+	/**
+	 * Indicates if the recipe should contribute to a p2 repository aggregating
+	 * all recipes of the reactor instead of assembling its own p2 repository.
+	 * <p>
+	 * If set to <code>true</code>, the
+	 * <code>assemble-aggregate-p2-repository</code> goal of the
+	 * <code>ebr-tycho-extras-plugin</code> will be executed instead of the
+	 * <code>assemble-bundle-p2-repository</code> goal. The last recipe of the
+	 * reactor mirrors all bundles and source bundles in one pass into
+	 * <code>repository</code> within the build directory of the top level
+	 * project. When building incrementally, only changed recipes are appended
+	 * to the aggregate repository.
+	 * </p>
+	 */
+	@Parameter(property = "aggregateP2Repository", defaultValue = "false")
+	protected boolean aggregateP2Repository;
+
+	/**
+	 * Indicates if the p2 metadata should be generated in process.
+	 * <p>
+	 * If set to <code>true</code>, <code>p2content.xml</code> and
+	 * <code>p2artifacts.xml</code> will be generated directly from the bundle
+	 * and source bundle manifests instead of executing the
+	 * <code>p2-metadata</code> goal of the <code>tycho-p2-plugin</code> (which
+	 * starts the p2 publisher in an embedded OSGi framework). Bundles using
+	 * features not supported in process (eg., a <code>META-INF/p2.inf</code>
+	 * advice file) will still be published by Tycho.
+	 * </p>
+	 * <p>
+	 * In combination with <code>parallelJarWriter</code>, the MD5 and SHA-256
+	 * digests computed while writing the jars will be published as artifact
+	 * checksums (unless the jars are modified afterwards, eg., by signing).
+	 * </p>
+	 */
+	@Parameter(property = "inProcessP2Metadata", defaultValue = "false")
+	protected boolean inProcessP2Metadata;
+
 	/**
 	 * Indicates if dependencies that are not unpacked should have their version
 	 * stripped from their file name.
@@ -172,6 +395,12 @@ public class BundleMojo extends ManifestPlugin {
 	@Component
 	private RuntimeInformation mavenRuntimeInformation;
 
+	@Component
+	private RepositorySystem repositorySystem;
+
+	@Parameter(defaultValue = "${plugin}", readonly = true)
+	private PluginDescriptor pluginDescriptor;
+
 	/**
 	 * The instructions passed to BND for the bundle.
 	 */
@@ -230,11 +459,85 @@ public class BundleMojo extends ManifestPlugin {
 
 	/**
 	 * Set to 'eclipse' in order to sign using Eclipse.org signing service.
-	 * Possible values: <code>none</code>, <code>eclipse</code>
+	 * Set to 'local' in order to sign in process using a key from a local
+	 * PKCS12 keystore (see <code>signingKeystore</code>). Possible values:
+	 * <code>none</code>, <code>eclipse</code>, <code>local</code>
 	 */
 	@Parameter(defaultValue = "none", property = "signingServiceType")
 	protected String signingServiceType;
 
+	/**
+	 * Set to <code>true</code> in order to sign through the Eclipse.org
+	 * signing service using an in-process client instead of the
+	 * <code>eclipse-jarsigner-plugin</code> when
+	 * <code>signingServiceType</code> is <code>eclipse</code>.
+	 * <p>
+	 * The jars of all recipes in the reactor are queued and sent to the
+	 * <code>signerUrl</code> by <code>signingThreads</code> concurrent
+	 * requests. Signed jars are cached in the
+	 * <code>signingCacheDirectory</code> by their content, i.e. unchanged
+	 * bundles are never sent to the signing service again. Bundles are not
+	 * packed using pack200.
+	 * </p>
+	 */
+	@Parameter(defaultValue = "false", property = "inProcessSigning")
+	protected boolean inProcessSigning;
+
+	/**
+	 * The URL of the signing service used with <code>inProcessSigning</code>.
+	 */
+	@Parameter(defaultValue = "https://cbi.eclipse.org/jarsigner/sign", property = "cbi.jarsigner.signerUrl")
+	protected String signerUrl;
+
+	/**
+	 * The maximum number of concurrent requests to the signing service used
+	 * with <code>inProcessSigning</code>. The value of the first recipe
+	 * signing jars applies to the whole reactor.
+	 */
+	@Parameter(defaultValue = "4", property = "signingThreads")
+	protected int signingThreads;
+
+	/**
+	 * The number of times a failed request to the signing service is retried
+	 * when using <code>inProcessSigning</code>.
+	 */
+	@Parameter(defaultValue = "3", property = "signingRetries")
+	protected int signingRetries;
+
+	/**
+	 * The directory for caching jars signed with <code>inProcessSigning</code>.
+	 * Defaults to <code>.cache/ebr-signed-jars</code> within the local
+	 * repository.
+	 */
+	@Parameter(property = "signingCacheDirectory")
+	protected File signingCacheDirectory;
+
+	/**
+	 * The PKCS12 keystore containing the signing key when
+	 * <code>signingServiceType</code> is <code>local</code>.
+	 */
+	@Parameter(property = "signingKeystore")
+	protected File signingKeystore;
+
+	/**
+	 * The password of the <code>signingKeystore</code>.
+	 */
+	@Parameter(property = "signingKeystorePassword")
+	protected String signingKeystorePassword;
+
+	/**
+	 * The alias of the signing key within the <code>signingKeystore</code>.
+	 */
+	@Parameter(property = "signingKeyAlias")
+	protected String signingKeyAlias;
+
+	/**
+	 * The password of the signing key. Defaults to the
+	 * <code>signingKeystorePassword</code>.
+	 */
+	@Parameter(property = "signingKeyPassword")
+	protected String signingKeyPassword;
+
 	@Parameter(defaultValue = "1.0.0-SNAPSHOT", property = "ebr-tycho-extras-plugin.version", required = true)
 	protected String ebrTychoExtrasPluginVersionFallback;
 
@@ -253,10 +556,107 @@ public class BundleMojo extends ManifestPlugin {
 	@Parameter(defaultValue = "1.1.5", property = "cbi-plugin.version", required = true)
 	protected String cbiPluginVersionFallback;
 
+	/** dependencies merged into the bundle content while generating the manifest */
+	private List<File> mergedDependencies;
+
+	/** utility holding the merged dependency archives open during manifest generation */
+	private DependencyMergeUtil dependencyMergeUtil;
+
+	/** utility providing summaries of classpath jars during manifest generation */
+	private BndClasspathCacheUtil bndClasspathCacheUtil;
+
+	/** utility recording metrics of the build stages */
+	private BuildMetricsUtil buildMetricsUtil;
+
+	/** utility executing mojos of other plug-ins */
+	private MojoExecutionUtil mojoExecutionUtil;
+
+	/**
+	 * Computes the default <code>Export-Package</code> and
+	 * <code>Private-Package</code> headers from the bundle content.
+	 * <p>
+	 * felix derives these headers (or <code>{local-packages}</code>) from the
+	 * classes in the output directory before the Maven instructions are added.
+	 * When merging dependencies in process, the output directory does not
+	 * contain any dependencies. Thus, the headers are computed again from the
+	 * merged content the same way felix computes them, based on the
+	 * instructions as configured (felix already replaced the values within
+	 * the analyzer).
+	 * </p>
+	 */
+	private void addLocalPackages(final MavenProject project, final Builder analyzer) throws Exception {
+		final Properties properties = getDefaultProperties(project);
+		properties.putAll(transformDirectives(bndInstructions));
+		try (Processor instructions = new Processor()) {
+			instructions.setProperties(getBase(project), properties);
+
+			final Packages exportedPackages = new Packages();
+			final Packages privatePackages = new Packages();
+			final boolean noPrivatePackages = "!*".equals(instructions.getProperty(Analyzer.PRIVATE_PACKAGE));
+			for (final String path : analyzer.getJar().getResources().keySet()) {
+				if (!path.endsWith(".class")) {
+					continue;
+				}
+				final int separator = path.lastIndexOf('/');
+				final PackageRef packageRef = analyzer.getPackageRef(separator < 0 ? "." : path.substring(0, separator).replace('/', '.'));
+				if (!noPrivatePackages) {
+					privatePackages.put(packageRef);
+				}
+				// the default package cannot be exported and internal packages should not be exported
+				final String fqn = packageRef.getFQN();
+				if (!(".".equals(fqn) || fqn.contains(".internal") || fqn.contains(".impl"))) {
+					exportedPackages.put(packageRef);
+				}
+			}
+
+			final String exportPackage = instructions.getProperties().getProperty(Analyzer.EXPORT_PACKAGE);
+			if (exportPackage == null) {
+				if (!instructions.getProperties().containsKey(Analyzer.EXPORT_CONTENTS)) {
+					for (final Attrs attrs : exportedPackages.values()) {
+						attrs.put(Analyzer.SPLIT_PACKAGE_DIRECTIVE, "merge-first");
+					}
+					analyzer.setProperty(Analyzer.EXPORT_PACKAGE, Processor.printClauses(exportedPackages));
+				}
+			} else if (exportPackage.contains(LOCAL_PACKAGES)) {
+				analyzer.setProperty(Analyzer.EXPORT_PACKAGE, StringUtils.replace(exportPackage, LOCAL_PACKAGES, Processor.printClauses(exportedPackages)));
+			}
+
+			final String privatePackage = instructions.getProperties().getProperty(Analyzer.PRIVATE_PACKAGE);
+			if (privatePackage == null) {
+				if (!privatePackages.isEmpty()) {
+					for (final Attrs attrs : privatePackages.values()) {
+						attrs.put(Analyzer.SPLIT_PACKAGE_DIRECTIVE, "merge-first");
+					}
+					analyzer.setProperty(Analyzer.PRIVATE_PACKAGE, Processor.printClauses(privatePackages));
+				}
+			} else if (privatePackage.contains(LOCAL_PACKAGES)) {
+				analyzer.setProperty(Analyzer.PRIVATE_PACKAGE, StringUtils.replace(privatePackage, LOCAL_PACKAGES, Processor.printClauses(privatePackages)));
+			}
+		}
+	}
+
+	@Override
+	protected void addMavenInstructions(final MavenProject project, final Builder analyzer) throws Exception {
+		if (bndClasspathCacheUtil != null) {
+			bndClasspathCacheUtil.resolveSummaries(analyzer.getClasspath());
+		}
+		super.addMavenInstructions(project, analyzer);
+
+		// bnd analyzes the project output directory, which does not contain any dependencies when merging in process
+		if (dependencyMergeUtil != null) {
+			dependencyMergeUtil.addDependencies(analyzer.getJar(), mergedDependencies);
+			addLocalPackages(project, analyzer);
+		}
+	}
+
 	private File assembleJar(final String jarName, final File manifest, final File directory, final MavenArchiveConfiguration archiveConfiguration) throws MojoExecutionException {
+		return assembleJar(jarName, manifest, directory, Collections.emptyList(), archiveConfiguration);
+	}
+
+	private File assembleJar(final String jarName, final File manifest, final File directory, final List<File> dependencyFiles, final MavenArchiveConfiguration archiveConfiguration) throws MojoExecutionException {
 		try {
 			final MavenArchiver archiver = new MavenArchiver();
-			archiver.setArchiver(new JarArchiver());
+			archiver.setArchiver(parallelJarWriter ? getParallelJarArchiver() : new JarArchiver());
 
 			final File jarFile = new File(buildDirectory, jarName);
 			if (jarFile.exists()) {
@@ -265,6 +665,9 @@ public class BundleMojo extends ManifestPlugin {
 
 			// 1. include all collected files
 			archiver.getArchiver().addFileSet(getFileSet(directory));
+			if (!dependencyFiles.isEmpty()) {
+				getDependencyMergeUtil().addDependencies(archiver.getArchiver(), dependencyFiles);
+			}
 
 			// 2. update the manifest
 			if (manifest.exists()) {
@@ -279,6 +682,9 @@ public class BundleMojo extends ManifestPlugin {
 				archiveConfiguration.setForced(true);
 			}
 			archiver.createArchive(session, project, archiveConfiguration);
+			if (archiver.getArchiver() instanceof ParallelJarArchiver) {
+				new JarDigestUtil(getLog(), session, project).recordDigests(jarFile, ((ParallelJarArchiver) archiver.getArchiver()).getDigests());
+			}
 			return jarFile;
 		} catch (final Exception e) {
 			throw new MojoExecutionException("Error assembling JAR " + jarName + ": " + e.getMessage(), e);
@@ -289,55 +695,90 @@ public class BundleMojo extends ManifestPlugin {
 		// copy into output directory
 		getLog().debug("Assembling p2 repository...");
 
+		if (aggregateP2Repository) {
+			// @formatter:off
+			mojoExecutionUtil.executeMojo(
+					plugin(
+							groupId("org.eclipse.ebr"),
+							artifactId("ebr-tycho-extras-plugin"),
+							version(mojoExecutionUtil.detectPluginVersion("org.eclipse.ebr", "ebr-tycho-extras-plugin", ebrTychoExtrasPluginVersionFallback))),
+							goal("assemble-aggregate-p2-repository"),
+							configuration(
+									element("buildMetrics", String.valueOf(buildMetrics)),
+									element("incremental", String.valueOf(incremental))
+							)
+					);
+			// @formatter:on
+			return;
+		}
+
 		// @formatter:off
-		executeMojo(
+		mojoExecutionUtil.executeMojo(
 				plugin(
 						groupId("org.eclipse.ebr"),
 						artifactId("ebr-tycho-extras-plugin"),
-						version(detectPluginVersion("org.eclipse.ebr", "ebr-tycho-extras-plugin", ebrTychoExtrasPluginVersionFallback))),
+						version(mojoExecutionUtil.detectPluginVersion("org.eclipse.ebr", "ebr-tycho-extras-plugin", ebrTychoExtrasPluginVersionFallback))),
 						goal("assemble-bundle-p2-repository"),
-						configuration(),
-						executionEnvironment(
-								project,
-								session,
-								pluginManager
+						configuration(
+								element("buildMetrics", String.valueOf(buildMetrics))
 						)
 				);
 		// @formatter:on
 	}
 
 	private void buildBundle(final Set<Artifact> dependencies) throws MojoExecutionException {
-		// unpack dependencies
-		getLog().info("Gathering dependencies");
-		executeMavenDependenciesPluginForGatheringBinaryDependencies(dependencies);
+		final boolean mergeInProcess = isMergeDependenciesInProcess();
+		if (mergeInProcess) {
+			// dependencies will be read directly from their archives
+			getLog().info("Merging dependencies in process");
+			try (Measurement measurement = buildMetricsUtil.measure(METRICS_GATHER)) {
+				mergedDependencies = getDependencyFiles(dependencies);
+				for (final File dependencyFile : mergedDependencies) {
+					measurement.bytesRead(BuildMetricsUtil.sizeOf(dependencyFile));
+				}
+			}
+		} else {
+			// unpack dependencies
+			getLog().info("Gathering dependencies");
+			try (Measurement measurement = buildMetricsUtil.measure(METRICS_GATHER)) {
+				executeMavenDependenciesPluginForGatheringBinaryDependencies(dependencies);
+				if (buildMetricsUtil.isEnabled()) {
+					for (final Artifact artifact : dependencies) {
+						measurement.bytesRead(BuildMetricsUtil.sizeOf(artifact.getFile()));
+					}
+					measurement.bytesWritten(BuildMetricsUtil.sizeOf(new File(dependenciesDirectory)));
+				}
+			}
 
-		// copy into output directory
-		getLog().info("Merging collected dependencies");
-		// @formatter:off
-		executeMojo(
-				plugin(
-						groupId("org.apache.maven.plugins"),
-						artifactId("maven-resources-plugin"),
-						version(detectPluginVersion("org.apache.maven.plugins", "maven-resources-plugin", mavenResourcesPluginVersionFallback))
-						),
-						goal("copy-resources"),
-						configuration(
-								element("outputDirectory", "${project.build.outputDirectory}"),
-								element("resources",
-										element("resource", element("directory", dependenciesDirectory))
-										)
+			// copy into output directory
+			getLog().info("Merging collected dependencies");
+			try (Measurement measurement = buildMetricsUtil.measure(METRICS_MERGE)) {
+				// @formatter:off
+				mojoExecutionUtil.executeMojo(
+						plugin(
+								groupId("org.apache.maven.plugins"),
+								artifactId("maven-resources-plugin"),
+								version(mojoExecutionUtil.detectPluginVersion("org.apache.maven.plugins", "maven-resources-plugin", mavenResourcesPluginVersionFallback))
 								),
-								executionEnvironment(
-										project,
-										session,
-										pluginManager
+								goal("copy-resources"),
+								configuration(
+										element("outputDirectory", "${project.build.outputDirectory}"),
+										element("resources",
+												element("resource", element("directory", dependenciesDirectory))
+												)
 										)
-				);
-		// @formatter:on
+						);
+				// @formatter:on
+				if (buildMetricsUtil.isEnabled()) {
+					measurement.bytesRead(BuildMetricsUtil.sizeOf(new File(dependenciesDirectory)));
+					measurement.bytesWritten(BuildMetricsUtil.sizeOf(outputDirectory));
+				}
+			}
+		}
 
 		// generate manifest based on output only
 		getLog().info("Generating OSGi MANIFEST.MF");
-		try {
+		try (Measurement measurement = buildMetricsUtil.measure(METRICS_MANIFEST)) {
 			setOutputDirectory(outputDirectory);
 			setBuildDirectory(buildDirectory);
 			manifestLocation = new File(outputDirectory, "META-INF");
@@ -355,96 +796,94 @@ public class BundleMojo extends ManifestPlugin {
 			if (!unpackDependencies) {
 				initializeBndInstruction(BUNDLE_CLASSPATH, getBundleClassPathHeaderPopulatedWithDependencyJars());
 			}
-			execute(bndInstructions, getClasspath(project)); // BND also needs transitive dependencies
+			if (mergeInProcess) {
+				// remove manifest generated by a previous build so it does not get merged again
+				FileUtils.deleteQuietly(new File(manifestLocation, "MANIFEST.MF"));
+				dependencyMergeUtil = getDependencyMergeUtil();
+			}
+			if (bndClasspathCache) {
+				bndClasspathCacheUtil = new BndClasspathCacheUtil(getLog(), session, bndClasspathCacheDirectory);
+			}
+			// the manifest is kept in memory and written to disk only when assembling the bundle jar
+			try (Analyzer analyzer = getAnalyzer(project, bndInstructions, getClasspath(project))) { // BND also needs transitive dependencies
+				BundleUtil.setBundleManifest(project, createBundleManifest(analyzer.getJar().getManifest()));
+				measurement.entries(analyzer.getJar().getResources().size());
+			}
 		} catch (final Exception e) {
 			throw new MojoExecutionException("Error generating Bundle manifest: " + e.getMessage(), e);
+		} finally {
+			bndClasspathCacheUtil = null;
+			if (dependencyMergeUtil != null) {
+				dependencyMergeUtil.close();
+				dependencyMergeUtil = null;
+			}
 		}
 
 		// create JAR
 		getLog().debug("Generating OSGi bundle jar...");
-		final File pluginFile = createPluginJar();
-		project.getArtifact().setFile(pluginFile);
+		try (Measurement measurement = buildMetricsUtil.measure(METRICS_JAR)) {
+			final File pluginFile = mergeInProcess ? createPluginJar(mergedDependencies) : createPluginJar();
+			project.getArtifact().setFile(pluginFile);
+			if (buildMetricsUtil.isEnabled()) {
+				measurement.bytesRead(BuildMetricsUtil.sizeOf(outputDirectory));
+				if (mergeInProcess) {
+					for (final File dependencyFile : mergedDependencies) {
+						measurement.bytesRead(BuildMetricsUtil.sizeOf(dependencyFile));
+					}
+				}
+				measurement.bytesWritten(BuildMetricsUtil.sizeOf(pluginFile)).entries(BuildMetricsUtil.countEntries(pluginFile));
+			}
+		}
 	}
 
-	private void buildSourceBundle(final Set<Artifact> dependencies) throws MojoExecutionException {
-		// unpack sources
-		getLog().info("Gathering sources");
-		// @formatter:off
-		final List<Element> unpackConfigurationSource = getDependenciesUnpackConfiguration(dependenciesSourcesDirectory, dependencies, CLASSIFIER_SOURCES);
-		try {
-			executeMojo(
-					plugin(
-							groupId("org.apache.maven.plugins"),
-							artifactId("maven-dependency-plugin"),
-							version(detectPluginVersion("org.apache.maven.plugins", "maven-dependency-plugin", mavenDependencyPluginVersionFallback))
-							),
-							goal("unpack"),
-							configuration(
-									unpackConfigurationSource.toArray(new Element[unpackConfigurationSource.size()])
-									),
-									executionEnvironment(
-											project,
-											session,
-											pluginManager
-											)
-					);
-		} catch(final MojoExecutionException e) {
-			getLog().warn("Unable to resolve source jar; skipping source bundle");
-			getLog().debug(e);
-			return;
+	private void buildSourceBundle() throws MojoExecutionException {
+		// create sources JAR
+		getLog().debug("Generating OSGi bundle jar...");
+		try (Measurement measurement = buildMetricsUtil.measure(STAGE_SOURCE_BUNDLE)) {
+			final File sourceBundleFile = createSourcesJar();
+			projectHelper.attachArtifact(project, "java-source", CLASSIFIER_SOURCES, sourceBundleFile);
+			if (buildMetricsUtil.isEnabled()) {
+				measurement.bytesRead(BuildMetricsUtil.sizeOf(new File(dependenciesSourcesDirectory)));
+				measurement.bytesWritten(BuildMetricsUtil.sizeOf(sourceBundleFile)).entries(BuildMetricsUtil.countEntries(sourceBundleFile));
+			}
 		}
-		// @formatter:on
+	}
 
-		// @formatter:off
-		if (includeProjectResourceDir) {
-			executeMojo(
-					plugin(
-							groupId("org.apache.maven.plugins"),
-							artifactId("maven-resources-plugin"),
-							version(detectPluginVersion("org.apache.maven.plugins", "maven-resources-plugin", mavenResourcesPluginVersionFallback))
-							),
-							goal("copy-resources"),
-							configuration(
-									element("outputDirectory", "${project.build.directory}/dependency-src"),
-									element("resources",
-											element("resource", element("directory", "${project.basedir}/src/main/resources")),
-											element("resource", element("directory", "${project.basedir}/src/main/java"))
-											)
-									),
-									executionEnvironment(
-											project,
-											session,
-											pluginManager
-											)
-					);
+	private Manifest createBundleManifest(final Manifest bndManifest) {
+		// headers are sorted the same way the bnd manifest was always written to disk
+		final Manifest mf = new Manifest();
+		final Attributes attributes = mf.getMainAttributes();
+		attributes.put(Name.MANIFEST_VERSION, "1.0");
+		final Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		for (final Entry<Object, Object> header : bndManifest.getMainAttributes().entrySet()) {
+			headers.put(header.getKey().toString(), header.getValue().toString());
+		}
+		headers.remove(Name.MANIFEST_VERSION.toString());
+		for (final Entry<String, String> header : headers.entrySet()) {
+			attributes.putValue(header.getKey(), header.getValue());
+		}
+		for (final Entry<String, Attributes> entry : new TreeMap<>(bndManifest.getEntries()).entrySet()) {
+			mf.getEntries().put(entry.getKey(), new Attributes(entry.getValue()));
 		}
-		// @formatter:on
 
-		// create sources JAR
-		getLog().debug("Generating OSGi bundle jar...");
-		final File sourceBundleFile = createSourcesJar();
-		projectHelper.attachArtifact(project, "java-source", CLASSIFIER_SOURCES, sourceBundleFile);
+		// shameless self-promotion
+		attributes.putValue(CREATED_BY, "Eclipse Bundle Recipe Maven Plug-in");
+
+		attributes.putValue(BUNDLE_VERSION, getExpandedVersion());
+		return mf;
 	}
 
 	private File createPluginJar() throws MojoExecutionException {
-		return assembleJar(finalName + ".jar", generateFinalBundleManifest(), outputDirectory, archive);
+		return assembleJar(getBundleFile().getName(), generateFinalBundleManifest(), outputDirectory, archive);
 	}
 
-	private File createSourcesJar() throws MojoExecutionException {
-		sourceArchive.setAddMavenDescriptor(false); // no maven descriptors in source bundle
-		return assembleJar(finalName + "-sources.jar", generateSourceBundleManifest(), new File(dependenciesSourcesDirectory), sourceArchive);
+	private File createPluginJar(final List<File> dependencyFiles) throws MojoExecutionException {
+		return assembleJar(getBundleFile().getName(), generateFinalBundleManifest(), outputDirectory, dependencyFiles, archive);
 	}
 
-	private String detectPluginVersion(final String groupId, final String artifactId, final String fallbackVersion) {
-		final List<Plugin> plugins = project.getPluginManagement().getPlugins();
-		for (final Plugin plugin : plugins) {
-			if (groupId.equals(plugin.getGroupId()) && artifactId.equals(plugin.getArtifactId())) {
-				getLog().debug("Using managed version " + plugin.getVersion() + " for plugin " + groupId + ":" + artifactId + ".");
-				return plugin.getVersion();
-			}
-		}
-		getLog().warn(format("No version defined in the efective model for plugin %s:%s. Please consider defining one in the pluginManagement section. Falling back to version \"%s\"", groupId, artifactId, fallbackVersion));
-		return fallbackVersion;
+	private File createSourcesJar() throws MojoExecutionException {
+		sourceArchive.setAddMavenDescriptor(false); // no maven descriptors in source bundle
+		return assembleJar(getSourceBundleFile().getName(), generateSourceBundleManifest(), new File(dependenciesSourcesDirectory), sourceArchive);
 	}
 
 	@Override
@@ -459,31 +898,112 @@ public class BundleMojo extends ManifestPlugin {
 			throw new MojoExecutionException("The minimum required Maven version is 3.3.9. Please update your Maven installation!");
 
 		final Set<Artifact> dependencies = getDependenciesToInclude();
-		buildBundle(dependencies);
-		buildSourceBundle(dependencies);
-		packAndSignBundle();
-		publishP2Metadata();
-		assembleP2Repository();
+		final IncrementalBuildUtil incrementalBuild = new IncrementalBuildUtil(getLog(), session, new File(buildDirectory, "ebr-build-fingerprints.properties"), incremental);
+		final Fingerprint bundleFingerprint = incremental ? getBundleFingerprint(dependencies) : null;
+		final Fingerprint sourceBundleFingerprint = incremental ? getSourceBundleFingerprint(dependencies, bundleFingerprint) : null;
+		final Fingerprint noSourcesFingerprint = incremental ? new Fingerprint().add("sourceBundle", sourceBundleFingerprint).add("sources", "<none>") : null;
+
+		final BuildStageUtil stages = new BuildStageUtil(getLog(), session);
+		buildMetricsUtil = new BuildMetricsUtil(getLog(), session, project, buildMetrics);
+		mojoExecutionUtil = new MojoExecutionUtil(getLog(), session, project, pluginManager);
+
+		// only jars built by this execution must be signed (signing an up to date jar would modify it)
+		final List<File> builtJars = new CopyOnWriteArrayList<>();
+
+		final boolean bundleUpToDate = incrementalBuild.isUpToDate(STAGE_BUNDLE, bundleFingerprint, getBundleFile(), getFinalBundleManifestFile());
+		if (bundleUpToDate) {
+			getLog().info("Bundle is up to date");
+			project.getArtifact().setFile(getBundleFile());
+		} else {
+			incrementalBuild.invalidate(STAGE_BUNDLE);
+			stages.addStage(STAGE_BUNDLE, () -> {
+				buildBundle(dependencies);
+				builtJars.add(getBundleFile());
+			});
+		}
+
+		// the source bundle manifest is derived from the bundle manifest
+		// (without any sources no source bundle is built, which is recorded using a separate fingerprint)
+		final boolean sourcesUpToDate = bundleUpToDate && incrementalBuild.isUpToDate(STAGE_SOURCE_BUNDLE, sourceBundleFingerprint, getSourceBundleFile());
+		final boolean noSourcesUpToDate = bundleUpToDate && !sourcesUpToDate && incrementalBuild.isUpToDate(STAGE_SOURCE_BUNDLE, noSourcesFingerprint);
+		final boolean sourceBundleUpToDate = sourcesUpToDate || noSourcesUpToDate;
+		final AtomicBoolean sourcesAvailable = new AtomicBoolean();
+		if (sourcesUpToDate) {
+			getLog().info("Source bundle is up to date");
+			projectHelper.attachArtifact(project, "java-source", CLASSIFIER_SOURCES, getSourceBundleFile());
+		} else if (noSourcesUpToDate) {
+			getLog().info("Source bundle is up to date (no sources available)");
+		} else {
+			incrementalBuild.invalidate(STAGE_SOURCE_BUNDLE);
+			stages.addStage(STAGE_SOURCES, () -> {
+				try (Measurement measurement = buildMetricsUtil.measure(STAGE_SOURCES)) {
+					sourcesAvailable.set(gatherSources(dependencies));
+					if (buildMetricsUtil.isEnabled()) {
+						measurement.bytesWritten(BuildMetricsUtil.sizeOf(new File(dependenciesSourcesDirectory)));
+					}
+				}
+			});
+			stages.addStage(STAGE_SOURCE_BUNDLE, () -> {
+				if (sourcesAvailable.get()) {
+					buildSourceBundle();
+					builtJars.add(getSourceBundleFile());
+				}
+			}, STAGE_BUNDLE, STAGE_SOURCES);
+		}
+
+		// the source bundle is never up to date when the bundle is not, thus both have been built
+		if (!bundleUpToDate || !sourceBundleUpToDate) {
+			stages.addStage(STAGE_SIGN, () -> {
+				try (Measurement measurement = buildMetricsUtil.measure(STAGE_SIGN)) {
+					packAndSignBundle(builtJars);
+				}
+				incrementalBuild.record(STAGE_BUNDLE, bundleFingerprint);
+				incrementalBuild.record(STAGE_SOURCE_BUNDLE, sourcesAvailable.get() ? sourceBundleFingerprint : noSourcesFingerprint);
+			}, STAGE_BUNDLE, STAGE_SOURCE_BUNDLE);
+		}
+
+		// always publish p2 metadata because Tycho keeps it in memory for the reactor
+		stages.addStage(STAGE_P2_METADATA, () -> {
+			try (Measurement measurement = buildMetricsUtil.measure(STAGE_P2_METADATA)) {
+				publishP2Metadata();
+			}
+		}, STAGE_BUNDLE, STAGE_SOURCE_BUNDLE, STAGE_SIGN);
+
+		// every recipe must contribute to the aggregate repository, which tracks changes on its own
+		if (!aggregateP2Repository && bundleUpToDate && sourceBundleUpToDate && incrementalBuild.isUpToDate(STAGE_P2_REPOSITORY, sourceBundleFingerprint, new File(buildDirectory, "repository"))) {
+			getLog().info("p2 repository is up to date");
+		} else {
+			incrementalBuild.invalidate(STAGE_P2_REPOSITORY);
+			stages.addStage(STAGE_P2_REPOSITORY, () -> {
+				// not measured here, the p2 repository goals record their own stages
+				assembleP2Repository();
+				incrementalBuild.record(STAGE_P2_REPOSITORY, sourceBundleFingerprint);
+			}, STAGE_P2_METADATA);
+		}
+
+		try {
+			stages.execute(parallelStages);
+		} finally {
+			writeBuildMetrics();
+		}
 	}
 
 	private void executeMavenDependenciesPluginForGatheringBinaryDependencies(final Set<Artifact> dependencies) throws MojoExecutionException {
-		if (unpackDependencies) {
+		if (unpackDependencies && isUnpackThroughCache()) {
+			// the dependencies directory is only read afterwards, thus it's safe to link into the cache
+			getUnpackCacheUtil().unpack(dependencies, null, new File(dependenciesDirectory), true);
+		} else if (unpackDependencies) {
 			// @formatter:off
 			final List<Element> unpackConfiguration = getDependenciesUnpackConfiguration(dependenciesDirectory, dependencies, null);
-			executeMojo(
+			mojoExecutionUtil.executeMojo(
 					plugin(
 							groupId("org.apache.maven.plugins"),
 							artifactId("maven-dependency-plugin"),
-							version(detectPluginVersion("org.apache.maven.plugins", "maven-dependency-plugin", mavenDependencyPluginVersionFallback))
+							version(mojoExecutionUtil.detectPluginVersion("org.apache.maven.plugins", "maven-dependency-plugin", mavenDependencyPluginVersionFallback))
 							),
 					goal("unpack"),
 					configuration(
 							unpackConfiguration.toArray(new Element[unpackConfiguration.size()])
-							),
-					executionEnvironment(
-							project,
-							session,
-							pluginManager
 							)
 					);
 			// @formatter:on
@@ -492,57 +1012,85 @@ public class BundleMojo extends ManifestPlugin {
 			final String outputDirectory = dependenciesDirectory.concat("/lib");
 			// @formatter:off
 			final List<Element> copyConfiguration = getDependenciesCopyConfiguration(outputDirectory, dependencies, null);
-			executeMojo(
+			mojoExecutionUtil.executeMojo(
 					plugin(
 							groupId("org.apache.maven.plugins"),
 							artifactId("maven-dependency-plugin"),
-							version(detectPluginVersion("org.apache.maven.plugins", "maven-dependency-plugin", mavenDependencyPluginVersionFallback))
+							version(mojoExecutionUtil.detectPluginVersion("org.apache.maven.plugins", "maven-dependency-plugin", mavenDependencyPluginVersionFallback))
 							),
 					goal("copy"),
 					configuration(
 							copyConfiguration.toArray(new Element[copyConfiguration.size()])
-							),
-					executionEnvironment(
-							project,
-							session,
-							pluginManager
 							)
 					);
 			// @formatter:on
 		}
 	}
 
-	private File generateFinalBundleManifest() throws MojoExecutionException {
-		try {
-			File mfile = new File(outputDirectory, "META-INF/MANIFEST.MF");
-			final InputStream is = new FileInputStream(mfile);
-			Manifest mf;
+	private boolean gatherSources(final Set<Artifact> dependencies) throws MojoExecutionException {
+		// unpack sources
+		getLog().info("Gathering sources");
+		if (isUnpackThroughCache()) {
 			try {
-				mf = new Manifest(is);
-			} finally {
-				is.close();
+				// the sources directory will be modified afterwards, thus files must not be linked into the cache
+				getUnpackCacheUtil().unpack(dependencies, CLASSIFIER_SOURCES, new File(dependenciesSourcesDirectory), false);
+			} catch (final MojoExecutionException e) {
+				getLog().warn("Unable to resolve source jar; skipping source bundle");
+				getLog().debug(e);
+				return false;
 			}
-			final Attributes attributes = mf.getMainAttributes();
-
-			if (attributes.getValue(Name.MANIFEST_VERSION) == null) {
-				attributes.put(Name.MANIFEST_VERSION, "1.0");
+		} else {
+			// @formatter:off
+			final List<Element> unpackConfigurationSource = getDependenciesUnpackConfiguration(dependenciesSourcesDirectory, dependencies, CLASSIFIER_SOURCES);
+			try {
+				mojoExecutionUtil.executeMojo(
+						plugin(
+								groupId("org.apache.maven.plugins"),
+								artifactId("maven-dependency-plugin"),
+								version(mojoExecutionUtil.detectPluginVersion("org.apache.maven.plugins", "maven-dependency-plugin", mavenDependencyPluginVersionFallback))
+								),
+								goal("unpack"),
+								configuration(
+										unpackConfigurationSource.toArray(new Element[unpackConfigurationSource.size()])
+										)
+						);
+			} catch(final MojoExecutionException e) {
+				getLog().warn("Unable to resolve source jar; skipping source bundle");
+				getLog().debug(e);
+				return false;
 			}
+			// @formatter:on
+		}
 
-			// shameless self-promotion
-			attributes.putValue(CREATED_BY, "Eclipse Bundle Recipe Maven Plug-in");
-
-			final String expandedVersion = getExpandedVersion();
-			attributes.putValue(BUNDLE_VERSION, expandedVersion);
+		// @formatter:off
+		if (includeProjectResourceDir) {
+			mojoExecutionUtil.executeMojo(
+					plugin(
+							groupId("org.apache.maven.plugins"),
+							artifactId("maven-resources-plugin"),
+							version(mojoExecutionUtil.detectPluginVersion("org.apache.maven.plugins", "maven-resources-plugin", mavenResourcesPluginVersionFallback))
+							),
+							goal("copy-resources"),
+							configuration(
+									element("outputDirectory", "${project.build.directory}/dependency-src"),
+									element("resources",
+											element("resource", element("directory", "${project.basedir}/src/main/resources")),
+											element("resource", element("directory", "${project.basedir}/src/main/java"))
+											)
+									)
+					);
+		}
+		// @formatter:on
+		return true;
+	}
 
-			mfile = getFinalBundleManifestFile();
+	private File generateFinalBundleManifest() throws MojoExecutionException {
+		try {
+			final File mfile = getFinalBundleManifestFile();
 			mfile.getParentFile().mkdirs();
-			final BufferedOutputStream os = new BufferedOutputStream(new FileOutputStream(mfile));
-			try {
-				mf.write(os);
-			} finally {
-				os.close();
+			try (OutputStream os = new BufferedOutputStream(new FileOutputStream(mfile))) {
+				getBundleManifest().write(os);
 			}
-
 			return mfile;
 		} catch (final Exception e) {
 			throw new MojoExecutionException("Error generating bundle manifest: " + e.getMessage(), e);
@@ -550,24 +1098,18 @@ public class BundleMojo extends ManifestPlugin {
 	}
 
 	private void generateSourceBundleL10nFile() throws IOException {
-		// read generates manifest for resolving bundle name
-		final InputStream is = new FileInputStream(getFinalBundleManifestFile());
-		Manifest bundleManifest;
-		try {
-			bundleManifest = new Manifest(is);
-		} finally {
-			is.close();
-		}
+		// use generated manifest for resolving bundle name
+		final Manifest bundleManifest = getBundleManifest();
 		final Properties l10nProps = readL10nProps(bundleManifest);
 		String bundleName = getL10nResolvedValue(bundleManifest, BUNDLE_NAME, l10nProps);
 		if (bundleName == null) {
-			getLog().warn("Bundle-Name header not found in " + getFinalBundleManifestFile() + ", fallback to Bundle-SymbolicName for source bundle");
+			getLog().warn("Bundle-Name header not found in bundle manifest, fallback to Bundle-SymbolicName for source bundle");
 			bundleName = getSourceBundleSymbolicName();
 		}
 		final String sourceBundleName = bundleName + " Source";
 		String bundleVendor = getL10nResolvedValue(bundleManifest, BUNDLE_VENDOR, l10nProps);
 		if (bundleVendor == null) {
-			getLog().warn("Bundle-Vendor header not found in " + getFinalBundleManifestFile() + ", fallback to 'unknown' for source bundle");
+			getLog().warn("Bundle-Vendor header not found in bundle manifest, fallback to 'unknown' for source bundle");
 			bundleVendor = "unknown";
 		}
 		final File l10nOutputDir = new File(dependenciesSourcesDirectory);
@@ -575,14 +1117,12 @@ public class BundleMojo extends ManifestPlugin {
 		sourceL10nProps.setProperty(I18N_KEY_BUNDLE_NAME, sourceBundleName);
 		sourceL10nProps.setProperty(I18N_KEY_BUNDLE_VENDOR, bundleVendor);
 		final File l10nPropsFile = new File(l10nOutputDir, BUNDLE_LOCALIZATION_DEFAULT_BASENAME + ".properties");
-		l10nPropsFile.getParentFile().mkdirs();
-		OutputStream out = null;
-		try {
-			out = new FileOutputStream(l10nPropsFile);
-			sourceL10nProps.store(out, "Source Bundle Localization");
-		} finally {
-			IOUtil.close(out);
-		}
+		// drop the timestamp comment so that unchanged inputs produce an identical source bundle
+		final ByteArrayOutputStream content = new ByteArrayOutputStream();
+		sourceL10nProps.store(content, "Source Bundle Localization");
+		final List<String> lines = new ArrayList<>(Arrays.asList(content.toString("ISO-8859-1").split("\\R")));
+		lines.remove(1);
+		FileUtils.writeLines(l10nPropsFile, "ISO-8859-1", lines, "\n");
 	}
 
 	private File generateSourceBundleManifest() throws MojoExecutionException {
@@ -650,6 +1190,58 @@ public class BundleMojo extends ManifestPlugin {
 		return element("artifactItems", artifactItems.toArray(new Element[artifactItems.size()]));
 	}
 
+	private File getBundleFile() {
+		return new File(buildDirectory, finalName + ".jar");
+	}
+
+	private Fingerprint getBundleFingerprint(final Set<Artifact> dependencies) throws MojoExecutionException {
+		try {
+			// @formatter:off
+			return new Fingerprint()
+					.add("pluginVersion", pluginDescriptor.getVersion())
+					.addModel("model", project.getModel())
+					.add("qualifier", qualifier)
+					.add("includes", includes)
+					.add("excludes", excludes)
+					.add("excludeDependencies", excludeDependencies)
+					.add("unpackDependencies", unpackDependencies)
+					.add("mergeDependenciesInProcess", mergeDependenciesInProcess)
+					.add("parallelJarWriter", parallelJarWriter)
+					.add("jarCompressionLevel", jarCompressionLevel)
+					.add("storedFileExtensions", storedFileExtensions)
+					.add("inProcessP2Metadata", inProcessP2Metadata)
+					.add("stripVersion", stripVersion)
+					.add("excludeDotFolderFromBundleClasspath", excludeDotFolderFromBundleClasspath)
+					.add("signingServiceType", signingServiceType)
+					.addFile("signingKeystore", signingKeystore)
+					.add("signingKeyAlias", signingKeyAlias)
+					.add("inProcessSigning", inProcessSigning)
+					.add("signerUrl", signerUrl)
+					.add("finalName", finalName)
+					.addMap("bndInstructions", bndInstructions)
+					.addFile("osgi.bnd", new File(project.getBasedir(), "osgi.bnd"))
+					.addFile("resources", new File(project.getBasedir(), "src/main/resources"))
+					.addFile("sources", new File(project.getBasedir(), "src/main/java"))
+					.addArtifacts("dependencies", dependencies);
+			// @formatter:on
+		} catch (final IOException e) {
+			getLog().debug(e);
+			throw new MojoExecutionException(format("Unable to compute fingerprint of bundle inputs. %s", e.getMessage()));
+		}
+	}
+
+	private Manifest getBundleManifest() throws IOException {
+		Manifest manifest = BundleUtil.getBundleManifest(project);
+		if (manifest == null) {
+			// bundle is up to date, read the manifest written by the previous build
+			try (InputStream is = new FileInputStream(getFinalBundleManifestFile())) {
+				manifest = new Manifest(is);
+			}
+			BundleUtil.setBundleManifest(project, manifest);
+		}
+		return manifest;
+	}
+
 	private String getBundleClassPathHeaderPopulatedWithDependencyJars() throws MojoExecutionException {
 		if (excludeDotFolderFromBundleClasspath)
 			return getDependenciesJarFilesFromLibFolderAsCommaSeparatedString();
@@ -704,10 +1296,33 @@ public class BundleMojo extends ManifestPlugin {
 		return unpackConfiguration;
 	}
 
+	private List<File> getDependencyFiles(final Set<Artifact> dependencies) throws MojoExecutionException {
+		final List<File> dependencyFiles = new ArrayList<File>(dependencies.size());
+		for (final Artifact artifact : dependencies) {
+			final File file = artifact.getFile();
+			if ((file == null) || !file.exists())
+				throw new MojoExecutionException(format("Dependency %s:%s:%s has not been resolved. Please verify that it is available.", artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion()));
+			dependencyFiles.add(file);
+		}
+		return dependencyFiles;
+	}
+
+	private DependencyMergeUtil getDependencyMergeUtil() {
+		return new DependencyMergeUtil(getLog(), session, includes, excludes);
+	}
+
 	private String getExpandedVersion() {
 		return BundleUtil.getExpandedVersion(getBundleVersion(), qualifier);
 	}
 
+	@Override
+	protected File getFile(final Artifact artifact) {
+		// bnd opens the returned file for the classpath as well as for detecting optional packages
+		if (bndClasspathCacheUtil != null)
+			return bndClasspathCacheUtil.getSummary(artifact.getFile());
+		return super.getFile(artifact);
+	}
+
 	private FileSet getFileSet(final File basedir) {
 		final DefaultFileSet fileSet = new DefaultFileSet();
 		fileSet.setDirectory(basedir);
@@ -734,6 +1349,40 @@ public class BundleMojo extends ManifestPlugin {
 		return outputDirectory;
 	}
 
+	private ParallelJarArchiver getParallelJarArchiver() throws MojoExecutionException {
+		if ((jarCompressionLevel < -1) || (jarCompressionLevel > 9))
+			throw new MojoExecutionException(format("Invalid jar compression level %d. Please use a value between 0 and 9 or -1 for the default level.", jarCompressionLevel));
+
+		final ParallelJarArchiver jarArchiver = new ParallelJarArchiver();
+		jarArchiver.setCompressionLevel(jarCompressionLevel);
+		if (storedFileExtensions != null) {
+			jarArchiver.setStoredExtensions(Arrays.asList(StringUtils.split(storedFileExtensions, ", ")));
+		}
+		return jarArchiver;
+	}
+
+	private File getSourceBundleFile() {
+		return new File(buildDirectory, finalName + "-sources.jar");
+	}
+
+	private Fingerprint getSourceBundleFingerprint(final Set<Artifact> dependencies, final Fingerprint bundleFingerprint) throws MojoExecutionException {
+		try {
+			final Fingerprint fingerprint = new Fingerprint();
+			fingerprint.add("bundle", bundleFingerprint);
+			fingerprint.add("includeProjectResourceDir", includeProjectResourceDir);
+			final ArtifactRepository localRepository = session.getLocalRepository();
+			for (final Artifact artifact : dependencies) {
+				// only sources already available in the local repository can be considered
+				final Artifact sourceArtifact = repositorySystem.createArtifactWithClassifier(artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion(), "jar", CLASSIFIER_SOURCES);
+				fingerprint.addFile("sources:" + artifact.getId(), new File(localRepository.getBasedir(), localRepository.pathOf(sourceArtifact)));
+			}
+			return fingerprint;
+		} catch (final IOException e) {
+			getLog().debug(e);
+			throw new MojoExecutionException(format("Unable to compute fingerprint of source bundle inputs. %s", e.getMessage()));
+		}
+	}
+
 	private File getSourceBundleManifestFile() {
 		return new File(buildDirectory, "MANIFEST-SRC.MF");
 	}
@@ -742,15 +1391,53 @@ public class BundleMojo extends ManifestPlugin {
 		return BundleUtil.getSourceBundleSymbolicName(project);
 	}
 
+	private UnpackCacheUtil getUnpackCacheUtil() {
+		// without shared cache, archives are extracted concurrently into a staging area within the build directory
+		final File cacheDirectory = unpackCache ? unpackCacheDirectory : new File(buildDirectory, "dependency-staging");
+		final UnpackCacheUtil unpackCacheUtil = new UnpackCacheUtil(getLog(), session, repositorySystem, project.getRemoteArtifactRepositories(), cacheDirectory, includes, excludes);
+		unpackCacheUtil.setThreads(getUnpackThreads());
+		return unpackCacheUtil;
+	}
+
+	private int getUnpackThreads() {
+		return unpackThreads > 0 ? unpackThreads : Runtime.getRuntime().availableProcessors();
+	}
+
 	private void initializeBndInstruction(final String key, final String value) {
 		if (StringUtils.isBlank(bndInstructions.get(key))) {
 			bndInstructions.put(key, value);
 		}
 	}
 
-	private void packAndSignBundle() throws MojoExecutionException {
+	private boolean isMergeDependenciesInProcess() {
+		if (mergeDependenciesInProcess && !unpackDependencies) {
+			getLog().warn("Ignoring mergeDependenciesInProcess because unpackDependencies is disabled.");
+			return false;
+		}
+		return mergeDependenciesInProcess;
+	}
+
+	private boolean isUnpackThroughCache() {
+		return unpackCache || (getUnpackThreads() > 1);
+	}
+
+	private void packAndSignBundle(final List<File> jars) throws MojoExecutionException {
+		if ("local".equalsIgnoreCase(signingServiceType)) {
+			// pack200 is not supported by current Java versions, so only sign
+			getLog().info("Signing bundle and source bundle");
+			new JarSigningUtil(getLog(), session, project, signingKeystore, signingKeystorePassword, signingKeyAlias, signingKeyPassword).signJars(jars);
+			return;
+		}
+
 		if (!"eclipse".equalsIgnoreCase(signingServiceType)) {
-			getLog().debug("Skipping pack and signing. Set signing service type to 'eclipse' in order to enable signing using Eclipse.org CBI signing plug-in..");
+			getLog().debug("Skipping pack and signing. Set signing service type to 'eclipse' in order to enable signing using Eclipse.org signing service or to 'local' in order to sign using a local keystore.");
+			return;
+		}
+
+		if (inProcessSigning) {
+			// pack200 is not supported by current Java versions, so only sign
+			getLog().info("Signing bundle and source bundle");
+			new RemoteSigningUtil(getLog(), session, project, signerUrl, signingThreads, signingRetries, signingCacheDirectory).signJars(jars);
 			return;
 		}
 
@@ -758,57 +1445,42 @@ public class BundleMojo extends ManifestPlugin {
 
 		// 1) normalize
 		// @formatter:off
-		executeMojo(
+		mojoExecutionUtil.executeMojo(
 				plugin(
 						groupId("org.eclipse.tycho.extras"),
 						artifactId("tycho-pack200a-plugin"),
-						version(detectPluginVersion("org.eclipse.tycho.extras", "tycho-pack200a-plugin", tychoExtrasPluginVersionFallback))),
+						version(mojoExecutionUtil.detectPluginVersion("org.eclipse.tycho.extras", "tycho-pack200a-plugin", tychoExtrasPluginVersionFallback))),
 						goal("normalize"),
 						configuration(
 								element("supportedProjectTypes",
 										element("supportedProjectType", "eclipse-bundle-recipe"))
-						),
-						executionEnvironment(
-								project,
-								session,
-								pluginManager
 						)
 				);
 		// @formatter:on
 
 		// 2) sign
 		// @formatter:off
-		executeMojo(
+		mojoExecutionUtil.executeMojo(
 				plugin(
 						groupId("org.eclipse.cbi.maven.plugins"),
 						artifactId("eclipse-jarsigner-plugin"),
-						version(detectPluginVersion("org.eclipse.cbi.maven.plugins", "eclipse-jarsigner-plugin", cbiPluginVersionFallback))),
+						version(mojoExecutionUtil.detectPluginVersion("org.eclipse.cbi.maven.plugins", "eclipse-jarsigner-plugin", cbiPluginVersionFallback))),
 						goal("sign"),
-						configuration(),
-						executionEnvironment(
-								project,
-								session,
-								pluginManager
-						)
+						configuration()
 				);
 		// @formatter:on
 
 		// 3) pack
 		// @formatter:off
-		executeMojo(
+		mojoExecutionUtil.executeMojo(
 				plugin(
 						groupId("org.eclipse.tycho.extras"),
 						artifactId("tycho-pack200b-plugin"),
-						version(detectPluginVersion("org.eclipse.tycho.extras", "tycho-pack200a-plugin", tychoExtrasPluginVersionFallback))),
+						version(mojoExecutionUtil.detectPluginVersion("org.eclipse.tycho.extras", "tycho-pack200a-plugin", tychoExtrasPluginVersionFallback))),
 						goal("pack"),
 						configuration(
 								element("supportedProjectTypes",
 										element("supportedProjectType", "eclipse-bundle-recipe"))
-						),
-						executionEnvironment(
-								project,
-								session,
-								pluginManager
 						)
 				);
 		// @formatter:on
@@ -817,22 +1489,20 @@ public class BundleMojo extends ManifestPlugin {
 	private void publishP2Metadata() throws MojoExecutionException {
 		// copy into output directory
 		getLog().debug("Publishing p2 metadata...");
+		if (inProcessP2Metadata && new P2MetadataUtil(getLog(), session, project, projectHelper).generateP2Metadata())
+			return;
+
 		try {
 			// @formatter:off
-			executeMojo(
+			mojoExecutionUtil.executeMojo(
 					plugin(
 							groupId("org.eclipse.tycho"),
 							artifactId("tycho-p2-plugin"),
-							version(detectPluginVersion("org.eclipse.tycho", "tycho-p2-plugin", tychoPluginVersionFallback))),
+							version(mojoExecutionUtil.detectPluginVersion("org.eclipse.tycho", "tycho-p2-plugin", tychoPluginVersionFallback))),
 							goal("p2-metadata"),
 							configuration(
 									element("supportedProjectTypes",
 											element("supportedProjectType", "eclipse-bundle-recipe"))
-							),
-							executionEnvironment(
-									project,
-									session,
-									pluginManager
 							)
 					);
 			// @formatter:on
@@ -871,4 +1541,13 @@ public class BundleMojo extends ManifestPlugin {
 		}
 		return l10nProps;
 	}
+
+	private void writeBuildMetrics() {
+		try {
+			buildMetricsUtil.write();
+		} catch (final IOException e) {
+			getLog().debug(e);
+			getLog().warn(format("Unable to write build metrics. %s", e.getMessage()));
+		}
+	}
 }
@@ -170,7 +170,7 @@ public class CreateRecipeMojo extends AbstractMojo {
 		final SortedMap<Artifact, Model> dependencies = new TreeMap<>();
 		dependencies.put(resolvedPomArtifact, artifactPom);
 
-		final AboutFilesUtil aboutFilesUtil = new AboutFilesUtil(getLog(), mavenSession, force, true);
+		final AboutFilesUtil aboutFilesUtil = new AboutFilesUtil(getLog(), mavenSession, force, true, new HttpClientUtil(getLog(), mavenSession), null);
 		if (license != null) {
 			aboutFilesUtil.setLicense(resolvedPomArtifact, license);
 		}
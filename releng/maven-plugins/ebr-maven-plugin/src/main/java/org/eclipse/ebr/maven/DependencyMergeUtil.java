@@ -0,0 +1,217 @@
+/**
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.ebr.maven;
+
+import static java.lang.String.format;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+
+import org.eclipse.ebr.maven.shared.BaseUtility;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.logging.Log;
+
+import org.codehaus.plexus.archiver.Archiver;
+import org.codehaus.plexus.archiver.ArchiverException;
+import org.codehaus.plexus.archiver.util.DefaultFileSet;
+import org.codehaus.plexus.archiver.zip.PlexusIoZipFileResourceCollection;
+import org.codehaus.plexus.components.io.fileselectors.FileInfo;
+import org.codehaus.plexus.components.io.fileselectors.FileSelector;
+import org.codehaus.plexus.components.io.fileselectors.IncludeExcludeFileSelector;
+
+import aQute.bnd.osgi.Jar;
+import aQute.bnd.osgi.Resource;
+
+/**
+ * A utility for merging dependencies directly into the bundle jar.
+ * <p>
+ * This is an alternative to unpacking all dependencies into a directory,
+ * copying them into the project output directory and packing everything up
+ * again. Each dependency is read directly from its archive and the configured
+ * includes and excludes are applied on the fly. Content already present
+ * (i.e. project classes and resources) always wins over dependency content.
+ * Among dependencies, content of later dependencies wins over content of
+ * earlier ones, which matches the result of unpacking them one after another
+ * into the same directory.
+ * </p>
+ */
+public class DependencyMergeUtil extends BaseUtility implements Closeable {
+
+	private final String[] includes;
+	private final String[] excludes;
+	private final IncludeExcludeFileSelector selector;
+	private final List<Jar> openJars = new ArrayList<>();
+
+	public DependencyMergeUtil(final Log log, final MavenSession mavenSession, final String includes, final String excludes) {
+		super(log, mavenSession);
+		this.includes = toPatterns(includes);
+		this.excludes = toPatterns(excludes);
+		selector = newFileSelector(includes, excludes);
+	}
+
+	/**
+	 * Adds the content of all dependencies to the specified archiver.
+	 * <p>
+	 * If the archiver is a {@link ParallelJarArchiver}, entries of dependency
+	 * archives will be copied without recompressing them.
+	 * </p>
+	 *
+	 * @param archiver
+	 *            the archiver (content already added takes precedence)
+	 * @param dependencyFiles
+	 *            the dependency archives (or directories) in dependency order
+	 */
+	public void addDependencies(final Archiver archiver, final List<File> dependencyFiles) throws ArchiverException {
+		archiver.setDuplicateBehavior(Archiver.DUPLICATES_SKIP);
+		for (int i = dependencyFiles.size() - 1; i >= 0; i--) {
+			final File dependencyFile = dependencyFiles.get(i);
+			getLog().debug(format("Merging '%s' into bundle jar.", dependencyFile));
+			if (dependencyFile.isDirectory()) {
+				final DefaultFileSet fileSet = DefaultFileSet.fileSet(dependencyFile);
+				fileSet.setIncludes(includes);
+				fileSet.setExcludes(excludes);
+				fileSet.setUsingDefaultExcludes(true);
+				archiver.addFileSet(fileSet);
+			} else if (archiver instanceof ParallelJarArchiver) {
+				// copy compressed entries as is instead of inflating and deflating them again
+				((ParallelJarArchiver) archiver).addRawArchive(dependencyFile, selector);
+			} else {
+				// the archiver has no archiver manager for resolving archived file sets, thus read the zip directly
+				final PlexusIoZipFileResourceCollection resources = new PlexusIoZipFileResourceCollection();
+				resources.setFile(dependencyFile);
+				resources.setFileSelectors(new FileSelector[] { selector });
+				archiver.addResources(resources);
+			}
+		}
+	}
+
+	/**
+	 * Adds the content of all dependencies to the specified bnd jar.
+	 * <p>
+	 * The dependency archives are not extracted. Instead, the jar will
+	 * reference their entries and read them on demand. Thus, the dependency
+	 * archives are kept open until this utility is {@link #close() closed}.
+	 * </p>
+	 *
+	 * @param jar
+	 *            the jar (content already present takes precedence)
+	 * @param dependencyFiles
+	 *            the dependency archives (or directories) in dependency order
+	 * @throws IOException
+	 */
+	public void addDependencies(final Jar jar, final List<File> dependencyFiles) throws IOException {
+		for (int i = dependencyFiles.size() - 1; i >= 0; i--) {
+			final File dependencyFile = dependencyFiles.get(i);
+			getLog().debug(format("Merging '%s' into bundle content.", dependencyFile));
+			final Jar dependencyJar = new Jar(dependencyFile);
+			openJars.add(dependencyJar);
+			for (final Entry<String, Resource> entry : dependencyJar.getResources().entrySet()) {
+				if (isSelected(entry.getKey())) {
+					jar.putResource(entry.getKey(), entry.getValue(), false);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Closes all dependency archives opened by
+	 * {@link #addDependencies(Jar, List)}.
+	 */
+	@Override
+	public void close() {
+		for (final Jar jar : openJars) {
+			jar.close();
+		}
+		openJars.clear();
+	}
+
+	/**
+	 * Indicates if the specified entry is selected by the specified selector.
+	 *
+	 * @param selector
+	 *            the selector
+	 * @param path
+	 *            the entry path (using <code>/</code> as separator)
+	 * @param directory
+	 *            <code>true</code> if the entry is a directory
+	 * @return <code>true</code> if selected, <code>false</code> otherwise
+	 * @throws IOException
+	 */
+	static boolean isSelected(final FileSelector selector, final String path, final boolean directory) throws IOException {
+		return selector.isSelected(new FileInfo() {
+
+			@Override
+			public InputStream getContents() throws IOException {
+				return new ByteArrayInputStream(new byte[0]);
+			}
+
+			@Override
+			public String getName() {
+				return path;
+			}
+
+			@Override
+			public boolean isDirectory() {
+				return directory;
+			}
+
+			@Override
+			public boolean isFile() {
+				return !directory;
+			}
+
+			@Override
+			public boolean isSymbolicLink() {
+				return false;
+			}
+		});
+	}
+
+	private boolean isSelected(final String path) throws IOException {
+		return isSelected(selector, path, false);
+	}
+
+	/**
+	 * Creates a file selector applying the specified includes and excludes the
+	 * same way the <code>maven-dependency-plugin</code> does when unpacking.
+	 *
+	 * @param includes
+	 *            comma separated list of include patterns (may be
+	 *            <code>null</code>)
+	 * @param excludes
+	 *            comma separated list of exclude patterns (may be
+	 *            <code>null</code>)
+	 * @return the file selector
+	 */
+	static IncludeExcludeFileSelector newFileSelector(final String includes, final String excludes) {
+		final IncludeExcludeFileSelector selector = new IncludeExcludeFileSelector();
+		selector.setIncludes(toPatterns(includes));
+		selector.setExcludes(toPatterns(excludes));
+		selector.setUseDefaultExcludes(true);
+		return selector;
+	}
+
+	private static String[] toPatterns(final String commaSeparatedPatterns) {
+		if (StringUtils.isBlank(commaSeparatedPatterns))
+			return null;
+		final String[] patterns = StringUtils.split(commaSeparatedPatterns, ',');
+		for (int i = 0; i < patterns.length; i++) {
+			patterns[i] = patterns[i].trim();
+		}
+		return patterns;
+	}
+}
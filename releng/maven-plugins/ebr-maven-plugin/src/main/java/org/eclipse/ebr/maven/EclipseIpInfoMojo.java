@@ -16,8 +16,6 @@ import static java.lang.String.format;
 import static org.twdata.maven.mojoexecutor.MojoExecutor.artifactId;
 import static org.twdata.maven.mojoexecutor.MojoExecutor.configuration;
 import static org.twdata.maven.mojoexecutor.MojoExecutor.element;
-import static org.twdata.maven.mojoexecutor.MojoExecutor.executeMojo;
-import static org.twdata.maven.mojoexecutor.MojoExecutor.executionEnvironment;
 import static org.twdata.maven.mojoexecutor.MojoExecutor.goal;
 import static org.twdata.maven.mojoexecutor.MojoExecutor.groupId;
 import static org.twdata.maven.mojoexecutor.MojoExecutor.name;
@@ -25,6 +23,7 @@ import static org.twdata.maven.mojoexecutor.MojoExecutor.plugin;
 import static org.twdata.maven.mojoexecutor.MojoExecutor.version;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -33,13 +32,15 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.SortedMap;
 
+import org.eclipse.ebr.maven.shared.BuildMetricsUtil;
+import org.eclipse.ebr.maven.shared.BuildMetricsUtil.Measurement;
+
 import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.repository.ArtifactRepository;
 import org.apache.maven.artifact.repository.metadata.RepositoryMetadataManager;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.model.Model;
-import org.apache.maven.model.Plugin;
 import org.apache.maven.model.building.ModelBuilder;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.BuildPluginManager;
@@ -149,6 +150,47 @@ public class EclipseIpInfoMojo extends AbstractMojo {
 	@Parameter(defaultValue = "false", property = "forceDownload")
 	private boolean forceDownload;
 
+	/**
+	 * The timeout (in milliseconds) for establishing connections when
+	 * downloading licenses.
+	 */
+	@Parameter(defaultValue = "10000", property = "httpConnectTimeout")
+	protected int httpConnectTimeout;
+
+	/**
+	 * The timeout (in milliseconds) for waiting for data when downloading
+	 * licenses.
+	 */
+	@Parameter(defaultValue = "60000", property = "httpReadTimeout")
+	protected int httpReadTimeout;
+
+	/**
+	 * The maximum number of concurrent connections per host when downloading
+	 * licenses. The connections are kept alive and shared by all recipes in
+	 * the reactor.
+	 */
+	@Parameter(defaultValue = "4", property = "httpMaxConnectionsPerHost")
+	protected int httpMaxConnectionsPerHost;
+
+	/**
+	 * The directory for caching downloaded licenses. Defaults to
+	 * <code>.cache/ebr-licenses</code> within the local repository.
+	 * <p>
+	 * Cached licenses are revalidated with conditional requests once per
+	 * build and used as is when Maven is offline.
+	 * </p>
+	 */
+	@Parameter(property = "licenseCacheDirectory")
+	protected File licenseCacheDirectory;
+
+	/**
+	 * The number of threads to use for building the effective models of the
+	 * dependencies. A value of zero or less will use the number of available
+	 * processors.
+	 */
+	@Parameter(defaultValue = "4", property = "modelBuildingThreads")
+	protected int modelBuildingThreads;
+
 	@Parameter(defaultValue = "true", property = "failBuildIfIpLogIsIncomplete")
 	private boolean failBuildIfIpLogIsIncomplete;
 
@@ -176,6 +218,34 @@ public class EclipseIpInfoMojo extends AbstractMojo {
 	@Parameter
 	protected String excludes;
 
+	/**
+	 * Indicates if sources should be unpacked through a shared cache (see the
+	 * <code>unpackCache</code> parameter of the <code>bundle</code> goal).
+	 */
+	@Parameter(property = "unpackCache", defaultValue = "false")
+	protected boolean unpackCache;
+
+	/**
+	 * The directory for caching unpacked dependencies. Defaults to
+	 * <code>.cache/ebr-unpack</code> within the local repository.
+	 */
+	@Parameter(property = "unpackCacheDirectory")
+	protected File unpackCacheDirectory;
+
+	/**
+	 * The number of threads to use for unpacking sources (see the
+	 * <code>unpackThreads</code> parameter of the <code>bundle</code> goal).
+	 */
+	@Parameter(property = "unpackThreads", defaultValue = "1")
+	protected int unpackThreads;
+
+	/**
+	 * Indicates if build metrics should be recorded (see the
+	 * <code>buildMetrics</code> parameter of the <code>bundle</code> goal).
+	 */
+	@Parameter(property = "buildMetrics", defaultValue = "false")
+	protected boolean buildMetrics;
+
 	@Component
 	private SettingsDecrypter settingsDecrypter;
 
@@ -193,42 +263,58 @@ public class EclipseIpInfoMojo extends AbstractMojo {
 	@Parameter
 	protected Map<String, String> localLicenseFiles = new LinkedHashMap<String, String>();
 
+	/** utility recording metrics of the build stages */
+	private BuildMetricsUtil buildMetricsUtil;
+
+	/** utility executing mojos of other plug-ins */
+	private MojoExecutionUtil mojoExecutionUtil;
+
 	private void collectSources(final Set<Artifact> dependencies) throws MojoExecutionException {
 		// collect sources
 		getLog().info("Gathering sources archives");
 
 		// collect source files (filtered with excludes and includes) into folders
-		// @formatter:off
-		final List<Element> unpackConfigurationSource = getDependenciesUnpackConfiguration(outputDirectory, dependencies, CLASSIFIER_SOURCES);
-		try {
-			executeMojo(
-					plugin(
-							groupId("org.apache.maven.plugins"),
-							artifactId("maven-dependency-plugin"),
-							version(detectPluginVersion("org.apache.maven.plugins", "maven-dependency-plugin", mavenDependencyPluginVersionFallback))
-							),
-					goal("unpack"),
-					configuration(
-							unpackConfigurationSource.toArray(new Element[unpackConfigurationSource.size()])
-							),
-					executionEnvironment(
-							project,
-							mavenSession,
-							pluginManager
-							)
-					);
-		} catch(final MojoExecutionException e) {
-			getLog().warn("Unable to resolve source jar; skipping Eclipse IP information");
-			getLog().debug(e);
-			return;
+		if (isUnpackThroughCache()) {
+			try {
+				final Map<Artifact, File> outputDirectories = new LinkedHashMap<>();
+				for (final Artifact artifact : dependencies) {
+					outputDirectories.put(artifact, getOutputDirectoryForFilteredDependencySources(outputDirectory, artifact));
+				}
+				// the sources are archived and scanned afterwards, thus files are copied instead of linking them into the cache
+				getUnpackCacheUtil().unpack(outputDirectories, CLASSIFIER_SOURCES, false);
+			} catch (final MojoExecutionException e) {
+				getLog().warn("Unable to resolve source jar; skipping Eclipse IP information");
+				getLog().debug(e);
+				return;
+			}
+		} else {
+			// @formatter:off
+			final List<Element> unpackConfigurationSource = getDependenciesUnpackConfiguration(outputDirectory, dependencies, CLASSIFIER_SOURCES);
+			try {
+				mojoExecutionUtil.executeMojo(
+						plugin(
+								groupId("org.apache.maven.plugins"),
+								artifactId("maven-dependency-plugin"),
+								version(mojoExecutionUtil.detectPluginVersion("org.apache.maven.plugins", "maven-dependency-plugin", mavenDependencyPluginVersionFallback))
+								),
+						goal("unpack"),
+						configuration(
+								unpackConfigurationSource.toArray(new Element[unpackConfigurationSource.size()])
+								)
+						);
+			} catch(final MojoExecutionException e) {
+				getLog().warn("Unable to resolve source jar; skipping Eclipse IP information");
+				getLog().debug(e);
+				return;
+			}
+			// @formatter:on
 		}
-		// @formatter:on
 
 		// copy full source jars into output folder
 		// @formatter:off
 		final List<Element> copyConfigurationSource = getCopyConfiguration(outputDirectory.getAbsolutePath(), dependencies, CLASSIFIER_SOURCES);
 		try {
-			executeMojo(plugin(groupId("org.apache.maven.plugins"), artifactId("maven-dependency-plugin"), version(mavenDependencyPluginVersion)), goal("copy"), configuration(copyConfigurationSource.toArray(new Element[copyConfigurationSource.size()])), executionEnvironment(project, mavenSession, pluginManager));
+			mojoExecutionUtil.executeMojo(plugin(groupId("org.apache.maven.plugins"), artifactId("maven-dependency-plugin"), version(mavenDependencyPluginVersion)), goal("copy"), configuration(copyConfigurationSource.toArray(new Element[copyConfigurationSource.size()])));
 		} catch (final MojoExecutionException e) {
 			getLog().warn("Unable to resolve source jar; skipping Eclipse IP information");
 			getLog().debug(e);
@@ -245,18 +331,6 @@ public class EclipseIpInfoMojo extends AbstractMojo {
 		}
 	}
 
-	private String detectPluginVersion(final String groupId, final String artifactId, final String fallbackVersion) {
-		final List<Plugin> plugins = project.getPluginManagement().getPlugins();
-		for (final Plugin plugin : plugins) {
-			if (groupId.equals(plugin.getGroupId()) && artifactId.equals(plugin.getArtifactId())) {
-				getLog().debug("Using managed version " + plugin.getVersion() + " for plugin " + groupId + ":" + artifactId + ".");
-				return plugin.getVersion();
-			}
-		}
-		getLog().warn(format("No version defined in the efective model for plugin %s:%s. Please consider defining one in the pluginManagement section. Falling back to version \"%s\"", groupId, artifactId, fallbackVersion));
-		return fallbackVersion;
-	}
-
 	@Override
 	public void execute() throws MojoExecutionException, MojoFailureException {
 		if (!BundleMojo.isRecipeProject(project)) {
@@ -265,8 +339,19 @@ public class EclipseIpInfoMojo extends AbstractMojo {
 		}
 
 		final Set<Artifact> dependencies = getDependenciesToInclude();
-		collectSources(dependencies);
-		refreshAboutFiles(dependencies);
+		buildMetricsUtil = new BuildMetricsUtil(getLog(), mavenSession, project, buildMetrics);
+		mojoExecutionUtil = new MojoExecutionUtil(getLog(), mavenSession, project, pluginManager);
+		try {
+			try (Measurement measurement = buildMetricsUtil.measure("collect-sources")) {
+				collectSources(dependencies);
+				if (buildMetricsUtil.isEnabled()) {
+					measurement.bytesWritten(BuildMetricsUtil.sizeOf(outputDirectory));
+				}
+			}
+			refreshAboutFiles(dependencies);
+		} finally {
+			writeBuildMetrics();
+		}
 	}
 
 	private List<Element> getCopyConfiguration(final String outputDirectory, final Set<Artifact> dependencies, final String classifier) throws MojoExecutionException {
@@ -330,8 +415,14 @@ public class EclipseIpInfoMojo extends AbstractMojo {
 		return new File(getProjectDir(), "src/eclipse");
 	}
 
+	private int getModelBuildingThreads() {
+		return modelBuildingThreads > 0 ? modelBuildingThreads : Runtime.getRuntime().availableProcessors();
+	}
+
 	private ModelUtil getModelUtil() {
-		return new ModelUtil(getLog(), mavenSession, repositorySystem, repositoryMetadataManager, modelBuilder, remoteRepositories);
+		final ModelUtil modelUtil = new ModelUtil(getLog(), mavenSession, repositorySystem, repositoryMetadataManager, modelBuilder, remoteRepositories);
+		modelUtil.setThreads(getModelBuildingThreads());
+		return modelUtil;
 	}
 
 	private File getOutputDirectoryForFilteredDependencySources(final File outputDirectory, final Artifact dependency) {
@@ -345,6 +436,22 @@ public class EclipseIpInfoMojo extends AbstractMojo {
 		return projectDir;
 	}
 
+	private UnpackCacheUtil getUnpackCacheUtil() {
+		// without shared cache, archives are extracted concurrently into a staging area within the build directory
+		final File cacheDirectory = unpackCache ? unpackCacheDirectory : new File(project.getBuild().getDirectory(), "dependency-staging");
+		final UnpackCacheUtil unpackCacheUtil = new UnpackCacheUtil(getLog(), mavenSession, repositorySystem, remoteRepositories, cacheDirectory, includes, excludes);
+		unpackCacheUtil.setThreads(getUnpackThreads());
+		return unpackCacheUtil;
+	}
+
+	private int getUnpackThreads() {
+		return unpackThreads > 0 ? unpackThreads : Runtime.getRuntime().availableProcessors();
+	}
+
+	private boolean isUnpackThroughCache() {
+		return unpackCache || (getUnpackThreads() > 1);
+	}
+
 	private void populateLicenseInformation(final LicenseProcessingUtility licenseProcessingUtility, final Set<Artifact> dependencies) throws MojoExecutionException {
 		for (final Artifact artifact : dependencies) {
 			final String license = licenseMappings.get(artifact.getArtifactId());
@@ -362,14 +469,32 @@ public class EclipseIpInfoMojo extends AbstractMojo {
 		getLog().info("Refreshing about files and about.html");
 
 		// build models
-		final SortedMap<Artifact, Model> effectiveModels = getModelUtil().buildEffectiveModels(dependencies);
+		final SortedMap<Artifact, Model> effectiveModels;
+		try (Measurement measurement = buildMetricsUtil.measure("model-building")) {
+			effectiveModels = getModelUtil().buildEffectiveModels(dependencies);
+			measurement.entries(effectiveModels.size());
+		}
+
+		try (Measurement measurement = buildMetricsUtil.measure("about-files")) {
+			// populate license information
+			final AboutFilesUtil aboutFilesUtil = new AboutFilesUtil(getLog(), mavenSession, force, forceDownload, new HttpClientUtil(getLog(), mavenSession, httpConnectTimeout, httpReadTimeout, httpMaxConnectionsPerHost), licenseCacheDirectory);
+			populateLicenseInformation(aboutFilesUtil, dependencies);
 
-		// populate license information
-		final AboutFilesUtil aboutFilesUtil = new AboutFilesUtil(getLog(), mavenSession, force, forceDownload);
-		populateLicenseInformation(aboutFilesUtil, dependencies);
+			// generate about files
+			final File resourcesDir = new File(getProjectDir(), "src/main/resources");
+			aboutFilesUtil.generateAboutHtmlFile(effectiveModels, resourcesDir);
+			if (buildMetricsUtil.isEnabled()) {
+				measurement.bytesWritten(BuildMetricsUtil.sizeOf(new File(resourcesDir, "about.html")) + BuildMetricsUtil.sizeOf(new File(resourcesDir, "about_files")));
+			}
+		}
+	}
 
-		// generate about files
-		final File resourcesDir = new File(getProjectDir(), "src/main/resources");
-		aboutFilesUtil.generateAboutHtmlFile(effectiveModels, resourcesDir);
+	private void writeBuildMetrics() {
+		try {
+			buildMetricsUtil.write();
+		} catch (final IOException e) {
+			getLog().debug(e);
+			getLog().warn(format("Unable to write build metrics. %s", e.getMessage()));
+		}
 	}
 }
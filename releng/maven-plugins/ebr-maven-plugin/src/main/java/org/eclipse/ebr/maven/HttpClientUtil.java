@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.ebr.maven;
+
+import static java.lang.String.format;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ebr.maven.shared.BaseUtility;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.logging.Log;
+
+import org.eclipse.aether.SessionData;
+
+/**
+ * A utility providing an HTTP client shared within the Maven session.
+ * <p>
+ * The client keeps connections alive in a pool, which limits the number of
+ * concurrent connections per host. Idle connections are evicted in the
+ * background, so the client does not need to be closed at the end of the
+ * session. Mojos using the same configuration share one client.
+ * </p>
+ */
+public class HttpClientUtil extends BaseUtility {
+
+	public static final int DEFAULT_CONNECT_TIMEOUT = 10000;
+	public static final int DEFAULT_READ_TIMEOUT = 60000;
+	public static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = 4;
+
+	/** maximum number of pooled connections across all hosts (in multiples of the per host limit) */
+	private static final int MAX_HOSTS = 5;
+
+	/** session data key prefix for the shared clients */
+	private static final String SESSION_HTTP_CLIENT = "org.eclipse.ebr.maven/httpClient";
+
+	private final int connectTimeout;
+	private final int readTimeout;
+	private final int maxConnectionsPerHost;
+
+	public HttpClientUtil(final Log log, final MavenSession mavenSession) {
+		this(log, mavenSession, DEFAULT_CONNECT_TIMEOUT, DEFAULT_READ_TIMEOUT, DEFAULT_MAX_CONNECTIONS_PER_HOST);
+	}
+
+	public HttpClientUtil(final Log log, final MavenSession mavenSession, final int connectTimeout, final int readTimeout, final int maxConnectionsPerHost) {
+		super(log, mavenSession);
+		this.connectTimeout = Math.max(0, connectTimeout);
+		this.readTimeout = Math.max(0, readTimeout);
+		this.maxConnectionsPerHost = Math.max(1, maxConnectionsPerHost);
+	}
+
+	private CloseableHttpClient createHttpClient() {
+		getLog().debug(format("Creating HTTP client (connect timeout %d ms, read timeout %d ms, %d connections per host).", connectTimeout, readTimeout, maxConnectionsPerHost));
+		final PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+		connectionManager.setDefaultMaxPerRoute(maxConnectionsPerHost);
+		connectionManager.setMaxTotal(getMaxConnections());
+		// @formatter:off
+		return HttpClients.custom()
+				.setConnectionManager(connectionManager)
+				.setDefaultRequestConfig(RequestConfig.custom()
+						.setConnectTimeout(connectTimeout)
+						.setSocketTimeout(readTimeout)
+						.build())
+				.evictIdleConnections(30L, TimeUnit.SECONDS)
+				.build();
+		// @formatter:on
+	}
+
+	/**
+	 * Returns the HTTP client shared within the Maven session.
+	 * <p>
+	 * The client must not be closed.
+	 * </p>
+	 *
+	 * @return the shared client
+	 */
+	public CloseableHttpClient getHttpClient() {
+		final String key = format("%s/%d/%d/%d", SESSION_HTTP_CLIENT, connectTimeout, readTimeout, maxConnectionsPerHost);
+		final SessionData data = getMavenSession().getRepositorySession().getData();
+		final Object httpClient = data.get(key);
+		if (httpClient != null)
+			return (CloseableHttpClient) httpClient;
+
+		// first one wins
+		data.set(key, null, createHttpClient());
+		return (CloseableHttpClient) data.get(key);
+	}
+
+	/**
+	 * Returns the maximum number of concurrent connections of the shared
+	 * client across all hosts.
+	 *
+	 * @return the maximum number of connections
+	 */
+	public int getMaxConnections() {
+		return maxConnectionsPerHost * MAX_HOSTS;
+	}
+}
@@ -0,0 +1,242 @@
+/**
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.ebr.maven;
+
+import static com.google.common.base.Strings.nullToEmpty;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.ebr.maven.shared.BaseUtility;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * A utility for skipping build stages whose inputs did not change.
+ * <p>
+ * For every stage a fingerprint of all its inputs is computed (see
+ * {@link Fingerprint}) and recorded in a file within the build directory after
+ * the stage completed successfully. A subsequent build may skip a stage if its
+ * fingerprint is unchanged and all of its outputs still exist.
+ * </p>
+ */
+public class IncrementalBuildUtil extends BaseUtility {
+
+	/**
+	 * Fingerprint of build stage inputs.
+	 * <p>
+	 * All values are hashed in the order they are added. No more values must be
+	 * added once the fingerprint has been converted into a string.
+	 * </p>
+	 */
+	public static class Fingerprint {
+
+		private final Hasher hasher = Hashing.sha256().newHasher();
+		private String value;
+
+		public Fingerprint add(final String name, final Object value) {
+			hasher.putString(name, UTF_8).putChar('=').putString(nullToEmpty(value != null ? value.toString() : null), UTF_8).putChar('\n');
+			return this;
+		}
+
+		/**
+		 * Adds the checksums of the files of all specified artifacts.
+		 *
+		 * @param name
+		 *            the input name
+		 * @param artifacts
+		 *            the artifacts
+		 * @return this fingerprint
+		 * @throws IOException
+		 */
+		public Fingerprint addArtifacts(final String name, final Collection<Artifact> artifacts) throws IOException {
+			for (final Artifact artifact : artifacts) {
+				add(name, artifact.getId());
+				addFile(name, artifact.getFile());
+			}
+			return this;
+		}
+
+		/**
+		 * Adds the checksum of the specified file (or directory tree).
+		 *
+		 * @param name
+		 *            the input name
+		 * @param file
+		 *            the file or directory (may be <code>null</code> or not
+		 *            exist)
+		 * @return this fingerprint
+		 * @throws IOException
+		 */
+		public Fingerprint addFile(final String name, final File file) throws IOException {
+			if ((file == null) || !file.exists())
+				return add(name, "<none>");
+
+			if (file.isFile())
+				return add(name, com.google.common.io.Files.asByteSource(file).hash(Hashing.sha256()));
+
+			final Path root = file.toPath();
+			try (Stream<Path> files = Files.walk(root)) {
+				for (final Path path : files.filter(Files::isRegularFile).sorted().collect(Collectors.toList())) {
+					addFile(name + ":" + root.relativize(path).toString().replace('\\', '/'), path.toFile());
+				}
+			}
+			return this;
+		}
+
+		public Fingerprint addMap(final String name, final Map<String, String> values) {
+			if (values != null) {
+				for (final Entry<String, String> entry : new TreeMap<>(values).entrySet()) {
+					add(name + ":" + entry.getKey(), entry.getValue());
+				}
+			}
+			return this;
+		}
+
+		/**
+		 * Adds the specified model (eg., an effective model of a project).
+		 *
+		 * @param name
+		 *            the input name
+		 * @param model
+		 *            the model
+		 * @return this fingerprint
+		 * @throws IOException
+		 */
+		public Fingerprint addModel(final String name, final Model model) throws IOException {
+			final StringWriter writer = new StringWriter();
+			new MavenXpp3Writer().write(writer, model);
+			return add(name, writer);
+		}
+
+		@Override
+		public String toString() {
+			if (value == null) {
+				value = hasher.hash().toString();
+			}
+			return value;
+		}
+	}
+
+	private final File fingerprintsFile;
+	private final boolean enabled;
+	private final Properties fingerprints = new Properties();
+
+	public IncrementalBuildUtil(final Log log, final MavenSession mavenSession, final File fingerprintsFile, final boolean enabled) {
+		super(log, mavenSession);
+		this.fingerprintsFile = fingerprintsFile;
+		this.enabled = enabled;
+		if (enabled && fingerprintsFile.isFile()) {
+			try (InputStream in = Files.newInputStream(fingerprintsFile.toPath())) {
+				fingerprints.load(in);
+			} catch (final IOException e) {
+				// start from scratch
+				getLog().debug(e);
+				getLog().warn(format("Unable to read build fingerprints '%s'. %s", fingerprintsFile, e.getMessage()));
+				fingerprints.clear();
+			}
+		}
+	}
+
+	/**
+	 * Forgets a previously recorded fingerprint of a stage.
+	 * <p>
+	 * This must be called before executing a stage so that a failing stage will
+	 * not be considered up to date in a subsequent build.
+	 * </p>
+	 *
+	 * @param stage
+	 *            the stage
+	 * @throws MojoExecutionException
+	 */
+	public void invalidate(final String stage) throws MojoExecutionException {
+		if (enabled && (fingerprints.remove(stage) != null)) {
+			save();
+		}
+	}
+
+	/**
+	 * Indicates if a stage is up to date.
+	 *
+	 * @param stage
+	 *            the stage
+	 * @param fingerprint
+	 *            the current fingerprint of all stage inputs (may be
+	 *            <code>null</code> if incremental builds are disabled)
+	 * @param outputs
+	 *            the files produced by the stage which must exist
+	 * @return <code>true</code> if the stage can be skipped,
+	 *         <code>false</code> otherwise
+	 */
+	public boolean isUpToDate(final String stage, final Fingerprint fingerprint, final File... outputs) {
+		if (!enabled)
+			return false;
+
+		if (!fingerprint.toString().equals(fingerprints.getProperty(stage))) {
+			getLog().debug(format("Inputs of stage '%s' changed.", stage));
+			return false;
+		}
+		for (final File output : outputs) {
+			if (!output.exists()) {
+				getLog().debug(format("Output '%s' of stage '%s' is missing.", output, stage));
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Records the fingerprint of a successfully completed stage.
+	 *
+	 * @param stage
+	 *            the stage
+	 * @param fingerprint
+	 *            the fingerprint of all stage inputs (may be
+	 *            <code>null</code> if incremental builds are disabled)
+	 * @throws MojoExecutionException
+	 */
+	public void record(final String stage, final Fingerprint fingerprint) throws MojoExecutionException {
+		if (enabled) {
+			fingerprints.setProperty(stage, fingerprint.toString());
+			save();
+		}
+	}
+
+	private void save() throws MojoExecutionException {
+		fingerprintsFile.getParentFile().mkdirs();
+		try (OutputStream out = Files.newOutputStream(fingerprintsFile.toPath())) {
+			fingerprints.store(out, "Build fingerprints (generated, do not modify)");
+		} catch (final IOException e) {
+			getLog().debug(e);
+			throw new MojoExecutionException(format("Unable to write build fingerprints '%s'. %s", fingerprintsFile, e.getMessage()));
+		}
+	}
+}
@@ -0,0 +1,161 @@
+/**
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.ebr.maven;
+
+import static java.lang.String.format;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.eclipse.ebr.maven.shared.BaseUtility;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * A utility for keeping track of the digests of jars computed while writing
+ * them.
+ * <p>
+ * The digests are kept in the project context (as {@link Properties}, which
+ * may be shared with other class realms) and in
+ * <code>ebr-jar-digests.properties</code> within the build directory, so
+ * that they are still available for jars left untouched by incremental
+ * builds. Each record is tied to the size and modification time of the jar.
+ * Digests of jars modified afterwards (eg., by signing) are discarded instead
+ * of reading the jar again.
+ * </p>
+ */
+public class JarDigestUtil extends BaseUtility {
+
+	public static final String ALGORITHM_MD5 = "md5";
+	public static final String ALGORITHM_SHA_256 = "sha-256";
+
+	/** project context key for the recorded jar digests */
+	public static final String CTX_JAR_DIGESTS = "org.eclipse.ebr.maven/jarDigests";
+
+	private static final String[] ALGORITHMS = { ALGORITHM_MD5, ALGORITHM_SHA_256 };
+
+	private static final String SUFFIX_LAST_MODIFIED = ".lastModified";
+	private static final String SUFFIX_SIZE = ".size";
+
+	/**
+	 * Returns the hex encoding of a digest as used in p2 metadata.
+	 *
+	 * @param digest
+	 *            the digest
+	 * @return the lower case hex string
+	 */
+	public static String toHexString(final byte[] digest) {
+		return format("%0" + (digest.length * 2) + "x", new BigInteger(1, digest));
+	}
+
+	private final MavenProject project;
+
+	public JarDigestUtil(final Log log, final MavenSession mavenSession, final MavenProject project) {
+		super(log, mavenSession);
+		this.project = project;
+	}
+
+	/**
+	 * Returns the recorded digests of a jar.
+	 *
+	 * @param jar
+	 *            the jar
+	 * @return the hex encoded digests by algorithm; empty if no digests were
+	 *         recorded or the jar was modified since
+	 */
+	public Map<String, String> getDigests(final File jar) {
+		final Properties digests = getRecordedDigests();
+		synchronized (digests) {
+			final String key = jar.getName();
+			if (!String.valueOf(jar.length()).equals(digests.getProperty(key + SUFFIX_SIZE)) || !String.valueOf(jar.lastModified()).equals(digests.getProperty(key + SUFFIX_LAST_MODIFIED))) {
+				getLog().debug(format("No recorded digests for %s", jar));
+				return Collections.emptyMap();
+			}
+
+			final Map<String, String> result = new LinkedHashMap<>();
+			for (final String algorithm : ALGORITHMS) {
+				final String digest = digests.getProperty(key + "." + algorithm);
+				if (digest != null) {
+					result.put(algorithm, digest);
+				}
+			}
+			return result;
+		}
+	}
+
+	private File getDigestsFile() {
+		return new File(project.getBuild().getDirectory(), "ebr-jar-digests.properties");
+	}
+
+	private Properties getRecordedDigests() {
+		synchronized (project) {
+			Properties digests = (Properties) project.getContextValue(CTX_JAR_DIGESTS);
+			if (digests == null) {
+				digests = new Properties();
+				final File digestsFile = getDigestsFile();
+				if (digestsFile.isFile()) {
+					try (InputStream in = Files.newInputStream(digestsFile.toPath())) {
+						digests.load(in);
+					} catch (final IOException e) {
+						// digests will be missing for unchanged jars
+						getLog().debug(e);
+						getLog().warn(format("Unable to read jar digests '%s'. %s", digestsFile, e.getMessage()));
+						digests.clear();
+					}
+				}
+				project.setContextValue(CTX_JAR_DIGESTS, digests);
+			}
+			return digests;
+		}
+	}
+
+	/**
+	 * Records the digests of a jar which was just written.
+	 *
+	 * @param jar
+	 *            the jar
+	 * @param jarDigests
+	 *            the hex encoded digests by algorithm
+	 * @throws MojoExecutionException
+	 *             if the digests could not be written
+	 */
+	public void recordDigests(final File jar, final Map<String, String> jarDigests) throws MojoExecutionException {
+		final Properties digests = getRecordedDigests();
+		synchronized (digests) {
+			final String key = jar.getName();
+			for (final String algorithm : ALGORITHMS) {
+				digests.remove(key + "." + algorithm);
+			}
+			for (final Map.Entry<String, String> digest : jarDigests.entrySet()) {
+				digests.setProperty(key + "." + digest.getKey(), digest.getValue());
+			}
+			digests.setProperty(key + SUFFIX_SIZE, String.valueOf(jar.length()));
+			digests.setProperty(key + SUFFIX_LAST_MODIFIED, String.valueOf(jar.lastModified()));
+
+			final File digestsFile = getDigestsFile();
+			try (OutputStream out = Files.newOutputStream(digestsFile.toPath())) {
+				digests.store(out, "Jar digests (generated, do not modify)");
+			} catch (final IOException e) {
+				getLog().debug(e);
+				throw new MojoExecutionException(format("Unable to write jar digests '%s'. %s", digestsFile, e.getMessage()));
+			}
+		}
+	}
+}
@@ -0,0 +1,418 @@
+/**
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.ebr.maven;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+
+import org.eclipse.ebr.maven.shared.BaseUtility;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * A utility for signing jars in process with a key from a local keystore.
+ * <p>
+ * The SHA-256 digests of all jar entries are computed in parallel and added
+ * to the manifest. The signature file and a PKCS #7 signature block (RSA or
+ * EC keys) are written next to the manifest. All other entries are copied
+ * without recompressing them. Multiple jars are signed concurrently.
+ * </p>
+ * <p>
+ * The digests of the signed jars are recorded (see {@link JarDigestUtil}).
+ * Time stamping is not supported.
+ * </p>
+ */
+public class JarSigningUtil extends BaseUtility {
+
+	/**
+	 * A minimal DER encoder for the PKCS #7 signature block.
+	 */
+	private static final class Der {
+		static byte[] integer(final BigInteger value) {
+			return value(0x02, value.toByteArray());
+		}
+
+		static byte[] oid(final String oid) {
+			final String[] components = oid.split("\\.");
+			final ByteArrayOutputStream out = new ByteArrayOutputStream();
+			out.write((Integer.parseInt(components[0]) * 40) + Integer.parseInt(components[1]));
+			for (int i = 2; i < components.length; i++) {
+				final long component = Long.parseLong(components[i]);
+				for (int shift = (63 - Long.numberOfLeadingZeros(Math.max(component, 1))) / 7; shift > 0; shift--) {
+					out.write((int) (0x80 | ((component >>> (shift * 7)) & 0x7F)));
+				}
+				out.write((int) (component & 0x7F));
+			}
+			return value(0x06, out.toByteArray());
+		}
+
+		static byte[] value(final int tag, final byte[]... contents) {
+			final ByteArrayOutputStream content = new ByteArrayOutputStream();
+			for (final byte[] bytes : contents) {
+				content.write(bytes, 0, bytes.length);
+			}
+
+			final ByteArrayOutputStream out = new ByteArrayOutputStream(content.size() + 6);
+			out.write(tag);
+			final int length = content.size();
+			if (length < 0x80) {
+				out.write(length);
+			} else {
+				final byte[] lengthBytes = BigInteger.valueOf(length).toByteArray();
+				final int offset = lengthBytes[0] == 0 ? 1 : 0;
+				out.write(0x80 | (lengthBytes.length - offset));
+				out.write(lengthBytes, offset, lengthBytes.length - offset);
+			}
+			final byte[] bytes = content.toByteArray();
+			out.write(bytes, 0, bytes.length);
+			return out.toByteArray();
+		}
+	}
+
+	private static final String DIGEST_ALGORITHM = "SHA-256";
+	private static final String DIGEST_ATTRIBUTE_SUFFIX = "-Digest";
+	private static final Attributes.Name DIGEST_ATTRIBUTE = new Attributes.Name(DIGEST_ALGORITHM + DIGEST_ATTRIBUTE_SUFFIX);
+
+	private static final String META_INF = "META-INF/";
+
+	private static final int TAG_SEQUENCE = 0x30;
+	private static final int TAG_SET = 0x31;
+	private static final int TAG_OCTET_STRING = 0x04;
+	private static final int TAG_CONTEXT_0 = 0xA0;
+	private static final byte[] DER_NULL = { 0x05, 0x00 };
+
+	private static final String OID_SIGNED_DATA = "1.2.840.113549.1.7.2";
+	private static final String OID_DATA = "1.2.840.113549.1.7.1";
+	private static final String OID_SHA_256 = "2.16.840.1.101.3.4.2.1";
+	private static final String OID_RSA = "1.2.840.113549.1.1.1";
+	private static final String OID_EC = "1.2.840.10045.2.1";
+
+	/**
+	 * Indicates if an entry belongs to a jar signature (see the jar file
+	 * specification).
+	 */
+	static boolean isSignatureRelated(final String name) {
+		final String upperCaseName = name.toUpperCase(Locale.ENGLISH);
+		if (!upperCaseName.startsWith(META_INF) || (upperCaseName.indexOf('/', META_INF.length()) >= 0))
+			return false;
+		final String fileName = upperCaseName.substring(META_INF.length());
+		return fileName.endsWith(".SF") || fileName.endsWith(".RSA") || fileName.endsWith(".DSA") || fileName.endsWith(".EC") || fileName.startsWith("SIG-");
+	}
+
+	private final MavenProject project;
+	private final PrivateKey privateKey;
+	private final List<X509Certificate> certificateChain;
+	private final String signatureName;
+	private final int threads = Runtime.getRuntime().availableProcessors();
+
+	public JarSigningUtil(final Log log, final MavenSession mavenSession, final MavenProject project, final File keystore, final String keystorePassword, final String alias, final String keyPassword) throws MojoExecutionException {
+		super(log, mavenSession);
+		this.project = project;
+
+		if ((keystore == null) || !keystore.isFile())
+			throw new MojoExecutionException(format("Keystore '%s' not found. Please configure a PKCS12 keystore for signing.", keystore));
+		if (alias == null)
+			throw new MojoExecutionException("Please configure the alias of the signing key.");
+
+		final char[] storePassword = keystorePassword != null ? keystorePassword.toCharArray() : null;
+		try (InputStream in = Files.newInputStream(keystore.toPath())) {
+			final KeyStore keyStore = KeyStore.getInstance("PKCS12");
+			keyStore.load(in, storePassword);
+			if (!keyStore.isKeyEntry(alias))
+				throw new MojoExecutionException(format("No key with alias '%s' found in keystore '%s'.", alias, keystore));
+
+			privateKey = (PrivateKey) keyStore.getKey(alias, keyPassword != null ? keyPassword.toCharArray() : storePassword);
+			certificateChain = new ArrayList<>();
+			for (final Certificate certificate : keyStore.getCertificateChain(alias)) {
+				certificateChain.add((X509Certificate) certificate);
+			}
+		} catch (final IOException | GeneralSecurityException | ClassCastException e) {
+			getLog().debug(e);
+			throw new MojoExecutionException(format("Unable to read signing key '%s' from keystore '%s'. %s", alias, keystore, e.getMessage()));
+		}
+		if (!"RSA".equals(privateKey.getAlgorithm()) && !"EC".equals(privateKey.getAlgorithm()))
+			throw new MojoExecutionException(format("Unsupported signing key algorithm '%s'. Please use a RSA or EC key.", privateKey.getAlgorithm()));
+
+		signatureName = getSignatureName(alias);
+	}
+
+	private byte[] createSignatureBlock(final byte[] signatureFile) throws GeneralSecurityException {
+		final boolean rsa = "RSA".equals(privateKey.getAlgorithm());
+		final Signature signature = Signature.getInstance(rsa ? "SHA256withRSA" : "SHA256withECDSA");
+		signature.initSign(privateKey);
+		signature.update(signatureFile);
+
+		final ByteArrayOutputStream certificates = new ByteArrayOutputStream();
+		for (final X509Certificate certificate : certificateChain) {
+			final byte[] encoded = certificate.getEncoded();
+			certificates.write(encoded, 0, encoded.length);
+		}
+		final X509Certificate signer = certificateChain.get(0);
+		final byte[] digestAlgorithm = Der.value(TAG_SEQUENCE, Der.oid(OID_SHA_256));
+
+		// @formatter:off
+		final byte[] signerInfo = Der.value(TAG_SEQUENCE,
+				Der.integer(BigInteger.ONE),
+				Der.value(TAG_SEQUENCE, signer.getIssuerX500Principal().getEncoded(), Der.integer(signer.getSerialNumber())),
+				digestAlgorithm,
+				rsa ? Der.value(TAG_SEQUENCE, Der.oid(OID_RSA), DER_NULL) : Der.value(TAG_SEQUENCE, Der.oid(OID_EC)),
+				Der.value(TAG_OCTET_STRING, signature.sign()));
+		final byte[] signedData = Der.value(TAG_SEQUENCE,
+				Der.integer(BigInteger.ONE),
+				Der.value(TAG_SET, digestAlgorithm),
+				Der.value(TAG_SEQUENCE, Der.oid(OID_DATA)),
+				Der.value(TAG_CONTEXT_0, certificates.toByteArray()),
+				Der.value(TAG_SET, signerInfo));
+		return Der.value(TAG_SEQUENCE,
+				Der.oid(OID_SIGNED_DATA),
+				Der.value(TAG_CONTEXT_0, signedData));
+		// @formatter:on
+	}
+
+	private byte[] createSignatureFile(final byte[] manifest) throws IOException, GeneralSecurityException {
+		final Manifest signatureFile = new Manifest();
+		final Attributes mainAttributes = signatureFile.getMainAttributes();
+		mainAttributes.put(Attributes.Name.SIGNATURE_VERSION, "1.0");
+		mainAttributes.putValue("Created-By", "ebr-maven-plugin");
+		mainAttributes.putValue(DIGEST_ALGORITHM + DIGEST_ATTRIBUTE_SUFFIX + "-Manifest", digest(manifest, 0, manifest.length));
+
+		// digest the raw sections of the manifest (including the blank line terminating them)
+		int sectionStart = 0;
+		int lineStart = 0;
+		while (lineStart < manifest.length) {
+			int lineEnd = lineStart;
+			while ((lineEnd < manifest.length) && (manifest[lineEnd] != '\n')) {
+				lineEnd++;
+			}
+			final boolean blankLine = (lineEnd == lineStart) || ((lineEnd == (lineStart + 1)) && (manifest[lineStart] == '\r'));
+			lineStart = lineEnd + 1;
+			if (blankLine) {
+				final String digest = digest(manifest, sectionStart, Math.min(lineStart, manifest.length) - sectionStart);
+				if (sectionStart == 0) {
+					mainAttributes.putValue(DIGEST_ALGORITHM + DIGEST_ATTRIBUTE_SUFFIX + "-Manifest-Main-Attributes", digest);
+				} else {
+					final Attributes attributes = new Attributes();
+					attributes.put(DIGEST_ATTRIBUTE, digest);
+					signatureFile.getEntries().put(getSectionName(manifest, sectionStart), attributes);
+				}
+				sectionStart = lineStart;
+			}
+		}
+
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		signatureFile.write(out);
+		return out.toByteArray();
+	}
+
+	private String digest(final byte[] content, final int offset, final int length) throws GeneralSecurityException {
+		final MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+		digest.update(content, offset, length);
+		return Base64.getEncoder().encodeToString(digest.digest());
+	}
+
+	private String digestEntry(final java.util.zip.ZipFile zipFile, final ZipEntry entry) throws IOException, GeneralSecurityException {
+		final MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+		final byte[] buffer = new byte[8192];
+		try (InputStream in = zipFile.getInputStream(entry)) {
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				digest.update(buffer, 0, read);
+			}
+		}
+		return Base64.getEncoder().encodeToString(digest.digest());
+	}
+
+	private <T> T get(final Future<T> future) throws IOException {
+		try {
+			return future.get();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while signing jars.", e);
+		} catch (final ExecutionException e) {
+			if (e.getCause() instanceof IOException)
+				throw (IOException) e.getCause();
+			throw new IOException(e.getCause().getMessage(), e.getCause());
+		}
+	}
+
+	private String getSectionName(final byte[] manifest, final int sectionStart) throws IOException {
+		// the name may be continued on following lines, each starting with a space
+		final String section = new String(manifest, sectionStart, Math.min(manifest.length - sectionStart, 4096), UTF_8);
+		final String[] lines = section.split("\r?\n");
+		if (!lines[0].startsWith("Name: "))
+			throw new IOException(format("Invalid manifest section '%s'.", lines[0]));
+		final StringBuilder name = new StringBuilder(lines[0].substring("Name: ".length()));
+		for (int i = 1; (i < lines.length) && lines[i].startsWith(" "); i++) {
+			name.append(lines[i].substring(1));
+		}
+		return name.toString();
+	}
+
+	private String getSignatureName(final String alias) {
+		final StringBuilder name = new StringBuilder();
+		for (final char c : alias.toUpperCase(Locale.ENGLISH).toCharArray()) {
+			if (name.length() == 8) {
+				break;
+			}
+			name.append(((c >= 'A') && (c <= 'Z')) || ((c >= '0') && (c <= '9')) || (c == '-') || (c == '_') ? c : '_');
+		}
+		return name.toString();
+	}
+
+	private void signJar(final File jar, final ExecutorService digestExecutor) throws IOException, GeneralSecurityException, MojoExecutionException {
+		getLog().debug(format("Signing %s", jar));
+
+		// 1. digest all entries in parallel
+		final Manifest manifest;
+		final Map<String, Future<String>> entryDigests = new LinkedHashMap<>();
+		try (JarFile jarFile = new JarFile(jar, false)) {
+			final Manifest jarManifest = jarFile.getManifest();
+			if (jarManifest == null)
+				throw new IOException(format("No manifest found in '%s'.", jar));
+			manifest = new Manifest(jarManifest);
+
+			for (final ZipEntry entry : Collections.list(jarFile.entries())) {
+				if (!entry.isDirectory() && !JarFile.MANIFEST_NAME.equalsIgnoreCase(entry.getName()) && !isSignatureRelated(entry.getName())) {
+					entryDigests.put(entry.getName(), digestExecutor.submit(() -> digestEntry(jarFile, entry)));
+				}
+			}
+
+			// digests of previous signatures are stale
+			for (final Attributes attributes : manifest.getEntries().values()) {
+				attributes.keySet().removeIf((name) -> name.toString().endsWith(DIGEST_ATTRIBUTE_SUFFIX));
+			}
+			for (final Entry<String, Future<String>> entryDigest : entryDigests.entrySet()) {
+				manifest.getEntries().computeIfAbsent(entryDigest.getKey(), (name) -> new Attributes()).put(DIGEST_ATTRIBUTE, get(entryDigest.getValue()));
+			}
+			manifest.getEntries().values().removeIf(Attributes::isEmpty);
+		}
+
+		// 2. create signature
+		final ByteArrayOutputStream manifestBytes = new ByteArrayOutputStream();
+		manifest.write(manifestBytes);
+		final byte[] signatureFile = createSignatureFile(manifestBytes.toByteArray());
+		final byte[] signatureBlock = createSignatureBlock(signatureFile);
+
+		// 3. write signed jar
+		final MessageDigest md5 = MessageDigest.getInstance("MD5");
+		final MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+		final File signedJar = new File(jar.getParentFile(), jar.getName() + ".signed");
+		try (ZipFile zipFile = new ZipFile(jar); ZipArchiveOutputStream out = new ZipArchiveOutputStream(new DigestOutputStream(new DigestOutputStream(new BufferedOutputStream(Files.newOutputStream(signedJar.toPath())), md5), sha256))) {
+			boolean manifestWritten = false;
+			for (final ZipArchiveEntry entry : Collections.list(zipFile.getEntriesInPhysicalOrder())) {
+				if (JarFile.MANIFEST_NAME.equalsIgnoreCase(entry.getName())) {
+					// signature files must follow the manifest
+					writeEntry(out, entry, JarFile.MANIFEST_NAME, manifestBytes.toByteArray());
+					writeEntry(out, entry, META_INF + signatureName + ".SF", signatureFile);
+					writeEntry(out, entry, META_INF + signatureName + "." + privateKey.getAlgorithm(), signatureBlock);
+					manifestWritten = true;
+				} else if (!isSignatureRelated(entry.getName())) {
+					out.addRawArchiveEntry(new ZipArchiveEntry(entry), zipFile.getRawInputStream(entry));
+				}
+			}
+			if (!manifestWritten)
+				throw new IOException(format("No manifest entry found in '%s'.", jar));
+		} catch (final IOException | RuntimeException e) {
+			FileUtils.deleteQuietly(signedJar);
+			throw e;
+		}
+		Files.move(signedJar.toPath(), jar.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+		final Map<String, String> digests = new LinkedHashMap<>();
+		digests.put(JarDigestUtil.ALGORITHM_MD5, JarDigestUtil.toHexString(md5.digest()));
+		digests.put(JarDigestUtil.ALGORITHM_SHA_256, JarDigestUtil.toHexString(sha256.digest()));
+		new JarDigestUtil(getLog(), getMavenSession(), project).recordDigests(jar, digests);
+	}
+
+	/**
+	 * Signs the specified jars concurrently.
+	 *
+	 * @param jars
+	 *            the jars to sign (will be replaced with the signed jars)
+	 * @throws MojoExecutionException
+	 *             if a jar could not be signed
+	 */
+	public void signJars(final List<File> jars) throws MojoExecutionException {
+		if (jars.isEmpty())
+			return;
+
+		// separate pools so that jars waiting for their entry digests never block the digesting
+		final ExecutorService digestExecutor = Executors.newFixedThreadPool(Math.max(1, threads));
+		final ExecutorService jarExecutor = Executors.newFixedThreadPool(jars.size());
+		try {
+			final Map<File, Future<Void>> signedJars = new LinkedHashMap<>();
+			for (final File jar : jars) {
+				signedJars.put(jar, jarExecutor.submit(() -> {
+					signJar(jar, digestExecutor);
+					return null;
+				}));
+			}
+			for (final Entry<File, Future<Void>> signedJar : signedJars.entrySet()) {
+				try {
+					get(signedJar.getValue());
+				} catch (final IOException e) {
+					getLog().debug(e);
+					throw new MojoExecutionException(format("Unable to sign jar '%s'. %s", signedJar.getKey(), e.getMessage()));
+				}
+			}
+		} finally {
+			jarExecutor.shutdownNow();
+			digestExecutor.shutdownNow();
+		}
+	}
+
+	private void writeEntry(final ZipArchiveOutputStream out, final ZipArchiveEntry manifestEntry, final String name, final byte[] content) throws IOException {
+		final ZipArchiveEntry entry = new ZipArchiveEntry(name);
+		entry.setTime(manifestEntry.getTime());
+		entry.setMethod(ZipEntry.DEFLATED);
+		out.putArchiveEntry(entry);
+		out.write(content);
+		out.closeArchiveEntry();
+	}
+}
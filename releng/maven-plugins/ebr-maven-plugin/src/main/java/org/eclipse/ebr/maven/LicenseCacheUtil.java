@@ -0,0 +1,307 @@
+/**
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.ebr.maven;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.ebr.maven.shared.BaseUtility;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.entity.ContentType;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.logging.Log;
+
+import org.eclipse.aether.SessionData;
+
+import com.google.common.hash.Hashing;
+
+/**
+ * A utility for caching downloaded license texts.
+ * <p>
+ * The cache is shared by all recipes using the same local repository. License
+ * texts are keyed by their normalized URL and stored together with the
+ * content type, <code>ETag</code> and <code>Last-Modified</code> headers
+ * returned by the server. A cached license is revalidated with a conditional
+ * request once per Maven session (new headers of a <code>304</code> response
+ * are stored as well). In offline mode cached licenses are used
+ * without revalidation.
+ * </p>
+ */
+public class LicenseCacheUtil extends BaseUtility {
+
+	/**
+	 * A license text available in the cache.
+	 */
+	public static final class CachedLicense {
+
+		private final File file;
+		private final String contentType;
+
+		CachedLicense(final File file, final String contentType) {
+			this.file = file;
+			this.contentType = contentType;
+		}
+
+		/**
+		 * Returns the file containing the license text.
+		 *
+		 * @return the file (must not be modified)
+		 */
+		public File getFile() {
+			return file;
+		}
+
+		/**
+		 * Returns the MIME type of the license text.
+		 *
+		 * @return the MIME type (defaults to <code>text/plain</code> if the
+		 *         server did not send a content type)
+		 */
+		public String getMimeType() {
+			if (contentType == null)
+				return ContentType.DEFAULT_TEXT.getMimeType();
+			try {
+				return ContentType.parse(contentType).getMimeType();
+			} catch (final RuntimeException e) {
+				return contentType;
+			}
+		}
+	}
+
+	/** version of the cache layout (must be incremented when changing the cache key or the metadata) */
+	private static final String CACHE_LAYOUT_VERSION = "1";
+
+	private static final String PROPERTY_URL = "url";
+	private static final String PROPERTY_CONTENT_TYPE = "contentType";
+	private static final String PROPERTY_ETAG = "etag";
+	private static final String PROPERTY_LAST_MODIFIED = "lastModified";
+
+	/** session data key for the validation state of the cached licenses */
+	private static final String SESSION_VALIDATED_LICENSES = "org.eclipse.ebr.maven/validatedLicenses";
+
+	public static File getDefaultCacheDirectory(final MavenSession mavenSession) {
+		return new File(mavenSession.getLocalRepository().getBasedir(), ".cache/ebr-licenses");
+	}
+
+	/**
+	 * Normalizes a URL for use as cache key, i.e. the scheme and host are
+	 * converted to lower case, default ports and fragments are removed and an
+	 * empty path is replaced with <code>/</code>.
+	 *
+	 * @param url
+	 *            the URL
+	 * @return the normalized URL
+	 */
+	private static String normalizeUrl(final URL url) {
+		final String scheme = url.getProtocol().toLowerCase(Locale.US);
+		final String host = url.getHost() != null ? url.getHost().toLowerCase(Locale.US) : null;
+		final int port = url.getPort() == url.getDefaultPort() ? -1 : url.getPort();
+		final String path = (url.getPath() == null) || url.getPath().isEmpty() ? "/" : url.getPath();
+		try {
+			return new URI(scheme, url.getUserInfo(), host, port, null, null, null).toString() + path + (url.getQuery() != null ? "?" + url.getQuery() : "");
+		} catch (final URISyntaxException e) {
+			return url.toExternalForm();
+		}
+	}
+
+	private final HttpClientUtil httpClientUtil;
+	private final File cacheDirectory;
+
+	public LicenseCacheUtil(final Log log, final MavenSession mavenSession, final HttpClientUtil httpClientUtil, final File cacheDirectory) {
+		super(log, mavenSession);
+		this.httpClientUtil = httpClientUtil;
+		this.cacheDirectory = cacheDirectory != null ? cacheDirectory : getDefaultCacheDirectory(mavenSession);
+	}
+
+	private CachedLicense download(final URL url, final String normalizedUrl, final Path contentFile, final Path metadataFile, final Properties cachedMetadata) throws IOException {
+		final HttpGet get = new HttpGet(url.toExternalForm());
+		get.setHeader("Accept", "text/plain,text/html");
+		if (cachedMetadata != null) {
+			if (cachedMetadata.getProperty(PROPERTY_ETAG) != null) {
+				get.setHeader("If-None-Match", cachedMetadata.getProperty(PROPERTY_ETAG));
+			}
+			if (cachedMetadata.getProperty(PROPERTY_LAST_MODIFIED) != null) {
+				get.setHeader("If-Modified-Since", cachedMetadata.getProperty(PROPERTY_LAST_MODIFIED));
+			}
+		}
+
+		try (final CloseableHttpResponse response = httpClientUtil.getHttpClient().execute(get)) {
+			final int statusCode = response.getStatusLine().getStatusCode();
+			if ((statusCode == HttpStatus.SC_NOT_MODIFIED) && (cachedMetadata != null)) {
+				getLog().debug(format("Cached license '%s' is up to date.", normalizedUrl));
+
+				// the server may send new validators for unchanged content
+				final Properties metadata = new Properties();
+				metadata.putAll(cachedMetadata);
+				setValidators(metadata, response);
+				if (!metadata.equals(cachedMetadata)) {
+					try {
+						writeMetadata(metadataFile, metadata);
+					} catch (final IOException e) {
+						getLog().debug(e);
+						getLog().warn(format("Unable to update license cache metadata '%s'. %s", metadataFile, e.getMessage()));
+					}
+				}
+				return new CachedLicense(contentFile.toFile(), cachedMetadata.getProperty(PROPERTY_CONTENT_TYPE));
+			}
+			if (statusCode != HttpStatus.SC_OK)
+				throw new IOException(format("Download failed: %s", response.getStatusLine().toString()));
+			final HttpEntity entity = response.getEntity();
+			if (entity == null)
+				throw new IOException("Download faild. Empty respose.");
+
+			final Properties metadata = new Properties();
+			metadata.setProperty(PROPERTY_URL, normalizedUrl);
+			if (entity.getContentType() != null) {
+				metadata.setProperty(PROPERTY_CONTENT_TYPE, entity.getContentType().getValue());
+			}
+			setValidators(metadata, response);
+
+			// content first, so that metadata never points to a missing content
+			Files.createDirectories(contentFile.getParent());
+			final Path tempContent = contentFile.resolveSibling(contentFile.getFileName() + ".tmp-" + UUID.randomUUID());
+			try {
+				try (InputStream in = entity.getContent()) {
+					Files.copy(in, tempContent);
+				}
+				move(tempContent, contentFile);
+			} finally {
+				Files.deleteIfExists(tempContent);
+			}
+			writeMetadata(metadataFile, metadata);
+			return new CachedLicense(contentFile.toFile(), metadata.getProperty(PROPERTY_CONTENT_TYPE));
+		}
+	}
+
+	/**
+	 * Returns a license text, downloading or revalidating it if necessary.
+	 * <p>
+	 * If a cached license cannot be revalidated (eg., because the server is
+	 * not available) the cached license is used.
+	 * </p>
+	 *
+	 * @param url
+	 *            the license URL
+	 * @return the cached license
+	 * @throws IOException
+	 *             if the license is not cached and could not be downloaded
+	 */
+	public CachedLicense getLicense(final URL url) throws IOException {
+		final String normalizedUrl = normalizeUrl(url);
+		final String key = Hashing.sha256().hashString(CACHE_LAYOUT_VERSION + "\n" + normalizedUrl, UTF_8).toString();
+		final Path contentFile = cacheDirectory.toPath().resolve(key.substring(0, 2)).resolve(key + ".license");
+		final Path metadataFile = contentFile.resolveSibling(key + ".properties");
+
+		final AtomicBoolean validated = getValidationState(key);
+		synchronized (validated) {
+			final Properties cachedMetadata = readMetadata(contentFile, metadataFile);
+			if ((cachedMetadata != null) && (validated.get() || getMavenSession().isOffline())) {
+				getLog().info(format("Using cached license '%s'.", normalizedUrl));
+				return new CachedLicense(contentFile.toFile(), cachedMetadata.getProperty(PROPERTY_CONTENT_TYPE));
+			}
+			if (getMavenSession().isOffline())
+				throw new IOException("Maven is offline.");
+
+			try {
+				final CachedLicense license = download(url, normalizedUrl, contentFile, metadataFile, cachedMetadata);
+				validated.set(true);
+				return license;
+			} catch (final IOException e) {
+				if (cachedMetadata == null)
+					throw e;
+				getLog().debug(e);
+				getLog().warn(format("Unable to revalidate cached license '%s'. Using cached license. %s", normalizedUrl, e.getMessage()));
+				return new CachedLicense(contentFile.toFile(), cachedMetadata.getProperty(PROPERTY_CONTENT_TYPE));
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private AtomicBoolean getValidationState(final String key) {
+		// also used as lock, so that each license is downloaded only once per session
+		final SessionData data = getMavenSession().getRepositorySession().getData();
+		Object validatedLicenses = data.get(SESSION_VALIDATED_LICENSES);
+		if (validatedLicenses == null) {
+			// first one wins
+			data.set(SESSION_VALIDATED_LICENSES, null, new ConcurrentHashMap<String, AtomicBoolean>());
+			validatedLicenses = data.get(SESSION_VALIDATED_LICENSES);
+		}
+		return ((Map<String, AtomicBoolean>) validatedLicenses).computeIfAbsent(key, k -> new AtomicBoolean());
+	}
+
+	private void move(final Path source, final Path target) throws IOException {
+		try {
+			Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (final AtomicMoveNotSupportedException e) {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	private Properties readMetadata(final Path contentFile, final Path metadataFile) {
+		if (!Files.isRegularFile(contentFile) || !Files.isRegularFile(metadataFile))
+			return null;
+
+		final Properties metadata = new Properties();
+		try (InputStream in = Files.newInputStream(metadataFile)) {
+			metadata.load(in);
+			return metadata;
+		} catch (final IOException e) {
+			// treat as not cached
+			getLog().debug(e);
+			getLog().warn(format("Unable to read license cache metadata '%s'. %s", metadataFile, e.getMessage()));
+			return null;
+		}
+	}
+
+	private void setValidators(final Properties metadata, final CloseableHttpResponse response) {
+		final Header etag = response.getFirstHeader("ETag");
+		if (etag != null) {
+			metadata.setProperty(PROPERTY_ETAG, etag.getValue());
+		}
+		final Header lastModified = response.getFirstHeader("Last-Modified");
+		if (lastModified != null) {
+			metadata.setProperty(PROPERTY_LAST_MODIFIED, lastModified.getValue());
+		}
+	}
+
+	private void writeMetadata(final Path metadataFile, final Properties metadata) throws IOException {
+		final Path tempMetadata = metadataFile.resolveSibling(metadataFile.getFileName() + ".tmp-" + UUID.randomUUID());
+		try {
+			try (OutputStream out = Files.newOutputStream(tempMetadata)) {
+				metadata.store(out, "License cache metadata (generated, do not modify)");
+			}
+			move(tempMetadata, metadataFile);
+		} finally {
+			Files.deleteIfExists(tempMetadata);
+		}
+	}
+}
@@ -23,10 +23,15 @@ import java.util.List;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import org.eclipse.ebr.maven.shared.BaseUtility;
 
+import org.eclipse.aether.SessionData;
 import org.eclipse.aether.repository.RepositoryPolicy;
 
 import org.apache.commons.lang3.StringUtils;
@@ -46,6 +51,7 @@ import org.apache.maven.execution.MavenSession;
 import org.apache.maven.model.Model;
 import org.apache.maven.model.building.DefaultModelBuildingRequest;
 import org.apache.maven.model.building.ModelBuilder;
+import org.apache.maven.model.building.ModelCache;
 import org.apache.maven.model.building.ModelBuildingException;
 import org.apache.maven.model.building.ModelBuildingRequest;
 import org.apache.maven.model.building.ModelBuildingResult;
@@ -56,13 +62,28 @@ import org.apache.maven.repository.RepositorySystem;
 
 /**
  * A utility for working with dependencies.
+ * <p>
+ * The repositories used for resolving POMs are computed once per instance.
+ * Every model building request gets its own copy of the model resolver
+ * because repositories declared in POMs are added to it while building a
+ * model.
+ * </p>
+ * <p>
+ * All requests share a {@link ModelCache} with all other requests of the
+ * Maven session, so that parent POMs shared by many dependencies and recipes
+ * are parsed only once per build.
+ * </p>
  */
 public class ModelUtil extends BaseUtility {
 
+	private static final String SESSION_MODEL_CACHE = "org.eclipse.ebr.maven/modelCache";
+
 	private final ModelBuilder modelBuilder;
 	private final RepositorySystem repositorySystem;
 	private final RepositoryMetadataManager repositoryMetadataManager;
 	private final List<ArtifactRepository> remoteRepositories;
+	private volatile MavenModelResolver modelResolver;
+	private int threads = 1;
 
 	public ModelUtil(final Log log, final MavenSession mavenSession, final RepositorySystem repositorySystem, final RepositoryMetadataManager repositoryMetadataManager, final ModelBuilder modelBuilder, final List<ArtifactRepository> remoteRepositories) {
 		super(log, mavenSession);
@@ -81,6 +102,7 @@ public class ModelUtil extends BaseUtility {
 
 		final DefaultModelBuildingRequest request = new DefaultModelBuildingRequest();
 		request.setModelResolver(getModelResolver());
+		request.setModelCache(getModelCache());
 		request.setPomFile(pomFile);
 		request.setValidationLevel(ModelBuildingRequest.VALIDATION_LEVEL_MINIMAL);
 		request.setProcessPlugins(false);
@@ -109,10 +131,37 @@ public class ModelUtil extends BaseUtility {
 	public SortedMap<Artifact, Model> buildEffectiveModels(final Set<Artifact> artifacts) throws MojoExecutionException {
 		getLog().debug("Building effective POM models");
 		final SortedMap<Artifact, Model> result = new TreeMap<>();
-		for (final Artifact artifact : artifacts) {
-			result.put(artifact, buildEffectiveModel(artifact));
+		if ((threads <= 1) || (artifacts.size() <= 1)) {
+			for (final Artifact artifact : artifacts) {
+				result.put(artifact, buildEffectiveModel(artifact));
+			}
+			logModelCacheStatistics();
+			return result;
+		}
+
+		getLog().debug(format("Building %d effective models using %d threads.", artifacts.size(), threads));
+		final ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, artifacts.size()));
+		try {
+			// collect in artifact order so that the first failing artifact is reported
+			final SortedMap<Artifact, Future<Model>> futures = new TreeMap<>();
+			for (final Artifact artifact : artifacts) {
+				futures.put(artifact, executor.submit(() -> buildEffectiveModel(artifact)));
+			}
+			for (final Artifact artifact : futures.keySet()) {
+				result.put(artifact, futures.get(artifact).get());
+			}
+			logModelCacheStatistics();
+			return result;
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new MojoExecutionException("Interrupted while building effective POM models.", e);
+		} catch (final ExecutionException e) {
+			if (e.getCause() instanceof MojoExecutionException)
+				throw (MojoExecutionException) e.getCause();
+			throw new MojoExecutionException(format("Unable to build effective POM models. %s", e.getCause().getMessage()), e.getCause());
+		} finally {
+			executor.shutdownNow();
 		}
-		return result;
 	}
 
 	void configureRepositoryRequest(final RepositoryRequest request) throws MojoExecutionException {
@@ -129,11 +178,7 @@ public class ModelUtil extends BaseUtility {
 		request.setForceUpdate(RepositoryPolicy.UPDATE_POLICY_ALWAYS.equals(getMavenSession().getRepositorySession().getUpdatePolicy()));
 	}
 
-	public ModelBuilder getModelBuilder() {
-		return modelBuilder;
-	}
-
-	public MavenModelResolver getModelResolver() throws MojoExecutionException {
+	private MavenModelResolver createModelResolver() throws MojoExecutionException {
 		if (!getMavenSession().isOffline()) {
 			try {
 				return new MavenModelResolver(getRepositories(true), getRepositorySystem(), getLog());
@@ -147,6 +192,46 @@ public class ModelUtil extends BaseUtility {
 		}
 	}
 
+	public ModelBuilder getModelBuilder() {
+		return modelBuilder;
+	}
+
+	/**
+	 * Returns the model cache shared within the Maven session.
+	 *
+	 * @return the shared model cache
+	 */
+	public ModelCache getModelCache() {
+		final SessionData data = getMavenSession().getRepositorySession().getData();
+		final Object modelCache = data.get(SESSION_MODEL_CACHE);
+		if (modelCache != null)
+			return (ModelCache) modelCache;
+
+		// first one wins
+		data.set(SESSION_MODEL_CACHE, null, new SessionModelCache());
+		return (ModelCache) data.get(SESSION_MODEL_CACHE);
+	}
+
+	/**
+	 * Returns a new model resolver for the configured repositories.
+	 *
+	 * @return a new model resolver (never <code>null</code>)
+	 * @throws MojoExecutionException
+	 *             if the default remote repository cannot be created
+	 */
+	public MavenModelResolver getModelResolver() throws MojoExecutionException {
+		MavenModelResolver resolver = modelResolver;
+		if (resolver == null) {
+			synchronized (this) {
+				resolver = modelResolver;
+				if (resolver == null) {
+					modelResolver = resolver = createModelResolver();
+				}
+			}
+		}
+		return (MavenModelResolver) resolver.newCopy();
+	}
+
 	public List<ArtifactRepository> getRemoteRepositories() {
 		return remoteRepositories != null ? remoteRepositories : Collections.emptyList();
 	}
@@ -170,6 +255,13 @@ public class ModelUtil extends BaseUtility {
 		return repositorySystem;
 	}
 
+	private void logModelCacheStatistics() {
+		final ModelCache modelCache = getModelCache();
+		if (modelCache instanceof SessionModelCache) {
+			getLog().debug(format("Model cache hits: %d, misses: %d.", ((SessionModelCache) modelCache).getHits(), ((SessionModelCache) modelCache).getMisses()));
+		}
+	}
+
 	public Artifact resolveArtifactPom(final String groupId, final String artifactId, final String artifactVersion) throws MojoExecutionException {
 		getLog().debug(format("Resolving POM for artifact %s:%s:%s.", groupId, artifactId, artifactVersion));
 
@@ -181,6 +273,18 @@ public class ModelUtil extends BaseUtility {
 		}
 	}
 
+	/**
+	 * Sets the number of threads to use for building effective models
+	 * concurrently.
+	 *
+	 * @param threads
+	 *            the number of threads (<code>1</code> for building models
+	 *            sequentially)
+	 */
+	public void setThreads(final int threads) {
+		this.threads = threads;
+	}
+
 	/**
 	 * Resolves an artifact version to either a specific given version or the
 	 * latest available or released version (in case
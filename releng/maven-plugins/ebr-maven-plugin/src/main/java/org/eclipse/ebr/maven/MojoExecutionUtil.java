@@ -0,0 +1,203 @@
+/**
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.ebr.maven;
+
+import static java.lang.String.format;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.ebr.maven.shared.BaseUtility;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.plugin.BuildPluginManager;
+import org.apache.maven.plugin.InvalidPluginDescriptorException;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugin.PluginConfigurationException;
+import org.apache.maven.plugin.PluginDescriptorParsingException;
+import org.apache.maven.plugin.PluginManagerException;
+import org.apache.maven.plugin.PluginNotFoundException;
+import org.apache.maven.plugin.PluginResolutionException;
+import org.apache.maven.plugin.descriptor.MojoDescriptor;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+
+import org.codehaus.plexus.classworlds.realm.ClassRealm;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.codehaus.plexus.util.xml.Xpp3DomUtils;
+
+import org.eclipse.aether.SessionData;
+
+import org.twdata.maven.mojoexecutor.PlexusConfigurationUtils;
+
+/**
+ * A utility for executing mojos of other plug-ins.
+ * <p>
+ * This is a replacement for <code>MojoExecutor.executeMojo</code>, which loads
+ * the plug-in descriptor, looks up the mojo descriptor and converts its
+ * default configuration on every call. Instead, a mojo execution template
+ * (mojo descriptor and default configuration) is prepared once per plug-in
+ * version and goal and shared by all projects of the build session. The plug-in
+ * realm is set up by Maven on first execution and kept with the shared
+ * descriptor. Like Maven's plug-in realm cache, templates are therefore only
+ * shared by projects with the same plug-in dependencies and the same project
+ * class realm (i.e. the same build extensions). Managed plug-in versions are
+ * looked up once per project.
+ * </p>
+ * <p>
+ * Only types provided by Maven are stored in the session, so the templates may
+ * be shared with other class realms loading this utility.
+ * </p>
+ */
+public class MojoExecutionUtil extends BaseUtility {
+
+	/** session data key for the prepared mojo execution templates */
+	private static final String SESSION_MOJO_EXECUTIONS = "org.eclipse.ebr.maven/mojoExecutions";
+
+	/** project context key for the detected plug-in versions */
+	private static final String CTX_PLUGIN_VERSIONS = "org.eclipse.ebr.maven/pluginVersions";
+
+	private final MavenProject project;
+	private final BuildPluginManager pluginManager;
+
+	public MojoExecutionUtil(final Log log, final MavenSession mavenSession, final MavenProject project, final BuildPluginManager pluginManager) {
+		super(log, mavenSession);
+		this.project = project;
+		this.pluginManager = pluginManager;
+	}
+
+	/**
+	 * Returns the version of a plug-in as defined in the plug-in management of
+	 * the project.
+	 *
+	 * @param groupId
+	 *            the plug-in group id
+	 * @param artifactId
+	 *            the plug-in artifact id
+	 * @param fallbackVersion
+	 *            the version to use when the plug-in is not managed
+	 * @return the plug-in version
+	 */
+	public String detectPluginVersion(final String groupId, final String artifactId, final String fallbackVersion) {
+		return getPluginVersions().computeIfAbsent(groupId + ":" + artifactId, (key) -> {
+			for (final Plugin plugin : project.getPluginManagement().getPlugins()) {
+				if (groupId.equals(plugin.getGroupId()) && artifactId.equals(plugin.getArtifactId())) {
+					getLog().debug("Using managed version " + plugin.getVersion() + " for plugin " + groupId + ":" + artifactId + ".");
+					return plugin.getVersion();
+				}
+			}
+			getLog().warn(format("No version defined in the efective model for plugin %s:%s. Please consider defining one in the pluginManagement section. Falling back to version \"%s\"", groupId, artifactId, fallbackVersion));
+			return fallbackVersion;
+		});
+	}
+
+	/**
+	 * Executes a goal of a plug-in within the project.
+	 *
+	 * @param plugin
+	 *            the plug-in (must have a version)
+	 * @param goal
+	 *            the goal to execute
+	 * @param configuration
+	 *            the mojo configuration (will be merged with the mojo
+	 *            defaults)
+	 * @throws MojoExecutionException
+	 *             if the plug-in could not be loaded or the mojo failed
+	 */
+	public void executeMojo(final Plugin plugin, final String goal, final Xpp3Dom configuration) throws MojoExecutionException {
+		// the plug-in realm (kept with the descriptor) depends on the plug-in dependencies declared by the project
+		// and on the project class realm (its parent, which Maven shares by projects with the same build extensions)
+		final Plugin projectPlugin = getProjectPlugin(plugin);
+		final StringBuilder key = new StringBuilder(format("%s:%s:%s:%s", plugin.getGroupId(), plugin.getArtifactId(), plugin.getVersion(), goal));
+		for (final Dependency dependency : projectPlugin.getDependencies()) {
+			key.append(format(" +%s:%s:%s:%s", dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersion(), dependency.getType()));
+			if (dependency.getClassifier() != null) {
+				key.append(':').append(dependency.getClassifier());
+			}
+		}
+		final ClassRealm projectRealm = project.getClassRealm();
+		if (projectRealm != null) {
+			key.append(" @").append(projectRealm.getId());
+		}
+		try {
+			MojoExecution template = getMojoExecutions().get(key.toString());
+			if (template != null) {
+				getLog().debug(format("Using cached mojo descriptor for %s", key));
+			} else {
+				template = prepareMojoExecution(projectPlugin, goal);
+				final MojoExecution existing = getMojoExecutions().putIfAbsent(key.toString(), template);
+				if (existing != null) {
+					template = existing;
+				}
+			}
+
+			// the merge copies the defaults into the given configuration
+			final Xpp3Dom mergedConfiguration = Xpp3DomUtils.mergeXpp3Dom(configuration, template.getConfiguration());
+			pluginManager.executeMojo(getMavenSession(), new MojoExecution(template.getMojoDescriptor(), mergedConfiguration));
+		} catch (InvalidPluginDescriptorException | MojoFailureException | PluginConfigurationException | PluginDescriptorParsingException | PluginManagerException | PluginNotFoundException | PluginResolutionException e) {
+			getLog().debug(e);
+			throw new MojoExecutionException(format("Unable to execute mojo %s. %s", key, e.getMessage()), e);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, MojoExecution> getMojoExecutions() {
+		final SessionData data = getMavenSession().getRepositorySession().getData();
+		final Object mojoExecutions = data.get(SESSION_MOJO_EXECUTIONS);
+		if (mojoExecutions != null)
+			return (Map<String, MojoExecution>) mojoExecutions;
+
+		// first one wins
+		data.set(SESSION_MOJO_EXECUTIONS, null, new ConcurrentHashMap<String, MojoExecution>());
+		return (Map<String, MojoExecution>) data.get(SESSION_MOJO_EXECUTIONS);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, String> getPluginVersions() {
+		Map<String, String> pluginVersions = (Map<String, String>) project.getContextValue(CTX_PLUGIN_VERSIONS);
+		if (pluginVersions == null) {
+			pluginVersions = new ConcurrentHashMap<>();
+			project.setContextValue(CTX_PLUGIN_VERSIONS, pluginVersions);
+		}
+		return pluginVersions;
+	}
+
+	/**
+	 * Returns the plug-in to load, i.e. the specified plug-in with the
+	 * dependencies declared for it in the build plug-ins or the plug-in
+	 * management of the project.
+	 */
+	private Plugin getProjectPlugin(final Plugin plugin) {
+		Plugin declaredPlugin = project.getPlugin(plugin.getKey());
+		if ((declaredPlugin == null) && (project.getPluginManagement() != null)) {
+			declaredPlugin = project.getPluginManagement().getPluginsAsMap().get(plugin.getKey());
+		}
+		if ((declaredPlugin == null) || declaredPlugin.getDependencies().isEmpty())
+			return plugin;
+
+		final Plugin projectPlugin = plugin.clone();
+		projectPlugin.setDependencies(declaredPlugin.getDependencies());
+		return projectPlugin;
+	}
+
+	private MojoExecution prepareMojoExecution(final Plugin plugin, final String goal) throws PluginNotFoundException, PluginResolutionException, PluginDescriptorParsingException, InvalidPluginDescriptorException, MojoExecutionException {
+		getLog().debug(format("Loading mojo descriptor for %s:%s:%s:%s", plugin.getGroupId(), plugin.getArtifactId(), plugin.getVersion(), goal));
+		final PluginDescriptor pluginDescriptor = pluginManager.loadPlugin(plugin, project.getRemotePluginRepositories(), getMavenSession().getRepositorySession());
+		final MojoDescriptor mojoDescriptor = pluginDescriptor.getMojo(goal);
+		if (mojoDescriptor == null)
+			throw new MojoExecutionException(format("Could not find goal '%s' in plugin %s:%s:%s", goal, plugin.getGroupId(), plugin.getArtifactId(), plugin.getVersion()));
+
+		return new MojoExecution(mojoDescriptor, PlexusConfigurationUtils.toXpp3Dom(mojoDescriptor.getMojoConfiguration()));
+	}
+}
@@ -0,0 +1,871 @@
+/**
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.ebr.maven;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Properties;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+import org.eclipse.ebr.maven.shared.BaseUtility;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.MavenProjectHelper;
+
+import aQute.bnd.header.Attrs;
+import aQute.bnd.header.OSGiHeader;
+import aQute.bnd.header.Parameters;
+import aQute.bnd.osgi.Processor;
+import aQute.bnd.version.Version;
+import aQute.bnd.version.VersionRange;
+
+/**
+ * A utility for generating the p2 metadata of a recipe in process.
+ * <p>
+ * This is a replacement for the <code>p2-metadata</code> goal of the
+ * <code>tycho-p2-plugin</code>, which boots the p2 publisher in an embedded
+ * Equinox framework. The installable units and artifact descriptors of the
+ * bundle and source bundle are derived from their manifests following the
+ * rules of the p2 publisher (<code>BundlesAction</code>) and written to
+ * <code>p2content.xml</code> and <code>p2artifacts.xml</code> within the build
+ * directory. Tycho reads the published metadata of reactor projects from
+ * these files. Digests of jars recorded while writing them (see
+ * {@link JarDigestUtil}) are published as artifact checksums.
+ * </p>
+ * <p>
+ * Bundles using features not covered here (eg., p2 advice files or Equinox
+ * specific capability headers) are reported as unsupported, so callers can
+ * fall back to the Tycho goal.
+ * </p>
+ */
+public class P2MetadataUtil extends BaseUtility {
+
+	private static final class ArtifactDescriptor {
+		final String id;
+		final String version;
+		final Map<String, String> properties = new LinkedHashMap<>();
+
+		ArtifactDescriptor(final String id, final String version) {
+			this.id = id;
+			this.version = version;
+		}
+	}
+
+	private static final class Capability {
+		final String namespace;
+		final String name;
+		final String version;
+		final Map<String, Object> properties;
+
+		Capability(final String namespace, final String name, final String version) {
+			this(namespace, name, version, null);
+		}
+
+		Capability(final String namespace, final String name, final String version, final Map<String, Object> properties) {
+			this.namespace = namespace;
+			this.name = name;
+			this.version = version;
+			this.properties = properties;
+		}
+	}
+
+	private static final class InstallableUnit {
+		String id;
+		String version;
+		boolean singleton;
+		String filter;
+		final Map<String, String> properties = new LinkedHashMap<>();
+		final List<Capability> provides = new ArrayList<>();
+		final List<Requirement> requires = new ArrayList<>();
+		final Map<String, String> instructions = new HashMap<>();
+
+		boolean hasOnlySimpleRequirements() {
+			for (final Requirement requirement : requires) {
+				if (requirement.match != null)
+					return false;
+			}
+			return true;
+		}
+	}
+
+	private static final class Requirement {
+		final String namespace;
+		final String name;
+		final String range;
+		final String match;
+		final boolean optional;
+		final boolean greedy;
+
+		static Requirement match(final String namespace, final String match, final boolean optional, final boolean greedy) {
+			return new Requirement(namespace, null, null, match, optional, greedy);
+		}
+
+		static Requirement range(final String namespace, final String name, final String range, final boolean optional, final boolean greedy) {
+			return new Requirement(namespace, name, range, null, optional, greedy);
+		}
+
+		private Requirement(final String namespace, final String name, final String range, final String match, final boolean optional, final boolean greedy) {
+			this.namespace = namespace;
+			this.name = name;
+			this.range = range;
+			this.match = match;
+			this.optional = optional;
+			this.greedy = greedy;
+		}
+	}
+
+	/**
+	 * Thrown when a bundle uses features the p2 metadata can't be generated
+	 * for in process.
+	 */
+	private static final class UnsupportedBundleException extends Exception {
+		private static final long serialVersionUID = 1L;
+
+		UnsupportedBundleException(final String message) {
+			super(message);
+		}
+	}
+
+	/**
+	 * A writer producing the same XML as the p2 persistence writer.
+	 */
+	private static final class XmlWriter implements AutoCloseable {
+		private static String escape(final String text) {
+			final StringBuilder escaped = new StringBuilder(text.length() + 16);
+			for (int i = 0; i < text.length(); i++) {
+				final char c = text.charAt(i);
+				switch (c) {
+					case '<':
+						escaped.append("&lt;");
+						break;
+					case '>':
+						escaped.append("&gt;");
+						break;
+					case '"':
+						escaped.append("&quot;");
+						break;
+					case '\'':
+						escaped.append("&apos;");
+						break;
+					case '&':
+						escaped.append("&amp;");
+						break;
+					case '\t':
+						escaped.append("&#x9;");
+						break;
+					case '\n':
+						escaped.append("&#xA;");
+						break;
+					case '\r':
+						escaped.append("&#xD;");
+						break;
+					default:
+						if (((c >= ' ') && (c <= '퟿')) || ((c >= '') && (c <= '�'))) {
+							escaped.append(c);
+						} else if (Character.isWhitespace(c)) {
+							escaped.append(' ');
+						}
+				}
+			}
+			return escaped.toString();
+		}
+
+		private final PrintWriter writer;
+		private final Deque<String> elements = new ArrayDeque<>();
+		private boolean open;
+
+		XmlWriter(final OutputStream out, final String... processingInstructions) {
+			writer = new PrintWriter(new BufferedWriter(new OutputStreamWriter(out, UTF_8)), false);
+			writer.println("<?xml version='1.0' encoding='UTF-8'?>");
+			for (final String processingInstruction : processingInstructions) {
+				writer.println(processingInstruction);
+			}
+		}
+
+		XmlWriter attribute(final String name, final Object value) {
+			if (value != null) {
+				writer.print(' ');
+				writer.print(name);
+				writer.print("='");
+				writer.print(escape(value.toString()));
+				writer.print('\'');
+			}
+			return this;
+		}
+
+		void cdata(final String data) {
+			if (open) {
+				writer.println('>');
+				open = false;
+			}
+			indent();
+			writer.println(escape(data));
+		}
+
+		@Override
+		public void close() {
+			writer.close();
+		}
+
+		void end() {
+			final String name = elements.pop();
+			if (open) {
+				writer.println("/>");
+			} else {
+				indent();
+				writer.println("</" + name + '>');
+			}
+			open = false;
+		}
+
+		private void indent() {
+			for (int i = elements.size(); i > 0; i--) {
+				writer.print("  ");
+			}
+		}
+
+		XmlWriter start(final String name) {
+			if (open) {
+				writer.println('>');
+			}
+			indent();
+			writer.print('<');
+			writer.print(name);
+			elements.push(name);
+			open = true;
+			return this;
+		}
+
+		void writeProperties(final Map<String, ?> properties) {
+			if ((properties == null) || properties.isEmpty())
+				return;
+
+			start("properties").attribute("size", properties.size());
+			for (final Entry<String, ?> property : properties.entrySet()) {
+				final Object value = property.getValue();
+				String type = getPropertyType(value);
+				String valueString = String.valueOf(value);
+				if (value instanceof Collection) {
+					final Collection<?> values = (Collection<?>) value;
+					final String elementType = values.isEmpty() ? null : getPropertyType(values.iterator().next());
+					type = elementType != null ? format("List<%s>", elementType) : "List";
+					final StringBuilder joined = new StringBuilder();
+					for (final Object element : values) {
+						if (joined.length() > 0) {
+							joined.append(',');
+						}
+						joined.append(element);
+					}
+					valueString = joined.toString();
+				}
+				start("property").attribute("name", property.getKey()).attribute("value", valueString).attribute("type", type);
+				end();
+			}
+			end();
+		}
+	}
+
+	private static final String ARTIFACT_CLASSIFIER_BUNDLE = "osgi.bundle";
+
+	private static final String BUNDLE_LOCALIZATION_DEFAULT = "OSGI-INF/l10n/bundle";
+	private static final Locale DEFAULT_LOCALE = new Locale("df", "LT");
+
+	/** the localizable headers (in the order used by the p2 publisher) */
+	private static final String[] BUNDLE_LOCALIZED_HEADERS = { "Bundle-Name", "Bundle-Description", "Bundle-Vendor", "Bundle-ContactAddress", "Bundle-DocURL", "Bundle-UpdateLocation", "Bundle-Localization" };
+
+	/** manifest headers and the installable unit properties they are published as */
+	// @formatter:off
+	private static final String[][] BUNDLE_IU_PROPERTIES = {
+			{ "Bundle-Name", "org.eclipse.equinox.p2.name" },
+			{ "Bundle-Description", "org.eclipse.equinox.p2.description" },
+			{ "Bundle-Vendor", "org.eclipse.equinox.p2.provider" },
+			{ "Bundle-ContactAddress", "org.eclipse.equinox.p2.contact" },
+			{ "Bundle-DocURL", "org.eclipse.equinox.p2.doc.url" },
+			{ "Bundle-UpdateLocation", "org.eclipse.equinox.p2.bundle.localization" },
+			{ "Bundle-Localization", "org.eclipse.equinox.p2.bundle.localization" }
+	};
+	// @formatter:on
+
+	/** manifest headers copied into the touchpoint data */
+	private static final String[] TOUCHPOINT_MANIFEST_HEADERS = { "Bundle-SymbolicName", "Bundle-Version", "Fragment-Host" };
+
+	/** headers of the Equinox resolver state this utility does not translate */
+	private static final String[] UNSUPPORTED_HEADERS = { "Eclipse-GenericCapability", "Eclipse-GenericRequire" };
+
+	private static final String NS_BUNDLE = "osgi.bundle";
+	private static final String NS_ECLIPSE_TYPE = "org.eclipse.equinox.p2.eclipse.type";
+	private static final String NS_EE = "osgi.ee";
+	private static final String NS_FRAGMENT = "osgi.fragment";
+	private static final String NS_IDENTITY = "osgi.identity";
+	private static final String NS_IU = "org.eclipse.equinox.p2.iu";
+	private static final String NS_LOCALIZATION = "org.eclipse.equinox.p2.localization";
+	private static final String NS_PACKAGE = "java.package";
+
+	private static final String P2_ADVICE_FILE = "META-INF/p2.inf";
+	private static final String TOUCHPOINT_OSGI = "org.eclipse.equinox.p2.osgi";
+	private static final String VERSION_EMPTY = "0.0.0";
+	private static final String VERSION_ONE = "1.0.0";
+
+	private static String getLocaleString(final String fileName, final String prefix) {
+		if (!fileName.startsWith(prefix) || !fileName.endsWith(".properties"))
+			return null;
+		return fileName.length() > (prefix.length() + ".properties".length()) ? fileName.substring(prefix.length() + 1, fileName.length() - ".properties".length()) : "";
+	}
+
+	private static String getPropertyType(final Object value) {
+		return value instanceof Version ? "Version" : null;
+	}
+
+	private static boolean isGreedy(final boolean optional, final Attrs attrs) {
+		// optional requirements are only installed when asked for
+		return !optional || "greedy".equals(attrs.get("x-installation:"));
+	}
+
+	private static boolean isOptional(final Attrs attrs) {
+		return "optional".equals(attrs.get("resolution:"));
+	}
+
+	private static Parameters parseHeader(final Attributes headers, final String name) {
+		return OSGiHeader.parseHeader(headers.getValue(name));
+	}
+
+	private static String removeDuplicateMarker(final String key) {
+		return Processor.removeDuplicateMarker(key);
+	}
+
+	private static Locale toLocale(final String localeString) {
+		if ((localeString.length() == 5) && (localeString.indexOf('_') == 2))
+			return new Locale(localeString.substring(0, 2), localeString.substring(3, 5));
+		else if (localeString.length() == 2)
+			return new Locale(localeString);
+		return DEFAULT_LOCALE;
+	}
+
+	private static String toVersion(final String version) {
+		if ((version == null) || version.trim().isEmpty())
+			return VERSION_EMPTY;
+		return Version.parseVersion(version.trim()).toString();
+	}
+
+	private static String toVersionRange(final String range) {
+		if ((range == null) || range.trim().isEmpty())
+			return VERSION_EMPTY;
+		final VersionRange versionRange = new VersionRange(range.trim());
+		if (!versionRange.isRange())
+			return versionRange.getLow().toString();
+		return (versionRange.includeLow() ? "[" : "(") + versionRange.getLow() + "," + versionRange.getHigh() + (versionRange.includeHigh() ? "]" : ")");
+	}
+
+	private final MavenProject project;
+	private final MavenProjectHelper projectHelper;
+	private final JarDigestUtil jarDigestUtil;
+
+	public P2MetadataUtil(final Log log, final MavenSession mavenSession, final MavenProject project, final MavenProjectHelper projectHelper) {
+		super(log, mavenSession);
+		this.project = project;
+		this.projectHelper = projectHelper;
+		jarDigestUtil = new JarDigestUtil(log, mavenSession, project);
+	}
+
+	private void addBundleRequirements(final InstallableUnit unit, final Attributes headers) {
+		for (final Entry<String, Attrs> requiredBundle : parseHeader(headers, "Require-Bundle").entrySet()) {
+			final boolean optional = isOptional(requiredBundle.getValue());
+			unit.requires.add(Requirement.range(NS_BUNDLE, removeDuplicateMarker(requiredBundle.getKey()), toVersionRange(requiredBundle.getValue().get("bundle-version")), optional, isGreedy(optional, requiredBundle.getValue())));
+		}
+	}
+
+	private void addCapabilityRequirements(final InstallableUnit unit, final Attributes headers) throws UnsupportedBundleException {
+		for (final Entry<String, Attrs> requiredCapability : parseHeader(headers, "Require-Capability").entrySet()) {
+			final String filter = requiredCapability.getValue().get("filter:");
+			if (filter == null)
+				throw new UnsupportedBundleException(format("requirement without filter in namespace %s", removeDuplicateMarker(requiredCapability.getKey())));
+			final boolean optional = isOptional(requiredCapability.getValue());
+			unit.requires.add(Requirement.match(removeDuplicateMarker(requiredCapability.getKey()), filter.trim(), optional, isGreedy(optional, requiredCapability.getValue())));
+		}
+
+		// the Equinox resolver translates required execution environments into one requirement
+		final String executionEnvironments = headers.getValue("Bundle-RequiredExecutionEnvironment");
+		if ((executionEnvironments != null) && !executionEnvironments.trim().isEmpty()) {
+			final List<String> filters = new ArrayList<>();
+			for (final String executionEnvironment : executionEnvironments.split(",")) {
+				if (!executionEnvironment.trim().isEmpty()) {
+					filters.add(getExecutionEnvironmentFilter(executionEnvironment.trim()));
+				}
+			}
+			unit.requires.add(Requirement.match(NS_EE, filters.size() == 1 ? filters.get(0) : "(|" + String.join("", filters) + ")", false, true));
+		}
+	}
+
+	private void addCapabilities(final InstallableUnit unit, final Attributes headers, final Attrs symbolicNameAttributes, final boolean fragment) throws UnsupportedBundleException {
+		for (final Entry<String, Attrs> exportedPackage : parseHeader(headers, "Export-Package").entrySet()) {
+			String version = exportedPackage.getValue().get("version");
+			if (version == null) {
+				version = exportedPackage.getValue().get("specification-version");
+			}
+			unit.provides.add(new Capability(NS_PACKAGE, removeDuplicateMarker(exportedPackage.getKey()), toVersion(version)));
+		}
+
+		// the Equinox resolver always adds the identity as first generic capability
+		int capabilityNumber = 0;
+		final Map<String, Object> identityProperties = new HashMap<>(getAttributes(symbolicNameAttributes));
+		identityProperties.put("type", fragment ? NS_FRAGMENT : NS_BUNDLE);
+		unit.provides.add(new Capability(NS_IDENTITY, unit.id, unit.version, identityProperties));
+
+		for (final Entry<String, Attrs> providedCapability : parseHeader(headers, "Provide-Capability").entrySet()) {
+			capabilityNumber++;
+			final String namespace = removeDuplicateMarker(providedCapability.getKey());
+			if (NS_IDENTITY.equals(namespace))
+				throw new UnsupportedBundleException("capability in the osgi.identity namespace");
+
+			final Map<String, Object> properties = new HashMap<>(getAttributes(providedCapability.getValue()));
+			final Object name = properties.remove(namespace);
+			final Object version = properties.remove("version");
+			// @formatter:off
+			unit.provides.add(new Capability(
+					namespace,
+					name instanceof String ? (String) name : format("%s_%s-%s", unit.id, unit.version, capabilityNumber),
+					version instanceof Version ? version.toString() : VERSION_EMPTY,
+					properties));
+			// @formatter:on
+		}
+	}
+
+	private void addPackageRequirements(final InstallableUnit unit, final Attributes headers) {
+		for (final Entry<String, Attrs> importedPackage : parseHeader(headers, "Import-Package").entrySet()) {
+			String range = importedPackage.getValue().get("version");
+			if (range == null) {
+				range = importedPackage.getValue().get("specification-version");
+			}
+			final boolean optional = isOptional(importedPackage.getValue());
+			unit.requires.add(Requirement.range(NS_PACKAGE, removeDuplicateMarker(importedPackage.getKey()), toVersionRange(range), optional, isGreedy(optional, importedPackage.getValue())));
+		}
+	}
+
+	private void addProperties(final InstallableUnit unit, final Attributes headers, final Map<Locale, Map<String, String>> localizations) {
+		for (final Entry<Locale, Map<String, String>> localization : localizations.entrySet()) {
+			for (final Entry<String, String> translation : localization.getValue().entrySet()) {
+				unit.properties.put(localization.getKey() + "." + translation.getKey(), translation.getValue());
+			}
+		}
+		for (final String[] property : BUNDLE_IU_PROPERTIES) {
+			final String value = headers.getValue(property[0]);
+			if ((value != null) && !value.isEmpty()) {
+				unit.properties.put(property[1], value);
+			}
+		}
+	}
+
+	private ArtifactDescriptor createArtifactDescriptor(final InstallableUnit unit, final Artifact artifact, final File file) {
+		final ArtifactDescriptor descriptor = new ArtifactDescriptor(unit.id, unit.version);
+		descriptor.properties.put("artifact.size", String.valueOf(file.length()));
+		descriptor.properties.put("download.size", String.valueOf(file.length()));
+
+		// digests computed while writing the jar (the legacy md5 property is understood by all p2 versions)
+		final Map<String, String> digests = jarDigestUtil.getDigests(file);
+		if (digests.containsKey(JarDigestUtil.ALGORITHM_MD5)) {
+			descriptor.properties.put("download.md5", digests.get(JarDigestUtil.ALGORITHM_MD5));
+		}
+		for (final Entry<String, String> digest : digests.entrySet()) {
+			descriptor.properties.put("download.checksum." + digest.getKey(), digest.getValue());
+		}
+		descriptor.properties.putAll(getMavenProperties(artifact));
+		return descriptor;
+	}
+
+	private InstallableUnit createInstallableUnit(final Artifact artifact, final JarFile jarFile) throws IOException, UnsupportedBundleException {
+		final Manifest manifest = jarFile.getManifest();
+		if (manifest == null)
+			throw new UnsupportedBundleException("no manifest");
+		final Attributes headers = manifest.getMainAttributes();
+		if (!"2".equals(StringUtils.trim(headers.getValue("Bundle-ManifestVersion"))))
+			throw new UnsupportedBundleException("Bundle-ManifestVersion is not 2");
+		if (jarFile.getEntry(P2_ADVICE_FILE) != null)
+			throw new UnsupportedBundleException("p2 advice file");
+		for (final String header : UNSUPPORTED_HEADERS) {
+			if (headers.getValue(header) != null)
+				throw new UnsupportedBundleException(header + " header");
+		}
+
+		final Parameters symbolicName = parseHeader(headers, "Bundle-SymbolicName");
+		if (symbolicName.size() != 1)
+			throw new UnsupportedBundleException("missing or invalid Bundle-SymbolicName");
+		final Entry<String, Attrs> symbolicNameEntry = symbolicName.entrySet().iterator().next();
+
+		final InstallableUnit unit = new InstallableUnit();
+		unit.id = symbolicNameEntry.getKey();
+		unit.version = toVersion(headers.getValue("Bundle-Version"));
+		unit.singleton = "true".equals(symbolicNameEntry.getValue().get("singleton:"));
+		unit.filter = StringUtils.trimToNull(headers.getValue("Eclipse-PlatformFilter"));
+
+		// requirements
+		final Parameters fragmentHost = parseHeader(headers, "Fragment-Host");
+		if (fragmentHost.size() > 1)
+			throw new UnsupportedBundleException("invalid Fragment-Host");
+		final Entry<String, Attrs> host = fragmentHost.isEmpty() ? null : fragmentHost.entrySet().iterator().next();
+		if (host != null) {
+			unit.requires.add(Requirement.range(NS_BUNDLE, host.getKey(), toVersionRange(host.getValue().get("bundle-version")), false, true));
+		}
+		addBundleRequirements(unit, headers);
+		addPackageRequirements(unit, headers);
+		addCapabilityRequirements(unit, headers);
+
+		// capabilities
+		unit.provides.add(new Capability(NS_IU, unit.id, unit.version));
+		unit.provides.add(new Capability(NS_BUNDLE, unit.id, unit.version));
+		addCapabilities(unit, headers, symbolicNameEntry.getValue(), host != null);
+		unit.provides.add(new Capability(NS_ECLIPSE_TYPE, headers.getValue("Eclipse-SourceBundle") != null ? "source" : "bundle", VERSION_ONE));
+		if (host != null) {
+			unit.provides.add(new Capability(NS_FRAGMENT, host.getKey(), unit.version));
+		}
+		final Map<Locale, Map<String, String>> localizations = getLocalizations(jarFile, headers);
+		for (final Locale locale : localizations.keySet()) {
+			unit.provides.add(new Capability(NS_LOCALIZATION, locale.toString(), VERSION_ONE));
+		}
+
+		// properties
+		addProperties(unit, headers, localizations);
+		unit.properties.putAll(getMavenProperties(artifact));
+
+		// touchpoint
+		final StringBuilder touchpointManifest = new StringBuilder();
+		for (final String header : TOUCHPOINT_MANIFEST_HEADERS) {
+			final String value = headers.getValue(header);
+			if (value != null) {
+				touchpointManifest.append(header).append(": ").append(value).append('\n');
+			}
+		}
+		unit.instructions.put("manifest", touchpointManifest.toString());
+		if ("dir".equals(headers.getValue("Eclipse-BundleShape"))) {
+			unit.instructions.put("zipped", "true");
+		}
+
+		return unit;
+	}
+
+	/**
+	 * Generates the p2 metadata of the bundle and source bundle of the
+	 * project.
+	 * <p>
+	 * The metadata files are attached to the project and a
+	 * <code>local-artifacts.properties</code> file listing all project
+	 * artifacts is written to the build directory as done by Tycho.
+	 * </p>
+	 *
+	 * @return <code>true</code> if the metadata was generated,
+	 *         <code>false</code> if a bundle is not supported and Tycho needs
+	 *         to be used instead
+	 * @throws MojoExecutionException
+	 *             if the bundles could not be read or the metadata could not
+	 *             be written
+	 */
+	public boolean generateP2Metadata() throws MojoExecutionException {
+		final List<Artifact> artifacts = getBundleArtifacts();
+		final List<InstallableUnit> units = new ArrayList<>(artifacts.size());
+		final List<ArtifactDescriptor> descriptors = new ArrayList<>(artifacts.size());
+		for (final Artifact artifact : artifacts) {
+			final File file = artifact.getFile();
+			try (JarFile jarFile = new JarFile(file)) {
+				final InstallableUnit unit = createInstallableUnit(artifact, jarFile);
+				units.add(unit);
+				descriptors.add(createArtifactDescriptor(unit, artifact, file));
+			} catch (final UnsupportedBundleException e) {
+				getLog().info(format("Generating p2 metadata with Tycho because bundle '%s' is not supported in process: %s", file.getName(), e.getMessage()));
+				return false;
+			} catch (final IllegalArgumentException e) {
+				// invalid versions or ranges; let Tycho report them
+				getLog().debug(e);
+				getLog().info(format("Generating p2 metadata with Tycho because the manifest of bundle '%s' could not be processed: %s", file.getName(), e.getMessage()));
+				return false;
+			} catch (final IOException e) {
+				getLog().debug(e);
+				throw new MojoExecutionException(format("Unable to read bundle '%s'. %s", file, e.getMessage()));
+			}
+		}
+
+		final File buildDirectory = new File(project.getBuild().getDirectory());
+		final File contentXml = new File(buildDirectory, "p2content.xml");
+		final File artifactsXml = new File(buildDirectory, "p2artifacts.xml");
+		try {
+			writeContentXml(contentXml, units);
+			writeArtifactsXml(artifactsXml, descriptors);
+		} catch (final IOException e) {
+			getLog().debug(e);
+			throw new MojoExecutionException(format("Unable to write p2 metadata to '%s'. %s", buildDirectory, e.getMessage()));
+		}
+		projectHelper.attachArtifact(project, "xml", "p2metadata", contentXml);
+		projectHelper.attachArtifact(project, "xml", "p2artifacts", artifactsXml);
+		writeLocalArtifacts(new File(buildDirectory, "local-artifacts.properties"));
+		return true;
+	}
+
+	private Map<String, Object> getAttributes(final Attrs attrs) {
+		final Map<String, Object> attributes = new LinkedHashMap<>();
+		for (final String key : attrs.keySet()) {
+			if (Attrs.isDirective(key)) {
+				continue;
+			}
+			// p2 keeps versions and converts everything else into strings
+			final Object value = attrs.getTyped(key);
+			if (value instanceof Collection) {
+				final List<Object> values = new ArrayList<>();
+				for (final Object element : (Collection<?>) value) {
+					values.add(element instanceof Version ? element : String.valueOf(element));
+				}
+				attributes.put(key, values);
+			} else {
+				attributes.put(key, value instanceof Version ? value : String.valueOf(value));
+			}
+		}
+		return attributes;
+	}
+
+	private List<Artifact> getBundleArtifacts() throws MojoExecutionException {
+		final File bundleFile = project.getArtifact().getFile();
+		if ((bundleFile == null) || !bundleFile.canRead())
+			throw new MojoExecutionException(format("Unable to generate p2 metadata. The bundle of project %s is not available.", project.getId()));
+
+		final List<Artifact> artifacts = new ArrayList<>();
+		artifacts.add(project.getArtifact());
+		for (final Artifact attachedArtifact : project.getAttachedArtifacts()) {
+			if ((attachedArtifact.getFile() != null) && attachedArtifact.getFile().getName().endsWith(".jar")) {
+				artifacts.add(attachedArtifact);
+			}
+		}
+		return artifacts;
+	}
+
+	private String getExecutionEnvironmentFilter(final String executionEnvironment) {
+		// mirrors the conversion of the Equinox resolver (eg., J2SE-1.5 -> (&(osgi.ee=JavaSE)(version=1.5)))
+		String ee1 = executionEnvironment;
+		String ee2 = null;
+		final int separator = executionEnvironment.indexOf('/');
+		if ((separator > 0) && (separator < (executionEnvironment.length() - 1))) {
+			ee1 = executionEnvironment.substring(0, separator);
+			ee2 = executionEnvironment.substring(separator + 1);
+		}
+		String v1 = getExecutionEnvironmentVersion(ee1);
+		if (v1 != null) {
+			ee1 = ee1.substring(0, ee1.length() - v1.length() - 1);
+		}
+		final String v2 = ee2 != null ? getExecutionEnvironmentVersion(ee2) : null;
+		if (v2 != null) {
+			ee2 = ee2.substring(0, ee2.length() - v2.length() - 1);
+		}
+		if (v1 == null) {
+			v1 = v2;
+		}
+		if ((v1 != null) && (v2 != null) && !v1.equals(v2)) {
+			ee1 = executionEnvironment;
+			ee2 = null;
+			v1 = null;
+		}
+		if ("J2SE".equals(ee1)) {
+			ee1 = "JavaSE";
+		}
+		if ("J2SE".equals(ee2)) {
+			ee2 = "JavaSE";
+		}
+		final String eeName = ee1 + (ee2 == null ? "" : "/" + ee2);
+		return v1 == null ? "(osgi.ee=" + eeName + ")" : "(&(osgi.ee=" + eeName + ")(version=" + v1 + "))";
+	}
+
+	private String getExecutionEnvironmentVersion(final String executionEnvironment) {
+		final int versionIndex = executionEnvironment.indexOf('-');
+		if ((versionIndex <= 0) || (versionIndex >= (executionEnvironment.length() - 1)))
+			return null;
+		final String version = executionEnvironment.substring(versionIndex + 1);
+		return Version.isVersion(version) ? version : null;
+	}
+
+	private Map<Locale, Map<String, String>> getLocalizations(final JarFile jarFile, final Attributes headers) throws IOException {
+		// hash maps on purpose; the p2 publisher emits translations in their iteration order
+		final Map<Locale, Map<String, String>> localizations = new HashMap<>(4);
+
+		final List<String> keys = new ArrayList<>();
+		for (final String header : BUNDLE_LOCALIZED_HEADERS) {
+			final String value = headers.getValue(header);
+			if ((value != null) && (value.length() > 1) && (value.charAt(0) == '%') && !"Bundle-Localization".equals(header)) {
+				keys.add(value.substring(1));
+			}
+		}
+		if (keys.isEmpty())
+			return localizations;
+
+		String localization = headers.getValue("Bundle-Localization");
+		if (localization == null) {
+			localization = BUNDLE_LOCALIZATION_DEFAULT;
+		}
+		for (final Enumeration<JarEntry> entries = jarFile.entries(); entries.hasMoreElements();) {
+			final JarEntry entry = entries.nextElement();
+			final String localeString = getLocaleString(entry.getName(), localization);
+			if (entry.isDirectory() || (localeString == null)) {
+				continue;
+			}
+
+			final Properties properties = new Properties();
+			try (InputStream in = jarFile.getInputStream(entry)) {
+				properties.load(in);
+			}
+			final Map<String, String> translations = new HashMap<>();
+			for (final String key : keys) {
+				final String translation = properties.getProperty(key);
+				if (translation != null) {
+					translations.put(key, translation);
+				}
+			}
+			if (!translations.isEmpty()) {
+				localizations.put(toLocale(localeString), translations);
+			}
+		}
+		return localizations;
+	}
+
+	private Map<String, String> getMavenProperties(final Artifact artifact) {
+		final Map<String, String> properties = new LinkedHashMap<>();
+		properties.put("maven-groupId", artifact.getGroupId());
+		properties.put("maven-artifactId", artifact.getArtifactId());
+		properties.put("maven-version", artifact.getVersion());
+		if ((artifact.getClassifier() != null) && !artifact.getClassifier().isEmpty()) {
+			properties.put("maven-classifier", artifact.getClassifier());
+		}
+		return properties;
+	}
+
+	private void writeArtifactsXml(final File artifactsXml, final List<ArtifactDescriptor> descriptors) throws IOException {
+		try (XmlWriter xml = new XmlWriter(Files.newOutputStream(artifactsXml.toPath()), "<?artifactRepository version='1.1.0'?>")) {
+			xml.start("artifacts").attribute("size", descriptors.size());
+			for (final ArtifactDescriptor descriptor : descriptors) {
+				xml.start("artifact").attribute("classifier", ARTIFACT_CLASSIFIER_BUNDLE).attribute("id", descriptor.id).attribute("version", descriptor.version);
+				xml.writeProperties(descriptor.properties);
+				xml.end();
+			}
+			xml.end();
+		}
+	}
+
+	private void writeContentXml(final File contentXml, final List<InstallableUnit> units) throws IOException {
+		try (XmlWriter xml = new XmlWriter(Files.newOutputStream(contentXml.toPath()))) {
+			xml.start("units").attribute("size", units.size());
+			for (final InstallableUnit unit : units) {
+				xml.start("unit").attribute("id", unit.id).attribute("version", unit.version);
+				if (!unit.singleton) {
+					xml.attribute("singleton", "false");
+				}
+				if (!unit.hasOnlySimpleRequirements()) {
+					xml.attribute("generation", 2);
+				}
+				xml.start("update").attribute("id", unit.id).attribute("range", VERSION_EMPTY.equals(unit.version) ? VERSION_EMPTY : "[0.0.0," + unit.version + ")").attribute("severity", 0);
+				xml.end();
+				xml.writeProperties(unit.properties);
+
+				xml.start("provides").attribute("size", unit.provides.size());
+				for (final Capability capability : unit.provides) {
+					xml.start("provided").attribute("namespace", capability.namespace).attribute("name", capability.name).attribute("version", capability.version);
+					xml.writeProperties(capability.properties);
+					xml.end();
+				}
+				xml.end();
+
+				if (!unit.requires.isEmpty()) {
+					xml.start("requires").attribute("size", unit.requires.size());
+					for (final Requirement requirement : unit.requires) {
+						writeRequirement(xml, requirement);
+					}
+					xml.end();
+				}
+
+				if (unit.filter != null) {
+					xml.start("filter");
+					xml.cdata(unit.filter);
+					xml.end();
+				}
+
+				xml.start("artifacts").attribute("size", 1);
+				xml.start("artifact").attribute("classifier", ARTIFACT_CLASSIFIER_BUNDLE).attribute("id", unit.id).attribute("version", unit.version);
+				xml.end();
+				xml.end();
+
+				xml.start("touchpoint").attribute("id", TOUCHPOINT_OSGI).attribute("version", VERSION_ONE);
+				xml.end();
+				xml.start("touchpointData").attribute("size", 1);
+				xml.start("instructions").attribute("size", unit.instructions.size());
+				for (final Entry<String, String> instruction : unit.instructions.entrySet()) {
+					xml.start("instruction").attribute("key", instruction.getKey());
+					xml.cdata(instruction.getValue());
+					xml.end();
+				}
+				xml.end();
+				xml.end();
+
+				xml.end();
+			}
+			xml.end();
+		}
+	}
+
+	private void writeLocalArtifacts(final File localArtifactsFile) throws MojoExecutionException {
+		final Properties localArtifacts = new Properties();
+		localArtifacts.put("artifact.main", project.getArtifact().getFile().getAbsolutePath());
+		for (final Artifact attachedArtifact : project.getAttachedArtifacts()) {
+			localArtifacts.put("artifact.attached." + attachedArtifact.getClassifier(), attachedArtifact.getFile().getAbsolutePath());
+		}
+		try (OutputStream out = Files.newOutputStream(localArtifactsFile.toPath())) {
+			localArtifacts.store(out, null);
+		} catch (final IOException e) {
+			getLog().debug(e);
+			throw new MojoExecutionException(format("Unable to write '%s'. %s", localArtifactsFile, e.getMessage()));
+		}
+	}
+
+	private void writeRequirement(final XmlWriter xml, final Requirement requirement) {
+		if (requirement.match != null) {
+			xml.start("requiredProperties").attribute("namespace", requirement.namespace).attribute("match", requirement.match);
+			if (requirement.optional) {
+				xml.attribute("min", 0);
+			}
+		} else {
+			xml.start("required").attribute("namespace", requirement.namespace).attribute("name", requirement.name).attribute("range", requirement.range);
+			if (requirement.optional) {
+				xml.attribute("optional", "true");
+			}
+		}
+		if (!requirement.greedy) {
+			xml.attribute("greedy", "false");
+		}
+		xml.end();
+	}
+}
@@ -0,0 +1,410 @@
+/**
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.ebr.maven;
+
+import static java.lang.String.format;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.ZipEntry;
+
+import org.apache.commons.compress.archivers.zip.UnixStat;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+
+import org.codehaus.plexus.archiver.ArchiveEntry;
+import org.codehaus.plexus.archiver.ArchiverException;
+import org.codehaus.plexus.archiver.ResourceIterator;
+import org.codehaus.plexus.archiver.jar.JarArchiver;
+import org.codehaus.plexus.components.io.fileselectors.FileSelector;
+
+/**
+ * A {@link JarArchiver} which compresses entries in parallel.
+ * <p>
+ * Entries are compressed concurrently using the configured deflate level.
+ * Entries whose payload is already compressed (eg., nested jars or images)
+ * are stored without compressing them again. The compressed entries are then
+ * written sequentially in the order they were added, which makes the
+ * resulting archive independent of thread scheduling. The number of entries
+ * read ahead of writing is bounded by the number of threads.
+ * </p>
+ * <p>
+ * Additionally, entries of other archives can be copied without inflating and
+ * deflating them again (see {@link #addRawArchive(File, FileSelector)}).
+ * </p>
+ * <p>
+ * The MD5 and SHA-256 digests of the archive are computed while writing it
+ * (see {@link #getDigests()}).
+ * </p>
+ * <p>
+ * Entries without a source (<code>META-INF/</code> and the manifest) get a
+ * fixed timestamp and parent directories get the timestamp of the entry
+ * implying them, so that the same input always results in the same archive.
+ * </p>
+ * <p>
+ * This archiver always creates a new archive, i.e. update mode, jar indexes
+ * and fileset manifests are not supported.
+ * </p>
+ */
+public class ParallelJarArchiver extends JarArchiver {
+
+	private static final class RawArchive {
+		private final File file;
+		private final FileSelector selector;
+
+		RawArchive(final File file, final FileSelector selector) {
+			this.file = file;
+			this.selector = selector;
+		}
+	}
+
+	private static final class CompressedEntry {
+		private final ZipArchiveEntry entry;
+		private final byte[] payload;
+
+		CompressedEntry(final ZipArchiveEntry entry, final byte[] payload) {
+			this.entry = entry;
+			this.payload = payload;
+		}
+	}
+
+	private static final String MANIFEST_NAME = "META-INF/MANIFEST.MF";
+	private static final long EMPTY_CRC = new CRC32().getValue();
+	private static final byte[] EMPTY_PAYLOAD = new byte[0];
+
+	/** number of entries per thread which may be compressed ahead of writing them */
+	private static final int PENDING_ENTRIES_PER_THREAD = 16;
+
+	/** timestamps are rounded up to the two second precision of zip files */
+	private static final long TIME_ROUNDING = 1999L;
+
+	/** timestamp of generated entries (1980-02-01T00:00:00Z, the zip epoch in any time zone) */
+	private static final long GENERATED_ENTRY_TIME = 318211200000L;
+
+	private int compressionLevel = Deflater.DEFAULT_COMPRESSION;
+	private Set<String> storedExtensions = new HashSet<>();
+	private final int threads = Runtime.getRuntime().availableProcessors();
+	private final List<RawArchive> rawArchives = new ArrayList<>();
+	private final Map<String, String> digests = new LinkedHashMap<>();
+
+	private void addDirectory(final List<Future<CompressedEntry>> entries, final Set<String> addedDirectories, final String name, final long lastModified, final int mode) {
+		if (!addedDirectories.add(name))
+			return;
+
+		final ZipArchiveEntry entry = new ZipArchiveEntry(name);
+		entry.setTime(lastModified + TIME_ROUNDING);
+		entry.setMethod(ZipEntry.STORED);
+		entry.setSize(0);
+		entry.setCompressedSize(0);
+		entry.setCrc(EMPTY_CRC);
+		entry.setUnixMode(UnixStat.DIR_FLAG | mode);
+		entries.add(CompletableFuture.completedFuture(new CompressedEntry(entry, EMPTY_PAYLOAD)));
+	}
+
+	private void addParentDirectories(final List<Future<CompressedEntry>> entries, final Set<String> addedDirectories, final String name, final long lastModified, final int mode) {
+		if (isFilesonly() || !getIncludeEmptyDirs())
+			return;
+
+		int slash = name.indexOf('/');
+		while ((slash > 0) && (slash < (name.length() - 1))) {
+			addDirectory(entries, addedDirectories, name.substring(0, slash + 1), lastModified, mode);
+			slash = name.indexOf('/', slash + 1);
+		}
+	}
+
+	/**
+	 * Adds the entries of the specified archive without recompressing them.
+	 * <p>
+	 * The compressed bytes and checksums of all selected entries are copied
+	 * as is. Entries added as regular resources or by previously added raw
+	 * archives take precedence. The manifest of the archive is never copied.
+	 * </p>
+	 *
+	 * @param archive
+	 *            the zip archive
+	 * @param selector
+	 *            the selector for entries to copy
+	 */
+	public void addRawArchive(final File archive, final FileSelector selector) {
+		rawArchives.add(new RawArchive(archive, selector));
+	}
+
+	private void addRawEntries(final ZipArchiveOutputStream out, final List<Future<CompressedEntry>> entries, final Set<String> addedDirectories, final Set<String> addedFiles, final RawArchive rawArchive) throws IOException {
+		getLogger().debug("copying entries of " + rawArchive.file);
+		try (ZipFile zipFile = new ZipFile(rawArchive.file)) {
+			for (final ZipArchiveEntry zipEntry : Collections.list(zipFile.getEntriesInPhysicalOrder())) {
+				final String name = zipEntry.getName();
+				if (MANIFEST_NAME.equalsIgnoreCase(name) || !DependencyMergeUtil.isSelected(rawArchive.selector, name, zipEntry.isDirectory())) {
+					continue;
+				}
+
+				addParentDirectories(entries, addedDirectories, name, zipEntry.getTime(), DEFAULT_DIR_MODE);
+				if (zipEntry.isDirectory()) {
+					addDirectory(entries, addedDirectories, name, zipEntry.getTime(), DEFAULT_DIR_MODE);
+					flush(out, entries, 0);
+				} else if (addedFiles.add(name)) {
+					flush(out, entries, 0);
+					final ZipArchiveEntry entry = new ZipArchiveEntry(zipEntry);
+					if (entry.getPlatform() != ZipArchiveEntry.PLATFORM_UNIX) {
+						entry.setUnixMode(DEFAULT_FILE_MODE);
+					}
+					out.addRawArchiveEntry(entry, zipFile.getRawInputStream(zipEntry));
+				}
+			}
+		}
+	}
+
+	@Override
+	protected void cleanUp() throws IOException {
+		super.cleanUp();
+		rawArchives.clear();
+	}
+
+	@Override
+	protected void close() throws IOException {
+		// nothing to close, the archive is completely written in execute()
+	}
+
+	private CompressedEntry compress(final String name, final long lastModified, final int mode, final byte[] content) throws IOException {
+		final CRC32 crc = new CRC32();
+		crc.update(content);
+
+		final ZipArchiveEntry entry = new ZipArchiveEntry(name);
+		entry.setTime(lastModified + TIME_ROUNDING);
+		entry.setUnixMode(UnixStat.FILE_FLAG | mode);
+		entry.setSize(content.length);
+		entry.setCrc(crc.getValue());
+
+		if (!isCompressed(name)) {
+			entry.setMethod(ZipEntry.STORED);
+			entry.setCompressedSize(content.length);
+			return new CompressedEntry(entry, content);
+		}
+
+		final Deflater deflater = new Deflater(compressionLevel, true);
+		try {
+			final ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, content.length / 2));
+			try (DeflaterOutputStream deflaterStream = new DeflaterOutputStream(compressed, deflater)) {
+				deflaterStream.write(content);
+			}
+			entry.setMethod(ZipEntry.DEFLATED);
+			entry.setCompressedSize(compressed.size());
+			return new CompressedEntry(entry, compressed.toByteArray());
+		} finally {
+			deflater.end();
+		}
+	}
+
+	@Override
+	protected void execute() throws ArchiverException, IOException {
+		if (!checkForced())
+			return;
+
+		final File destFile = getDestFile();
+		if (destFile == null)
+			throw new ArchiverException("You must set the destination jar file.");
+		if (destFile.exists() && !destFile.isFile())
+			throw new ArchiverException(format("%s isn't a file.", destFile));
+
+		final ResourceIterator resources = getResources();
+		if (!resources.hasNext() && !hasVirtualFiles())
+			throw new ArchiverException("archive cannot be empty");
+
+		getLogger().info("Building jar: " + destFile.getAbsolutePath());
+		digests.clear();
+		final MessageDigest md5 = getMessageDigest("MD5");
+		final MessageDigest sha256 = getMessageDigest("SHA-256");
+		final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+		final int maxPendingEntries = Math.max(1, threads) * PENDING_ENTRIES_PER_THREAD;
+		// all entries are written with known sizes, so the archive can be streamed through the digests
+		final OutputStream fileOut = new DigestOutputStream(new DigestOutputStream(new BufferedOutputStream(Files.newOutputStream(destFile.toPath())), md5), sha256);
+		try (ZipArchiveOutputStream out = new ZipArchiveOutputStream(fileOut)) {
+			out.setEncoding(getEncoding());
+
+			// the manifest must be the first entry for JarInputStream
+			final List<Future<CompressedEntry>> entries = new ArrayList<>();
+			final Set<String> addedDirectories = new HashSet<>();
+			addDirectory(entries, addedDirectories, "META-INF/", GENERATED_ENTRY_TIME, DEFAULT_DIR_MODE);
+			final ByteArrayOutputStream manifest = new ByteArrayOutputStream();
+			createManifest().write(manifest);
+			entries.add(CompletableFuture.completedFuture(compress(MANIFEST_NAME, GENERATED_ENTRY_TIME, DEFAULT_FILE_MODE, manifest.toByteArray())));
+
+			// compress all files concurrently but write them in the order they were added
+			final Set<String> addedFiles = new HashSet<>();
+			while (resources.hasNext()) {
+				final ArchiveEntry entry = resources.next();
+				final String name = entry.getName().replace(File.separatorChar, '/');
+				if (name.isEmpty() || MANIFEST_NAME.equalsIgnoreCase(name)) {
+					continue;
+				}
+
+				addParentDirectories(entries, addedDirectories, name, entry.getResource().getLastModified(), entry.getDefaultDirMode());
+				if (entry.getResource().isDirectory()) {
+					addDirectory(entries, addedDirectories, name.endsWith("/") ? name : name + "/", entry.getResource().getLastModified(), entry.getMode());
+				} else if (entry.getResource().isFile()) {
+					addedFiles.add(name);
+					final long lastModified = entry.getResource().getLastModified();
+					if (entry.shouldAddSynchronously()) {
+						// the resource can only be read while iterating (eg., content of another archive)
+						final byte[] content = read(entry);
+						entries.add(executor.submit(() -> compress(name, lastModified, entry.getMode(), content)));
+					} else {
+						entries.add(executor.submit(() -> compress(name, lastModified, entry.getMode(), read(entry))));
+					}
+				}
+				flush(out, entries, maxPendingEntries);
+			}
+			flush(out, entries, 0);
+
+			// copy raw entries last so that any other content takes precedence
+			for (final RawArchive rawArchive : rawArchives) {
+				addRawEntries(out, entries, addedDirectories, addedFiles, rawArchive);
+			}
+			flush(out, entries, 0);
+		} catch (final IOException | ArchiverException e) {
+			FileUtils.deleteQuietly(destFile);
+			throw e;
+		} finally {
+			executor.shutdownNow();
+		}
+		digests.put(JarDigestUtil.ALGORITHM_MD5, JarDigestUtil.toHexString(md5.digest()));
+		digests.put(JarDigestUtil.ALGORITHM_SHA_256, JarDigestUtil.toHexString(sha256.digest()));
+	}
+
+	/**
+	 * Writes compressed entries in order.
+	 * <p>
+	 * Leading entries which are already compressed are always written. Further
+	 * entries are waited for while more than the specified number of entries
+	 * are pending. This bounds the amount of memory needed for holding the
+	 * content of pending entries, which otherwise grows with the size of the
+	 * archive when reading is faster than compressing.
+	 * </p>
+	 *
+	 * @param maxPendingEntries
+	 *            the maximum number of entries remaining pending
+	 *            (<code>0</code> writes all entries)
+	 */
+	private void flush(final ZipArchiveOutputStream out, final List<Future<CompressedEntry>> entries, final int maxPendingEntries) throws IOException {
+		while (!entries.isEmpty() && (entries.get(0).isDone() || (entries.size() > maxPendingEntries))) {
+			final CompressedEntry compressedEntry = get(entries.remove(0));
+			out.addRawArchiveEntry(compressedEntry.entry, new ByteArrayInputStream(compressedEntry.payload));
+		}
+	}
+
+	private CompressedEntry get(final Future<CompressedEntry> file) throws IOException {
+		try {
+			return file.get();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while compressing jar entries.", e);
+		} catch (final ExecutionException e) {
+			if (e.getCause() instanceof IOException)
+				throw (IOException) e.getCause();
+			throw new IOException(format("Unable to compress jar entry. %s", e.getCause().getMessage()), e.getCause());
+		}
+	}
+
+	/**
+	 * Returns the digests of the archive written last.
+	 *
+	 * @return the hex encoded digests by algorithm (see
+	 *         {@link JarDigestUtil#ALGORITHM_MD5} and
+	 *         {@link JarDigestUtil#ALGORITHM_SHA_256}); empty if no archive
+	 *         was written
+	 */
+	public Map<String, String> getDigests() {
+		return Collections.unmodifiableMap(digests);
+	}
+
+	private MessageDigest getMessageDigest(final String algorithm) throws IOException {
+		try {
+			return MessageDigest.getInstance(algorithm);
+		} catch (final NoSuchAlgorithmException e) {
+			throw new IOException(format("Digest algorithm %s not available.", algorithm), e);
+		}
+	}
+
+	private boolean isCompressed(final String name) {
+		if (!isCompress() || (compressionLevel == Deflater.NO_COMPRESSION))
+			return false;
+
+		final String lowerCaseName = name.toLowerCase(Locale.ROOT);
+		for (final String extension : storedExtensions) {
+			if (lowerCaseName.endsWith("." + extension))
+				return false;
+		}
+		return true;
+	}
+
+	private byte[] read(final ArchiveEntry entry) throws IOException {
+		try (InputStream in = entry.getInputStream()) {
+			return IOUtils.toByteArray(in);
+		}
+	}
+
+	@Override
+	protected boolean revert(final StringBuffer messageBuffer) {
+		return true;
+	}
+
+	/**
+	 * Sets the deflate level to use for compressing entries.
+	 *
+	 * @param compressionLevel
+	 *            the level (<code>0</code> to <code>9</code> or
+	 *            <code>-1</code> for the default level)
+	 */
+	public void setCompressionLevel(final int compressionLevel) {
+		this.compressionLevel = compressionLevel;
+	}
+
+	/**
+	 * Sets the file extensions of entries which should be stored without
+	 * compressing them because their content is already compressed.
+	 *
+	 * @param storedExtensions
+	 *            the file extensions (without leading dot)
+	 */
+	public void setStoredExtensions(final Collection<String> storedExtensions) {
+		this.storedExtensions = new HashSet<>();
+		for (final String extension : storedExtensions) {
+			this.storedExtensions.add(extension.toLowerCase(Locale.ROOT));
+		}
+	}
+}
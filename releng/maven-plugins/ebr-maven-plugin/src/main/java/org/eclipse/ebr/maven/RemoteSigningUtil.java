@@ -0,0 +1,413 @@
+/**
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.ebr.maven;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.eclipse.ebr.maven.shared.BaseUtility;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.http.HttpEntity;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+
+import org.eclipse.aether.SessionData;
+
+import com.google.common.hash.Funnels;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * A utility for signing jars using a remote signing service speaking the
+ * protocol of the Eclipse.org signing service (a multipart <code>POST</code>
+ * of the jar in a part named <code>file</code> answered with the signed
+ * jar).
+ * <p>
+ * The jars of all recipes in the reactor are queued on an executor shared
+ * within the Maven session, which limits the number of concurrent requests
+ * to the signing service. Requests are sent using an HTTP client shared
+ * within the Maven session (see {@link HttpClientUtil}). Failed requests
+ * (I/O errors, server errors and throttling) are retried with an increasing
+ * delay.
+ * </p>
+ * <p>
+ * Signed jars are cached within the local repository. The cache key is
+ * computed from the names and the uncompressed content of the jar entries, so
+ * that a jar rebuilt from unchanged inputs is not sent again even if the
+ * timestamps of its entries differ. Jars which are the result of a previous
+ * signing request are never signed again. The digests of the signed jars are
+ * recorded (see {@link JarDigestUtil}).
+ * </p>
+ */
+public class RemoteSigningUtil extends BaseUtility {
+
+	/**
+	 * A repeatable <code>multipart/form-data</code> entity with a single file
+	 * part.
+	 */
+	private static final class MultipartFileEntity extends AbstractHttpEntity {
+
+		private final File file;
+		private final byte[] prefix;
+		private final byte[] suffix;
+
+		MultipartFileEntity(final String name, final File file) {
+			this.file = file;
+			final String boundary = "ebr-" + UUID.randomUUID();
+			// @formatter:off
+			prefix = ("--" + boundary + "\r\n"
+					+ "Content-Disposition: form-data; name=\"" + name + "\"; filename=\"" + file.getName() + "\"\r\n"
+					+ "Content-Type: application/java-archive\r\n"
+					+ "\r\n").getBytes(UTF_8);
+			// @formatter:on
+			suffix = ("\r\n--" + boundary + "--\r\n").getBytes(UTF_8);
+			setContentType("multipart/form-data; boundary=" + boundary);
+		}
+
+		@Override
+		public InputStream getContent() throws IOException {
+			return new SequenceInputStream(new ByteArrayInputStream(prefix), new SequenceInputStream(Files.newInputStream(file.toPath()), new ByteArrayInputStream(suffix)));
+		}
+
+		@Override
+		public long getContentLength() {
+			return prefix.length + file.length() + suffix.length;
+		}
+
+		@Override
+		public boolean isRepeatable() {
+			return true;
+		}
+
+		@Override
+		public boolean isStreaming() {
+			return false;
+		}
+
+		@Override
+		public void writeTo(final OutputStream out) throws IOException {
+			out.write(prefix);
+			Files.copy(file.toPath(), out);
+			out.write(suffix);
+			out.flush();
+		}
+	}
+
+	/**
+	 * Signals a request rejected by the signing service, which must not be
+	 * retried.
+	 */
+	private static final class SigningRejectedException extends IOException {
+
+		private static final long serialVersionUID = 1L;
+
+		SigningRejectedException(final String message) {
+			super(message);
+		}
+	}
+
+	/** version of the cache layout (must be incremented when changing the cache key) */
+	private static final String CACHE_LAYOUT_VERSION = "1";
+
+	/** initial delay before retrying a failed request (doubled for every further attempt) */
+	private static final long RETRY_DELAY_MILLIS = 1000L;
+
+	/** session data key for the executor shared by all recipes */
+	private static final String SESSION_SIGNING_EXECUTOR = "org.eclipse.ebr.maven/remoteSigningExecutor";
+
+	public static File getDefaultCacheDirectory(final MavenSession mavenSession) {
+		return new File(mavenSession.getLocalRepository().getBasedir(), ".cache/ebr-signed-jars");
+	}
+
+	private static boolean isRetryable(final int statusCode) {
+		// throttled or server side problem
+		return (statusCode == 429) || (statusCode >= 500);
+	}
+
+	private final String signerUrl;
+	private final int threads;
+	private final int retries;
+	private final File cacheDirectory;
+	private final JarDigestUtil jarDigestUtil;
+	private final HttpClientUtil httpClientUtil;
+
+	public RemoteSigningUtil(final Log log, final MavenSession mavenSession, final MavenProject project, final String signerUrl, final int threads, final int retries, final File cacheDirectory) {
+		super(log, mavenSession);
+		this.signerUrl = signerUrl;
+		this.threads = Math.max(1, threads);
+		this.retries = Math.max(0, retries);
+		this.cacheDirectory = cacheDirectory != null ? cacheDirectory : getDefaultCacheDirectory(mavenSession);
+		jarDigestUtil = new JarDigestUtil(log, mavenSession, project);
+		// signing a large jar may take a while, thus responses are awaited without a read timeout
+		httpClientUtil = new HttpClientUtil(log, mavenSession, HttpClientUtil.DEFAULT_CONNECT_TIMEOUT, 0, this.threads);
+	}
+
+	private String computeCacheKey(final File jar) throws IOException {
+		final Hasher hasher = Hashing.sha256().newHasher();
+		hasher.putString(CACHE_LAYOUT_VERSION, UTF_8).putChar('\n');
+		hasher.putString(signerUrl, UTF_8).putChar('\n');
+		try (ZipFile zipFile = new ZipFile(jar)) {
+			final List<ZipEntry> entries = new ArrayList<>();
+			for (final ZipEntry entry : Collections.list(zipFile.entries())) {
+				if (!entry.isDirectory()) {
+					entries.add(entry);
+				}
+			}
+			entries.sort((e1, e2) -> e1.getName().compareTo(e2.getName()));
+
+			final OutputStream content = Funnels.asOutputStream(hasher);
+			for (final ZipEntry entry : entries) {
+				hasher.putString(entry.getName(), UTF_8).putChar('\n').putLong(entry.getSize());
+				try (InputStream in = zipFile.getInputStream(entry)) {
+					IOUtils.copy(in, content);
+				}
+			}
+		}
+		return hasher.hash().toString();
+	}
+
+	private Map<String, String> copyWithDigests(final Path source, final File jar) throws IOException {
+		final MessageDigest md5 = getMessageDigest("MD5");
+		final MessageDigest sha256 = getMessageDigest("SHA-256");
+		final Path tempJar = jar.toPath().resolveSibling(jar.getName() + ".signed");
+		try {
+			try (OutputStream out = new DigestOutputStream(new DigestOutputStream(new BufferedOutputStream(Files.newOutputStream(tempJar)), md5), sha256)) {
+				Files.copy(source, out);
+			}
+			Files.move(tempJar, jar.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} finally {
+			Files.deleteIfExists(tempJar);
+		}
+
+		final Map<String, String> digests = new LinkedHashMap<>();
+		digests.put(JarDigestUtil.ALGORITHM_MD5, JarDigestUtil.toHexString(md5.digest()));
+		digests.put(JarDigestUtil.ALGORITHM_SHA_256, JarDigestUtil.toHexString(sha256.digest()));
+		return digests;
+	}
+
+	private <T> T get(final Future<T> future) throws IOException {
+		try {
+			return future.get();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while signing jars.", e);
+		} catch (final ExecutionException e) {
+			if (e.getCause() instanceof IOException)
+				throw (IOException) e.getCause();
+			throw new IOException(e.getCause().getMessage(), e.getCause());
+		}
+	}
+
+	private Path getCacheFile(final String key, final String extension) {
+		return cacheDirectory.toPath().resolve(key.substring(0, 2)).resolve(key + extension);
+	}
+
+	private MessageDigest getMessageDigest(final String algorithm) throws IOException {
+		try {
+			return MessageDigest.getInstance(algorithm);
+		} catch (final NoSuchAlgorithmException e) {
+			throw new IOException(format("Digest algorithm %s not available.", algorithm), e);
+		}
+	}
+
+	private ExecutorService getSigningExecutor() {
+		final SessionData data = getMavenSession().getRepositorySession().getData();
+		final Object executor = data.get(SESSION_SIGNING_EXECUTOR);
+		if (executor != null)
+			return (ExecutorService) executor;
+
+		// idle threads time out, so the executor does not need to be shut down at the end of the session
+		final AtomicInteger threadNumber = new AtomicInteger();
+		final ThreadPoolExecutor signingExecutor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+			final Thread thread = new Thread(r, "ebr-signing-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		signingExecutor.allowCoreThreadTimeOut(true);
+
+		// first one wins
+		if (!data.set(SESSION_SIGNING_EXECUTOR, null, signingExecutor)) {
+			signingExecutor.shutdown();
+		}
+		return (ExecutorService) data.get(SESSION_SIGNING_EXECUTOR);
+	}
+
+	private void moveIntoCache(final Path tempFile, final Path cacheFile) throws IOException {
+		try {
+			Files.move(tempFile, cacheFile, StandardCopyOption.ATOMIC_MOVE);
+		} catch (final AtomicMoveNotSupportedException e) {
+			Files.move(tempFile, cacheFile);
+		} catch (final FileAlreadyExistsException e) {
+			// written concurrently by another build
+			getLog().debug(format("Cache entry '%s' has been added concurrently.", cacheFile));
+		}
+	}
+
+	private void requestSignedJar(final CloseableHttpClient client, final File jar, final Path signedJar) throws IOException {
+		final Path tempJar = signedJar.resolveSibling(signedJar.getFileName() + ".tmp-" + UUID.randomUUID());
+		try {
+			final HttpPost post = new HttpPost(signerUrl);
+			post.setEntity(new MultipartFileEntity("file", jar));
+			try (CloseableHttpResponse response = client.execute(post)) {
+				final int statusCode = response.getStatusLine().getStatusCode();
+				if (statusCode != 200) {
+					final String message = format("Signing service responded with '%s'.", response.getStatusLine());
+					throw isRetryable(statusCode) ? new IOException(message) : new SigningRejectedException(message);
+				}
+				final HttpEntity entity = response.getEntity();
+				if (entity == null)
+					throw new IOException("Signing service returned an empty response.");
+
+				Files.createDirectories(signedJar.getParent());
+				try (InputStream in = entity.getContent()) {
+					Files.copy(in, tempJar);
+				}
+			}
+
+			// a truncated response is not a valid jar
+			try (ZipFile zipFile = new ZipFile(tempJar.toFile())) {
+				if (zipFile.size() == 0)
+					throw new IOException("Signing service returned an empty jar.");
+			}
+			moveIntoCache(tempJar, signedJar);
+		} finally {
+			Files.deleteIfExists(tempJar);
+		}
+	}
+
+	private void signJar(final File jar, final CloseableHttpClient client) throws IOException, MojoExecutionException {
+		final String key = computeCacheKey(jar);
+		if (Files.isRegularFile(getCacheFile(key, ".signed"))) {
+			getLog().info(format("Jar '%s' is already signed.", jar.getName()));
+			return;
+		}
+
+		final Path signedJar = getCacheFile(key, ".jar");
+		if (Files.isRegularFile(signedJar)) {
+			getLog().info(format("Using cached signed jar for '%s'.", jar.getName()));
+		} else {
+			if (getMavenSession().isOffline())
+				throw new IOException("Maven is offline.");
+
+			getLog().info(format("Signing '%s' using %s", jar.getName(), signerUrl));
+			signJarWithRetries(jar, signedJar, client);
+
+			// remember the signed jar so that it will never be sent again
+			final Path marker = getCacheFile(computeCacheKey(signedJar.toFile()), ".signed");
+			Files.createDirectories(marker.getParent());
+			if (!Files.isRegularFile(marker)) {
+				final Path tempMarker = marker.resolveSibling(marker.getFileName() + ".tmp-" + UUID.randomUUID());
+				Files.write(tempMarker, key.getBytes(UTF_8));
+				moveIntoCache(tempMarker, marker);
+				Files.deleteIfExists(tempMarker);
+			}
+		}
+
+		jarDigestUtil.recordDigests(jar, copyWithDigests(signedJar, jar));
+	}
+
+	/**
+	 * Signs the specified jars in place.
+	 * <p>
+	 * The jars are queued for signing together with the jars of all other
+	 * recipes in the reactor. The number of concurrent requests is the number
+	 * of threads of the first utility created within the Maven session.
+	 * </p>
+	 *
+	 * @param jars
+	 *            the jars to sign
+	 * @throws MojoExecutionException
+	 *             if any jar could not be signed
+	 */
+	public void signJars(final List<File> jars) throws MojoExecutionException {
+		if (jars.isEmpty())
+			return;
+
+		final ExecutorService executor = getSigningExecutor();
+		final CloseableHttpClient client = httpClientUtil.getHttpClient();
+		final Map<File, Future<Void>> signedJars = new LinkedHashMap<>();
+		for (final File jar : jars) {
+			signedJars.put(jar, executor.submit(() -> {
+				signJar(jar, client);
+				return null;
+			}));
+		}
+		for (final Entry<File, Future<Void>> signedJar : signedJars.entrySet()) {
+			try {
+				get(signedJar.getValue());
+			} catch (final IOException e) {
+				getLog().debug(e);
+				throw new MojoExecutionException(format("Unable to sign jar '%s'. %s", signedJar.getKey(), e.getMessage()));
+			}
+		}
+	}
+
+	private void signJarWithRetries(final File jar, final Path signedJar, final CloseableHttpClient client) throws IOException {
+		for (int attempt = 0;; attempt++) {
+			try {
+				requestSignedJar(client, jar, signedJar);
+				return;
+			} catch (final SigningRejectedException e) {
+				throw e;
+			} catch (final IOException e) {
+				if (attempt >= retries)
+					throw e;
+
+				final long delay = RETRY_DELAY_MILLIS << attempt;
+				getLog().debug(e);
+				getLog().warn(format("Signing '%s' failed (attempt %d of %d). Retrying in %d ms. %s", jar.getName(), attempt + 1, retries + 1, delay, e.getMessage()));
+				try {
+					Thread.sleep(delay);
+				} catch (final InterruptedException ie) {
+					Thread.currentThread().interrupt();
+					throw new IOException("Interrupted while waiting for retrying the signing request.", ie);
+				}
+			}
+		}
+	}
+}
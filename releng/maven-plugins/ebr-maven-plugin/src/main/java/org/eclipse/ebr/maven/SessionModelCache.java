@@ -0,0 +1,57 @@
+/**
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.ebr.maven;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.model.building.ModelCache;
+
+/**
+ * A thread-safe {@link ModelCache} shared by all model building requests of a
+ * Maven session (see {@link ModelUtil}).
+ * <p>
+ * The model builder caches the raw models of parent POMs and the effective
+ * models of imported POMs, so that a parent shared by many dependencies is
+ * resolved and parsed only once. The model builder copies cached values on
+ * put and get, which makes sharing them across threads safe.
+ * </p>
+ */
+final class SessionModelCache implements ModelCache {
+
+	private static String toKey(final String groupId, final String artifactId, final String version, final String tag) {
+		return groupId + ':' + artifactId + ':' + version + ':' + tag;
+	}
+
+	private final Map<String, Object> data = new ConcurrentHashMap<>();
+	private final AtomicInteger hits = new AtomicInteger();
+	private final AtomicInteger misses = new AtomicInteger();
+
+	@Override
+	public Object get(final String groupId, final String artifactId, final String version, final String tag) {
+		final Object value = data.get(toKey(groupId, artifactId, version, tag));
+		(value != null ? hits : misses).incrementAndGet();
+		return value;
+	}
+
+	int getHits() {
+		return hits.get();
+	}
+
+	int getMisses() {
+		return misses.get();
+	}
+
+	@Override
+	public void put(final String groupId, final String artifactId, final String version, final String tag, final Object data) {
+		// first one wins
+		this.data.putIfAbsent(toKey(groupId, artifactId, version, tag), data);
+	}
+}
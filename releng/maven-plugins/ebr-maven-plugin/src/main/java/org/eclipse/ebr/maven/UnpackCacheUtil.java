@@ -0,0 +1,385 @@
+/**
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.ebr.maven;
+
+import static com.google.common.base.Strings.nullToEmpty;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.eclipse.ebr.maven.shared.BaseUtility;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.artifact.resolver.ArtifactResolutionRequest;
+import org.apache.maven.artifact.resolver.ArtifactResolutionResult;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.repository.RepositorySystem;
+
+import org.codehaus.plexus.components.io.fileselectors.IncludeExcludeFileSelector;
+
+import com.google.common.hash.Hashing;
+
+/**
+ * A utility for unpacking dependencies through a content-addressed cache.
+ * <p>
+ * Each archive is extracted only once for a given content and filter into a
+ * cache directory, which is shared by all builds using the same local
+ * repository. The cache key is computed from the SHA-256 checksum of the
+ * archive and the configured includes and excludes. Cached trees are
+ * materialized into the target directory using hard links where possible and
+ * plain copies otherwise. Files materialized later overwrite files
+ * materialized earlier, which matches unpacking the archives one after another
+ * into the same directory.
+ * </p>
+ */
+public class UnpackCacheUtil extends BaseUtility {
+
+	/** version of the cache layout (must be incremented when changing the way trees are extracted) */
+	private static final String CACHE_LAYOUT_VERSION = "1";
+
+	public static File getDefaultCacheDirectory(final MavenSession mavenSession) {
+		return new File(mavenSession.getLocalRepository().getBasedir(), ".cache/ebr-unpack");
+	}
+
+	private final RepositorySystem repositorySystem;
+	private final List<ArtifactRepository> remoteRepositories;
+	private final File cacheDirectory;
+	private final String includes;
+	private final String excludes;
+	private final IncludeExcludeFileSelector selector;
+
+	private int threads = 1;
+	private volatile boolean hardLinksSupported = true;
+
+	public UnpackCacheUtil(final Log log, final MavenSession mavenSession, final RepositorySystem repositorySystem, final List<ArtifactRepository> remoteRepositories, final File cacheDirectory, final String includes, final String excludes) {
+		super(log, mavenSession);
+		this.repositorySystem = repositorySystem;
+		this.remoteRepositories = remoteRepositories;
+		this.cacheDirectory = cacheDirectory != null ? cacheDirectory : getDefaultCacheDirectory(mavenSession);
+		this.includes = includes;
+		this.excludes = excludes;
+		selector = DependencyMergeUtil.newFileSelector(includes, excludes);
+	}
+
+	private String computeCacheKey(final File archive) throws IOException {
+		final String checksum = com.google.common.io.Files.asByteSource(archive).hash(Hashing.sha256()).toString();
+		// @formatter:off
+		return Hashing.sha256().newHasher()
+				.putString(CACHE_LAYOUT_VERSION, UTF_8).putChar('\n')
+				.putString(checksum, UTF_8).putChar('\n')
+				.putString(nullToEmpty(includes), UTF_8).putChar('\n')
+				.putString(nullToEmpty(excludes), UTF_8)
+				.hash().toString();
+		// @formatter:on
+	}
+
+	private void extract(final File archive, final Path directory) throws IOException {
+		try (ZipFile zipFile = new ZipFile(archive)) {
+			final Enumeration<? extends ZipEntry> entries = zipFile.entries();
+			while (entries.hasMoreElements()) {
+				final ZipEntry entry = entries.nextElement();
+				if (!DependencyMergeUtil.isSelected(selector, entry.getName(), entry.isDirectory())) {
+					continue;
+				}
+
+				final Path path = directory.resolve(entry.getName()).normalize();
+				if (!path.startsWith(directory))
+					throw new IOException(format("Entry '%s' in archive '%s' is outside of the target directory.", entry.getName(), archive));
+
+				if (entry.isDirectory()) {
+					Files.createDirectories(path);
+				} else {
+					Files.createDirectories(path.getParent());
+					try (InputStream in = zipFile.getInputStream(entry)) {
+						Files.copy(in, path, StandardCopyOption.REPLACE_EXISTING);
+					}
+				}
+				if (entry.getTime() != -1) {
+					Files.setLastModifiedTime(path, FileTime.fromMillis(entry.getTime()));
+				}
+			}
+		}
+	}
+
+	private Path getCachedTree(final Artifact artifact, final String classifier) throws MojoExecutionException {
+		final File archive = resolve(artifact, classifier);
+		try {
+			return getCachedTree(archive);
+		} catch (final IOException e) {
+			getLog().debug(e);
+			throw new MojoExecutionException(format("Unable to unpack '%s'. %s", archive, e.getMessage()));
+		}
+	}
+
+	/**
+	 * Returns the cached tree for the specified archive, extracting it into the
+	 * cache if necessary.
+	 * <p>
+	 * Trees are extracted into a temporary directory first and moved into
+	 * place afterwards. Thus, concurrent builds sharing the cache never see a
+	 * partially extracted tree.
+	 * </p>
+	 *
+	 * @param archive
+	 *            the archive
+	 * @return the cached tree
+	 * @throws IOException
+	 */
+	private Path getCachedTree(final File archive) throws IOException {
+		final String key = computeCacheKey(archive);
+		final Path tree = cacheDirectory.toPath().resolve(key.substring(0, 2)).resolve(key);
+		if (Files.isDirectory(tree)) {
+			getLog().debug(format("Using cached tree '%s' for '%s'.", tree, archive));
+			return tree;
+		}
+
+		getLog().debug(format("Extracting '%s' into cache.", archive));
+		final Path tempTree = tree.resolveSibling(key + ".tmp-" + UUID.randomUUID());
+		try {
+			Files.createDirectories(tempTree);
+			extract(archive, tempTree);
+			try {
+				Files.move(tempTree, tree, StandardCopyOption.ATOMIC_MOVE);
+			} catch (final AtomicMoveNotSupportedException e) {
+				Files.move(tempTree, tree);
+			}
+		} catch (final FileAlreadyExistsException e) {
+			// extracted concurrently by another build
+			getLog().debug(format("Tree '%s' has been added to the cache concurrently.", tree));
+		} catch (final IOException e) {
+			// a non-empty target directory might also be reported as generic I/O error
+			if (!Files.isDirectory(tree))
+				throw e;
+		} finally {
+			FileUtils.deleteQuietly(tempTree.toFile());
+		}
+		return tree;
+	}
+
+	private List<Path> getCachedTrees(final List<Artifact> artifacts, final String classifier) throws MojoExecutionException {
+		final List<Path> trees = new ArrayList<>(artifacts.size());
+		if ((threads <= 1) || (artifacts.size() <= 1)) {
+			for (final Artifact artifact : artifacts) {
+				trees.add(getCachedTree(artifact, classifier));
+			}
+			return trees;
+		}
+
+		getLog().debug(format("Extracting %d artifacts using %d threads.", artifacts.size(), threads));
+		final ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, artifacts.size()));
+		try {
+			final List<Future<Path>> futures = new ArrayList<>(artifacts.size());
+			for (final Artifact artifact : artifacts) {
+				futures.add(executor.submit(() -> getCachedTree(artifact, classifier)));
+			}
+			for (final Future<Path> future : futures) {
+				trees.add(future.get());
+			}
+			return trees;
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new MojoExecutionException("Interrupted while unpacking dependencies.", e);
+		} catch (final ExecutionException e) {
+			if (e.getCause() instanceof MojoExecutionException)
+				throw (MojoExecutionException) e.getCause();
+			throw new MojoExecutionException(format("Unable to unpack dependencies. %s", e.getCause().getMessage()), e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private void materialize(final Path tree, final File outputDirectory, final boolean link) throws MojoExecutionException {
+		try {
+			materialize(tree, outputDirectory.toPath(), link);
+		} catch (final IOException e) {
+			getLog().debug(e);
+			throw new MojoExecutionException(format("Unable to unpack '%s' into '%s'. %s", tree, outputDirectory, e.getMessage()));
+		}
+	}
+
+	private void materialize(final Path tree, final Path target, final boolean link) throws IOException {
+		Files.walkFileTree(tree, new SimpleFileVisitor<Path>() {
+
+			@Override
+			public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) throws IOException {
+				Files.createDirectories(target.resolve(tree.relativize(dir).toString()));
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) throws IOException {
+				final Path targetFile = target.resolve(tree.relativize(file).toString());
+				// never write into an existing file because it might be a link into the cache
+				Files.deleteIfExists(targetFile);
+				if (link && hardLinksSupported) {
+					try {
+						Files.createLink(targetFile, file);
+						return FileVisitResult.CONTINUE;
+					} catch (final UnsupportedOperationException | IOException e) {
+						getLog().debug(format("Unable to create hard link '%s'. Falling back to copying files. %s", targetFile, e.getMessage()));
+						hardLinksSupported = false;
+					}
+				}
+				Files.copy(file, targetFile, StandardCopyOption.COPY_ATTRIBUTES);
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+
+	/**
+	 * Resolves the archive file of the specified artifact.
+	 *
+	 * @param artifact
+	 *            the artifact
+	 * @param classifier
+	 *            an optional classifier to resolve (eg. <code>sources</code>)
+	 *            instead of the artifact itself (may be <code>null</code>)
+	 * @return the resolved file
+	 * @throws MojoExecutionException
+	 *             if the artifact could not be resolved
+	 */
+	public File resolve(final Artifact artifact, final String classifier) throws MojoExecutionException {
+		if ((classifier == null) && (artifact.getFile() != null) && artifact.getFile().isFile())
+			return artifact.getFile();
+
+		final Artifact artifactToResolve = repositorySystem.createArtifactWithClassifier(artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion(), "jar", classifier != null ? classifier : artifact.getClassifier());
+		final ArtifactResolutionRequest request = new ArtifactResolutionRequest();
+		request.setArtifact(artifactToResolve);
+		request.setLocalRepository(getMavenSession().getLocalRepository());
+		request.setRemoteRepositories(remoteRepositories);
+		request.setOffline(getMavenSession().isOffline());
+
+		final ArtifactResolutionResult result = repositorySystem.resolve(request);
+		if (!result.isSuccess() || (artifactToResolve.getFile() == null) || !artifactToResolve.getFile().isFile()) {
+			for (final Exception e : result.getExceptions()) {
+				getLog().debug(e);
+			}
+			throw new MojoExecutionException(format("Unable to resolve artifact %s.", artifactToResolve));
+		}
+		return artifactToResolve.getFile();
+	}
+
+	/**
+	 * Sets the number of threads to use for extracting archives concurrently.
+	 *
+	 * @param threads
+	 *            the number of threads (<code>1</code> for extracting
+	 *            archives sequentially)
+	 */
+	public void setThreads(final int threads) {
+		this.threads = threads;
+	}
+
+	/**
+	 * Unpacks the specified artifact into the specified directory.
+	 *
+	 * @param artifact
+	 *            the artifact
+	 * @param classifier
+	 *            an optional classifier to unpack instead of the artifact
+	 *            itself (may be <code>null</code>)
+	 * @param outputDirectory
+	 *            the directory to unpack into
+	 * @param link
+	 *            <code>true</code> if files should be hard linked into the
+	 *            cache (must only be used if the output directory will not be
+	 *            modified afterwards), <code>false</code> if files should
+	 *            always be copied
+	 * @throws MojoExecutionException
+	 */
+	public void unpack(final Artifact artifact, final String classifier, final File outputDirectory, final boolean link) throws MojoExecutionException {
+		unpack(Collections.singletonList(artifact), classifier, outputDirectory, link);
+	}
+
+	/**
+	 * Unpacks all specified artifacts in the given order into the specified
+	 * directory.
+	 * <p>
+	 * If configured, archives are extracted into the cache concurrently (see
+	 * {@link #setThreads(int)}). However, cached trees are always
+	 * materialized sequentially in the given order so that overlapping files
+	 * are resolved deterministically.
+	 * </p>
+	 *
+	 * @param artifacts
+	 *            the artifacts
+	 * @param classifier
+	 *            an optional classifier to unpack instead of the artifacts
+	 *            themselves (may be <code>null</code>)
+	 * @param outputDirectory
+	 *            the directory to unpack into
+	 * @param link
+	 *            see {@link #unpack(Artifact, String, File, boolean)}
+	 * @throws MojoExecutionException
+	 */
+	public void unpack(final Collection<Artifact> artifacts, final String classifier, final File outputDirectory, final boolean link) throws MojoExecutionException {
+		final List<Path> trees = getCachedTrees(new ArrayList<>(artifacts), classifier);
+		for (final Path tree : trees) {
+			materialize(tree, outputDirectory, link);
+		}
+	}
+
+	/**
+	 * Unpacks each of the specified artifacts into its own directory.
+	 * <p>
+	 * If configured, archives are extracted into the cache concurrently (see
+	 * {@link #setThreads(int)}).
+	 * </p>
+	 *
+	 * @param outputDirectories
+	 *            the artifacts and the directories to unpack them into
+	 * @param classifier
+	 *            an optional classifier to unpack instead of the artifacts
+	 *            themselves (may be <code>null</code>)
+	 * @param link
+	 *            see {@link #unpack(Artifact, String, File, boolean)}
+	 * @throws MojoExecutionException
+	 */
+	public void unpack(final Map<Artifact, File> outputDirectories, final String classifier, final boolean link) throws MojoExecutionException {
+		final List<Entry<Artifact, File>> entries = new ArrayList<>(outputDirectories.entrySet());
+		final List<Artifact> artifacts = new ArrayList<>(entries.size());
+		for (final Entry<Artifact, File> entry : entries) {
+			artifacts.add(entry.getKey());
+		}
+		final List<Path> trees = getCachedTrees(artifacts, classifier);
+		for (int i = 0; i < trees.size(); i++) {
+			materialize(trees.get(i), entries.get(i).getValue(), link);
+		}
+	}
+}
@@ -24,6 +24,7 @@ public class KnownLicense {
 
 	private LinkedHashSet<String> knownUrls;
 	private Set<String> alternateNames;
+	private String spdxId;
 
 	/**
 	 * Creates a new instance.
@@ -58,6 +59,15 @@ public class KnownLicense {
 		return name;
 	}
 
+	/**
+	 * Returns the SPDX license identifier.
+	 *
+	 * @return the SPDX identifier (maybe <code>null</code> if unknown)
+	 */
+	public String getSpdxId() {
+		return spdxId;
+	}
+
 	public String getUrl() {
 		return getKnownUrls().size() > 0 ? getKnownUrls().iterator().next() : StringUtils.EMPTY;
 	}
@@ -70,6 +80,10 @@ public class KnownLicense {
 		}
 	}
 
+	public void setSpdxId(final String spdxId) {
+		this.spdxId = spdxId;
+	}
+
 	public License toMavenLicense() {
 		final License l = new License();
 		l.setName(getName());
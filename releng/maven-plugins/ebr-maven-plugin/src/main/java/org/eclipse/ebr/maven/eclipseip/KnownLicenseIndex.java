@@ -0,0 +1,307 @@
+/**
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.ebr.maven.eclipseip;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.text.similarity.JaroWinklerDistance;
+
+/**
+ * An index for looking up known licenses by URL or by a similar name.
+ * <p>
+ * URLs are first looked up in a hash map of normalized URLs. Fuzzy lookups
+ * use an index of character n-grams to select the strings sharing n-grams with
+ * the input. Of these, only the strings sharing enough characters with the
+ * input to reach the similarity threshold (see
+ * {@link #getMaxSimilarity(int, int, int)}) are candidates for the (expensive)
+ * Jaro-Winkler similarity. All candidates are scored and ties are broken by
+ * the order in which the strings were added, which makes the results
+ * independent of hashing. Results are memoized per input string.
+ * </p>
+ */
+final class KnownLicenseIndex {
+
+	/** a string known for a license (name, alternate name or url) */
+	private static final class Term {
+
+		final int order;
+		final String value;
+		final KnownLicense license;
+		final char[] sortedChars;
+
+		Term(final int order, final String value, final KnownLicense license) {
+			this.order = order;
+			this.value = value;
+			this.license = license;
+			sortedChars = sortedChars(value);
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			return (obj instanceof Term) && (((Term) obj).order == order);
+		}
+
+		@Override
+		public int hashCode() {
+			return order;
+		}
+	}
+
+	/** a candidate term with its similarity to the input */
+	private static final class ScoredTerm {
+
+		final Term term;
+		final double score;
+
+		ScoredTerm(final Term term, final double score) {
+			this.term = term;
+			this.score = score;
+		}
+	}
+
+	/** best score first, ties in order of addition */
+	private static final Comparator<ScoredTerm> BY_SCORE = Comparator.<ScoredTerm> comparingDouble(t -> t.score).reversed().thenComparingInt(t -> t.term.order);
+
+	private static final int NGRAM_LENGTH = 3;
+
+	/**
+	 * inputs shorter than this are scored against all terms because they may
+	 * be similar to a term without sharing an n-gram (e.g. "MIT" and "MTI")
+	 */
+	private static final int MIN_INDEXED_LENGTH = 8;
+
+	private static final double URL_SIMILARITY = 0.99;
+	private static final double NAME_SIMILARITY = 0.9;
+
+	/** maximum boost of the Jaro similarity by a common prefix (prefix length 4, scaling factor 0.1) */
+	private static final double MAX_PREFIX_BOOST = 0.4;
+
+	private static void addNgrams(final Map<String, List<Term>> index, final Term term) {
+		for (final String ngram : ngrams(term.value)) {
+			index.computeIfAbsent(ngram, k -> new ArrayList<>()).add(term);
+		}
+	}
+
+	/**
+	 * Returns the number of characters two strings have in common (counting
+	 * repeated characters), which is an upper bound of the number of matching
+	 * characters of the Jaro similarity.
+	 */
+	private static int countCommonChars(final char[] sortedChars, final char[] otherSortedChars) {
+		int count = 0;
+		for (int i = 0, j = 0; (i < sortedChars.length) && (j < otherSortedChars.length);) {
+			if (sortedChars[i] < otherSortedChars[j]) {
+				i++;
+			} else if (sortedChars[i] > otherSortedChars[j]) {
+				j++;
+			} else {
+				count++;
+				i++;
+				j++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Returns an upper bound of the Jaro-Winkler similarity of two strings of
+	 * the specified lengths with the specified number of common characters.
+	 * <p>
+	 * The Jaro similarity is highest without transpositions and the common
+	 * prefix boosts it by at most {@link #MAX_PREFIX_BOOST} of the remainder.
+	 * </p>
+	 */
+	private static double getMaxSimilarity(final int length, final int otherLength, final int commonChars) {
+		if (commonChars == 0)
+			return 0;
+		final double maxJaro = (((double) commonChars / length) + ((double) commonChars / otherLength) + 1) / 3;
+		return maxJaro + (MAX_PREFIX_BOOST * (1 - maxJaro));
+	}
+
+	/**
+	 * Returns the n-grams of the lower case value (padded with a space on
+	 * both sides, so that short values also produce n-grams).
+	 */
+	private static Set<String> ngrams(final String value) {
+		final String padded = " " + value.toLowerCase(Locale.US) + " ";
+		final Set<String> ngrams = new HashSet<>();
+		for (int i = 0; (i + NGRAM_LENGTH) <= padded.length(); i++) {
+			ngrams.add(padded.substring(i, i + NGRAM_LENGTH));
+		}
+		return ngrams;
+	}
+
+	private static char[] sortedChars(final String value) {
+		final char[] chars = value.toCharArray();
+		Arrays.sort(chars);
+		return chars;
+	}
+
+	/**
+	 * Normalizes a URL for exact lookups, i.e. the scheme, a leading
+	 * <code>www.</code>, a trailing <code>.txt</code> or <code>.html</code>
+	 * and trailing slashes are removed and the result is converted to lower
+	 * case.
+	 */
+	static String normalizeUrl(final String url) {
+		String normalized = StringUtils.trimToEmpty(url).toLowerCase(Locale.US);
+		final int schemeEnd = normalized.indexOf("://");
+		if (schemeEnd >= 0) {
+			normalized = normalized.substring(schemeEnd + 3);
+		}
+		normalized = StringUtils.removeStart(normalized, "www.");
+		normalized = StringUtils.stripEnd(normalized, "/");
+		normalized = StringUtils.removeEnd(StringUtils.removeEnd(normalized, ".txt"), ".html");
+		return StringUtils.stripEnd(normalized, "/");
+	}
+
+	private final Map<String, KnownLicense> licensesByNormalizedUrl = new HashMap<>();
+	private final Map<String, List<Term>> urlsByNgram = new HashMap<>();
+	private final Map<String, List<Term>> namesByNgram = new HashMap<>();
+	private final List<Term> urls = new ArrayList<>();
+	private final List<Term> names = new ArrayList<>();
+	private int terms;
+
+	private final Map<String, Optional<KnownLicense>> urlLookups = new ConcurrentHashMap<>();
+	private final Map<String, Set<KnownLicense>> nameLookups = new ConcurrentHashMap<>();
+
+	KnownLicenseIndex() {
+		// empty
+	}
+
+	KnownLicenseIndex(final Collection<KnownLicense> licenses) {
+		for (final KnownLicense license : licenses) {
+			for (final String url : license.getKnownUrls()) {
+				addUrl(url, license);
+			}
+			addName(license.getName(), license);
+			for (final String alternateName : license.getAlternateNames()) {
+				addName(alternateName, license);
+			}
+		}
+	}
+
+	/**
+	 * Adds a name for fuzzy lookups (must not be called after the first
+	 * lookup).
+	 */
+	void addName(final String name, final KnownLicense license) {
+		final Term term = new Term(terms++, name, license);
+		names.add(term);
+		addNgrams(namesByNgram, term);
+	}
+
+	/**
+	 * Adds a URL for exact and fuzzy lookups (must not be called after the
+	 * first lookup).
+	 */
+	void addUrl(final String url, final KnownLicense license) {
+		// first one wins
+		licensesByNormalizedUrl.putIfAbsent(normalizeUrl(url), license);
+		final Term term = new Term(terms++, url, license);
+		urls.add(term);
+		addNgrams(urlsByNgram, term);
+	}
+
+	KnownLicense findByUrl(final String url) {
+		return urlLookups.computeIfAbsent(url, u -> {
+			final KnownLicense license = licensesByNormalizedUrl.get(normalizeUrl(u));
+			if (license != null)
+				return Optional.of(license);
+
+			final List<ScoredTerm> matches = findMatches(urls, urlsByNgram, u, URL_SIMILARITY);
+			return matches.isEmpty() ? Optional.empty() : Optional.of(matches.get(0).term.license);
+		}).orElse(null);
+	}
+
+	/**
+	 * Returns the terms sharing enough characters with the specified value to
+	 * have a similarity of at least the specified threshold.
+	 */
+	private Collection<Term> findCandidates(final List<Term> allTerms, final Map<String, List<Term>> index, final String value, final double threshold) {
+		final Collection<Term> terms;
+		if (value.length() < MIN_INDEXED_LENGTH) {
+			terms = allTerms;
+		} else {
+			terms = new HashSet<>();
+			for (final String ngram : ngrams(value)) {
+				final List<Term> ngramTerms = index.get(ngram);
+				if (ngramTerms != null) {
+					terms.addAll(ngramTerms);
+				}
+			}
+		}
+
+		final char[] sortedChars = sortedChars(value);
+		final List<Term> candidates = new ArrayList<>();
+		for (final Term term : terms) {
+			if (getMaxSimilarity(value.length(), term.value.length(), countCommonChars(sortedChars, term.sortedChars)) >= threshold) {
+				candidates.add(term);
+			}
+		}
+		return candidates;
+	}
+
+	/**
+	 * Returns the terms with a similarity of at least the specified threshold
+	 * to the specified value, best match first.
+	 */
+	private List<ScoredTerm> findMatches(final List<Term> allTerms, final Map<String, List<Term>> index, final String value, final double threshold) {
+		final Collection<Term> candidates = findCandidates(allTerms, index, value, threshold);
+		final JaroWinklerDistance similarity = new JaroWinklerDistance();
+		final List<ScoredTerm> matches = new ArrayList<>();
+		for (final Term candidate : candidates) {
+			final double score = similarity.apply(value, candidate.value);
+			if (score >= threshold) {
+				matches.add(new ScoredTerm(candidate, score));
+			}
+		}
+		matches.sort(BY_SCORE);
+		return matches;
+	}
+
+	/**
+	 * Returns the number of names scored when looking up a similar name.
+	 */
+	int countNameCandidates(final String name) {
+		return findCandidates(names, namesByNgram, name, NAME_SIMILARITY).size();
+	}
+
+	/**
+	 * Returns the number of URLs scored when looking up a URL which is not
+	 * known exactly.
+	 */
+	int countUrlCandidates(final String url) {
+		return findCandidates(urls, urlsByNgram, url, URL_SIMILARITY).size();
+	}
+
+	Set<KnownLicense> findSimilarByName(final String name) {
+		return nameLookups.computeIfAbsent(name, n -> {
+			final Set<KnownLicense> similarLicenses = new LinkedHashSet<>();
+			for (final ScoredTerm match : findMatches(names, namesByNgram, n, NAME_SIMILARITY)) {
+				similarLicenses.add(match.term.license);
+			}
+			return Collections.unmodifiableSet(similarLicenses);
+		});
+	}
+}
@@ -11,17 +11,24 @@
  */
 package org.eclipse.ebr.maven.eclipseip;
 
+import java.io.IOException;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.text.similarity.JaroWinklerDistance;
 import org.apache.maven.model.License;
 
+/**
+ * The licenses known in the Eclipse Foundation IP database.
+ * <p>
+ * Licenses of the SPDX license list are looked up in addition when no Eclipse
+ * license matches. The SPDX license list is loaded on first use.
+ * </p>
+ */
 public class KnownLicenses {
 
 	private static final KnownLicenses instance = new KnownLicenses();
@@ -31,6 +38,8 @@ public class KnownLicenses {
 	}
 
 	private final Map<String, KnownLicense> licensesByName = new HashMap<>();
+	private final KnownLicenseIndex index;
+	private volatile SpdxLicenses spdxLicenses;
 
 	private KnownLicenses() {
 		addLicense("Apache Software License 1.1", "http://www.apache.org/licenses/LICENSE-1.1").setAlternateNames("Apache License, Version 1.0");
@@ -52,6 +61,23 @@ public class KnownLicenses {
 		addLicense("Public Domain", "https://creativecommons.org/publicdomain/zero/1.0/");
 		addLicense("SUN Industry Standards Source License 1.2", "http://gridscheduler.sourceforge.net/Gridengine_SISSL_license.html").setAlternateNames("SISSL-1.2");
 		addLicense("Java Cup License (MIT Style)", "http://www2.cs.tum.edu/projekte/cup/licence.php");
+
+		// SPDX identifiers of the licenses above
+		setSpdxId("Apache Software License 1.1", "Apache-1.1");
+		setSpdxId("Apache License, 2.0", "Apache-2.0");
+		setSpdxId("New BSD license", "BSD-3-Clause");
+		setSpdxId("Common Development and Distribution License", "CDDL-1.0");
+		setSpdxId("Common Public License 1.0", "CPL-1.0");
+		setSpdxId("Eclipse Public License", "EPL-1.0");
+		setSpdxId("MIT license", "MIT");
+		setSpdxId("Mozilla Public License 1.0 (MPL)", "MPL-1.0");
+		setSpdxId("Mozilla Public License 1.1 (MPL)", "MPL-1.1");
+		setSpdxId("Mozilla Public License 2.0 (MPL)", "MPL-2.0");
+		setSpdxId("Public Domain", "CC0-1.0");
+		setSpdxId("SUN Industry Standards Source License 1.2", "SISSL-1.2");
+
+		// must be last
+		index = new KnownLicenseIndex(licensesByName.values());
 	}
 
 	private KnownLicense addLicense(final String name, final String... knownUrls) {
@@ -65,40 +91,88 @@ public class KnownLicenses {
 		return l;
 	}
 
+	/**
+	 * Finds a known license by URL.
+	 * <p>
+	 * URLs are compared ignoring the scheme, a leading <code>www.</code>, a
+	 * trailing <code>.txt</code> or <code>.html</code> and trailing slashes.
+	 * If there is no such match, a known URL which is nearly identical is
+	 * looked up.
+	 * </p>
+	 *
+	 * @param url
+	 *            the URL
+	 * @return the known license (maybe <code>null</code>)
+	 */
 	public KnownLicense findByUrl(final String url) {
-		for (final KnownLicense l : licensesByName.values()) {
-			for (final String knownUrl : l.getKnownUrls()) {
-				if (new JaroWinklerDistance().apply(url, knownUrl) >= 0.99)
-					return l;
-			}
-		}
+		final KnownLicense license = index.findByUrl(url);
+		if (license != null)
+			return license;
 
-		return null;
+		return getSpdxLicenses().findByUrl(url);
 	}
 
+	/**
+	 * Finds known licenses with a name or alternate name similar to the
+	 * specified name.
+	 *
+	 * @param name
+	 *            the name
+	 * @return an unmodifiable set of similar licenses (maybe empty)
+	 */
 	public Set<KnownLicense> findSimilarLicensesByName(final String name) {
-		final Set<KnownLicense> similarLicenses = new HashSet<KnownLicense>();
-		for (final KnownLicense l : licensesByName.values()) {
-			if (isSimilar(name, l.getName())) {
-				similarLicenses.add(l);
-				continue;
-			}
-			for (final String alternateName : l.getAlternateNames()) {
-				if (isSimilar(name, alternateName)) {
-					similarLicenses.add(l);
-					continue;
-				}
-			}
-		}
-		return similarLicenses;
+		final Set<KnownLicense> similarLicenses = index.findSimilarByName(name);
+		if (!similarLicenses.isEmpty())
+			return similarLicenses;
+
+		return getSpdxLicenses().findSimilarByName(name);
 	}
 
 	public SortedSet<String> getAllLicenseNames() {
 		return new TreeSet<String>(licensesByName.keySet());
 	}
 
+	/**
+	 * Returns a known license by name.
+	 * <p>
+	 * If there is no Eclipse license with the specified name, an SPDX license
+	 * with the specified identifier, deprecated identifier or name is
+	 * returned.
+	 * </p>
+	 *
+	 * @param name
+	 *            the name
+	 * @return the known license (maybe <code>null</code>)
+	 */
 	public KnownLicense getByName(final String name) {
-		return licensesByName.get(name);
+		final KnownLicense license = licensesByName.get(name);
+		if ((license != null) || (name == null))
+			return license;
+
+		return getSpdxLicenses().getByName(name);
+	}
+
+	private SpdxLicenses getSpdxLicenses() {
+		SpdxLicenses result = spdxLicenses;
+		if (result == null) {
+			synchronized (this) {
+				result = spdxLicenses;
+				if (result == null) {
+					final Map<String, KnownLicense> licensesBySpdxId = new HashMap<>();
+					for (final KnownLicense l : licensesByName.values()) {
+						if (l.getSpdxId() != null) {
+							licensesBySpdxId.put(l.getSpdxId(), l);
+						}
+					}
+					try {
+						spdxLicenses = result = SpdxLicenses.load(Collections.unmodifiableMap(licensesBySpdxId));
+					} catch (final IOException e) {
+						throw new IllegalStateException("Unable to read the SPDX license list. " + e.getMessage(), e);
+					}
+				}
+			}
+		}
+		return result;
 	}
 
 	/**
@@ -113,9 +187,8 @@ public class KnownLicenses {
 		return StringUtils.containsAny(upperCaseLicenseName, "GPL") && StringUtils.containsAny(upperCaseLicenseName, "CDDL");
 	}
 
-	private boolean isSimilar(final String name, final String alternateName) {
-		final double distance = new JaroWinklerDistance().apply(name, alternateName);
-		return distance >= 0.9;
+	private void setSpdxId(final String name, final String spdxId) {
+		licensesByName.get(name).setSpdxId(spdxId);
 	}
 
 }
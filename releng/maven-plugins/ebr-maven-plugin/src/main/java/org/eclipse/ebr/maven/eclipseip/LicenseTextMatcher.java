@@ -0,0 +1,292 @@
+/**
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.ebr.maven.eclipseip;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.regex.Pattern;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.text.StringEscapeUtils;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+/**
+ * Identifies licenses by their text.
+ * <p>
+ * License texts are normalized (markup, copyright lines, punctuation, case
+ * and whitespace are removed) and split into overlapping word shingles. A
+ * MinHash signature of the shingles estimates the similarity of a text to the
+ * texts of a bundled corpus of known licenses. The corpus is fingerprinted on
+ * first use.
+ * </p>
+ * <p>
+ * Related licenses (e.g. MIT and MIT-0) are similar enough to match each
+ * other's texts. The most similar license wins. Ties of the estimated
+ * similarity are broken by the exact similarity of the shingles and then by
+ * the order of the corpus, so that the result does not depend on the order in
+ * which the licenses are compared.
+ * </p>
+ */
+public class LicenseTextMatcher {
+
+	/** the shingles and the signature of a license text */
+	static final class Fingerprint {
+
+		final long[] shingles;
+		final long[] signature;
+
+		Fingerprint(final long[] shingles, final long[] signature) {
+			this.shingles = shingles;
+			this.signature = signature;
+		}
+	}
+
+	private static final class Holder {
+		static final LicenseTextMatcher instance = new LicenseTextMatcher();
+	}
+
+	/** directory of the corpus resources */
+	private static final String CORPUS = "/license-texts/";
+
+	/** number of words per shingle */
+	private static final int SHINGLE_LENGTH = 3;
+
+	/** number of hash functions of a signature */
+	private static final int SIGNATURE_LENGTH = 128;
+
+	/** minimum estimated similarity for a match */
+	private static final double MIN_SIMILARITY = 0.75;
+
+	private static final HashFunction SHINGLE_HASH = Hashing.murmur3_128();
+	private static final long[] SEEDS = new long[SIGNATURE_LENGTH];
+	static {
+		long seed = 0x45425253L;
+		for (int i = 0; i < SEEDS.length; i++) {
+			SEEDS[i] = seed = mix(seed + 0x9E3779B97F4A7C15L);
+		}
+	}
+
+	private static final Pattern MARKUP = Pattern.compile("<[^>]*>");
+	private static final Pattern COPYRIGHT_LINE = Pattern.compile("(?im)^\\W*(copyright|\\(c\\)|©|all rights reserved).*$");
+	private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+	/**
+	 * Computes the shingles and the signature of a license text.
+	 *
+	 * @return the fingerprint (<code>null</code> if the text has no words)
+	 */
+	static Fingerprint fingerprint(final String text) {
+		final long[] shingles = shingles(text);
+		return shingles != null ? new Fingerprint(shingles, signature(shingles)) : null;
+	}
+
+	public static LicenseTextMatcher getInstance() {
+		return Holder.instance;
+	}
+
+	/**
+	 * Computes the Jaccard similarity of two sorted sets of shingles.
+	 */
+	private static double jaccard(final long[] shingles, final long[] otherShingles) {
+		int common = 0;
+		for (int i = 0, j = 0; (i < shingles.length) && (j < otherShingles.length);) {
+			if (shingles[i] < otherShingles[j]) {
+				i++;
+			} else if (shingles[i] > otherShingles[j]) {
+				j++;
+			} else {
+				common++;
+				i++;
+				j++;
+			}
+		}
+		return (double) common / ((shingles.length + otherShingles.length) - common);
+	}
+
+	/** finalizer of MurmurHash3 (a cheap permutation of 64 bit values) */
+	private static long mix(long value) {
+		value ^= value >>> 33;
+		value *= 0xFF51AFD7ED558CCDL;
+		value ^= value >>> 33;
+		value *= 0xC4CEB9FE1A85EC53L;
+		value ^= value >>> 33;
+		return value;
+	}
+
+	/**
+	 * Normalizes a license text into its words.
+	 */
+	static String[] normalize(final String text) {
+		String normalized = text;
+		if (StringUtils.containsIgnoreCase(normalized, "<html") || StringUtils.containsIgnoreCase(normalized, "<p>")) {
+			normalized = StringEscapeUtils.unescapeHtml4(MARKUP.matcher(normalized).replaceAll(" "));
+		}
+		normalized = COPYRIGHT_LINE.matcher(normalized).replaceAll(" ");
+		normalized = NON_WORD.matcher(normalized.toLowerCase(Locale.US)).replaceAll(" ").trim();
+		return normalized.isEmpty() ? new String[0] : normalized.split(" ");
+	}
+
+	private static Map<String, String> readCorpus() {
+		try {
+			final Map<String, String> texts = new LinkedHashMap<>();
+			for (final String line : StringUtils.split(readResource("licenses.list"), "\r\n")) {
+				if (StringUtils.isNotBlank(line) && !line.startsWith("#")) {
+					texts.put(line.trim(), readResource(line.trim() + ".txt"));
+				}
+			}
+			return texts;
+		} catch (final IOException e) {
+			throw new IllegalStateException("Unable to read the license text corpus. " + e.getMessage(), e);
+		}
+	}
+
+	private static String readResource(final String name) throws IOException {
+		try (InputStream in = LicenseTextMatcher.class.getResourceAsStream(CORPUS + name)) {
+			if (in == null)
+				throw new IOException(format("License text '%s' not found.", name));
+			return IOUtils.toString(in, UTF_8);
+		}
+	}
+
+	/**
+	 * Computes the hashes of the shingles of a license text.
+	 *
+	 * @return the distinct hashes in ascending order (<code>null</code> if the
+	 *         text has no words)
+	 */
+	static long[] shingles(final String text) {
+		final String[] words = normalize(text);
+		if (words.length == 0)
+			return null;
+
+		final int shingles = Math.max(1, (words.length - SHINGLE_LENGTH) + 1);
+		final long[] hashes = new long[shingles];
+		for (int i = 0; i < shingles; i++) {
+			final String shingle = StringUtils.join(words, ' ', i, Math.min(words.length, i + SHINGLE_LENGTH));
+			hashes[i] = SHINGLE_HASH.hashString(shingle, UTF_8).asLong();
+		}
+		return Arrays.stream(hashes).sorted().distinct().toArray();
+	}
+
+	/**
+	 * Computes the MinHash signature of the shingles of a license text.
+	 */
+	private static long[] signature(final long[] shingles) {
+		final long[] signature = new long[SIGNATURE_LENGTH];
+		Arrays.fill(signature, Long.MAX_VALUE);
+		for (final long hash : shingles) {
+			for (int j = 0; j < SIGNATURE_LENGTH; j++) {
+				final long value = mix(hash ^ SEEDS[j]);
+				if (value < signature[j]) {
+					signature[j] = value;
+				}
+			}
+		}
+		return signature;
+	}
+
+	/**
+	 * Estimates the similarity of two license texts by their signatures.
+	 */
+	static double similarity(final Fingerprint fingerprint, final Fingerprint otherFingerprint) {
+		return similarity(fingerprint.signature, otherFingerprint.signature);
+	}
+
+	private static double similarity(final long[] signature, final long[] otherSignature) {
+		int equal = 0;
+		for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+			if (signature[i] == otherSignature[i]) {
+				equal++;
+			}
+		}
+		return (double) equal / SIGNATURE_LENGTH;
+	}
+
+	/** fingerprints of the corpus by SPDX identifier (in corpus order) */
+	private final Map<String, Fingerprint> fingerprints = new LinkedHashMap<>();
+
+	private LicenseTextMatcher() {
+		this(readCorpus());
+	}
+
+	/**
+	 * Creates a matcher for a corpus of license texts.
+	 *
+	 * @param texts
+	 *            the license texts by SPDX identifier (ties are broken in
+	 *            iteration order)
+	 */
+	LicenseTextMatcher(final Map<String, String> texts) {
+		for (final Entry<String, String> text : texts.entrySet()) {
+			final Fingerprint fingerprint = fingerprint(text.getValue());
+			if (fingerprint != null) {
+				fingerprints.put(text.getKey(), fingerprint);
+			}
+		}
+	}
+
+	/**
+	 * Finds the known license of a license text.
+	 * <p>
+	 * The text is compared to the texts of a corpus of known licenses. The
+	 * license with the most similar text is returned if the text is
+	 * sufficiently similar. Ties are broken as described in the class
+	 * documentation.
+	 * </p>
+	 *
+	 * @param text
+	 *            the license text (plain text or HTML)
+	 * @return the known license (maybe <code>null</code> if the text does not
+	 *         match a known license)
+	 */
+	public KnownLicense findByText(final String text) {
+		final String spdxId = identify(text);
+		return spdxId != null ? KnownLicenses.getInstance().getByName(spdxId) : null;
+	}
+
+	/**
+	 * Returns the SPDX identifier of the license with the most similar text.
+	 *
+	 * @param text
+	 *            the license text
+	 * @return the SPDX identifier (maybe <code>null</code> if no text of the
+	 *         corpus is sufficiently similar)
+	 */
+	public String identify(final String text) {
+		final Fingerprint fingerprint = fingerprint(text);
+		if (fingerprint == null)
+			return null;
+
+		Entry<String, Fingerprint> bestMatch = null;
+		double bestSimilarity = MIN_SIMILARITY;
+		for (final Entry<String, Fingerprint> entry : fingerprints.entrySet()) {
+			final double similarity = similarity(fingerprint, entry.getValue());
+			if (similarity < bestSimilarity) {
+				continue;
+			}
+			// the first one wins unless it is less similar
+			if ((bestMatch == null) || (similarity > bestSimilarity) || (jaccard(fingerprint.shingles, entry.getValue().shingles) > jaccard(fingerprint.shingles, bestMatch.getValue().shingles))) {
+				bestMatch = entry;
+				bestSimilarity = similarity;
+			}
+		}
+		return bestMatch != null ? bestMatch.getKey() : null;
+	}
+}
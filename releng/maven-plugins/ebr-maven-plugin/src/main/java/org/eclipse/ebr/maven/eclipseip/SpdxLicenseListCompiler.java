@@ -0,0 +1,143 @@
+/**
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.ebr.maven.eclipseip;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Compiles the SPDX license list into the binary index read by
+ * {@link SpdxLicenses}.
+ * <p>
+ * The license list is a UTF-8 text file with one license per line. Columns
+ * are separated by tabs: the SPDX identifier, the name, the cross reference
+ * URLs (separated by spaces) and, optionally, deprecated identifiers of the
+ * license (separated by spaces). Empty lines and lines starting with
+ * <code>#</code> are ignored.
+ * </p>
+ * <p>
+ * The index is a GZIP compressed stream of a string table followed by the
+ * licenses referencing the string table. It's invoked during the build of the
+ * plug-in (see <code>pom.xml</code>).
+ * </p>
+ */
+public final class SpdxLicenseListCompiler {
+
+	private static final class SpdxLicense {
+
+		final String id;
+		final String name;
+		final String[] urls;
+		final String[] deprecatedIds;
+
+		SpdxLicense(final String id, final String name, final String[] urls, final String[] deprecatedIds) {
+			this.id = id;
+			this.name = name;
+			this.urls = urls;
+			this.deprecatedIds = deprecatedIds;
+		}
+	}
+
+	public static void main(final String[] args) throws IOException {
+		if (args.length != 2)
+			throw new IllegalArgumentException("Usage: SpdxLicenseListCompiler <license list> <index file>");
+
+		final File licenseList = new File(args[0]);
+		final File indexFile = new File(args[1]);
+		final List<SpdxLicense> licenses = readLicenseList(licenseList);
+		writeIndex(licenses, indexFile);
+		System.out.println(format("Compiled %d SPDX licenses from '%s' into '%s'.", licenses.size(), licenseList, indexFile));
+	}
+
+	private static List<SpdxLicense> readLicenseList(final File licenseList) throws IOException {
+		final List<SpdxLicense> licenses = new ArrayList<>();
+		final Set<String> ids = new HashSet<>();
+		int lineNumber = 0;
+		for (final String line : Files.readAllLines(licenseList.toPath(), UTF_8)) {
+			lineNumber++;
+			if (StringUtils.isBlank(line) || line.startsWith("#")) {
+				continue;
+			}
+
+			final String[] columns = line.split("\t");
+			if ((columns.length < 3) || (columns.length > 4) || StringUtils.isAnyBlank(columns[0], columns[1]))
+				throw new IOException(format("Invalid license in line %d of '%s': %s", lineNumber, licenseList, line));
+			final String[] urls = StringUtils.split(columns[2], ' ');
+			final String[] deprecatedIds = columns.length > 3 ? StringUtils.split(columns[3], ' ') : new String[0];
+			for (final String id : StringUtils.split(columns[0] + ' ' + StringUtils.join(deprecatedIds, ' '), ' ')) {
+				if (!ids.add(id.toLowerCase(Locale.US)))
+					throw new IOException(format("Duplicate SPDX identifier '%s' in line %d of '%s'.", id, lineNumber, licenseList));
+			}
+			licenses.add(new SpdxLicense(columns[0].trim(), columns[1].trim(), urls, deprecatedIds));
+		}
+		return licenses;
+	}
+
+	private static int toIndex(final Map<String, Integer> strings, final String value) {
+		return strings.computeIfAbsent(value, s -> strings.size());
+	}
+
+	private static void writeIndex(final List<SpdxLicense> licenses, final File indexFile) throws IOException {
+		// string table (in order of first use)
+		final Map<String, Integer> strings = new LinkedHashMap<>();
+		for (final SpdxLicense license : licenses) {
+			toIndex(strings, license.id);
+			toIndex(strings, license.name);
+			for (final String url : license.urls) {
+				toIndex(strings, url);
+			}
+			for (final String deprecatedId : license.deprecatedIds) {
+				toIndex(strings, deprecatedId);
+			}
+		}
+
+		Files.createDirectories(indexFile.getAbsoluteFile().getParentFile().toPath());
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(indexFile.toPath()))))) {
+			out.writeInt(SpdxLicenses.INDEX_MAGIC);
+			out.writeByte(SpdxLicenses.INDEX_FORMAT_VERSION);
+			out.writeInt(strings.size());
+			for (final String value : strings.keySet()) {
+				out.writeUTF(value);
+			}
+			out.writeInt(licenses.size());
+			for (final SpdxLicense license : licenses) {
+				out.writeInt(strings.get(license.id));
+				out.writeInt(strings.get(license.name));
+				out.writeShort(license.urls.length);
+				for (final String url : license.urls) {
+					out.writeInt(strings.get(url));
+				}
+				out.writeShort(license.deprecatedIds.length);
+				for (final String deprecatedId : license.deprecatedIds) {
+					out.writeInt(strings.get(deprecatedId));
+				}
+			}
+		}
+	}
+
+	private SpdxLicenseListCompiler() {
+		// empty
+	}
+}
@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.ebr.maven.eclipseip;
+
+import static java.lang.String.format;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * The licenses of the SPDX license list.
+ * <p>
+ * The list is read from a binary index, which is compiled at build time from
+ * the SPDX license list by {@link SpdxLicenseListCompiler}. SPDX licenses
+ * which are also known in the Eclipse Foundation IP database are mapped to the
+ * Eclipse license (based on the SPDX identifier). Identifiers, deprecated
+ * identifiers and names are looked up case-insensitive.
+ * </p>
+ */
+final class SpdxLicenses {
+
+	/** name of the index resource (relative to this class) */
+	static final String INDEX_RESOURCE = "spdx-licenses.idx";
+
+	/** magic number of the index ("EBRS") */
+	static final int INDEX_MAGIC = 0x45425253;
+
+	/** version of the index format (must be incremented when changing the format) */
+	static final int INDEX_FORMAT_VERSION = 1;
+
+	/**
+	 * Loads the SPDX licenses from the index resource.
+	 *
+	 * @param licensesBySpdxId
+	 *            known licenses to use for SPDX identifiers
+	 * @return the SPDX licenses
+	 * @throws IOException
+	 *             if the index is missing or cannot be read
+	 */
+	static SpdxLicenses load(final Map<String, KnownLicense> licensesBySpdxId) throws IOException {
+		final InputStream resource = SpdxLicenses.class.getResourceAsStream(INDEX_RESOURCE);
+		// the index is compiled during process-classes, which is not run by every IDE
+		if (resource == null)
+			throw new IOException(format("SPDX license index '%s' not found. Please run the Maven build (process-classes) of the plug-in.", INDEX_RESOURCE));
+
+		return read(resource, licensesBySpdxId);
+	}
+
+	/**
+	 * Reads the SPDX licenses from an index.
+	 *
+	 * @param index
+	 *            the index (will be closed)
+	 * @param licensesBySpdxId
+	 *            known licenses to use for SPDX identifiers
+	 * @return the SPDX licenses
+	 * @throws IOException
+	 *             if the index cannot be read
+	 */
+	static SpdxLicenses read(final InputStream index, final Map<String, KnownLicense> licensesBySpdxId) throws IOException {
+		final SpdxLicenses spdxLicenses = new SpdxLicenses();
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(index)))) {
+			if (in.readInt() != INDEX_MAGIC)
+				throw new IOException(format("Invalid SPDX license index '%s'.", INDEX_RESOURCE));
+			final int version = in.readUnsignedByte();
+			if (version != INDEX_FORMAT_VERSION)
+				throw new IOException(format("Unsupported version %d of SPDX license index '%s'.", version, INDEX_RESOURCE));
+
+			final String[] strings = new String[in.readInt()];
+			for (int i = 0; i < strings.length; i++) {
+				strings[i] = in.readUTF();
+			}
+
+			final int licenseCount = in.readInt();
+			for (int i = 0; i < licenseCount; i++) {
+				final String id = strings[in.readInt()];
+				final String name = strings[in.readInt()];
+				final String[] urls = new String[in.readUnsignedShort()];
+				for (int j = 0; j < urls.length; j++) {
+					urls[j] = strings[in.readInt()];
+				}
+				final String[] deprecatedIds = new String[in.readUnsignedShort()];
+				for (int j = 0; j < deprecatedIds.length; j++) {
+					deprecatedIds[j] = strings[in.readInt()];
+				}
+				spdxLicenses.addLicense(licensesBySpdxId.get(id), id, name, urls, deprecatedIds);
+			}
+		}
+		return spdxLicenses;
+	}
+
+	private static String toKey(final String name) {
+		return name.trim().toLowerCase(Locale.US);
+	}
+
+	private final Map<String, KnownLicense> licensesByKey = new HashMap<>();
+	private final KnownLicenseIndex index = new KnownLicenseIndex();
+
+	private SpdxLicenses() {
+		// use load
+	}
+
+	private void addLicense(final KnownLicense knownLicense, final String id, final String name, final String[] urls, final String[] deprecatedIds) {
+		KnownLicense license = knownLicense;
+		if (license == null) {
+			license = new KnownLicense(name);
+			license.setSpdxId(id);
+			license.setAlternateNames(id);
+			license.setAlternateNames(deprecatedIds);
+			for (final String url : urls) {
+				license.getKnownUrls().add(url);
+			}
+		}
+
+		// first one wins
+		licensesByKey.putIfAbsent(toKey(id), license);
+		licensesByKey.putIfAbsent(toKey(name), license);
+		for (final String deprecatedId : deprecatedIds) {
+			licensesByKey.putIfAbsent(toKey(deprecatedId), license);
+		}
+
+		// identifiers are too short for similarity matching
+		index.addName(name, license);
+		for (final String url : urls) {
+			index.addUrl(url, license);
+		}
+	}
+
+	KnownLicense findByUrl(final String url) {
+		return index.findByUrl(url);
+	}
+
+	Set<KnownLicense> findSimilarByName(final String name) {
+		return index.findSimilarByName(name);
+	}
+
+	/**
+	 * Returns the license with the specified SPDX identifier, deprecated
+	 * identifier or name.
+	 */
+	KnownLicense getByName(final String name) {
+		return licensesByKey.get(toKey(name));
+	}
+}
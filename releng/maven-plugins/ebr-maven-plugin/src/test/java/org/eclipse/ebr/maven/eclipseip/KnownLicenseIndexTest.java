@@ -0,0 +1,201 @@
+/**
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.ebr.maven.eclipseip;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.text.similarity.JaroWinklerDistance;
+import org.junit.Test;
+
+public class KnownLicenseIndexTest {
+
+	private static final JaroWinklerDistance SIMILARITY = new JaroWinklerDistance();
+
+	/** every n-th license is used for lookups to keep the linear scans fast */
+	private static final int SAMPLE_STRIDE = 5;
+
+	private static List<KnownLicense> getKnownLicenses() throws Exception {
+		final List<KnownLicense> licenses = new ArrayList<>();
+		final KnownLicenses knownLicenses = KnownLicenses.getInstance();
+		for (final String name : knownLicenses.getAllLicenseNames()) {
+			licenses.add(knownLicenses.getByName(name));
+		}
+
+		// the SPDX license list as shipped (identifiers are alternate names)
+		for (final String line : Files.readAllLines(new File("src/main/spdx/spdx-licenses.tsv").toPath(), UTF_8)) {
+			if (line.isEmpty() || line.startsWith("#")) {
+				continue;
+			}
+			final String[] columns = line.split("\t");
+			final KnownLicense license = new KnownLicense(columns[1]);
+			license.setSpdxId(columns[0]);
+			license.setAlternateNames(columns[0]);
+			license.getKnownUrls().addAll(Arrays.asList(StringUtils.split(columns[2], ' ')));
+			licenses.add(license);
+		}
+		return licenses;
+	}
+
+	private static KnownLicense findExactMatch(final List<KnownLicense> licenses, final String url) {
+		final String normalizedUrl = KnownLicenseIndex.normalizeUrl(url);
+		for (final KnownLicense license : licenses) {
+			for (final String knownUrl : license.getKnownUrls()) {
+				if (KnownLicenseIndex.normalizeUrl(knownUrl).equals(normalizedUrl))
+					return license;
+			}
+		}
+		return null;
+	}
+
+	/** the linear scan used before the index */
+	private static Set<KnownLicense> scanSimilarByName(final List<KnownLicense> licenses, final String name) {
+		final Set<KnownLicense> similarLicenses = new HashSet<>();
+		for (final KnownLicense license : licenses) {
+			if (SIMILARITY.apply(name, license.getName()) >= 0.9) {
+				similarLicenses.add(license);
+			}
+			for (final String alternateName : license.getAlternateNames()) {
+				if (SIMILARITY.apply(name, alternateName) >= 0.9) {
+					similarLicenses.add(license);
+				}
+			}
+		}
+		return similarLicenses;
+	}
+
+	/** the best similarity of a known URL of the license to the specified URL */
+	private static double scoreUrl(final KnownLicense license, final String url) {
+		double score = 0;
+		for (final String knownUrl : license.getKnownUrls()) {
+			score = Math.max(score, SIMILARITY.apply(url, knownUrl));
+		}
+		return score;
+	}
+
+	/** the linear scan used before the index, scoring all licenses */
+	private static double scanBestUrlScore(final List<KnownLicense> licenses, final String url) {
+		double score = 0;
+		for (final KnownLicense license : licenses) {
+			score = Math.max(score, scoreUrl(license, url));
+		}
+		return score;
+	}
+
+	private static Set<String> variants(final String value) {
+		final Set<String> variants = new LinkedHashSet<>();
+		variants.add(value);
+		variants.add(value.toLowerCase());
+		variants.add(value + "x");
+		if (value.length() > 1) {
+			variants.add(value.substring(0, value.length() - 1));
+			// swap the first two characters
+			variants.add(value.charAt(1) + "" + value.charAt(0) + value.substring(2));
+		}
+		if (value.startsWith("http://")) {
+			variants.add("https://" + value.substring(7));
+		}
+		return variants;
+	}
+
+	@Test
+	public void testFindByUrlMatchesLinearScan() throws Exception {
+		final List<KnownLicense> licenses = getKnownLicenses();
+		final KnownLicenseIndex index = new KnownLicenseIndex(licenses);
+
+		final Set<String> urls = new LinkedHashSet<>();
+		for (int i = 0; i < licenses.size(); i += SAMPLE_STRIDE) {
+			for (final String url : licenses.get(i).getKnownUrls()) {
+				urls.addAll(variants(url));
+			}
+		}
+		urls.add("https://example.org/licenses/unknown");
+
+		for (final String url : urls) {
+			// only a few URLs are scored
+			final int candidates = index.countUrlCandidates(url);
+			assertTrue("Too many candidates for " + url + ": " + candidates, candidates <= (licenses.size() / 50));
+
+			final KnownLicense license = index.findByUrl(url);
+			final KnownLicense exactMatch = findExactMatch(licenses, url);
+			final double bestScore = scanBestUrlScore(licenses, url);
+			if (exactMatch != null) {
+				assertSame("Not the exact match for " + url, exactMatch, license);
+			} else if (bestScore >= 0.99) {
+				assertNotNull("No license found for " + url, license);
+				assertEquals("Not the best license for " + url, bestScore, scoreUrl(license, url), 0);
+			} else {
+				assertNull("License found for " + url, license);
+			}
+		}
+	}
+
+	@Test
+	public void testFindByUrlPrefersBestMatch() throws Exception {
+		final KnownLicense a = new KnownLicense("A");
+		a.getKnownUrls().add("https://example.org/licenses/a/rather/long/path/to/the/example/license-1.0.1");
+		final KnownLicense b = new KnownLicense("B");
+		b.getKnownUrls().add("https://example.org/licenses/a/rather/long/path/to/the/example/license-1.0");
+		final KnownLicense c = new KnownLicense("C");
+		c.getKnownUrls().add("https://example.org/licenses/a/rather/long/path/to/the/example/license-1.0");
+
+		// the first license above the threshold is not the best one, ties are broken by order
+		final KnownLicenseIndex index = new KnownLicenseIndex(Arrays.asList(a, b, c));
+		assertTrue(SIMILARITY.apply("https://example.org/licenses/a/rather/long/path/to/the/example/license-1.0x", a.getKnownUrls().iterator().next()) >= 0.99);
+		assertSame(b, index.findByUrl("https://example.org/licenses/a/rather/long/path/to/the/example/license-1.0x"));
+		assertNull(index.findByUrl("https://example.org/other"));
+	}
+
+	@Test
+	public void testFindSimilarByNameMatchesLinearScan() throws Exception {
+		final List<KnownLicense> licenses = getKnownLicenses();
+		final KnownLicenseIndex index = new KnownLicenseIndex(licenses);
+
+		final Set<String> names = new LinkedHashSet<>(Arrays.asList("MTI", "BSD", "GPL", "Unknown License"));
+		for (int i = 0; i < licenses.size(); i += SAMPLE_STRIDE) {
+			names.addAll(variants(licenses.get(i).getName()));
+			for (final String alternateName : licenses.get(i).getAlternateNames()) {
+				names.addAll(variants(alternateName));
+			}
+		}
+
+		for (final String name : names) {
+			assertEquals("Different licenses found for " + name, scanSimilarByName(licenses, name), new HashSet<>(index.findSimilarByName(name)));
+
+			// only a few names are scored
+			final int candidates = index.countNameCandidates(name);
+			assertTrue("Too many candidates for " + name + ": " + candidates, candidates <= (licenses.size() / 10));
+		}
+	}
+
+	@Test
+	public void testFindSimilarByNameOrder() throws Exception {
+		final KnownLicense a = new KnownLicense("Example License 2.0");
+		final KnownLicense b = new KnownLicense("Example License 1.0");
+		final KnownLicenseIndex index = new KnownLicenseIndex(Arrays.asList(a, b));
+
+		// best match first, ties in order of addition
+		assertEquals(Arrays.asList(b, a), new ArrayList<>(index.findSimilarByName("Example License 1.0")));
+		assertEquals(Arrays.asList(a, b), new ArrayList<>(index.findSimilarByName("Example License")));
+	}
+}
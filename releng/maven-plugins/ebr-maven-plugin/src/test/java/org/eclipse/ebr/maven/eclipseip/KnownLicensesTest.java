@@ -0,0 +1,50 @@
+/**
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.ebr.maven.eclipseip;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+public class KnownLicensesTest {
+
+	private final KnownLicenses knownLicenses = KnownLicenses.getInstance();
+
+	@Test
+	public void testFindByUrl() throws Exception {
+		final KnownLicense apache = knownLicenses.getByName("Apache License, 2.0");
+		assertSame(apache, knownLicenses.findByUrl("https://www.apache.org/licenses/LICENSE-2.0.txt"));
+
+		// not an Eclipse license
+		assertEquals("0BSD", knownLicenses.findByUrl("https://opensource.org/licenses/0BSD").getSpdxId());
+		assertEquals("Zlib", knownLicenses.findByUrl("http://www.zlib.net/zlib_license.html").getSpdxId());
+
+		assertNull(knownLicenses.findByUrl("https://example.org/licenses/unknown"));
+	}
+
+	@Test
+	public void testGetByName() throws Exception {
+		final KnownLicense apache = knownLicenses.getByName("Apache License, 2.0");
+		assertEquals("Apache-2.0", apache.getSpdxId());
+
+		// SPDX licenses known in the Eclipse IP database map to the Eclipse license
+		assertSame(apache, knownLicenses.getByName("Apache-2.0"));
+		assertSame(apache, knownLicenses.getByName("Apache License 2.0"));
+
+		// not an Eclipse license (by identifier, deprecated identifier and name)
+		assertEquals("ISC", knownLicenses.getByName("ISC").getSpdxId());
+		assertEquals("LGPL-2.1-or-later", knownLicenses.getByName("LGPL-2.1+").getSpdxId());
+		assertEquals("BSD-2-Clause", knownLicenses.getByName("BSD 2-Clause \"Simplified\" License").getSpdxId());
+
+		assertNull(knownLicenses.getByName("Unknown License"));
+		assertNull(knownLicenses.getByName(null));
+	}
+}
@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.ebr.maven.eclipseip;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+
+public class LicenseTextMatcherTest {
+
+	/** pairs of related licenses matching each other's texts */
+	private static final String[][] RELATED_LICENSES = { { "MIT", "MIT-0" }, { "ISC", "0BSD" }, { "BSD-2-Clause", "BSD-3-Clause" } };
+
+	private static final String CORPUS_ORDER = "0BSD Apache-2.0 BSD-2-Clause BSD-3-Clause EPL-1.0 ISC MIT MIT-0 Unlicense Zlib";
+
+	private static Map<String, String> getCorpus(final List<String> spdxIds) throws Exception {
+		final Map<String, String> texts = new LinkedHashMap<>();
+		for (final String spdxId : spdxIds) {
+			texts.put(spdxId, getText(spdxId));
+		}
+		return texts;
+	}
+
+	private static String getText(final String spdxId) throws Exception {
+		try (InputStream in = LicenseTextMatcherTest.class.getResourceAsStream("/license-texts/" + spdxId + ".txt")) {
+			return IOUtils.toString(in, UTF_8);
+		}
+	}
+
+	/**
+	 * Returns the text without the specified passage (which must exist, line
+	 * breaks in the text are matched by spaces in the passage).
+	 */
+	private static String remove(final String text, final String passage) {
+		final Pattern pattern = Pattern.compile(Pattern.quote(passage).replace(" ", "\\E\\s+\\Q"));
+		assertTrue("Passage not found: " + passage, pattern.matcher(text).find());
+		return pattern.matcher(text).replaceFirst("");
+	}
+
+	@Test
+	public void testIdentifyModifiedText() throws Exception {
+		final LicenseTextMatcher matcher = LicenseTextMatcher.getInstance();
+
+		// dropping the condition of a license yields the related license without it
+		assertEquals("MIT-0", matcher.identify(remove(getText("MIT"), ", subject to the following conditions: The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.")));
+		assertEquals("0BSD", matcher.identify(remove(getText("ISC"), ", provided that the above copyright notice and this permission notice appear in all copies.")));
+		assertEquals("BSD-2-Clause", matcher.identify(remove(getText("BSD-3-Clause"), "3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.")));
+
+		// filled in copyright lines and a missing title do not matter
+		assertEquals("MIT", matcher.identify(getText("MIT").replace("<year> <copyright holders>", "2026 Example Inc.")));
+		assertEquals("MIT-0", matcher.identify(remove(getText("MIT-0"), "MIT No Attribution")));
+		assertEquals("ISC", matcher.identify(remove(getText("ISC"), "ISC License")));
+		assertEquals("0BSD", matcher.identify(remove(getText("0BSD"), "BSD Zero Clause License")));
+
+		assertNull(matcher.identify("Permission is hereby granted to do nothing."));
+		assertNull(matcher.identify(" \n "));
+	}
+
+	@Test
+	public void testIdentifyRelatedLicenses() throws Exception {
+		final LicenseTextMatcher matcher = LicenseTextMatcher.getInstance();
+		for (final String[] pair : RELATED_LICENSES) {
+			final String text = getText(pair[0]);
+			final String otherText = getText(pair[1]);
+
+			// the texts are similar enough to match each other
+			final double similarity = LicenseTextMatcher.similarity(LicenseTextMatcher.fingerprint(text), LicenseTextMatcher.fingerprint(otherText));
+			assertTrue("Similarity of " + pair[0] + " and " + pair[1] + " below threshold: " + similarity, similarity >= 0.75);
+
+			// but each one is identified as itself
+			assertEquals(pair[0], matcher.identify(text));
+			assertEquals(pair[1], matcher.identify(otherText));
+		}
+	}
+
+	@Test
+	public void testIdentifyTies() throws Exception {
+		final String mit = getText("MIT");
+
+		// identical texts in the corpus, the first one wins
+		final Map<String, String> texts = new LinkedHashMap<>();
+		texts.put("A", mit);
+		texts.put("B", mit);
+		assertEquals("A", new LicenseTextMatcher(texts).identify(mit));
+
+		texts.clear();
+		texts.put("B", mit);
+		texts.put("A", mit);
+		assertEquals("B", new LicenseTextMatcher(texts).identify(mit));
+	}
+
+	@Test
+	public void testIdentifyIndependentOfComparisonOrder() throws Exception {
+		final List<String> spdxIds = new ArrayList<>(Arrays.asList(StringUtils.split(CORPUS_ORDER)));
+		final LicenseTextMatcher matcher = new LicenseTextMatcher(getCorpus(spdxIds));
+		Collections.reverse(spdxIds);
+		final LicenseTextMatcher reversedMatcher = new LicenseTextMatcher(getCorpus(spdxIds));
+
+		for (final String[] pair : RELATED_LICENSES) {
+			for (final String spdxId : pair) {
+				final String text = getText(spdxId);
+				assertEquals(spdxId, matcher.identify(text));
+				assertEquals(spdxId, reversedMatcher.identify(text));
+
+				// half of each related text
+				final String mixed = StringUtils.left(text, text.length() / 2) + StringUtils.substring(getText(pair[pair[0].equals(spdxId) ? 1 : 0]), text.length() / 2);
+				assertEquals("Different license for a mix of " + pair[0] + " and " + pair[1], matcher.identify(mixed), reversedMatcher.identify(mixed));
+			}
+		}
+	}
+}
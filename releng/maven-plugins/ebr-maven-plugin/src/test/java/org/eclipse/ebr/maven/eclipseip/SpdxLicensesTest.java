@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.ebr.maven.eclipseip;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SpdxLicensesTest {
+
+	@Rule
+	public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private File compile(final String... lines) throws IOException {
+		final File licenseList = temporaryFolder.newFile("spdx-licenses.tsv");
+		Files.write(licenseList.toPath(), Arrays.asList(lines), UTF_8);
+		final File indexFile = new File(temporaryFolder.getRoot(), "index/spdx-licenses.idx");
+		SpdxLicenseListCompiler.main(new String[] { licenseList.getPath(), indexFile.getPath() });
+		return indexFile;
+	}
+
+	private SpdxLicenses read(final File indexFile, final KnownLicense knownLicense) throws IOException {
+		try (InputStream in = Files.newInputStream(indexFile.toPath())) {
+			return SpdxLicenses.read(in, Collections.singletonMap(knownLicense.getSpdxId(), knownLicense));
+		}
+	}
+
+	@Test
+	public void testCompileAndRead() throws Exception {
+		// @formatter:off
+		final File indexFile = compile(
+				"# comment",
+				"",
+				"Foo-1.0\tFoo License 1.0\thttps://example.org/licenses/foo-1.0 https://example.org/foo.txt\tFoo Foo+",
+				"Known-1.0\tKnown License 1.0\thttps://example.org/licenses/known-1.0");
+		// @formatter:on
+		final KnownLicense knownLicense = new KnownLicense("Eclipse Known License");
+		knownLicense.setSpdxId("Known-1.0");
+		final SpdxLicenses spdxLicenses = read(indexFile, knownLicense);
+
+		final KnownLicense foo = spdxLicenses.getByName("Foo-1.0");
+		assertEquals("Foo License 1.0", foo.getName());
+		assertEquals("Foo-1.0", foo.getSpdxId());
+		assertEquals(Arrays.asList("https://example.org/licenses/foo-1.0", "https://example.org/foo.txt"), Arrays.asList(foo.getKnownUrls().toArray()));
+		assertTrue(foo.getAlternateNames().containsAll(Arrays.asList("Foo-1.0", "Foo", "Foo+")));
+
+		// identifiers, deprecated identifiers and names are case-insensitive
+		assertSame(foo, spdxLicenses.getByName("foo-1.0"));
+		assertSame(foo, spdxLicenses.getByName("FOO+"));
+		assertSame(foo, spdxLicenses.getByName(" foo license 1.0 "));
+		assertSame(foo, spdxLicenses.findByUrl("http://example.org/licenses/foo-1.0/"));
+		assertNull(spdxLicenses.getByName("Bar-1.0"));
+
+		// licenses known in the Eclipse IP database are used as is
+		assertSame(knownLicense, spdxLicenses.getByName("Known-1.0"));
+		assertSame(knownLicense, spdxLicenses.getByName("Known License 1.0"));
+		assertSame(knownLicense, spdxLicenses.findByUrl("https://example.org/licenses/known-1.0"));
+	}
+
+	@Test
+	public void testDuplicateIdentifier() throws Exception {
+		try {
+			compile("Foo-1.0\tFoo License 1.0\thttps://example.org/foo\tfoo-1.1", "Foo-1.1\tFoo License 1.1\thttps://example.org/foo-1.1");
+			fail("Duplicate identifier not detected!");
+		} catch (final IOException e) {
+			assertTrue(e.getMessage(), e.getMessage().contains("Duplicate SPDX identifier 'Foo-1.1'"));
+		}
+	}
+
+	@Test
+	public void testInvalidIndex() throws Exception {
+		final File indexFile = temporaryFolder.newFile("invalid.idx");
+		try (GZIPOutputStream out = new GZIPOutputStream(Files.newOutputStream(indexFile.toPath()))) {
+			out.write("not an index".getBytes(UTF_8));
+		}
+		final KnownLicense knownLicense = new KnownLicense("Eclipse Known License");
+		knownLicense.setSpdxId("Known-1.0");
+		try {
+			read(indexFile, knownLicense);
+			fail("Invalid index not detected!");
+		} catch (final IOException e) {
+			assertTrue(e.getMessage(), e.getMessage().contains("Invalid SPDX license index"));
+		}
+	}
+
+	@Test
+	public void testLoad() throws Exception {
+		// the index compiled during the build contains the complete SPDX license list
+		final SpdxLicenses spdxLicenses = SpdxLicenses.load(Collections.<String, KnownLicense> emptyMap());
+		assertEquals("0BSD", spdxLicenses.getByName("0BSD").getSpdxId());
+		assertEquals("Zlib", spdxLicenses.getByName("zlib License").getSpdxId());
+		assertEquals("GPL-2.0-or-later", spdxLicenses.getByName("GPL-2.0+").getSpdxId());
+		assertEquals("GPL-2.0-with-classpath-exception", spdxLicenses.getByName("GPL-2.0-with-classpath-exception").getSpdxId());
+	}
+}
@@ -0,0 +1,337 @@
+/**
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.ebr.maven.shared;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipFile;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * A utility for recording build metrics of a project.
+ * <p>
+ * Metrics are recorded per build stage (wall time, CPU time of the executing
+ * thread, bytes read and written as well as zip entry counts) and kept in the
+ * project context for the duration of the build. This allows different mojos
+ * (even from different plug-ins) to contribute to the same report. The report
+ * is written to <code>target/ebr-metrics.json</code> and can be aggregated for
+ * all projects at the end of the session (see
+ * {@link #writeSummary(MavenSession, File)}).
+ * </p>
+ */
+public class BuildMetricsUtil extends BaseUtility {
+
+	/**
+	 * A running measurement of a build stage.
+	 */
+	public final class Measurement implements AutoCloseable {
+
+		private final String stage;
+		private final long wallTimeStart;
+		private final long cpuTimeStart;
+
+		Measurement(final String stage) {
+			this.stage = stage;
+			wallTimeStart = System.nanoTime();
+			cpuTimeStart = getCurrentThreadCpuTime();
+		}
+
+		/**
+		 * Records bytes read by the stage.
+		 *
+		 * @param bytes
+		 *            the number of bytes
+		 * @return the measurement
+		 */
+		public Measurement bytesRead(final long bytes) {
+			add(stage, METRIC_BYTES_READ, bytes);
+			return this;
+		}
+
+		/**
+		 * Records bytes written by the stage.
+		 *
+		 * @param bytes
+		 *            the number of bytes
+		 * @return the measurement
+		 */
+		public Measurement bytesWritten(final long bytes) {
+			add(stage, METRIC_BYTES_WRITTEN, bytes);
+			return this;
+		}
+
+		@Override
+		public void close() {
+			add(stage, METRIC_WALL_TIME, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - wallTimeStart));
+			add(stage, METRIC_CPU_TIME, TimeUnit.NANOSECONDS.toMillis(getCurrentThreadCpuTime() - cpuTimeStart));
+		}
+
+		/**
+		 * Records zip entries processed by the stage.
+		 *
+		 * @param entries
+		 *            the number of entries
+		 * @return the measurement
+		 */
+		public Measurement entries(final long entries) {
+			add(stage, METRIC_ENTRIES, entries);
+			return this;
+		}
+	}
+
+	public static final String METRIC_WALL_TIME = "wallTimeMillis";
+	public static final String METRIC_CPU_TIME = "cpuTimeMillis";
+	public static final String METRIC_BYTES_READ = "bytesRead";
+	public static final String METRIC_BYTES_WRITTEN = "bytesWritten";
+	public static final String METRIC_ENTRIES = "entries";
+
+	/** project context key of the recorded metrics (must only contain JDK types as it's shared across plug-ins) */
+	private static final String CTX_METRICS = "org.eclipse.ebr.maven/metrics";
+
+	private static void add(final Map<String, Long> metrics, final Map<String, Long> values) {
+		for (final Entry<String, Long> value : values.entrySet()) {
+			metrics.merge(value.getKey(), value.getValue(), Long::sum);
+		}
+	}
+
+	private static void appendJson(final StringBuilder json, final Object value, final String indent) {
+		if (value instanceof Map) {
+			final Map<?, ?> map = (Map<?, ?>) value;
+			if (map.isEmpty()) {
+				json.append("{}");
+				return;
+			}
+			json.append("{\n");
+			boolean first = true;
+			for (final Entry<?, ?> entry : map.entrySet()) {
+				if (!first) {
+					json.append(",\n");
+				}
+				first = false;
+				json.append(indent).append("  ");
+				appendJson(json, String.valueOf(entry.getKey()), indent);
+				json.append(": ");
+				appendJson(json, entry.getValue(), indent + "  ");
+			}
+			json.append('\n').append(indent).append('}');
+		} else if (value instanceof Number) {
+			json.append(value);
+		} else {
+			json.append('"');
+			for (final char c : String.valueOf(value).toCharArray()) {
+				if ((c == '"') || (c == '\\')) {
+					json.append('\\').append(c);
+				} else if (c < ' ') {
+					json.append(format("\\u%04x", (int) c));
+				} else {
+					json.append(c);
+				}
+			}
+			json.append('"');
+		}
+	}
+
+	/**
+	 * Counts the entries of a zip file.
+	 *
+	 * @param file
+	 *            the zip file
+	 * @return the number of entries (<code>0</code> if the file is not a
+	 *         readable zip file)
+	 */
+	public static long countEntries(final File file) {
+		if ((file == null) || !file.isFile())
+			return 0;
+		try (ZipFile zipFile = new ZipFile(file)) {
+			return zipFile.size();
+		} catch (final IOException e) {
+			return 0;
+		}
+	}
+
+	private static long getCurrentThreadCpuTime() {
+		final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+		return threadMXBean.isCurrentThreadCpuTimeSupported() ? threadMXBean.getCurrentThreadCpuTime() : 0L;
+	}
+
+	/**
+	 * Returns the metrics recorded for a project.
+	 *
+	 * @param project
+	 *            the project
+	 * @return the recorded metrics by stage (maybe <code>null</code> if no
+	 *         metrics were recorded)
+	 */
+	@SuppressWarnings("unchecked")
+	public static Map<String, Map<String, Long>> getMetrics(final MavenProject project) {
+		return (Map<String, Map<String, Long>>) project.getContextValue(CTX_METRICS);
+	}
+
+	private static String getProjectId(final MavenProject project) {
+		return project.getGroupId() + ":" + project.getArtifactId() + ":" + project.getVersion();
+	}
+
+	/**
+	 * Returns the size of a file or directory.
+	 *
+	 * @param file
+	 *            the file or directory
+	 * @return the size in bytes (<code>0</code> if the file does not exist)
+	 */
+	public static long sizeOf(final File file) {
+		if ((file == null) || !file.exists())
+			return 0;
+		return file.isDirectory() ? FileUtils.sizeOfDirectory(file) : file.length();
+	}
+
+	private static String toJson(final Object value) {
+		final StringBuilder json = new StringBuilder();
+		appendJson(json, value, "");
+		return json.append('\n').toString();
+	}
+
+	/**
+	 * Aggregates the metrics of all projects of a session into a single
+	 * report.
+	 *
+	 * @param session
+	 *            the session
+	 * @param summaryFile
+	 *            the file to write the report to
+	 * @return the aggregated metrics by stage (empty if no project recorded
+	 *         any metrics, in which case no report will be written)
+	 * @throws IOException
+	 */
+	public static Map<String, Map<String, Long>> writeSummary(final MavenSession session, final File summaryFile) throws IOException {
+		final Map<String, Object> projects = new LinkedHashMap<>();
+		final Map<String, Map<String, Long>> stages = new LinkedHashMap<>();
+		final Map<String, Long> total = new LinkedHashMap<>();
+		for (final MavenProject project : session.getProjects()) {
+			final Map<String, Map<String, Long>> metrics = getMetrics(project);
+			if (metrics == null) {
+				continue;
+			}
+			synchronized (metrics) {
+				final Map<String, Long> projectTotal = new LinkedHashMap<>();
+				for (final Entry<String, Map<String, Long>> stage : metrics.entrySet()) {
+					add(stages.computeIfAbsent(stage.getKey(), k -> new LinkedHashMap<>()), stage.getValue());
+					add(projectTotal, stage.getValue());
+				}
+				add(total, projectTotal);
+
+				final Map<String, Object> projectMetrics = new LinkedHashMap<>();
+				projectMetrics.put("total", projectTotal);
+				projectMetrics.put("stages", new LinkedHashMap<>(metrics));
+				projects.put(getProjectId(project), projectMetrics);
+			}
+		}
+		if (projects.isEmpty())
+			return stages;
+
+		final Map<String, Object> summary = new LinkedHashMap<>();
+		summary.put("total", total);
+		summary.put("stages", stages);
+		summary.put("projects", projects);
+		summaryFile.getParentFile().mkdirs();
+		Files.write(summaryFile.toPath(), toJson(summary).getBytes(UTF_8));
+		return stages;
+	}
+
+	private final MavenProject project;
+	private final boolean enabled;
+
+	public BuildMetricsUtil(final Log log, final MavenSession mavenSession, final MavenProject project, final boolean enabled) {
+		super(log, mavenSession);
+		this.project = project;
+		this.enabled = enabled;
+	}
+
+	private void add(final String stage, final String metric, final long value) {
+		if (!enabled)
+			return;
+
+		final Map<String, Map<String, Long>> metrics = getOrCreateMetrics();
+		synchronized (metrics) {
+			metrics.computeIfAbsent(stage, k -> new LinkedHashMap<>()).merge(metric, value, Long::sum);
+		}
+	}
+
+	private Map<String, Map<String, Long>> getOrCreateMetrics() {
+		synchronized (project) {
+			Map<String, Map<String, Long>> metrics = getMetrics(project);
+			if (metrics == null) {
+				metrics = new LinkedHashMap<>();
+				project.setContextValue(CTX_METRICS, metrics);
+			}
+			return metrics;
+		}
+	}
+
+	/**
+	 * Indicates if metrics are recorded.
+	 *
+	 * @return <code>true</code> if metrics are recorded, <code>false</code>
+	 *         otherwise
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Starts measuring a build stage.
+	 * <p>
+	 * The measurement must be closed when the stage completed. Measuring the
+	 * same stage multiple times adds up all values. Stages must not be nested
+	 * because the totals of the summary add up all stages.
+	 * </p>
+	 *
+	 * @param stage
+	 *            the stage name
+	 * @return the measurement
+	 */
+	public Measurement measure(final String stage) {
+		return new Measurement(stage);
+	}
+
+	/**
+	 * Writes all metrics recorded so far for the project to
+	 * <code>ebr-metrics.json</code> within the project build directory.
+	 *
+	 * @throws IOException
+	 */
+	public void write() throws IOException {
+		if (!enabled)
+			return;
+
+		final Map<String, Map<String, Long>> metrics = getOrCreateMetrics();
+		final Map<String, Object> report = new LinkedHashMap<>();
+		report.put("project", getProjectId(project));
+		synchronized (metrics) {
+			report.put("stages", new LinkedHashMap<>(metrics));
+			final File reportFile = new File(project.getBuild().getDirectory(), "ebr-metrics.json");
+			reportFile.getParentFile().mkdirs();
+			Files.write(reportFile.toPath(), toJson(report).getBytes(UTF_8));
+			getLog().debug(format("Wrote build metrics to '%s'.", reportFile));
+		}
+	}
+}
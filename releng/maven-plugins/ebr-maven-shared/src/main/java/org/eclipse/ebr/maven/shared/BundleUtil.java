@@ -11,6 +11,8 @@
  */
 package org.eclipse.ebr.maven.shared;
 
+import java.util.jar.Manifest;
+
 import org.osgi.framework.Version;
 
 import org.apache.maven.execution.MavenSession;
@@ -22,6 +24,26 @@ import org.apache.maven.project.MavenProject;
  */
 public class BundleUtil extends BaseUtility {
 
+	/** project context key of the bundle manifest shared by all build stages (and plug-ins) */
+	private static final String CTX_BUNDLE_MANIFEST = "org.eclipse.ebr.maven/bundleManifest";
+
+	/**
+	 * Returns the bundle manifest of a project.
+	 * <p>
+	 * The manifest is kept in memory for the duration of the build so that
+	 * all build stages (including Tycho) read and update the same model
+	 * instead of parsing <code>MANIFEST.MF</code> files again.
+	 * </p>
+	 *
+	 * @param project
+	 *            the project
+	 * @return the bundle manifest (maybe <code>null</code> if not available
+	 *         yet)
+	 */
+	public static Manifest getBundleManifest(final MavenProject project) {
+		return (Manifest) project.getContextValue(CTX_BUNDLE_MANIFEST);
+	}
+
 	public static String getBundleSymbolicName(final MavenProject project) {
 		return project.getArtifactId(); // Tycho convention
 	}
@@ -41,6 +63,19 @@ public class BundleUtil extends BaseUtility {
 		return getBundleSymbolicName(project) + ".source";
 	}
 
+	/**
+	 * Sets the bundle manifest of a project.
+	 *
+	 * @param project
+	 *            the project
+	 * @param manifest
+	 *            the bundle manifest
+	 * @see #getBundleManifest(MavenProject)
+	 */
+	public static void setBundleManifest(final MavenProject project, final Manifest manifest) {
+		project.setContextValue(CTX_BUNDLE_MANIFEST, manifest);
+	}
+
 	public BundleUtil(final Log log, final MavenSession mavenSession) {
 		super(log, mavenSession);
 	}
@@ -0,0 +1,360 @@
+/**
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.ebr.tycho.extras.plugin;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+import static org.apache.commons.lang3.StringUtils.trimToEmpty;
+import static org.apache.commons.text.StringEscapeUtils.escapeXml10;
+import static org.eclipse.ebr.maven.shared.BundleUtil.getBundleSymbolicName;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.ebr.maven.shared.BuildMetricsUtil;
+import org.eclipse.ebr.maven.shared.BundleUtil;
+import org.eclipse.ebr.maven.shared.TemplateHelper;
+
+import org.eclipse.aether.SessionData;
+import org.eclipse.sisu.equinox.EquinoxServiceFactory;
+import org.eclipse.tycho.BuildOutputDirectory;
+import org.eclipse.tycho.ReactorProject;
+import org.eclipse.tycho.ReactorProjectIdentities;
+import org.eclipse.tycho.artifacts.TargetPlatform;
+import org.eclipse.tycho.core.TargetPlatformConfiguration;
+import org.eclipse.tycho.core.TychoConstants;
+import org.eclipse.tycho.core.TychoProject;
+import org.eclipse.tycho.core.ee.ExecutionEnvironmentConfigurationImpl;
+import org.eclipse.tycho.core.ee.shared.ExecutionEnvironmentConfiguration;
+import org.eclipse.tycho.core.osgitools.AbstractTychoProject;
+import org.eclipse.tycho.core.osgitools.DefaultReactorProject;
+import org.eclipse.tycho.core.resolver.DefaultTargetPlatformConfigurationReader;
+import org.eclipse.tycho.core.resolver.DefaultTychoResolver;
+import org.eclipse.tycho.core.resolver.shared.DependencySeed;
+import org.eclipse.tycho.core.resolver.shared.PlatformPropertiesUtils;
+import org.eclipse.tycho.core.shared.TargetEnvironment;
+import org.eclipse.tycho.core.utils.TychoProjectUtils;
+import org.eclipse.tycho.model.Category;
+import org.eclipse.tycho.osgi.adapters.MavenReactorProjectIdentities;
+import org.eclipse.tycho.p2.facade.RepositoryReferenceTool;
+import org.eclipse.tycho.p2.resolver.facade.P2ResolverFactory;
+import org.eclipse.tycho.p2.target.facade.PomDependencyCollector;
+import org.eclipse.tycho.p2.target.facade.TargetPlatformConfigurationStub;
+import org.eclipse.tycho.p2.tools.BuildContext;
+import org.eclipse.tycho.p2.tools.FacadeException;
+import org.eclipse.tycho.p2.tools.publisher.facade.PublisherService;
+import org.eclipse.tycho.p2.tools.publisher.facade.PublisherServiceFactory;
+import org.eclipse.tycho.plugins.p2.repository.AbstractRepositoryMojo;
+import org.eclipse.tycho.repository.registry.facade.ReactorRepositoryManagerFacade;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Component;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+
+import org.codehaus.plexus.logging.Logger;
+
+/**
+ * Base class for mojos assembling the content of bundle recipes into p2
+ * repositories.
+ */
+public abstract class AbstractBundleP2RepositoryMojo extends AbstractRepositoryMojo {
+
+	/** session data key for the context values of the computed target platforms */
+	private static final String SESSION_TARGET_PLATFORM_CONTEXTS = "org.eclipse.ebr.tycho.extras/targetPlatformContexts";
+
+	@Parameter(property = "project", readonly = true, required = true)
+	private MavenProject project;
+
+	@Parameter(property = "session", readonly = true, required = true)
+	private MavenSession session;
+
+	/**
+	 * <p>
+	 * Compress the repository index files <tt>content.xml</tt> and
+	 * <tt>artifacts.xml</tt>.
+	 * </p>
+	 */
+	@Parameter(defaultValue = "false")
+	protected boolean compress;
+
+	/**
+	 * <p>
+	 * Add XZ-compressed repository index files. XZ offers better compression
+	 * ratios esp. for highly redundant file content.
+	 * </p>
+	 */
+	@Parameter(defaultValue = "true")
+	protected boolean xzCompress;
+
+	/**
+	 * <p>
+	 * If {@link #xzCompress} is <code>true</code>, whether jar or xml index
+	 * files should be kept in addition to XZ-compressed index files. This
+	 * fallback provides backwards compatibility for pre-Mars p2 clients which
+	 * cannot read XZ-compressed index files.
+	 * </p>
+	 */
+	@Parameter(defaultValue = "true")
+	protected boolean keepNonXzIndexFiles;
+
+	/**
+	 * <p>
+	 * Additional properties against which p2 filters are evaluated while
+	 * aggregating.
+	 * </p>
+	 */
+	@Parameter
+	protected Map<String, String> profileProperties;
+
+	/**
+	 * Build qualifier. Recommended way to set this parameter is using
+	 * build-qualifier goal.
+	 */
+	@Parameter(defaultValue = "${buildQualifier}")
+	private String qualifier;
+
+	/**
+	 * Indicates if build metrics should be recorded (see the
+	 * <code>buildMetrics</code> parameter of the <code>bundle</code> goal of
+	 * the <code>ebr-maven-plugin</code>).
+	 */
+	@Parameter(property = "buildMetrics", defaultValue = "false")
+	protected boolean buildMetrics;
+
+	@Component
+	private RepositoryReferenceTool repositoryReferenceTool;
+
+	@Component
+	protected EquinoxServiceFactory p2;
+
+	@Component(role = TychoProject.class)
+	private Map<String, TychoProject> projectTypes;
+
+	@Component
+	private DefaultTargetPlatformConfigurationReader configurationReader;
+
+	@Component
+	private Logger logger;
+
+	private Collection<DependencySeed> generateCategoryForBundle() throws MojoExecutionException {
+		getLog().debug("Generating category.xml...");
+		final PublisherServiceFactory publisherServiceFactory = p2.getService(PublisherServiceFactory.class);
+		final PublisherService publisherService = publisherServiceFactory.createPublisher(getReactorProject(), getEnvironments());
+
+		try {
+			final TemplateHelper templateHelper = new TemplateHelper(getLog(), this.getClass());
+			final String categoryXml = StringUtils.replaceEach(templateHelper.readTemplateAsString("category.xml"),
+					new String[] { // @formatter:off
+							"@BUNDLE_SYMBOLIC_NAME@",
+							"@BUNDLE_VERSION@",
+							"@CATEGORY_ID@",
+							"@CATEGORY_LABEL@",
+							"@CATEGORY_DESCRIPTION@"
+					},
+					new String[] {
+							getBundleSymbolicName(getProject()),
+							getExpandedVersion(),
+							"ebr_category_" + getBundleSymbolicName(getProject()),
+							escapeXml10(trimToEmpty(getProject().getName())),
+							escapeXml10(trimToEmpty(getProject().getDescription()))
+					});
+			// @formatter:on
+
+			final Category category = Category.read(new ByteArrayInputStream(categoryXml.getBytes(UTF_8)));
+			final File buildCategoryFile = prepareBuildCategory(category, getBuildDirectory());
+			return publisherService.publishCategories(buildCategoryFile);
+		} catch (final IOException | FacadeException e) {
+			getLog().debug(e);
+			throw new MojoExecutionException(format("Error generating category.xml: %s", e.getMessage()));
+
+		}
+	}
+
+	@Override
+	protected BuildContext getBuildContext() {
+		// only overridden because injection into super class did not work
+		// FIXME figure out while injection in super class is broken
+		final List<TargetEnvironment> environments = TychoProjectUtils.getTargetPlatformConfiguration(project).getEnvironments();
+		return new BuildContext(getProjectIdentities(), qualifier, environments);
+	}
+
+	private String getBundleVersion() {
+		return BundleUtil.getBundleVersion(getProject().getVersion());
+	}
+
+	@Override
+	protected List<TargetEnvironment> getEnvironments() {
+		return TychoProjectUtils.getTargetPlatformConfiguration(getProject()).getEnvironments();
+	}
+
+	protected String getExpandedVersion() {
+		return BundleUtil.getExpandedVersion(getBundleVersion(), qualifier);
+	}
+
+	@Override
+	protected MavenProject getProject() {
+		// only overridden because injection into super class did not work
+		// FIXME figure out while injection in super class is broken
+		return requireNonNull(project, "MavenProject not set!");
+	}
+
+	@Override
+	protected ReactorProjectIdentities getProjectIdentities() {
+		return new MavenReactorProjectIdentities(getProject());
+	}
+
+	@Override
+	protected ReactorProject getReactorProject() {
+		return DefaultReactorProject.adapt(getProject());
+	}
+
+	@Override
+	protected MavenSession getSession() {
+		// only overridden because injection into super class did not work
+		// FIXME figure out while injection in super class is broken
+		return requireNonNull(session, "MavenSession not set!");
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, Map<String, Object>> getTargetPlatformContexts(final MavenSession session) {
+		final SessionData data = session.getRepositorySession().getData();
+		final Object targetPlatformContexts = data.get(SESSION_TARGET_PLATFORM_CONTEXTS);
+		if (targetPlatformContexts != null)
+			return (Map<String, Map<String, Object>>) targetPlatformContexts;
+
+		// first one wins
+		data.set(SESSION_TARGET_PLATFORM_CONTEXTS, null, new ConcurrentHashMap<String, Map<String, Object>>());
+		return (Map<String, Map<String, Object>>) data.get(SESSION_TARGET_PLATFORM_CONTEXTS);
+	}
+
+	private String getTargetPlatformKey(final TargetPlatformConfiguration configuration) {
+		// all inputs of the execution environment configuration and the target platform
+		// @formatter:off
+		return format("environments=%s, executionEnvironment=%s, executionEnvironmentDefault=%s, targets=%s, resolveWithEEConstraints=%s, includePackedArtifacts=%s",
+				configuration.getEnvironments(),
+				configuration.getExecutionEnvironment(),
+				configuration.getExecutionEnvironmentDefault(),
+				configuration.getTargets(),
+				configuration.isResolveWithEEConstraints(),
+				configuration.isIncludePackedArtifacts());
+		// @formatter:on
+	}
+
+	private File prepareBuildCategory(final Category category, final BuildOutputDirectory buildFolder) throws MojoExecutionException {
+		try {
+			final File ret = buildFolder.getChild("category.xml");
+			buildFolder.getLocation().mkdirs();
+			Category.write(category, ret);
+			return ret;
+		} catch (final IOException e) {
+			getLog().debug(e);
+			throw new MojoExecutionException("I/O exception while writing category definition to disk. " + e.getMessage());
+		}
+	}
+
+	protected void publishCategoryForBundle() throws MojoExecutionException {
+		TychoProjectUtils.getDependencySeeds(getProject()).addAll(generateCategoryForBundle());
+	}
+
+	protected void setTychoEnvironmentProperties(final Properties properties, final MavenProject project) {
+		final String arch = PlatformPropertiesUtils.getArch(properties);
+		final String os = PlatformPropertiesUtils.getOS(properties);
+		final String ws = PlatformPropertiesUtils.getWS(properties);
+		project.getProperties().put(DefaultTychoResolver.TYCHO_ENV_OSGI_WS, ws);
+		project.getProperties().put(DefaultTychoResolver.TYCHO_ENV_OSGI_OS, os);
+		project.getProperties().put(DefaultTychoResolver.TYCHO_ENV_OSGI_ARCH, arch);
+	}
+
+	protected void setupProjectForTycho(final MavenSession session, final MavenProject project, final ReactorProject reactorProject) {
+		// based on DefaultTychoResolved and modified to the bundle recipe project
+
+		final AbstractTychoProject dr = (AbstractTychoProject) projectTypes.get(project.getPackaging());
+		if (dr == null)
+			return;
+
+		// skip if setup was already done
+		if (project.getContextValue(TychoConstants.CTX_MERGED_PROPERTIES) != null)
+			return;
+
+		// generic Eclipse/OSGi metadata
+
+		dr.setupProject(session, project);
+
+		// p2 metadata
+
+		final Properties properties = new Properties();
+		properties.putAll(project.getProperties());
+		properties.putAll(session.getSystemProperties()); // session wins
+		properties.putAll(session.getUserProperties());
+		project.setContextValue(TychoConstants.CTX_MERGED_PROPERTIES, properties);
+
+		setTychoEnvironmentProperties(properties, project);
+
+		final TargetPlatformConfiguration configuration = configurationReader.getTargetPlatformConfiguration(session, project);
+		project.setContextValue(TychoConstants.CTX_TARGET_PLATFORM_CONFIGURATION, configuration);
+
+		// recipes sharing environments and EE share the same minimal target platform
+		final String targetPlatformKey = getTargetPlatformKey(configuration);
+		final Map<String, Object> targetPlatformContext = getTargetPlatformContexts(session).get(targetPlatformKey);
+		if (targetPlatformContext != null) {
+			getLog().debug("Reusing target platform for " + targetPlatformKey);
+			targetPlatformContext.forEach(project::setContextValue);
+			return;
+		}
+
+		final ExecutionEnvironmentConfiguration eeConfiguration = new ExecutionEnvironmentConfigurationImpl(logger, !configuration.isResolveWithEEConstraints(), null, session);
+		dr.readExecutionEnvironmentConfiguration(project, session, eeConfiguration);
+		project.setContextValue(TychoConstants.CTX_EXECUTION_ENVIRONMENT_CONFIGURATION, eeConfiguration);
+
+		// we assume dependency resolution was done when generating p2 metadata
+		// would that cause ClassCast issues?
+
+		// setup a minimal target platform
+		final TargetPlatformConfigurationStub tpConfiguration = new TargetPlatformConfigurationStub();
+		tpConfiguration.setIncludePackedArtifacts(configuration.isIncludePackedArtifacts());
+
+		final P2ResolverFactory resolverFactory = p2.getService(P2ResolverFactory.class);
+		final PomDependencyCollector pomDependencies = resolverFactory.newPomDependencyCollector();
+		pomDependencies.setProjectLocation(project.getBasedir());
+
+		tpConfiguration.setEnvironments(configuration.getEnvironments());
+
+		final ReactorRepositoryManagerFacade repositoryManager = p2.getService(ReactorRepositoryManagerFacade.class);
+		repositoryManager.computePreliminaryTargetPlatform(getReactorProject(), tpConfiguration, eeConfiguration, Collections.emptyList(), pomDependencies);
+		repositoryManager.computeFinalTargetPlatform(getReactorProject(), Collections.emptyList());
+		getLog().debug("final target platform: " + getReactorProject().getContextValue(TargetPlatform.FINAL_TARGET_PLATFORM_KEY));
+
+		// the target platform contains no recipe specific content (i.e. no reactor projects)
+		final Map<String, Object> computedContext = new HashMap<>();
+		computedContext.put(TychoConstants.CTX_EXECUTION_ENVIRONMENT_CONFIGURATION, eeConfiguration);
+		computedContext.put(TargetPlatform.FINAL_TARGET_PLATFORM_KEY, getReactorProject().getContextValue(TargetPlatform.FINAL_TARGET_PLATFORM_KEY));
+		getTargetPlatformContexts(session).putIfAbsent(targetPlatformKey, computedContext);
+	}
+
+	protected void writeBuildMetrics(final BuildMetricsUtil buildMetricsUtil) {
+		try {
+			buildMetricsUtil.write();
+		} catch (final IOException e) {
+			getLog().debug(e);
+			getLog().warn(format("Unable to write build metrics. %s", e.getMessage()));
+		}
+	}
+}
@@ -0,0 +1,275 @@
+/**
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.ebr.tycho.extras.plugin;
+
+import static java.lang.String.format;
+import static java.util.Collections.emptyMap;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.ebr.maven.shared.BuildMetricsUtil;
+import org.eclipse.ebr.maven.shared.BuildMetricsUtil.Measurement;
+import org.eclipse.ebr.maven.shared.BundleUtil;
+
+import org.eclipse.aether.SessionData;
+import org.eclipse.tycho.core.TargetPlatformConfiguration;
+import org.eclipse.tycho.core.resolver.shared.DependencySeed;
+import org.eclipse.tycho.core.utils.TychoProjectUtils;
+import org.eclipse.tycho.p2.tools.DestinationRepositoryDescriptor;
+import org.eclipse.tycho.p2.tools.FacadeException;
+import org.eclipse.tycho.p2.tools.RepositoryReferences;
+import org.eclipse.tycho.p2.tools.mirroring.facade.MirrorApplicationService;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Aggregates the content of all bundle recipes of the reactor into a single
+ * p2 repository.
+ * <p>
+ * The goal is meant to be executed by every recipe (eg., by configuring it in
+ * the parent POM of all recipes or by enabling the
+ * <code>aggregateP2Repository</code> option of the <code>bundle</code> goal of
+ * the <code>ebr-maven-plugin</code>). Each execution publishes the category of
+ * its recipe. The execution of the recipe completing the reactor then mirrors
+ * the bundles and source bundles of all recipes in one pass into the
+ * aggregate repository. The build fails when the session ends without all
+ * recipes having contributed (eg., because a recipe did not execute the
+ * goal).
+ * </p>
+ * <p>
+ * When building incrementally, only recipes whose bundles changed since the
+ * previous build are appended to the existing aggregate repository. Versions
+ * mirrored previously (as well as content of recipes not being part of the
+ * reactor) are kept. The repository is assembled from scratch when a bundle
+ * changed without a version change.
+ * </p>
+ */
+@Mojo(name = "assemble-aggregate-p2-repository", defaultPhase = LifecyclePhase.PACKAGE)
+public class AssembleAggregateP2RepositoryMojo extends AbstractBundleP2RepositoryMojo {
+
+	/** session data key for the ids of recipes which contributed to the aggregate repository */
+	private static final String SESSION_CONTRIBUTIONS = "org.eclipse.ebr.tycho.extras/aggregateP2RepositoryContributions";
+
+	private static final String CLASSIFIER_SOURCES = "sources";
+
+	private static final String PACKAGING_RECIPE = "eclipse-bundle-recipe";
+
+	private static final String SUFFIX_CONTENT = ".content";
+	private static final String SUFFIX_VERSION = ".version";
+
+	/**
+	 * The location of the aggregate p2 repository.
+	 */
+	@Parameter(property = "aggregateRepository", defaultValue = "${session.topLevelProject.build.directory}/repository")
+	private File aggregateRepository;
+
+	/**
+	 * <p>
+	 * The name attribute stored in the created p2 repository.
+	 * </p>
+	 */
+	@Parameter(defaultValue = "${session.topLevelProject.name}")
+	private String repositoryName;
+
+	/**
+	 * Indicates if only changed recipes should be appended to an existing
+	 * aggregate repository (see the <code>incremental</code> parameter of the
+	 * <code>bundle</code> goal of the <code>ebr-maven-plugin</code>).
+	 */
+	@Parameter(property = "incremental", defaultValue = "false")
+	private boolean incremental;
+
+	private void aggregate(final List<MavenProject> recipes) throws MojoExecutionException, MojoFailureException {
+		final File fingerprintsFile = new File(aggregateRepository.getParentFile(), aggregateRepository.getName() + "-fingerprints.properties");
+		final Properties fingerprints = incremental ? readFingerprints(fingerprintsFile) : new Properties();
+
+		boolean append = incremental && !fingerprints.isEmpty() && aggregateRepository.isDirectory();
+		List<MavenProject> changedRecipes = new ArrayList<>(recipes.size());
+		for (final MavenProject recipe : recipes) {
+			final String key = getKey(recipe);
+			if (getContentFingerprint(recipe).equals(fingerprints.getProperty(key + SUFFIX_CONTENT))) {
+				getLog().debug(format("Recipe %s is up to date in aggregate p2 repository.", key));
+				continue;
+			}
+			if (append && getRecipeVersion(recipe).equals(fingerprints.getProperty(key + SUFFIX_VERSION))) {
+				getLog().info(format("Content of recipe %s changed without a version change; re-assembling aggregate p2 repository", key));
+				append = false;
+			}
+			changedRecipes.add(recipe);
+		}
+
+		if (!append) {
+			changedRecipes = recipes;
+			fingerprints.clear();
+			FileUtils.deleteQuietly(fingerprintsFile);
+			FileUtils.deleteQuietly(aggregateRepository);
+		} else if (changedRecipes.isEmpty()) {
+			getLog().info("Aggregate p2 repository is up to date");
+			return;
+		}
+
+		getLog().info(format("%s %d recipes %s aggregate p2 repository %s", append ? "Appending" : "Assembling", changedRecipes.size(), append ? "to" : "into", aggregateRepository));
+		final BuildMetricsUtil buildMetricsUtil = new BuildMetricsUtil(getLog(), getSession(), getProject(), buildMetrics);
+		try (Measurement measurement = buildMetricsUtil.measure("p2-aggregate-repository")) {
+			final RepositoryReferences sources = new RepositoryReferences();
+			final List<DependencySeed> seeds = new ArrayList<>();
+			for (final MavenProject recipe : changedRecipes) {
+				final File publisherResults = new File(recipe.getBuild().getDirectory());
+				sources.addMetadataRepository(publisherResults);
+				sources.addArtifactRepository(publisherResults);
+				seeds.addAll(TychoProjectUtils.getDependencySeeds(recipe));
+			}
+			if (seeds.isEmpty())
+				throw new MojoFailureException("No content specified for p2 repository");
+
+			final TargetPlatformConfiguration configuration = TychoProjectUtils.getTargetPlatformConfiguration(getProject());
+
+			// a single mirror application run for all recipes
+			aggregateRepository.mkdirs();
+			final MirrorApplicationService mirrorApp = p2.getService(MirrorApplicationService.class);
+			final DestinationRepositoryDescriptor destinationRepoDescriptor = new DestinationRepositoryDescriptor(aggregateRepository, repositoryName, compress, xzCompress, keepNonXzIndexFiles, false, true, emptyMap(), Collections.emptyList());
+			mirrorApp.mirrorReactor(sources, destinationRepoDescriptor, seeds, getBuildContext(), false, configuration.isIncludePackedArtifacts(), profileProperties);
+			if (buildMetricsUtil.isEnabled()) {
+				measurement.entries(changedRecipes.size());
+				measurement.bytesWritten(BuildMetricsUtil.sizeOf(aggregateRepository));
+			}
+		} catch (final FacadeException e) {
+			throw new MojoExecutionException("Could not assemble aggregate p2 repository", e);
+		} finally {
+			writeBuildMetrics(buildMetricsUtil);
+		}
+
+		if (incremental) {
+			for (final MavenProject recipe : changedRecipes) {
+				fingerprints.setProperty(getKey(recipe) + SUFFIX_CONTENT, getContentFingerprint(recipe));
+				fingerprints.setProperty(getKey(recipe) + SUFFIX_VERSION, getRecipeVersion(recipe));
+			}
+			writeFingerprints(fingerprintsFile, fingerprints);
+		}
+	}
+
+	private void appendFileFingerprint(final StringBuilder fingerprint, final File file) {
+		// incremental recipe builds leave unchanged bundles untouched
+		if ((file != null) && file.isFile()) {
+			fingerprint.append(file.length()).append('@').append(file.lastModified());
+		} else {
+			fingerprint.append("missing");
+		}
+	}
+
+	@Override
+	public void execute() throws MojoExecutionException, MojoFailureException {
+		if (!PACKAGING_RECIPE.equals(getProject().getPackaging())) {
+			getLog().debug(format("Skipping execution for project with packaging type \"%s\"", getProject().getPackaging()));
+			return;
+		}
+
+		getLog().debug("Setting up Tycho...");
+		setupProjectForTycho(getSession(), getProject(), getReactorProject());
+		publishCategoryForBundle();
+
+		final List<MavenProject> recipes = getRecipes();
+		final Set<String> contributions = getContributions();
+		final boolean complete;
+		synchronized (contributions) {
+			contributions.add(getKey(getProject()));
+			complete = contributions.size() == recipes.size();
+		}
+		if (!complete) {
+			getLog().info(format("Contributed recipe to aggregate p2 repository (%d of %d)", contributions.size(), recipes.size()));
+			return;
+		}
+
+		aggregate(recipes);
+	}
+
+	private String getContentFingerprint(final MavenProject recipe) {
+		final StringBuilder fingerprint = new StringBuilder();
+		appendFileFingerprint(fingerprint, recipe.getArtifact().getFile());
+		for (final Artifact artifact : recipe.getAttachedArtifacts()) {
+			if (CLASSIFIER_SOURCES.equals(artifact.getClassifier())) {
+				fingerprint.append(',');
+				appendFileFingerprint(fingerprint, artifact.getFile());
+			}
+		}
+		return fingerprint.toString();
+	}
+
+	@SuppressWarnings("unchecked")
+	private Set<String> getContributions() {
+		final SessionData data = getSession().getRepositorySession().getData();
+		final Object contributions = data.get(SESSION_CONTRIBUTIONS);
+		if (contributions != null)
+			return (Set<String>) contributions;
+
+		// first one wins
+		data.set(SESSION_CONTRIBUTIONS, null, ConcurrentHashMap.newKeySet());
+		return (Set<String>) data.get(SESSION_CONTRIBUTIONS);
+	}
+
+	private String getKey(final MavenProject recipe) {
+		return recipe.getGroupId() + ":" + recipe.getArtifactId();
+	}
+
+	private String getRecipeVersion(final MavenProject recipe) {
+		// Tycho's build-qualifier goal stores the qualifier in the project properties
+		return BundleUtil.getExpandedVersion(BundleUtil.getBundleVersion(recipe.getVersion()), recipe.getProperties().getProperty("buildQualifier"));
+	}
+
+	private List<MavenProject> getRecipes() {
+		final List<MavenProject> recipes = new ArrayList<>();
+		for (final MavenProject project : getSession().getProjects()) {
+			if (PACKAGING_RECIPE.equals(project.getPackaging())) {
+				recipes.add(project);
+			}
+		}
+		return recipes;
+	}
+
+	private Properties readFingerprints(final File fingerprintsFile) {
+		final Properties fingerprints = new Properties();
+		if (fingerprintsFile.isFile()) {
+			try (InputStream in = Files.newInputStream(fingerprintsFile.toPath())) {
+				fingerprints.load(in);
+			} catch (final IOException e) {
+				// start from scratch
+				getLog().debug(e);
+				getLog().warn(format("Unable to read aggregate p2 repository fingerprints '%s'. %s", fingerprintsFile, e.getMessage()));
+				fingerprints.clear();
+			}
+		}
+		return fingerprints;
+	}
+
+	private void writeFingerprints(final File fingerprintsFile, final Properties fingerprints) throws MojoExecutionException {
+		try (OutputStream out = Files.newOutputStream(fingerprintsFile.toPath())) {
+			fingerprints.store(out, "Aggregate p2 repository fingerprints (generated, do not modify)");
+		} catch (final IOException e) {
+			getLog().debug(e);
+			throw new MojoExecutionException(format("Unable to write aggregate p2 repository fingerprints '%s'. %s", fingerprintsFile, e.getMessage()));
+		}
+	}
+}
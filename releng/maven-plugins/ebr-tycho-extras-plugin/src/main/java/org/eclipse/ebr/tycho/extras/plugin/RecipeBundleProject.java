@@ -14,10 +14,13 @@ package org.eclipse.ebr.tycho.extras.plugin;
 import static java.util.Objects.requireNonNull;
 
 import java.io.File;
+import java.util.jar.Manifest;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 
+import org.eclipse.ebr.maven.shared.BundleUtil;
+
 import org.eclipse.tycho.ArtifactKey;
 import org.eclipse.tycho.ReactorProject;
 import org.eclipse.tycho.core.ArtifactDependencyWalker;
@@ -73,6 +76,10 @@ public class RecipeBundleProject extends AbstractTychoProject {
 	}
 
 	public String getManifestValue(final String key, final MavenProject project) {
+		// prefer the manifest shared in memory by the bundle build
+		final Manifest manifest = BundleUtil.getBundleManifest(project);
+		if (manifest != null)
+			return manifest.getMainAttributes().getValue(key);
 		return getManifest(project).getValue(key);
 	}
 